@@ -3,11 +3,16 @@ package com.distasilucas.cryptobalancetracker;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.core.Ordered;
 import org.springframework.retry.annotation.EnableRetry;
 import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
 
-@EnableCaching
+/*
+ * Caching advises before retries and transactions, so cache hits neither open a transaction
+ * nor go through retries. Method security still runs first.
+ */
+@EnableCaching(order = Ordered.LOWEST_PRECEDENCE - 2)
 @EnableRetry
 @EnableScheduling
 @EnableMethodSecurity
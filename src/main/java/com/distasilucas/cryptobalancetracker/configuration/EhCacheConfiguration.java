@@ -5,31 +5,36 @@ import com.distasilucas.cryptobalancetracker.entity.Goal;
 import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
-import com.distasilucas.cryptobalancetracker.model.DateRange;
+import com.distasilucas.cryptobalancetracker.model.RevalidatingCacheValue;
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCryptoInfo;
-import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
-import com.distasilucas.cryptobalancetracker.model.response.insights.DatesBalanceResponse;
-import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
-import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
-import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformInsightsResponse;
-import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoExchangeRates;
+import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.ehcache.config.builders.CacheConfigurationBuilder;
 import org.ehcache.config.builders.ExpiryPolicyBuilder;
 import org.ehcache.config.builders.ResourcePoolsBuilder;
 import org.ehcache.config.units.MemoryUnit;
 import org.ehcache.jsr107.Eh107Configuration;
 import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.cache.jcache.JCacheCacheManager;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.domain.Page;
 
 import javax.cache.CacheManager;
 import javax.cache.Caching;
+import java.time.Clock;
 import java.time.Duration;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.ALL_PLATFORMS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.COINGECKO_CRYPTOS_CACHE;
@@ -39,7 +44,9 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_C
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INFO_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.DATES_BALANCES_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.EXCHANGE_RATES_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_PROGRESS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PAGE_GOALS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_PLATFORMS_IDS_CACHE;
@@ -47,6 +54,7 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM_PLATFORM_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_PAGE_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.RISK_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.TOTAL_BALANCES_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE;
@@ -58,6 +66,8 @@ import static org.springframework.data.util.CastUtils.cast;
 @Configuration
 public class EhCacheConfiguration {
 
+    private static final Duration STALE_WHILE_REVALIDATE = Duration.ofMinutes(30);
+
     @Bean
     public CacheManager ehcacheManager() {
         var cacheManager = Caching.getCachingProvider().getCacheManager();
@@ -66,6 +76,26 @@ public class EhCacheConfiguration {
         return cacheManager;
     }
 
+    @Bean
+    public org.springframework.cache.CacheManager cacheManager(CacheManager ehcacheManager, Clock clock, MeterRegistry meterRegistry) {
+        var jCacheCacheManager = new JCacheCacheManager(ehcacheManager);
+        jCacheCacheManager.afterPropertiesSet();
+
+        var refreshExecutor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cache-refresh-", 0).factory());
+        var revalidatingCacheManager = new RevalidatingCacheManager(jCacheCacheManager, getRevalidatingCaches(),
+            refreshExecutor, clock, meterRegistry);
+
+        return new TenantCacheManager(revalidatingCacheManager, getTenantCachesNames());
+    }
+
+    private Set<String> getTenantCachesNames() {
+        return getAllCaches().entrySet()
+            .stream()
+            .filter(cache -> TenantCacheKey.class.equals(cache.getValue().getKeyType()))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
     private Map<String, javax.cache.configuration.Configuration<?, ?>> getAllCaches() {
         Class<List<CoingeckoCrypto>> coingeckoCryptoList = cast(List.class);
         Class<List<UserCrypto>> userCryptoList = cast(List.class);
@@ -74,31 +104,44 @@ public class EhCacheConfiguration {
         Class<List<Platform>> platformList = cast(List.class);
         Class<List<Crypto>> cryptoList = cast(List.class);
         Class<Page<PriceTarget>> priceTargetPage = cast(Page.class);
-        Class<Page<Goal>> goalPage = cast(Page.class);
+        Class<Page<GoalResponse>> goalResponsePage = cast(Page.class);
 
-        return Map.ofEntries(
+        Map<String, javax.cache.configuration.Configuration<?, ?>> caches = new HashMap<>(Map.ofEntries(
             Map.entry(COINGECKO_CRYPTOS_CACHE, getCacheConfig(SimpleKey.class, coingeckoCryptoList, Duration.ofDays(3))),
             Map.entry(CRYPTO_INFO_CACHE, getCacheConfig(String.class, CoingeckoCryptoInfo.class, Duration.ofMinutes(10))),
-            Map.entry(USER_CRYPTOS_CACHE, getCacheConfig(SimpleKey.class, userCryptoList)),
-            Map.entry(USER_CRYPTOS_PLATFORM_ID_CACHE, getCacheConfig(String.class, userCryptoList)),
-            Map.entry(USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE, getCacheConfig(String.class, userCryptoList)),
-            Map.entry(USER_CRYPTO_ID_CACHE, getCacheConfig(String.class, UserCrypto.class)),
-            Map.entry(USER_CRYPTOS_PAGE_CACHE, getCacheConfig(Integer.class, userCryptoPage)),
-            Map.entry(PLATFORMS_PLATFORMS_IDS_CACHE, getCacheConfig(stringCollection, platformList)),
+            Map.entry(EXCHANGE_RATES_CACHE, getCacheConfig(SimpleKey.class, CoingeckoExchangeRates.class, Duration.ofMinutes(10))),
+            Map.entry(USER_CRYPTOS_CACHE, getCacheConfig(TenantCacheKey.class, userCryptoList)),
+            Map.entry(USER_CRYPTOS_PLATFORM_ID_CACHE, getCacheConfig(TenantCacheKey.class, userCryptoList)),
+            Map.entry(USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE, getCacheConfig(TenantCacheKey.class, userCryptoList)),
+            Map.entry(USER_CRYPTO_ID_CACHE, getCacheConfig(TenantCacheKey.class, UserCrypto.class)),
+            Map.entry(USER_CRYPTOS_PAGE_CACHE, getCacheConfig(TenantCacheKey.class, userCryptoPage)),
+            Map.entry(PLATFORMS_PLATFORMS_IDS_CACHE, getCacheConfig(TenantCacheKey.class, platformList)),
             Map.entry(CRYPTO_COINGECKO_CRYPTO_ID_CACHE, getCacheConfig(String.class, Crypto.class, Duration.ofMinutes(2))),
             Map.entry(CRYPTOS_CRYPTOS_IDS_CACHE, getCacheConfig(stringCollection, cryptoList, Duration.ofMinutes(2))),
-            Map.entry(ALL_PLATFORMS_CACHE, getCacheConfig(SimpleKey.class, platformList, Duration.ofDays(10))),
-            Map.entry(PLATFORM_PLATFORM_ID_CACHE, getCacheConfig(String.class, Platform.class, Duration.ofDays(10))),
-            Map.entry(PRICE_TARGET_ID_CACHE, getCacheConfig(String.class, PriceTarget.class)),
-            Map.entry(PRICE_TARGET_PAGE_CACHE, getCacheConfig(Integer.class, priceTargetPage)),
-            Map.entry(GOAL_CACHE, getCacheConfig(String.class, Goal.class)),
-            Map.entry(PAGE_GOALS_CACHE, getCacheConfig(Integer.class, goalPage)),
-            Map.entry(TOTAL_BALANCES_CACHE, getCacheConfig(SimpleKey.class, BalancesResponse.class, Duration.ofMinutes(5))),
-            Map.entry(DATES_BALANCES_CACHE, getCacheConfig(DateRange.class, DatesBalanceResponse.class, Duration.ofMinutes(5))),
-            Map.entry(PLATFORM_INSIGHTS_CACHE, getCacheConfig(String.class, PlatformInsightsResponse.class, Duration.ofMinutes(5))),
-            Map.entry(CRYPTO_INSIGHTS_CACHE, getCacheConfig(String.class, CryptoInsightResponse.class, Duration.ofMinutes(5))),
-            Map.entry(PLATFORMS_BALANCES_INSIGHTS_CACHE, getCacheConfig(SimpleKey.class, PlatformsBalancesInsightsResponse.class, Duration.ofMinutes(5))),
-            Map.entry(CRYPTOS_BALANCES_INSIGHTS_CACHE, getCacheConfig(SimpleKey.class, CryptosBalancesInsightsResponse.class, Duration.ofMinutes(5)))
+            Map.entry(ALL_PLATFORMS_CACHE, getCacheConfig(TenantCacheKey.class, platformList, Duration.ofDays(10))),
+            Map.entry(PLATFORM_PLATFORM_ID_CACHE, getCacheConfig(TenantCacheKey.class, Platform.class, Duration.ofDays(10))),
+            Map.entry(PRICE_TARGET_ID_CACHE, getCacheConfig(TenantCacheKey.class, PriceTarget.class)),
+            Map.entry(PRICE_TARGET_PAGE_CACHE, getCacheConfig(TenantCacheKey.class, priceTargetPage)),
+            Map.entry(GOAL_CACHE, getCacheConfig(TenantCacheKey.class, Goal.class)),
+            Map.entry(GOAL_PROGRESS_CACHE, getCacheConfig(TenantCacheKey.class, GoalResponse.class)),
+            Map.entry(PAGE_GOALS_CACHE, getCacheConfig(TenantCacheKey.class, goalResponsePage)),
+            Map.entry(RISK_INSIGHTS_CACHE, getCacheConfig(TenantCacheKey.class, RiskInsightsResponse.class, Duration.ofMinutes(10)))
+        ));
+
+        getRevalidatingCaches().forEach((name, timeToRefresh) -> caches.put(name,
+            getCacheConfig(TenantCacheKey.class, RevalidatingCacheValue.class, timeToRefresh.plus(STALE_WHILE_REVALIDATE))));
+
+        return caches;
+    }
+
+    private Map<String, Duration> getRevalidatingCaches() {
+        return Map.ofEntries(
+            Map.entry(TOTAL_BALANCES_CACHE, Duration.ofMinutes(5)),
+            Map.entry(DATES_BALANCES_CACHE, Duration.ofMinutes(5)),
+            Map.entry(PLATFORM_INSIGHTS_CACHE, Duration.ofMinutes(5)),
+            Map.entry(CRYPTO_INSIGHTS_CACHE, Duration.ofMinutes(5)),
+            Map.entry(PLATFORMS_BALANCES_INSIGHTS_CACHE, Duration.ofMinutes(5)),
+            Map.entry(CRYPTOS_BALANCES_INSIGHTS_CACHE, Duration.ofMinutes(5))
         );
     }
 
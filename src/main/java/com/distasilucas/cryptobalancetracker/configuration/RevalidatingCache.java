@@ -0,0 +1,266 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import com.distasilucas.cryptobalancetracker.model.RevalidatingCacheValue;
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.ROOT_TENANT;
+
+/**
+ * Serves expired entries while they are recomputed. Entries are stored with the instant they should be
+ * refreshed at and the underlying cache keeps them for a while after it. Loading an entry past that
+ * instant returns it right away and recomputes it in the background, while loading a missing entry
+ * computes it on the calling thread. Only one computation of each key runs at a time, so callers of an
+ * entry that is being computed wait for it instead of computing it again.
+ */
+@Slf4j
+public class RevalidatingCache implements Cache {
+
+    private final Cache delegate;
+    private final Duration timeToRefresh;
+    private final Executor executor;
+    private final Clock clock;
+    private final Counter staleServes;
+    private final Timer syncComputations;
+    private final Timer backgroundComputations;
+    private final Map<Object, CompletableFuture<Object>> computations = new ConcurrentHashMap<>();
+
+    public RevalidatingCache(Cache delegate,
+                             Duration timeToRefresh,
+                             Executor executor,
+                             Clock clock,
+                             MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timeToRefresh = timeToRefresh;
+        this.executor = executor;
+        this.clock = clock;
+        this.staleServes = Counter.builder("cache.stale.serves")
+            .tag("cache", delegate.getName())
+            .register(meterRegistry);
+        this.syncComputations = computationsTimer(meterRegistry, "sync");
+        this.backgroundComputations = computationsTimer(meterRegistry, "background");
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        var entry = lookup(key);
+
+        return entry == null ? null : new SimpleValueWrapper(entry.value());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        var entry = lookup(key);
+        var value = entry == null ? null : entry.value();
+
+        if (value != null && type != null && !type.isInstance(value)) {
+            throw new IllegalStateException("Cached value is not of required type [%s]: %s".formatted(type.getName(), value));
+        }
+
+        return (T) value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var entry = lookup(key);
+
+        if (entry == null) {
+            return compute(key, valueLoader);
+        }
+
+        if (entry.isStale(clock.instant())) {
+            staleServes.increment();
+            refresh(key, entry, valueLoader);
+        }
+
+        return (T) entry.value();
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        delegate.put(key, toEntry(value));
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        var existing = delegate.putIfAbsent(key, toEntry(value));
+
+        return existing == null ? null : new SimpleValueWrapper(((RevalidatingCacheValue) existing.get()).value());
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(key);
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(key);
+    }
+
+    @Override
+    public void clear() {
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        return delegate.invalidate();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T compute(Object key, Callable<T> valueLoader) {
+        var computation = new CompletableFuture<Object>();
+        var running = computations.putIfAbsent(key, computation);
+
+        if (running != null) {
+            return (T) join(key, valueLoader, running);
+        }
+
+        try {
+            var entry = lookup(key);
+            T value;
+
+            if (entry != null) {
+                value = (T) entry.value();
+            } else {
+                value = load(key, valueLoader, syncComputations);
+                delegate.put(key, toEntry(value));
+            }
+
+            computation.complete(value);
+
+            return value;
+        } catch (RuntimeException exception) {
+            computation.completeExceptionally(exception);
+            throw exception;
+        } finally {
+            computations.remove(key, computation);
+        }
+    }
+
+    private void refresh(Object key, RevalidatingCacheValue staleEntry, Callable<?> valueLoader) {
+        var computation = new CompletableFuture<Object>();
+
+        if (computations.putIfAbsent(key, computation) != null) {
+            return;
+        }
+
+        try {
+            executor.execute(() -> revalidate(key, staleEntry, valueLoader, computation));
+        } catch (RejectedExecutionException exception) {
+            log.warn("Could not schedule refresh of {} in {}", key, getName(), exception);
+            computations.remove(key, computation);
+            computation.complete(staleEntry.value());
+        }
+    }
+
+    private void revalidate(Object key, RevalidatingCacheValue staleEntry, Callable<?> valueLoader, CompletableFuture<Object> computation) {
+        var tenantId = key instanceof TenantCacheKey tenantKey ? tenantKey.tenantId() : ROOT_TENANT;
+        var bindTenant = !TenantContext.isBound() && !ROOT_TENANT.equals(tenantId);
+
+        if (bindTenant) {
+            TenantContext.bind(tenantId);
+        }
+
+        try {
+            var value = load(key, valueLoader, backgroundComputations);
+            replace(key, staleEntry, toEntry(value));
+            computation.complete(value);
+        } catch (RuntimeException exception) {
+            log.warn("Could not refresh {} in {}. Serving stale entry until it expires", key, getName(), exception);
+            computation.completeExceptionally(exception);
+        } finally {
+            computations.remove(key, computation);
+
+            if (bindTenant) {
+                TenantContext.clear();
+            }
+        }
+    }
+
+    /**
+     * Swaps the stale entry for the refreshed one only if it is still cached. An entry evicted, invalidated
+     * or written while refreshing is left as it is, so a refresh never restores an entry that callers
+     * above this cache, like {@link TenantCache}, no longer know about.
+     */
+    @SuppressWarnings("unchecked")
+    private void replace(Object key, RevalidatingCacheValue staleEntry, RevalidatingCacheValue freshEntry) {
+        switch (delegate.getNativeCache()) {
+            case javax.cache.Cache<?, ?> cache -> ((javax.cache.Cache<Object, Object>) cache).replace(key, staleEntry, freshEntry);
+            case ConcurrentMap<?, ?> map -> ((ConcurrentMap<Object, Object>) map).replace(key, staleEntry, freshEntry);
+            default -> log.warn("Could not replace {} in {}. Unsupported native cache", key, getName());
+        }
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader, Timer timer) {
+        var start = System.nanoTime();
+
+        try {
+            return valueLoader.call();
+        } catch (Exception exception) {
+            throw new ValueRetrievalException(key, valueLoader, exception);
+        } finally {
+            timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private Object join(Object key, Callable<?> valueLoader, CompletableFuture<Object> running) {
+        try {
+            return running.join();
+        } catch (CompletionException | CancellationException exception) {
+            if (exception.getCause() instanceof ValueRetrievalException valueRetrievalException) {
+                throw valueRetrievalException;
+            }
+
+            throw new ValueRetrievalException(key, valueLoader, exception.getCause());
+        }
+    }
+
+    private RevalidatingCacheValue lookup(Object key) {
+        var valueWrapper = delegate.get(key);
+
+        return valueWrapper == null ? null : (RevalidatingCacheValue) valueWrapper.get();
+    }
+
+    private RevalidatingCacheValue toEntry(Object value) {
+        return new RevalidatingCacheValue(value, clock.instant().plus(timeToRefresh));
+    }
+
+    private Timer computationsTimer(MeterRegistry meterRegistry, String mode) {
+        return Timer.builder("cache.computations")
+            .tag("cache", delegate.getName())
+            .tag("mode", mode)
+            .register(meterRegistry);
+    }
+}
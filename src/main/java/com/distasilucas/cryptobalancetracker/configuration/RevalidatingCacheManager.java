@@ -0,0 +1,56 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+
+/**
+ * Decorates the caches given with the time their entries are refreshed after with a
+ * {@link RevalidatingCache}. Every other cache is returned as it is.
+ */
+public class RevalidatingCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Map<String, Duration> timesToRefresh;
+    private final Executor executor;
+    private final Clock clock;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Cache> revalidatingCaches = new ConcurrentHashMap<>();
+
+    public RevalidatingCacheManager(CacheManager delegate,
+                                    Map<String, Duration> timesToRefresh,
+                                    Executor executor,
+                                    Clock clock,
+                                    MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.timesToRefresh = timesToRefresh;
+        this.executor = executor;
+        this.clock = clock;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!timesToRefresh.containsKey(name)) {
+            return delegate.getCache(name);
+        }
+
+        return revalidatingCaches.computeIfAbsent(name, cacheName ->
+            Optional.ofNullable(delegate.getCache(cacheName))
+                .map(cache -> new RevalidatingCache(cache, timesToRefresh.get(cacheName), executor, clock, meterRegistry))
+                .orElse(null));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
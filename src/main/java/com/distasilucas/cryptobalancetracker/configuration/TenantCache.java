@@ -0,0 +1,159 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
+import org.springframework.cache.Cache;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Partitions a cache per tenant. Every key is prefixed with the tenant of the current thread and the
+ * keys written by each tenant are tracked, so invalidating the cache from a request evicts only the
+ * entries of that tenant and leaves the warm entries of every other tenant in place. Invalidating it
+ * from a thread that is not bound to a tenant clears the entries of all of them.
+ * <p>
+ * Keys are tracked once their entry is written. Entries also leave the cache when they expire or are
+ * evicted to make room, which nothing reports back, so the keys of a tenant are pruned of entries no
+ * longer cached whenever they double in number since the last pruning.
+ */
+public class TenantCache implements Cache {
+
+    private static final int MIN_KEYS_TO_PRUNE = 64;
+
+    private final Cache delegate;
+    private final Map<String, TrackedKeys> tenantsKeys = new ConcurrentHashMap<>();
+
+    public TenantCache(Cache delegate) {
+        this.delegate = delegate;
+    }
+
+    @Override
+    public String getName() {
+        return delegate.getName();
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return delegate.getNativeCache();
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        return delegate.get(toTenantKey(key));
+    }
+
+    @Override
+    public <T> T get(Object key, Class<T> type) {
+        return delegate.get(toTenantKey(key), type);
+    }
+
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        var tenantKey = toTenantKey(key);
+        var value = delegate.get(tenantKey, valueLoader);
+        track(tenantKey);
+
+        return value;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        var tenantKey = toTenantKey(key);
+        delegate.put(tenantKey, value);
+        track(tenantKey);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        var tenantKey = toTenantKey(key);
+        var existing = delegate.putIfAbsent(tenantKey, value);
+        track(tenantKey);
+
+        return existing;
+    }
+
+    @Override
+    public void evict(Object key) {
+        delegate.evict(untrack(toTenantKey(key)));
+    }
+
+    @Override
+    public boolean evictIfPresent(Object key) {
+        return delegate.evictIfPresent(untrack(toTenantKey(key)));
+    }
+
+    @Override
+    public void clear() {
+        tenantsKeys.clear();
+        delegate.clear();
+    }
+
+    @Override
+    public boolean invalidate() {
+        if (!TenantContext.isBound()) {
+            tenantsKeys.clear();
+            return delegate.invalidate();
+        }
+
+        var tenantKeys = tenantsKeys.remove(TenantContext.getTenantId());
+
+        if (tenantKeys == null) {
+            return false;
+        }
+
+        var evicted = false;
+        for (var tenantKey : tenantKeys.keys) {
+            evicted |= delegate.evictIfPresent(tenantKey);
+        }
+
+        return evicted;
+    }
+
+    private TenantCacheKey toTenantKey(Object key) {
+        return new TenantCacheKey(TenantContext.getTenantId(), key);
+    }
+
+    private void track(TenantCacheKey tenantKey) {
+        var tenantKeys = tenantsKeys.computeIfAbsent(tenantKey.tenantId(), tenantId -> new TrackedKeys());
+        tenantKeys.keys.add(tenantKey);
+
+        if (tenantKeys.keys.size() > tenantKeys.pruneAt) {
+            prune(tenantKeys);
+        }
+    }
+
+    private void prune(TrackedKeys tenantKeys) {
+        synchronized (tenantKeys) {
+            if (tenantKeys.keys.size() <= tenantKeys.pruneAt) {
+                return;
+            }
+
+            tenantKeys.keys.removeIf(tenantKey -> delegate.get(tenantKey) == null);
+            tenantKeys.pruneAt = Math.max(MIN_KEYS_TO_PRUNE, tenantKeys.keys.size() * 2);
+        }
+    }
+
+    private TenantCacheKey untrack(TenantCacheKey tenantKey) {
+        var tenantKeys = tenantsKeys.get(tenantKey.tenantId());
+
+        if (tenantKeys != null) {
+            tenantKeys.keys.remove(tenantKey);
+        }
+
+        return tenantKey;
+    }
+
+    Set<TenantCacheKey> trackedKeys(String tenantId) {
+        var tenantKeys = tenantsKeys.get(tenantId);
+
+        return tenantKeys == null ? Set.of() : Set.copyOf(tenantKeys.keys);
+    }
+
+    private static final class TrackedKeys {
+
+        private final Set<TenantCacheKey> keys = ConcurrentHashMap.newKeySet();
+        private volatile int pruneAt = MIN_KEYS_TO_PRUNE;
+    }
+}
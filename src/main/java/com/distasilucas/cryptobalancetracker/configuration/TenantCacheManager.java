@@ -0,0 +1,41 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decorates the caches holding tenant data with a {@link TenantCache}. Caches of data shared by every
+ * tenant, like Coingecko responses and crypto prices, are returned as they are.
+ */
+public class TenantCacheManager implements CacheManager {
+
+    private final CacheManager delegate;
+    private final Set<String> tenantCachesNames;
+    private final Map<String, Cache> tenantCaches = new ConcurrentHashMap<>();
+
+    public TenantCacheManager(CacheManager delegate, Set<String> tenantCachesNames) {
+        this.delegate = delegate;
+        this.tenantCachesNames = tenantCachesNames;
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        if (!tenantCachesNames.contains(name)) {
+            return delegate.getCache(name);
+        }
+
+        return tenantCaches.computeIfAbsent(name, cacheName ->
+            Optional.ofNullable(delegate.getCache(cacheName)).map(TenantCache::new).orElse(null));
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return delegate.getCacheNames();
+    }
+}
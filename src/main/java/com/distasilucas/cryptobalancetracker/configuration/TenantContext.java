@@ -0,0 +1,50 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+import java.util.Objects;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.ROOT_TENANT;
+
+/**
+ * Tenant of the current thread. Requests are bound to the tenant of the authenticated user by
+ * {@link TenantFilter}. Threads that are not bound to a tenant, like the schedulers, act as the root
+ * tenant, which reads the data of every tenant and invalidates cached entries of all of them.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class TenantContext {
+
+    private static final ThreadLocal<String> CURRENT_TENANT = new ThreadLocal<>();
+
+    public static String getTenantId() {
+        return Objects.requireNonNullElse(CURRENT_TENANT.get(), ROOT_TENANT);
+    }
+
+    public static boolean isBound() {
+        return CURRENT_TENANT.get() != null;
+    }
+
+    public static void bind(String tenantId) {
+        CURRENT_TENANT.set(tenantId);
+    }
+
+    public static void clear() {
+        CURRENT_TENANT.remove();
+    }
+
+    public static void runAs(String tenantId, Runnable task) {
+        var previousTenantId = CURRENT_TENANT.get();
+        bind(tenantId);
+
+        try {
+            task.run();
+        } finally {
+            if (previousTenantId == null) {
+                clear();
+            } else {
+                bind(previousTenantId);
+            }
+        }
+    }
+}
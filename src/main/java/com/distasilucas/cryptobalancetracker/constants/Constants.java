@@ -10,12 +10,14 @@ public class Constants {
     public static final String API_V1 = "/api/v1";
     public static final String PLATFORMS_ENDPOINT = API_V1 + "/platforms";
     public static final String USER_CRYPTOS_ENDPOINT = API_V1 + "/cryptos";
+    public static final String CRYPTOS_ENDPOINT = API_V1 + "/market/cryptos";
     public static final String GOALS_ENDPOINT = API_V1 + "/goals";
     public static final String INSIGHTS_ENDPOINT = API_V1 + "/insights";
     public static final String PRICE_TARGET_ENDPOINT = API_V1 + "/price-targets";
 
     public static final String COINGECKO_CRYPTOS_CACHE = "COINGECKO_CRYPTOS_CACHE";
     public static final String CRYPTO_INFO_CACHE = "CRYPTO_INFO_CACHE";
+    public static final String EXCHANGE_RATES_CACHE = "EXCHANGE_RATES_CACHE";
     public static final String USER_CRYPTOS_CACHE = "USER_CRYPTOS_CACHE";
     public static final String USER_CRYPTOS_PLATFORM_ID_CACHE = "USER_CRYPTOS_PLATFORM_ID_CACHE";
     public static final String USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE = "USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE";
@@ -27,6 +29,7 @@ public class Constants {
     public static final String ALL_PLATFORMS_CACHE = "ALL_PLATFORMS_CACHE";
     public static final String PLATFORM_PLATFORM_ID_CACHE = "PLATFORM_PLATFORM_ID_CACHE";
     public static final String GOAL_CACHE = "GOAL_CACHE";
+    public static final String GOAL_PROGRESS_CACHE = "GOAL_PROGRESS_CACHE";
     public static final String PAGE_GOALS_CACHE = "PAGE_GOALS_CACHE";
     public static final String PRICE_TARGET_ID_CACHE = "PRICE_TARGET_ID_CACHE";
     public static final String PRICE_TARGET_PAGE_CACHE = "PRICE_TARGET_PAGE_CACHE";
@@ -36,5 +39,15 @@ public class Constants {
     public static final String CRYPTO_INSIGHTS_CACHE = "CRYPTO_INSIGHTS_CACHE";
     public static final String PLATFORMS_BALANCES_INSIGHTS_CACHE = "PLATFORMS_BALANCES_INSIGHTS_CACHE";
     public static final String CRYPTOS_BALANCES_INSIGHTS_CACHE = "CRYPTOS_BALANCES_INSIGHTS_CACHE";
+    public static final String RISK_INSIGHTS_CACHE = "RISK_INSIGHTS_CACHE";
+
+    public static final String CRYPTOS_INSIGHTS_BULKHEAD = "insights-cryptos";
+    public static final String CRYPTOS_PLATFORMS_INSIGHTS_BULKHEAD = "insights-cryptos-platforms";
+    public static final String CRYPTOS_BALANCES_INSIGHTS_BULKHEAD = "insights-cryptos-balances";
+    public static final String PLATFORMS_BALANCES_INSIGHTS_BULKHEAD = "insights-platforms-balances";
+    public static final String STALE_RESPONSE_HEADER = "X-Stale-Response";
+
+    public static final String DEFAULT_TENANT = "default";
+    public static final String ROOT_TENANT = "*";
 
 }
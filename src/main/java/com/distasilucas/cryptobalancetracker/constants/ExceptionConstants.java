@@ -14,9 +14,18 @@ public class ExceptionConstants {
     public static final String GOAL_ID_NOT_FOUND = "Goal with id %s not found";
     public static final String DUPLICATED_GOAL = "You already have a goal for %s";
     public static final String REQUEST_LIMIT_REACHED = "Request limit reached";
+    public static final String SERVICE_UNAVAILABLE = "Too many requests being processed. Try again later";
     public static final String NOT_ENOUGH_BALANCE = "You don't have enough balance to perform this action";
     public static final String SAME_FROM_TO_PLATFORM = "From platform and to platform cannot be the same";
     public static final String TOKEN_EXPIRED = "Token is expired";
     public static final String USERNAME_NOT_FOUND = "Username %s not found";
     public static final String INVALID_VALUE_FOR = "Invalid value %s for %s. Available values: %s";
+    public static final String UNSUPPORTED_IMPORT_FORMAT = "Unsupported import format %s. Available formats: %s";
+    public static final String MISSING_IMPORT_COLUMNS = "Header must have the columns %s";
+    public static final String TOO_MANY_IMPORT_ROWS = "Imports can have up to %d rows";
+    public static final String INVALID_IMPORT_ROW_VALUES = "Row must have %d values";
+    public static final String INVALID_IMPORT_ROW_JSON = "Row is not a valid JSON object";
+    public static final String INVALID_IMPORT_QUANTITY = "Invalid quantity %s";
+    public static final String IMPORT_ROW_NOT_SAVED = "Could not save %s in %s. Try again later";
+    public static final String CRYPTO_INFO_UNAVAILABLE = "Could not retrieve information for %s. Try again later";
 }
@@ -13,6 +13,7 @@ public class ValidationConstants {
     public static final String PLATFORM_ID_UUID = "Platform id must be a valid UUID";
     public static final String CRYPTO_NAME_NOT_BLANK = "Crypto name can not be null or blank";
     public static final String CRYPTO_NAME_SIZE = "Crypto name must be between 1 and 64 characters";
+    public static final String SEARCH_QUERY_SIZE = "Search query must be between 3 and 64 characters";
     public static final String CRYPTO_QUANTITY_NOT_NULL = "Crypto quantity can not be null";
     public static final String CRYPTO_QUANTITY_DIGITS = "Crypto quantity must have up to {integer} digits in the integer part and up to {fraction} digits in the decimal part";
     public static final String CRYPTO_QUANTITY_DECIMAL_MAX = "Crypto quantity must be less than or equal to 9999999999999999.999999999999";
@@ -32,4 +33,12 @@ public class ValidationConstants {
     public static final String NETWORK_FEE_MIN = "Network fee must be greater than or equal to 0";
     public static final String TO_PLATFORM_ID_NOT_BLANK = "To platform id can not be null or blank";
     public static final String TO_PLATFORM_ID_UUID = "To platform id must be a valid UUID";
+    public static final String TRANSFERS_NOT_NULL = "Transfers can not be null";
+    public static final String TRANSFERS_SIZE = "Transfers must have between 1 and 100 transfers";
+    public static final String TRANSFER_NOT_NULL = "Transfer can not be null";
+    public static final String AT_PAST_OR_PRESENT = "Date must be in the past or present";
+    public static final String CONFIDENCE_DECIMAL_MIN = "Confidence must be greater than or equal to 0.5";
+    public static final String CONFIDENCE_DECIMAL_MAX = "Confidence must be less than or equal to 0.999";
+    public static final String PRICE_SHOCK_NOT_NULL = "Price shock can not be null";
+    public static final String PRICE_SHOCK_DECIMAL_MIN = "Price shock must be greater than or equal to -100";
 }
@@ -0,0 +1,55 @@
+package com.distasilucas.cryptobalancetracker.controller;
+
+import com.distasilucas.cryptobalancetracker.controller.swagger.CryptoControllerAPI;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import com.distasilucas.cryptobalancetracker.service.CandleService;
+import com.distasilucas.cryptobalancetracker.service.CoinCatalogService;
+import jakarta.validation.constraints.Size;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_ENDPOINT;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.SEARCH_QUERY_SIZE;
+
+@Validated
+@RestController
+@RequestMapping(CRYPTOS_ENDPOINT)
+@RequiredArgsConstructor
+@CrossOrigin(origins = "${allowed-origins}")
+public class CryptoController implements CryptoControllerAPI {
+
+    private final CandleService candleService;
+    private final CoinCatalogService coinCatalogService;
+
+    @Override
+    @GetMapping("/{coingeckoCryptoId}/candles")
+    public ResponseEntity<List<CandleResponse>> retrieveCandles(
+        @PathVariable String coingeckoCryptoId,
+        @RequestParam(required = false, defaultValue = "ONE_DAY") CandleInterval interval
+    ) {
+        var candles = candleService.retrieveCandles(coingeckoCryptoId, interval);
+
+        return ResponseEntity.ok(candles);
+    }
+
+    @Override
+    @GetMapping("/search")
+    public ResponseEntity<List<CoingeckoCrypto>> searchCryptos(
+        @RequestParam @Size(min = 3, max = 64, message = SEARCH_QUERY_SIZE) String query
+    ) {
+        var cryptos = coinCatalogService.searchByName(query);
+
+        return ResponseEntity.ok(cryptos);
+    }
+}
@@ -9,11 +9,13 @@ import com.distasilucas.cryptobalancetracker.exception.DuplicatedPlatformExcepti
 import com.distasilucas.cryptobalancetracker.exception.GoalNotFoundException;
 import com.distasilucas.cryptobalancetracker.exception.InsufficientBalanceException;
 import com.distasilucas.cryptobalancetracker.exception.PlatformNotFoundException;
+import com.distasilucas.cryptobalancetracker.exception.ServiceUnavailableException;
 import com.distasilucas.cryptobalancetracker.exception.TooManyRequestsException;
 import com.distasilucas.cryptobalancetracker.exception.UserCryptoNotFoundException;
 import com.distasilucas.cryptobalancetracker.exception.UsernameNotFoundException;
 import jakarta.validation.ConstraintViolationException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -152,6 +154,22 @@ public class ExceptionController {
         return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(List.of(problemDetail));
     }
 
+    @ExceptionHandler(ServiceUnavailableException.class)
+    public ResponseEntity<List<ProblemDetail>> handleServiceUnavailableException(
+        ServiceUnavailableException exception,
+        WebRequest webRequest
+    ) {
+        log.info("A ServiceUnavailableException has occurred", exception);
+
+        var request = (ServletWebRequest) webRequest;
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, exception.getMessage());
+        problemDetail.setType(URI.create(request.getRequest().getRequestURL().toString()));
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+            .header(HttpHeaders.RETRY_AFTER, String.valueOf(exception.getRetryAfter().toSeconds()))
+            .body(List.of(problemDetail));
+    }
+
     @ExceptionHandler(InsufficientBalanceException.class)
     public ResponseEntity<List<ProblemDetail>> handleInsufficientBalanceException(
         InsufficientBalanceException exception,
@@ -5,7 +5,6 @@ import com.distasilucas.cryptobalancetracker.model.request.goal.GoalRequest;
 import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
 import com.distasilucas.cryptobalancetracker.model.response.goal.PageGoalResponse;
 import com.distasilucas.cryptobalancetracker.service.GoalService;
-import com.distasilucas.cryptobalancetracker.service.UserCryptoService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
@@ -35,14 +34,11 @@ import static com.distasilucas.cryptobalancetracker.constants.ValidationConstant
 public class GoalController implements GoalControllerAPI {
 
     private final GoalService goalService;
-    private final UserCryptoService userCryptoService;
 
     @Override
     @GetMapping("/{goalId}")
     public ResponseEntity<GoalResponse> retrieveGoalById(@PathVariable @UUID(message = INVALID_GOAL_UUID) String goalId) {
-        var goal = goalService.retrieveGoalById(goalId);
-        var userCryptos = userCryptoService.findAllByCoingeckoCryptoId(goal.getCrypto().getId());
-        var goalResponse = goal.toGoalResponse(userCryptos);
+        var goalResponse = goalService.retrieveGoalProgress(goalId);
 
         return ResponseEntity.ok(goalResponse);
     }
@@ -51,14 +47,7 @@ public class GoalController implements GoalControllerAPI {
     @GetMapping
     public ResponseEntity<PageGoalResponse> retrieveGoalsForPage(@RequestParam @Min(value = 0, message = INVALID_PAGE_NUMBER) int page) {
         var goals = goalService.retrieveGoalsForPage(page);
-        var goalsResponse = goals.stream()
-            .map(goal -> {
-                var userCryptos = userCryptoService.findAllByCoingeckoCryptoId(goal.getCrypto().getId());
-                return goal.toGoalResponse(userCryptos);
-            })
-            .toList();
-
-        var pageGoalsResponse = new PageGoalResponse(page, goals.getTotalPages(), goalsResponse);
+        var pageGoalsResponse = new PageGoalResponse(page, goals.getTotalPages(), goals.getContent());
 
         return goals.isEmpty() ?
             ResponseEntity.noContent().build() :
@@ -69,8 +58,7 @@ public class GoalController implements GoalControllerAPI {
     @PostMapping
     public ResponseEntity<GoalResponse> saveGoal(@RequestBody @Valid GoalRequest goalRequest) {
         var goal = goalService.saveGoal(goalRequest);
-        var userCryptos = userCryptoService.findAllByCoingeckoCryptoId(goal.getCrypto().getId());
-        var goalResponse = goal.toGoalResponse(userCryptos);
+        var goalResponse = goalService.retrieveGoalProgress(goal.getId());
 
         return ResponseEntity.ok(goalResponse);
     }
@@ -82,8 +70,7 @@ public class GoalController implements GoalControllerAPI {
         @Valid @RequestBody GoalRequest goalRequest
     ) {
         var goal = goalService.updateGoal(goalId, goalRequest);
-        var userCryptos = userCryptoService.findAllByCoingeckoCryptoId(goal.getCrypto().getId());
-        var goalResponse = goal.toGoalResponse(userCryptos);
+        var goalResponse = goalService.retrieveGoalProgress(goal.getId());
 
         return ResponseEntity.ok(goalResponse);
     }
@@ -1,48 +1,84 @@
 package com.distasilucas.cryptobalancetracker.controller;
 
 import com.distasilucas.cryptobalancetracker.controller.swagger.InsightsControllerAPI;
+import com.distasilucas.cryptobalancetracker.model.BulkheadResult;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
 import com.distasilucas.cryptobalancetracker.model.SortBy;
 import com.distasilucas.cryptobalancetracker.model.SortParams;
 import com.distasilucas.cryptobalancetracker.model.SortType;
+import com.distasilucas.cryptobalancetracker.model.request.insights.StressScenarioRequest;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.DatesBalanceResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ReturnsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.PageUserCryptosInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressScenarioResponse;
+import com.distasilucas.cryptobalancetracker.service.BulkheadService;
 import com.distasilucas.cryptobalancetracker.service.InsightsService;
+import com.distasilucas.cryptobalancetracker.service.ReturnsService;
+import com.distasilucas.cryptobalancetracker.service.RiskService;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PastOrPresent;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_BALANCES_INSIGHTS_BULKHEAD;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_INSIGHTS_BULKHEAD;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_PLATFORMS_INSIGHTS_BULKHEAD;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.INSIGHTS_ENDPOINT;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_BULKHEAD;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.STALE_RESPONSE_HEADER;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.AT_PAST_OR_PRESENT;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CONFIDENCE_DECIMAL_MAX;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CONFIDENCE_DECIMAL_MIN;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.PLATFORM_ID_UUID;
 
 @Validated
 @RestController
 @RequestMapping(INSIGHTS_ENDPOINT)
 @RequiredArgsConstructor
-@CrossOrigin(origins = "${allowed-origins}")
+@CrossOrigin(origins = "${allowed-origins}", exposedHeaders = STALE_RESPONSE_HEADER)
 public class InsightsController implements InsightsControllerAPI {
 
     private final InsightsService insightsService;
+    private final ReturnsService returnsService;
+    private final RiskService riskService;
+    private final BulkheadService bulkheadService;
 
     @Override
     @GetMapping("/balances")
-    public ResponseEntity<BalancesResponse> retrieveTotalBalancesInsights() {
-        var totalBalances = insightsService.retrieveTotalBalancesInsights();
+    public ResponseEntity<BalancesResponse> retrieveTotalBalancesInsights(
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        @PastOrPresent(message = AT_PAST_OR_PRESENT)
+        LocalDateTime at
+    ) {
+        var totalBalances = at == null ?
+            insightsService.retrieveTotalBalancesInsights() :
+            insightsService.retrieveTotalBalancesInsights(at);
 
         return ResponseEntity.ok(totalBalances);
     }
@@ -55,6 +91,37 @@ public class InsightsController implements InsightsControllerAPI {
         return ResponseEntity.ok(datesBalances);
     }
 
+    @Override
+    @GetMapping("/returns")
+    public ResponseEntity<ReturnsResponse> retrieveReturns(@RequestParam DateRange dateRange) {
+        var returns = returnsService.retrieveReturns(dateRange);
+
+        return ResponseEntity.ok(returns);
+    }
+
+    @Override
+    @GetMapping("/risk")
+    public ResponseEntity<RiskInsightsResponse> retrieveRiskInsights(
+        @RequestParam(required = false, defaultValue = "0.95")
+        @DecimalMin(value = "0.5", message = CONFIDENCE_DECIMAL_MIN)
+        @DecimalMax(value = "0.999", message = CONFIDENCE_DECIMAL_MAX)
+        BigDecimal confidence
+    ) {
+        var riskInsights = riskService.retrieveRiskInsights(confidence);
+
+        return ResponseEntity.ok(riskInsights);
+    }
+
+    @Override
+    @PostMapping("/risk/stress")
+    public ResponseEntity<StressScenarioResponse> retrieveStressScenario(
+        @Valid @RequestBody StressScenarioRequest stressScenarioRequest
+    ) {
+        var stressScenario = riskService.retrieveStressScenario(stressScenarioRequest);
+
+        return ResponseEntity.ok(stressScenario);
+    }
+
     @Override
     @GetMapping("/cryptos")
     public ResponseEntity<PageUserCryptosInsightsResponse> retrieveUserCryptosInsights(
@@ -67,7 +134,8 @@ public class InsightsController implements InsightsControllerAPI {
         SortType sortType
     ) {
         var sortParams = new SortParams(sortBy, sortType);
-        var userCryptosInsights = insightsService.retrieveUserCryptosInsights(page, sortParams);
+        var userCryptosInsights = bulkheadService.execute(CRYPTOS_INSIGHTS_BULKHEAD, List.of(page, sortParams),
+            () -> insightsService.retrieveUserCryptosInsights(page, sortParams));
 
         return okOrNoContent(userCryptosInsights);
     }
@@ -84,25 +152,42 @@ public class InsightsController implements InsightsControllerAPI {
         SortType sortType
     ) {
         var sortParams = new SortParams(sortBy, sortType);
-        var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(page, sortParams);
+        var userCryptosPlatformsInsights = bulkheadService.execute(CRYPTOS_PLATFORMS_INSIGHTS_BULKHEAD, List.of(page, sortParams),
+            () -> insightsService.retrieveUserCryptosPlatformsInsights(page, sortParams));
 
         return okOrNoContent(userCryptosPlatformsInsights);
     }
 
     @Override
     @GetMapping("/cryptos/balances")
-    public ResponseEntity<CryptosBalancesInsightsResponse> retrieveCryptosBalancesInsights() {
-        var cryptosBalancesInsights = insightsService.retrieveCryptosBalancesInsights();
+    public ResponseEntity<CryptosBalancesInsightsResponse> retrieveCryptosBalancesInsights(
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        @PastOrPresent(message = AT_PAST_OR_PRESENT)
+        LocalDateTime at
+    ) {
+        var cryptosBalancesInsights = bulkheadService.execute(CRYPTOS_BALANCES_INSIGHTS_BULKHEAD, String.valueOf(at),
+            () -> at == null ?
+                insightsService.retrieveCryptosBalancesInsights() :
+                insightsService.retrieveCryptosBalancesInsights(at));
 
-        return ResponseEntity.ok(cryptosBalancesInsights);
+        return ok(cryptosBalancesInsights);
     }
 
     @Override
     @GetMapping("/platforms/balances")
-    public ResponseEntity<PlatformsBalancesInsightsResponse> retrievePlatformsBalancesInsights() {
-        var platformsBalancesInsights = insightsService.retrievePlatformsBalancesInsights();
+    public ResponseEntity<PlatformsBalancesInsightsResponse> retrievePlatformsBalancesInsights(
+        @RequestParam(required = false)
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        @PastOrPresent(message = AT_PAST_OR_PRESENT)
+        LocalDateTime at
+    ) {
+        var platformsBalancesInsights = bulkheadService.execute(PLATFORMS_BALANCES_INSIGHTS_BULKHEAD, String.valueOf(at),
+            () -> at == null ?
+                insightsService.retrievePlatformsBalancesInsights() :
+                insightsService.retrievePlatformsBalancesInsights(at));
 
-        return ResponseEntity.ok(platformsBalancesInsights);
+        return ok(platformsBalancesInsights);
     }
 
     @Override
@@ -125,7 +210,19 @@ public class InsightsController implements InsightsControllerAPI {
         return ResponseEntity.ok(platformsInsights);
     }
 
-    private <T> ResponseEntity<T> okOrNoContent(Optional<T> body) {
-        return body.map(ResponseEntity::ok).orElseGet(() -> ResponseEntity.noContent().build());
+    private <T> ResponseEntity<T> ok(BulkheadResult<T> result) {
+        var response = ResponseEntity.ok();
+
+        if (result.stale()) {
+            response.header(STALE_RESPONSE_HEADER, Boolean.TRUE.toString());
+        }
+
+        return response.body(result.value());
+    }
+
+    private <T> ResponseEntity<T> okOrNoContent(BulkheadResult<Optional<T>> result) {
+        return result.value()
+            .map(body -> ok(new BulkheadResult<>(body, result.stale())))
+            .orElseGet(() -> ResponseEntity.noContent().build());
     }
 }
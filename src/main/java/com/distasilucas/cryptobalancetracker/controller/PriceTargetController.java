@@ -5,12 +5,14 @@ import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
 import com.distasilucas.cryptobalancetracker.model.request.pricetarget.PriceTargetRequest;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PagePriceTargetResponse;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetResponse;
+import com.distasilucas.cryptobalancetracker.service.PriceTargetAlertService;
 import com.distasilucas.cryptobalancetracker.service.PriceTargetService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -23,6 +25,7 @@ import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_ENDPOINT;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.INVALID_PAGE_NUMBER;
@@ -36,6 +39,7 @@ import static com.distasilucas.cryptobalancetracker.constants.ValidationConstant
 public class PriceTargetController implements PriceTargetControllerAPI {
 
     private final PriceTargetService priceTargetService;
+    private final PriceTargetAlertService priceTargetAlertService;
 
     @Override
     @GetMapping("/{priceTargetId}")
@@ -97,4 +101,10 @@ public class PriceTargetController implements PriceTargetControllerAPI {
 
         return ResponseEntity.noContent().build();
     }
+
+    @Override
+    @GetMapping(value = "/alerts", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamPriceTargetAlerts() {
+        return priceTargetAlertService.subscribe();
+    }
 }
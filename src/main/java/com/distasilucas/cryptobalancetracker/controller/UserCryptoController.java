@@ -2,17 +2,22 @@ package com.distasilucas.cryptobalancetracker.controller;
 
 import com.distasilucas.cryptobalancetracker.controller.swagger.UserCryptoControllerAPI;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.ImportFormat;
+import com.distasilucas.cryptobalancetracker.model.request.usercrypto.BatchTransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.UserCryptoRequest;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptosResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.PageUserCryptoResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.TransferCryptoResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.UserCryptoResponse;
 import com.distasilucas.cryptobalancetracker.service.TransferCryptoService;
+import com.distasilucas.cryptobalancetracker.service.UserCryptoImportService;
 import com.distasilucas.cryptobalancetracker.service.UserCryptoService;
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.hibernate.validator.constraints.UUID;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -22,10 +27,14 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.io.InputStream;
+import java.util.List;
+
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_ENDPOINT;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.INVALID_PAGE_NUMBER;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.USER_CRYPTO_ID_UUID;
@@ -39,6 +48,7 @@ public class UserCryptoController implements UserCryptoControllerAPI {
 
     private final UserCryptoService userCryptoService;
     private final TransferCryptoService transferCryptoService;
+    private final UserCryptoImportService userCryptoImportService;
 
     @Override
     @GetMapping("/{userCryptoId}")
@@ -121,4 +131,29 @@ public class UserCryptoController implements UserCryptoControllerAPI {
         return ResponseEntity.ok(transferCryptoResponse);
     }
 
+    @Override
+    @PostMapping("/transfer/batch")
+    public ResponseEntity<List<TransferCryptoResponse>> transferUserCryptos(
+        @Valid
+        @RequestBody
+        BatchTransferCryptoRequest batchTransferCryptoRequest
+    ) {
+        var transferCryptoResponses = transferCryptoService.transferCryptos(batchTransferCryptoRequest.transfers());
+
+        return ResponseEntity.ok(transferCryptoResponses);
+    }
+
+    @Override
+    @PostMapping(value = "/import", consumes = {ImportFormat.CSV_VALUE, ImportFormat.NDJSON_VALUE})
+    public ResponseEntity<ImportUserCryptosResponse> importUserCryptos(
+        @RequestHeader(HttpHeaders.CONTENT_TYPE)
+        String contentType,
+        InputStream userCryptos
+    ) {
+        var importFormat = ImportFormat.fromContentType(contentType);
+        var importUserCryptosResponse = userCryptoImportService.importUserCryptos(userCryptos, importFormat);
+
+        return ResponseEntity.ok(importUserCryptosResponse);
+    }
+
 }
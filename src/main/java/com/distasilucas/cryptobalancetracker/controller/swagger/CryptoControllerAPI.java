@@ -0,0 +1,85 @@
+package com.distasilucas.cryptobalancetracker.controller.swagger;
+
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+@Tag(name = "Crypto Controller", description = "API endpoints for crypto market data")
+public interface CryptoControllerAPI {
+
+    @Operation(summary = "Retrieve OHLC candles in USD for the given crypto and interval")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Candles, oldest first",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = CandleResponse.class)
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Bad Request",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<List<CandleResponse>> retrieveCandles(String coingeckoCryptoId, CandleInterval interval);
+
+    @Operation(summary = "Search Coingecko cryptos by name, most similar names first")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Cryptos whose name is similar to the query",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = CoingeckoCrypto.class)
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Bad Request",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<List<CoingeckoCrypto>> searchCryptos(String query);
+}
@@ -3,30 +3,44 @@ package com.distasilucas.cryptobalancetracker.controller.swagger;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
 import com.distasilucas.cryptobalancetracker.model.SortBy;
 import com.distasilucas.cryptobalancetracker.model.SortType;
+import com.distasilucas.cryptobalancetracker.model.request.insights.StressScenarioRequest;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.DatesBalanceResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ReturnsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.PageUserCryptosInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressScenarioResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.DecimalMax;
+import jakarta.validation.constraints.DecimalMin;
 import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.PastOrPresent;
 import org.hibernate.validator.constraints.UUID;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.AT_PAST_OR_PRESENT;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CONFIDENCE_DECIMAL_MAX;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CONFIDENCE_DECIMAL_MIN;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.PLATFORM_ID_UUID;
 
 @Tag(name = "Insights Controller", description = "API endpoints for retrieving insights")
 public interface InsightsControllerAPI {
 
-    @Operation(summary = "Retrieve total balances in USD, BTC and EUR")
+    @Operation(summary = "Retrieve total balances in USD, BTC and EUR, now or at the given past date")
     @ApiResponse(
         responseCode = "200",
         description = "Total Balances",
@@ -45,7 +59,10 @@ public interface InsightsControllerAPI {
             )
         )
     )
-    ResponseEntity<BalancesResponse> retrieveTotalBalancesInsights();
+    ResponseEntity<BalancesResponse> retrieveTotalBalancesInsights(
+        @PastOrPresent(message = AT_PAST_OR_PRESENT)
+        LocalDateTime at
+    );
 
     @Operation(summary = "Retrieve balances for the given Date Range")
     @ApiResponse(
@@ -68,6 +85,93 @@ public interface InsightsControllerAPI {
     )
     ResponseEntity<DatesBalanceResponse> retrieveDatesBalancesResponse(DateRange dateRange);
 
+    @Operation(summary = "Retrieve time-weighted and money-weighted returns for the given Date Range, excluding deposits and withdrawals")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Returns",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = ReturnsResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<ReturnsResponse> retrieveReturns(DateRange dateRange);
+
+    @Operation(summary = "Retrieve value at risk and conditional value at risk of the holdings, in total, by platform and by crypto")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Risk insights",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = RiskInsightsResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Bad request",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<RiskInsightsResponse> retrieveRiskInsights(
+        @DecimalMin(value = "0.5", message = CONFIDENCE_DECIMAL_MIN)
+        @DecimalMax(value = "0.999", message = CONFIDENCE_DECIMAL_MAX)
+        BigDecimal confidence
+    );
+
+    @Operation(summary = "Retrieve the impact of the given price shocks on the holdings, in total, by platform and by crypto")
+    @ApiResponse(
+        responseCode = "200",
+        description = "Stress scenario",
+        content = @Content(
+            mediaType = "application/json",
+            schema = @Schema(implementation = StressScenarioResponse.class)
+        )
+    )
+    @ApiResponse(
+        responseCode = "400",
+        description = "Bad request",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    @ApiResponse(
+        responseCode = "500",
+        description = "Internal Server Error",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<StressScenarioResponse> retrieveStressScenario(@Valid StressScenarioRequest stressScenarioRequest);
+
     @Operation(summary = "Retrieves information of each user crypto, like its balance, information about the crypto, where it's stored")
     @ApiResponse(
         responseCode = "200",
@@ -91,6 +195,16 @@ public interface InsightsControllerAPI {
             )
         )
     )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Too many requests being processed",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
     ResponseEntity<PageUserCryptosInsightsResponse> retrieveUserCryptosInsights(
         @Min(value = 0, message = "Page must be greater than or equal to 0")
         int page,
@@ -121,6 +235,16 @@ public interface InsightsControllerAPI {
             )
         )
     )
+    @ApiResponse(
+        responseCode = "503",
+        description = "Too many requests being processed",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
     ResponseEntity<PageUserCryptosInsightsResponse> retrieveUserCryptosPlatformsInsights(
         @Min(value = 0, message = "Page must be greater than or equal to 0")
         int page,
@@ -128,7 +252,7 @@ public interface InsightsControllerAPI {
         SortType sortType
     );
 
-    @Operation(summary = "Retrieve insights balances for all user cryptos")
+    @Operation(summary = "Retrieve insights balances for all user cryptos, now or at the given past date")
     @ApiResponse(
         responseCode = "200",
         description = "User cryptos balances insights",
@@ -151,9 +275,22 @@ public interface InsightsControllerAPI {
             )
         )
     )
-    ResponseEntity<CryptosBalancesInsightsResponse> retrieveCryptosBalancesInsights();
+    @ApiResponse(
+        responseCode = "503",
+        description = "Too many requests being processed",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<CryptosBalancesInsightsResponse> retrieveCryptosBalancesInsights(
+        @PastOrPresent(message = AT_PAST_OR_PRESENT)
+        LocalDateTime at
+    );
 
-    @Operation(summary = "Retrieve insights balances for all platforms")
+    @Operation(summary = "Retrieve insights balances for all platforms, now or at the given past date")
     @ApiResponse(
         responseCode = "200",
         description = "Platforms balances insights",
@@ -176,7 +313,20 @@ public interface InsightsControllerAPI {
             )
         )
     )
-    ResponseEntity<PlatformsBalancesInsightsResponse> retrievePlatformsBalancesInsights();
+    @ApiResponse(
+        responseCode = "503",
+        description = "Too many requests being processed",
+        content = @Content(
+            mediaType = "application/json",
+            array = @ArraySchema(
+                schema = @Schema(implementation = ProblemDetail.class)
+            )
+        )
+    )
+    ResponseEntity<PlatformsBalancesInsightsResponse> retrievePlatformsBalancesInsights(
+        @PastOrPresent(message = AT_PAST_OR_PRESENT)
+        LocalDateTime at
+    );
 
     @Operation(summary = "Retrieve user cryptos insights for the given coingecko crypto id")
     @ApiResponse(
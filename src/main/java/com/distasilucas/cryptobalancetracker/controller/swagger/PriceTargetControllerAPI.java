@@ -2,6 +2,7 @@ package com.distasilucas.cryptobalancetracker.controller.swagger;
 
 import com.distasilucas.cryptobalancetracker.model.request.pricetarget.PriceTargetRequest;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PagePriceTargetResponse;
+import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetAlertResponse;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetResponse;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -15,6 +16,7 @@ import jakarta.validation.constraints.Min;
 import org.hibernate.validator.constraints.UUID;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.INVALID_PAGE_NUMBER;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.INVALID_PRICE_TARGET_UUID;
@@ -283,4 +285,41 @@ public interface PriceTargetControllerAPI {
     })
     ResponseEntity<Void> deletePriceTarget(@UUID(message = INVALID_PRICE_TARGET_UUID) String priceTargetId);
 
+    @Operation(summary = "Stream the price targets crossed by price updates")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "Stream of crossed price targets",
+            content = @Content(
+                mediaType = "text/event-stream",
+                schema = @Schema(implementation = PriceTargetAlertResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "401",
+            description = "Unauthorized",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "403",
+            description = "Forbidden. Not yet implemented",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal Server Error",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        )
+    })
+    SseEmitter streamPriceTargetAlerts();
+
 }
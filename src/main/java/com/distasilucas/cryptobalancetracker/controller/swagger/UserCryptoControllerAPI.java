@@ -1,7 +1,9 @@
 package com.distasilucas.cryptobalancetracker.controller.swagger;
 
+import com.distasilucas.cryptobalancetracker.model.request.usercrypto.BatchTransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.UserCryptoRequest;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptosResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.PageUserCryptoResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.TransferCryptoResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.UserCryptoResponse;
@@ -18,6 +20,9 @@ import org.hibernate.validator.constraints.UUID;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
 
+import java.io.InputStream;
+import java.util.List;
+
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.INVALID_PAGE_NUMBER;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.USER_CRYPTO_ID_UUID;
 
@@ -264,4 +269,79 @@ public interface UserCryptoControllerAPI {
     })
     ResponseEntity<TransferCryptoResponse> transferUserCrypto(@Valid TransferCryptoRequest transferCryptoRequest);
 
+    @Operation(summary = "Transfer several user cryptos at once. Either all transfers are applied or none is")
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "User cryptos transferred, in the order of the transfers requested",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = TransferCryptoResponse.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "404",
+            description = "User crypto not found, Platform not found",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal Server Error",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        )
+    })
+    ResponseEntity<List<TransferCryptoResponse>> transferUserCryptos(@Valid BatchTransferCryptoRequest batchTransferCryptoRequest);
+
+    @Operation(
+        summary = "Import user cryptos from a CSV file with a cryptoName, quantity and platformId header, or from NDJSON. " +
+            "Rows that can't be imported are reported without stopping the others",
+        requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+            content = {
+                @Content(mediaType = "text/csv"),
+                @Content(mediaType = "application/x-ndjson")
+            }
+        )
+    )
+    @ApiResponses(value = {
+        @ApiResponse(
+            responseCode = "200",
+            description = "User cryptos imported, with the rows that could not be imported",
+            content = @Content(
+                mediaType = "application/json",
+                schema = @Schema(implementation = ImportUserCryptosResponse.class)
+            )
+        ),
+        @ApiResponse(
+            responseCode = "400",
+            description = "Bad request",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        ),
+        @ApiResponse(
+            responseCode = "500",
+            description = "Internal Server Error",
+            content = @Content(
+                mediaType = "application/json",
+                array = @ArraySchema(schema = @Schema(implementation = ProblemDetail.class))
+            )
+        )
+    })
+    ResponseEntity<ImportUserCryptosResponse> importUserCryptos(String contentType, InputStream userCryptos);
+
 }
@@ -0,0 +1,60 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import jakarta.persistence.Column;
+import jakarta.persistence.Embedded;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+@Entity
+@Table(name = "BalanceSnapshots")
+@Getter
+@ToString
+@NoArgsConstructor
+public class BalanceSnapshot {
+
+    @Id
+    private String id;
+
+    @Enumerated(EnumType.STRING)
+    private SnapshotTier tier;
+
+    @Column(name = "taken_at")
+    private LocalDateTime takenAt;
+
+    @Embedded
+    private Balances balances;
+
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public BalanceSnapshot(String id, SnapshotTier tier, LocalDateTime takenAt, Balances balances) {
+        this.id = id;
+        this.tier = tier;
+        this.takenAt = takenAt;
+        this.balances = balances;
+    }
+
+    public BalanceSnapshot(SnapshotTier tier, LocalDateTime takenAt, BalancesResponse balancesResponse) {
+        this.id = UUID.randomUUID().toString();
+        this.tier = tier;
+        this.takenAt = takenAt;
+        this.balances = new Balances(balancesResponse.totalUSDBalance(), balancesResponse.totalEURBalance(), balancesResponse.totalBTCBalance());
+    }
+
+    public BalanceSnapshot toRollup(SnapshotTier tier, LocalDateTime bucket) {
+        return new BalanceSnapshot(UUID.randomUUID().toString(), tier, bucket, balances);
+    }
+}
@@ -0,0 +1,61 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Quantity of a crypto added to (positive) or removed from (negative) the portfolio by the user,
+ * valued at the price known when it happened.
+ */
+@Entity
+@Table(name = "CashFlows")
+@Getter
+@ToString
+@NoArgsConstructor
+public class CashFlow {
+
+    @Id
+    private String id;
+
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    private BigDecimal quantity;
+
+    @Column(name = "usd_value")
+    private BigDecimal usdValue;
+
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public CashFlow(String id, String cryptoId, LocalDateTime occurredAt, BigDecimal quantity, BigDecimal usdValue) {
+        this.id = id;
+        this.cryptoId = cryptoId;
+        this.occurredAt = occurredAt;
+        this.quantity = quantity;
+        this.usdValue = usdValue;
+    }
+
+    public CashFlow(Crypto crypto, BigDecimal quantity, LocalDateTime occurredAt) {
+        this.id = UUID.randomUUID().toString();
+        this.cryptoId = crypto.getId();
+        this.occurredAt = occurredAt;
+        this.quantity = quantity;
+        this.usdValue = crypto.getLastKnownPrices().getLastKnownPrice().multiply(quantity).setScale(2, RoundingMode.HALF_UP);
+    }
+}
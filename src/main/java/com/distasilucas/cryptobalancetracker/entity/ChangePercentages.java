@@ -16,13 +16,13 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class ChangePercentages implements Serializable {
 
-    @Column(name = "change_percentage_in_24h")
+    @Column(name = "change_percentage_in_24h", table = Crypto.PRICES_TABLE)
     private BigDecimal changePercentageIn24h;
 
-    @Column(name = "change_percentage_in_7d")
+    @Column(name = "change_percentage_in_7d", table = Crypto.PRICES_TABLE)
     private BigDecimal changePercentageIn7d;
 
-    @Column(name = "change_percentage_in_30d")
+    @Column(name = "change_percentage_in_30d", table = Crypto.PRICES_TABLE)
     private BigDecimal changePercentageIn30d;
 
     public ChangePercentages(MarketData marketData) {
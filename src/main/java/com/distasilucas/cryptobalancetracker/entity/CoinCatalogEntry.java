@@ -0,0 +1,32 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+/**
+ * Coin listed by Coingecko. The catalog is kept in sync with the Coingecko coins list so names and ids
+ * can be validated, and searched, without downloading the whole list first.
+ */
+@Entity
+@Table(name = "CoinCatalog")
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class CoinCatalogEntry {
+
+    @Id
+    private String id;
+    private String symbol;
+    private String name;
+
+    public CoingeckoCrypto toCoingeckoCrypto() {
+        return new CoingeckoCrypto(id, symbol, name);
+    }
+}
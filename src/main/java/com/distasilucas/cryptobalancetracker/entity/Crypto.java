@@ -6,7 +6,8 @@ import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
-import jakarta.persistence.OneToOne;
+import jakarta.persistence.PrimaryKeyJoinColumn;
+import jakarta.persistence.SecondaryTable;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -21,10 +22,17 @@ import java.util.List;
 @Getter
 @Entity
 @Table(name = "Cryptos")
+@SecondaryTable(name = Crypto.PRICES_TABLE, pkJoinColumns = @PrimaryKeyJoinColumn(name = "crypto_id"))
 @ToString
 @NoArgsConstructor
 public class Crypto implements Serializable {
 
+    /**
+     * Prices and market data are rewritten on every price refresh, so they live in a narrow table of
+     * their own. Refreshing them leaves the rows and indexes of cryptos untouched.
+     */
+    public static final String PRICES_TABLE = "CryptoPrices";
+
     @Id
     private String id;
 
@@ -37,7 +45,7 @@ public class Crypto implements Serializable {
     @Embedded
     private ChangePercentages changePercentages;
 
-    @Column(name = "last_updated_at")
+    @Column(name = "last_updated_at", table = PRICES_TABLE)
     private LocalDateTime lastUpdatedAt;
 
     @Getter(AccessLevel.NONE)
@@ -47,8 +55,8 @@ public class Crypto implements Serializable {
 
     @Getter(AccessLevel.NONE)
     @ToString.Exclude
-    @OneToOne(mappedBy = "crypto")
-    private Goal goal;
+    @OneToMany(mappedBy = "crypto")
+    private List<Goal> goals;
 
     @Getter(AccessLevel.NONE)
     @ToString.Exclude
@@ -63,7 +71,7 @@ public class Crypto implements Serializable {
         this.changePercentages = changePercentages;
         this.lastUpdatedAt = lastUpdatedAt;
         this.userCryptos = Collections.emptyList();
-        this.goal = null;
+        this.goals = Collections.emptyList();
         this.priceTargets = Collections.emptyList();
     }
 
@@ -74,7 +82,7 @@ public class Crypto implements Serializable {
         this.changePercentages = new ChangePercentages(coingeckoCryptoInfo.marketData());
         this.lastUpdatedAt = lastUpdatedAt;
         this.userCryptos = Collections.emptyList();
-        this.goal = null;
+        this.goals = Collections.emptyList();
         this.priceTargets = Collections.emptyList();
     }
 }
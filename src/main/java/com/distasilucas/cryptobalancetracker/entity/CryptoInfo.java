@@ -19,13 +19,13 @@ public class CryptoInfo implements Serializable {
     private String ticker;
     private String image;
 
-    @Column(name = "market_cap_rank")
+    @Column(name = "market_cap_rank", table = Crypto.PRICES_TABLE)
     private int marketCapRank;
 
-    @Column(name = "market_cap")
+    @Column(name = "market_cap", table = Crypto.PRICES_TABLE)
     private BigDecimal marketCap;
 
-    @Column(name = "circulating_supply")
+    @Column(name = "circulating_supply", table = Crypto.PRICES_TABLE)
     private BigDecimal circulatingSupply;
 
     @Column(name = "max_supply")
@@ -1,12 +1,14 @@
 package com.distasilucas.cryptobalancetracker.entity;
 
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import jakarta.persistence.Column;
 import jakarta.persistence.Embedded;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.TenantId;
 
 import java.time.LocalDate;
 import java.util.UUID;
@@ -24,6 +26,10 @@ public class DateBalance {
     @Embedded
     private Balances balances;
 
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
     public DateBalance(LocalDate date, BalancesResponse balancesResponse) {
         this.id = UUID.randomUUID().toString();
         this.date = date;
@@ -0,0 +1,30 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+@Getter
+@ToString
+@Embeddable
+@NoArgsConstructor
+@AllArgsConstructor
+public class Holding implements Serializable {
+
+    @Column(name = "user_crypto_id")
+    private String userCryptoId;
+
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Column(name = "platform_id")
+    private String platformId;
+
+    private BigDecimal quantity;
+}
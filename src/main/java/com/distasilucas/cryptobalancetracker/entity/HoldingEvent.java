@@ -0,0 +1,86 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Entry of the holdings ledger. Every event carries the quantity of the user crypto after it happened,
+ * zero meaning the user crypto no longer exists, so replaying the events in order rebuilds the holdings.
+ */
+@Entity
+@Immutable
+@Table(name = "HoldingEvents")
+@Getter
+@ToString
+@NoArgsConstructor
+public class HoldingEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "occurred_at")
+    private LocalDateTime occurredAt;
+
+    @Enumerated(EnumType.STRING)
+    private HoldingEventType type;
+
+    @Column(name = "user_crypto_id")
+    private String userCryptoId;
+
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Column(name = "platform_id")
+    private String platformId;
+
+    private BigDecimal quantity;
+
+    @Column(name = "network_fee")
+    private BigDecimal networkFee;
+
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public HoldingEvent(Long id, LocalDateTime occurredAt, HoldingEventType type, String userCryptoId, String cryptoId,
+                        String platformId, BigDecimal quantity, BigDecimal networkFee) {
+        this.id = id;
+        this.occurredAt = occurredAt;
+        this.type = type;
+        this.userCryptoId = userCryptoId;
+        this.cryptoId = cryptoId;
+        this.platformId = platformId;
+        this.quantity = quantity;
+        this.networkFee = networkFee;
+    }
+
+    public HoldingEvent(HoldingEventType type, UserCrypto userCrypto, BigDecimal networkFee, LocalDateTime occurredAt) {
+        this.occurredAt = occurredAt;
+        this.type = type;
+        this.userCryptoId = userCrypto.getId();
+        this.cryptoId = userCrypto.getCrypto().getId();
+        this.platformId = userCrypto.getPlatform().getId();
+        this.quantity = HoldingEventType.DELETE == type ? BigDecimal.ZERO : userCrypto.getQuantity();
+        this.networkFee = networkFee;
+    }
+
+    public Holding toHolding() {
+        return new Holding(userCryptoId, cryptoId, platformId, quantity);
+    }
+}
@@ -0,0 +1,60 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import jakarta.persistence.CollectionTable;
+import jakarta.persistence.Column;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Holdings after replaying every event up to {@code lastEventId}, which happened at {@code takenAt}.
+ */
+@Entity
+@Table(name = "HoldingsSnapshots")
+@Getter
+@ToString
+@NoArgsConstructor
+public class HoldingsSnapshot {
+
+    @Id
+    private String id;
+
+    @Column(name = "taken_at")
+    private LocalDateTime takenAt;
+
+    @Column(name = "last_event_id")
+    private Long lastEventId;
+
+    @ElementCollection(fetch = FetchType.EAGER)
+    @CollectionTable(name = "HoldingsSnapshotEntries", joinColumns = @JoinColumn(name = "snapshot_id"))
+    private List<Holding> holdings;
+
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public HoldingsSnapshot(String id, LocalDateTime takenAt, Long lastEventId, List<Holding> holdings) {
+        this.id = id;
+        this.takenAt = takenAt;
+        this.lastEventId = lastEventId;
+        this.holdings = holdings;
+    }
+
+    public HoldingsSnapshot(HoldingEvent lastEvent, List<Holding> holdings) {
+        this.id = UUID.randomUUID().toString();
+        this.takenAt = lastEvent.getOccurredAt();
+        this.lastEventId = lastEvent.getId();
+        this.holdings = holdings;
+    }
+}
@@ -16,13 +16,13 @@ import java.math.BigDecimal;
 @AllArgsConstructor
 public class LastKnownPrices implements Serializable {
 
-    @Column(name = "last_known_price")
+    @Column(name = "last_known_price", table = Crypto.PRICES_TABLE)
     private BigDecimal lastKnownPrice;
 
-    @Column(name = "last_known_price_in_eur")
+    @Column(name = "last_known_price_in_eur", table = Crypto.PRICES_TABLE)
     private BigDecimal lastKnownPriceInEUR;
 
-    @Column(name = "last_known_price_in_btc")
+    @Column(name = "last_known_price_in_btc", table = Crypto.PRICES_TABLE)
     private BigDecimal lastKnownPriceInBTC;
 
     public LastKnownPrices(MarketData marketData) {
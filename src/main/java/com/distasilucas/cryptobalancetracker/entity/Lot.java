@@ -0,0 +1,89 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Quantity of a crypto acquired at a given unit cost in USD. The quantity is what is left of the lot,
+ * and the realized profit and loss is accumulated as the lot is sold. Moving part of a lot to another
+ * user crypto keeps its unit cost and acquisition date.
+ */
+@Entity
+@Table(name = "Lots")
+@Getter
+@ToString
+@NoArgsConstructor
+public class Lot {
+
+    @Id
+    private String id;
+
+    @Column(name = "user_crypto_id")
+    private String userCryptoId;
+
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Column(name = "acquired_at")
+    private LocalDateTime acquiredAt;
+
+    @Column(name = "unit_cost")
+    private BigDecimal unitCost;
+
+    private BigDecimal quantity;
+
+    @Column(name = "realized_pnl")
+    private BigDecimal realizedPnl;
+
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public Lot(String id, String userCryptoId, String cryptoId, LocalDateTime acquiredAt, BigDecimal unitCost,
+               BigDecimal quantity, BigDecimal realizedPnl) {
+        this.id = id;
+        this.userCryptoId = userCryptoId;
+        this.cryptoId = cryptoId;
+        this.acquiredAt = acquiredAt;
+        this.unitCost = unitCost;
+        this.quantity = quantity;
+        this.realizedPnl = realizedPnl;
+    }
+
+    public Lot(UserCrypto userCrypto, BigDecimal quantity, LocalDateTime acquiredAt) {
+        this(
+            UUID.randomUUID().toString(),
+            userCrypto.getId(),
+            userCrypto.getCrypto().getId(),
+            acquiredAt,
+            userCrypto.getCrypto().getLastKnownPrices().getLastKnownPrice(),
+            quantity,
+            BigDecimal.ZERO
+        );
+    }
+
+    public void sell(BigDecimal soldQuantity, BigDecimal unitPrice) {
+        this.quantity = quantity.subtract(soldQuantity);
+        this.realizedPnl = realizedPnl.add(unitPrice.subtract(unitCost).multiply(soldQuantity));
+    }
+
+    public Lot moveTo(String toUserCryptoId, BigDecimal movedQuantity) {
+        this.quantity = quantity.subtract(movedQuantity);
+
+        return new Lot(UUID.randomUUID().toString(), toUserCryptoId, cryptoId, acquiredAt, unitCost, movedQuantity, BigDecimal.ZERO);
+    }
+
+    public BigDecimal getCostBasis() {
+        return unitCost.multiply(quantity);
+    }
+}
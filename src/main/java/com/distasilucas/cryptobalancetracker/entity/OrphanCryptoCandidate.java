@@ -0,0 +1,32 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * Crypto that may no longer be used, queued when a user crypto, goal or price target referencing it is
+ * deleted. The orphan cryptos sweep deletes the queued cryptos that nothing references anymore.
+ */
+@Entity
+@Table(name = "OrphanCryptoCandidates")
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class OrphanCryptoCandidate {
+
+    @Id
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Column(name = "enqueued_at")
+    private LocalDateTime enqueuedAt;
+}
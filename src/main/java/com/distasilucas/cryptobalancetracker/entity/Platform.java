@@ -1,6 +1,7 @@
 package com.distasilucas.cryptobalancetracker.entity;
 
 import com.distasilucas.cryptobalancetracker.model.response.platform.PlatformResponse;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.OneToMany;
@@ -9,6 +10,7 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
+import org.hibernate.annotations.TenantId;
 
 import java.io.Serializable;
 import java.util.Collections;
@@ -30,6 +32,10 @@ public class Platform implements Serializable {
     @OneToMany(mappedBy = "platform")
     private List<UserCrypto> userCryptos;
 
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+
     public Platform(String id, String name) {
         this.id = id;
         this.name = name;
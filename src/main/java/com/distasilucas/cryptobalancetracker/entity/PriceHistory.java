@@ -0,0 +1,50 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+import org.hibernate.annotations.Immutable;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Immutable
+@IdClass(PriceHistoryId.class)
+@Table(name = "PriceHistory")
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistory {
+
+    @Id
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Id
+    @Column(name = "recorded_at")
+    private LocalDateTime recordedAt;
+
+    private BigDecimal usd;
+    private BigDecimal eur;
+    private BigDecimal btc;
+
+    public PriceHistory(Crypto crypto) {
+        this.cryptoId = crypto.getId();
+        this.recordedAt = crypto.getLastUpdatedAt();
+        this.usd = crypto.getLastKnownPrices().getLastKnownPrice();
+        this.eur = crypto.getLastKnownPrices().getLastKnownPriceInEUR();
+        this.btc = crypto.getLastKnownPrices().getLastKnownPriceInBTC();
+    }
+
+    public Crypto toCrypto(CryptoInfo cryptoInfo) {
+        return new Crypto(cryptoId, cryptoInfo, new LastKnownPrices(usd, eur, btc), null, recordedAt);
+    }
+}
@@ -0,0 +1,19 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+@Getter
+@EqualsAndHashCode
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceHistoryId implements Serializable {
+
+    private String cryptoId;
+    private LocalDateTime recordedAt;
+}
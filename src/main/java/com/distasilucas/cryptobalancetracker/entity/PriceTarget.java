@@ -1,15 +1,17 @@
 package com.distasilucas.cryptobalancetracker.entity;
 
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetResponse;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.TenantId;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -21,7 +23,6 @@ import java.util.UUID;
 @Getter
 @Setter
 @NoArgsConstructor
-@AllArgsConstructor
 public class PriceTarget implements Serializable {
 
     @Id
@@ -33,6 +34,17 @@ public class PriceTarget implements Serializable {
     @JoinColumn(name = "crypto_id")
     private Crypto crypto;
 
+    @TenantId
+    @Setter(AccessLevel.NONE)
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public PriceTarget(String id, BigDecimal target, Crypto crypto) {
+        this.id = id;
+        this.target = target;
+        this.crypto = crypto;
+    }
+
     public PriceTarget(BigDecimal target, Crypto crypto) {
         this.id = UUID.randomUUID().toString();
         this.target = target;
@@ -0,0 +1,84 @@
+package com.distasilucas.cryptobalancetracker.entity;
+
+import com.distasilucas.cryptobalancetracker.model.CrossingDirection;
+import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetAlertResponse;
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Outbox record of a price target crossed by a price update, written in the same tick that detects the
+ * crossing so consumers can read every alert even if they were not subscribed to the stream.
+ */
+@Entity
+@Table(name = "PriceTargetAlerts")
+@Getter
+@ToString
+@NoArgsConstructor
+@AllArgsConstructor
+public class PriceTargetAlert {
+
+    @Id
+    private String id;
+
+    @Column(name = "price_target_id")
+    private String priceTargetId;
+
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    private BigDecimal target;
+
+    @Column(name = "previous_price")
+    private BigDecimal previousPrice;
+
+    private BigDecimal price;
+
+    @Enumerated(EnumType.STRING)
+    private CrossingDirection direction;
+
+    @Column(name = "triggered_at")
+    private LocalDateTime triggeredAt;
+
+    public PriceTargetAlert(String priceTargetId, String tenantId, String cryptoId, BigDecimal target,
+                            BigDecimal previousPrice, BigDecimal price, LocalDateTime triggeredAt) {
+        this(
+            UUID.randomUUID().toString(),
+            priceTargetId,
+            tenantId,
+            cryptoId,
+            target,
+            previousPrice,
+            price,
+            price.compareTo(previousPrice) > 0 ? CrossingDirection.UP : CrossingDirection.DOWN,
+            triggeredAt
+        );
+    }
+
+    public PriceTargetAlertResponse toPriceTargetAlertResponse() {
+        return new PriceTargetAlertResponse(
+            id,
+            priceTargetId,
+            cryptoId,
+            target.toPlainString(),
+            previousPrice.toPlainString(),
+            price.toPlainString(),
+            direction,
+            triggeredAt.toString()
+        );
+    }
+}
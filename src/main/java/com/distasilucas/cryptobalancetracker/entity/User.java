@@ -16,6 +16,8 @@ import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
+import static com.distasilucas.cryptobalancetracker.constants.Constants.DEFAULT_TENANT;
+
 @Entity
 @Table(name = "Users")
 @Getter
@@ -32,6 +34,13 @@ public class User implements UserDetails {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public User(String id, String username, String password, Role role, LocalDateTime createdAt) {
+        this(id, username, password, role, createdAt, DEFAULT_TENANT);
+    }
+
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
         return List.of(new SimpleGrantedAuthority(role.name()));
@@ -1,16 +1,18 @@
 package com.distasilucas.cryptobalancetracker.entity;
 
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.UserCryptoResponse;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
-import lombok.AllArgsConstructor;
+import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.ToString;
+import org.hibernate.annotations.TenantId;
 
 import java.io.Serializable;
 import java.math.BigDecimal;
@@ -22,7 +24,6 @@ import java.util.UUID;
 @Setter
 @ToString
 @NoArgsConstructor
-@AllArgsConstructor
 public class UserCrypto implements Serializable {
 
     @Id
@@ -38,6 +39,18 @@ public class UserCrypto implements Serializable {
     @JoinColumn(name = "crypto_id")
     private Crypto crypto;
 
+    @TenantId
+    @Setter(AccessLevel.NONE)
+    @Column(name = "tenant_id")
+    private String tenantId;
+
+    public UserCrypto(String id, BigDecimal quantity, Platform platform, Crypto crypto) {
+        this.id = id;
+        this.quantity = quantity;
+        this.platform = platform;
+        this.crypto = crypto;
+    }
+
     public UserCrypto(BigDecimal quantity, Platform platform, Crypto crypto) {
         this.id = UUID.randomUUID().toString();
         this.quantity = quantity;
@@ -0,0 +1,52 @@
+package com.distasilucas.cryptobalancetracker.entity.view;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Immutable;
+import org.hibernate.annotations.TenantId;
+
+import java.math.BigDecimal;
+
+@Entity
+@Immutable
+@Table(name = "PortfolioSummaryView")
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioSummaryView {
+
+    @Id
+    private String id;
+
+    @Column(name = "crypto_id")
+    private String cryptoId;
+
+    @Column(name = "crypto_name")
+    private String cryptoName;
+
+    @Column(name = "platform_id")
+    private String platformId;
+
+    @Column(name = "platform_name")
+    private String platformName;
+
+    private BigDecimal quantity;
+
+    @Column(name = "usd_value")
+    private BigDecimal usdValue;
+
+    @Column(name = "eur_value")
+    private BigDecimal eurValue;
+
+    @Column(name = "btc_value")
+    private BigDecimal btcValue;
+
+    @TenantId
+    @Column(name = "tenant_id")
+    private String tenantId;
+}
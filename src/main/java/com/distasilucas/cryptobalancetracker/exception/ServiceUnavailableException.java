@@ -0,0 +1,18 @@
+package com.distasilucas.cryptobalancetracker.exception;
+
+import lombok.Getter;
+
+import java.time.Duration;
+
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.SERVICE_UNAVAILABLE;
+
+@Getter
+public class ServiceUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public ServiceUnavailableException(Duration retryAfter) {
+        super(SERVICE_UNAVAILABLE);
+        this.retryAfter = retryAfter;
+    }
+}
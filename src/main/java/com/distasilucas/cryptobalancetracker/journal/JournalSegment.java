@@ -0,0 +1,196 @@
+package com.distasilucas.cryptobalancetracker.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.zip.CRC32;
+
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * A memory-mapped file of fixed-width price records, written sequentially by a single writer.
+ * <p>
+ * Record layout (40 bytes): timestamp (8), usd (8), eur (8), btc (8), CRC32 of the previous 32 bytes (4), padding (4).
+ * A record only counts once its checksum matches, so a write torn by a crash is detected and dropped when the segment is reopened.
+ */
+final class JournalSegment implements Closeable {
+
+    static final int RECORD_SIZE = 40;
+    static final int INDEX_INTERVAL = 64;
+
+    private static final int USD_OFFSET = 8;
+    private static final int EUR_OFFSET = 16;
+    private static final int BTC_OFFSET = 24;
+    private static final int CRC_OFFSET = 32;
+
+    private final Path path;
+    private final int capacity;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final long[] sparseIndex;
+    private volatile int count;
+
+    private JournalSegment(Path path, int capacity, FileChannel channel, MappedByteBuffer buffer) {
+        this.path = path;
+        this.capacity = capacity;
+        this.channel = channel;
+        this.buffer = buffer;
+        this.sparseIndex = new long[(capacity + INDEX_INTERVAL - 1) / INDEX_INTERVAL];
+    }
+
+    static JournalSegment open(Path path, int capacity) throws IOException {
+        var channel = FileChannel.open(path, CREATE, READ, WRITE);
+        var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+        var segment = new JournalSegment(path, capacity, channel, buffer);
+        segment.recover();
+
+        return segment;
+    }
+
+    Path path() {
+        return path;
+    }
+
+    int count() {
+        return count;
+    }
+
+    boolean isFull() {
+        return count == capacity;
+    }
+
+    long firstTimestamp() {
+        return count == 0 ? Long.MAX_VALUE : timestampAt(0);
+    }
+
+    long lastTimestamp() {
+        return count == 0 ? Long.MIN_VALUE : timestampAt(count - 1);
+    }
+
+    long timestampAt(int index) {
+        return buffer.getLong(index * RECORD_SIZE);
+    }
+
+    PriceTick tickAt(int index) {
+        var offset = index * RECORD_SIZE;
+
+        return new PriceTick(
+            buffer.getLong(offset),
+            buffer.getDouble(offset + USD_OFFSET),
+            buffer.getDouble(offset + EUR_OFFSET),
+            buffer.getDouble(offset + BTC_OFFSET)
+        );
+    }
+
+    void append(PriceTick tick) {
+        var index = count;
+        var offset = index * RECORD_SIZE;
+
+        buffer.putLong(offset, tick.timestamp());
+        buffer.putDouble(offset + USD_OFFSET, tick.usd());
+        buffer.putDouble(offset + EUR_OFFSET, tick.eur());
+        buffer.putDouble(offset + BTC_OFFSET, tick.btc());
+        buffer.putInt(offset + CRC_OFFSET, checksum(offset));
+
+        if (index % INDEX_INTERVAL == 0) {
+            sparseIndex[index / INDEX_INTERVAL] = tick.timestamp();
+        }
+
+        count = index + 1;
+    }
+
+    /**
+     * Returns a read-only view over the records with timestamps in [from, to], backed by the mapped file.
+     */
+    ByteBuffer slice(long from, long to) {
+        var size = count;
+        var start = lowerBound(from, size);
+        var end = to == Long.MAX_VALUE ? size : lowerBound(to + 1, size);
+
+        return buffer.slice(start * RECORD_SIZE, Math.max(0, end - start) * RECORD_SIZE).asReadOnlyBuffer();
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    void delete() throws IOException {
+        close();
+        Files.deleteIfExists(path);
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    /**
+     * First index whose timestamp is greater than or equal to the given one. The sparse index narrows
+     * the search down to a single block, so only one block of the file is touched.
+     */
+    private int lowerBound(long timestamp, int size) {
+        var blocks = (size + INDEX_INTERVAL - 1) / INDEX_INTERVAL;
+        var low = 0;
+        var high = blocks;
+
+        while (low < high) {
+            var middle = (low + high) >>> 1;
+
+            if (sparseIndex[middle] < timestamp) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+
+        var index = Math.max(0, (low - 1) * INDEX_INTERVAL);
+        var end = Math.min(size, low * INDEX_INTERVAL);
+
+        while (index < end && timestampAt(index) < timestamp) {
+            index++;
+        }
+
+        return index;
+    }
+
+    private void recover() {
+        var recovered = 0;
+        var previous = Long.MIN_VALUE;
+
+        while (recovered < capacity) {
+            var offset = recovered * RECORD_SIZE;
+            var timestamp = buffer.getLong(offset);
+
+            if (timestamp == 0 || timestamp < previous || buffer.getInt(offset + CRC_OFFSET) != checksum(offset)) {
+                break;
+            }
+
+            if (recovered % INDEX_INTERVAL == 0) {
+                sparseIndex[recovered / INDEX_INTERVAL] = timestamp;
+            }
+
+            previous = timestamp;
+            recovered++;
+        }
+
+        if (recovered < capacity) {
+            buffer.put(recovered * RECORD_SIZE, new byte[RECORD_SIZE]);
+        }
+
+        count = recovered;
+    }
+
+    private int checksum(int offset) {
+        var crc = new CRC32();
+        crc.update(buffer.slice(offset, CRC_OFFSET));
+
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,253 @@
+package com.distasilucas.cryptobalancetracker.journal;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+/**
+ * Off-heap, append-only journal of price ticks for high frequency feeds.
+ * <p>
+ * Every crypto has its own directory of segment files. Only the last segment of a crypto is written to;
+ * once it is full it is flushed and a new one is rolled over. Ticks must be appended in timestamp order,
+ * older or repeated ticks are ignored.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "price-journal", name = "enabled", havingValue = "true")
+public class PriceJournal {
+
+    private static final String SEGMENT_EXTENSION = ".seg";
+    private static final String COMPACTING_EXTENSION = ".compacting";
+
+    private final Path directory;
+    private final int segmentRecords;
+    private final Map<String, CryptoJournal> journals = new ConcurrentHashMap<>();
+
+    public PriceJournal(@Value("${price-journal.directory}") Path directory,
+                        @Value("${price-journal.segment-records}") int segmentRecords) throws IOException {
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+
+        Files.createDirectories(directory);
+        loadJournals();
+    }
+
+    public boolean append(String coingeckoCryptoId, PriceTick tick) {
+        var journal = journals.computeIfAbsent(coingeckoCryptoId, this::createJournal);
+
+        synchronized (journal) {
+            if (tick.timestamp() <= journal.lastTimestamp()) {
+                return false;
+            }
+
+            var activeSegment = journal.activeSegment();
+
+            if (activeSegment == null || activeSegment.isFull()) {
+                activeSegment = rollover(journal);
+            }
+
+            activeSegment.append(tick);
+
+            return true;
+        }
+    }
+
+    public PriceTickRange read(String coingeckoCryptoId, long from, long to) {
+        var journal = journals.get(coingeckoCryptoId);
+
+        if (journal == null) {
+            return PriceTickRange.empty();
+        }
+
+        List<ByteBuffer> slices = new ArrayList<>();
+
+        for (var segment : journal.segments) {
+            if (segment.count() == 0 || segment.lastTimestamp() < from || segment.firstTimestamp() > to) {
+                continue;
+            }
+
+            var slice = segment.slice(from, to);
+
+            if (slice.hasRemaining()) {
+                slices.add(slice);
+            }
+        }
+
+        return new PriceTickRange(slices);
+    }
+
+    public void flush() {
+        journals.values().forEach(journal -> {
+            var activeSegment = journal.activeSegment();
+
+            if (activeSegment != null) {
+                activeSegment.force();
+            }
+        });
+    }
+
+    /**
+     * Deletes full segments whose newest tick is older than {@code retainAfter} and downsamples the ones
+     * older than {@code downsampleBefore} to the last tick of every {@code downsampleInterval} bucket.
+     * Downsampled segments are written to a temporary file and atomically moved over the original one.
+     */
+    public void compact(long retainAfter, long downsampleBefore, long downsampleInterval) {
+        journals.forEach((coingeckoCryptoId, journal) -> {
+            synchronized (journal) {
+                var sealedSegments = journal.segments.subList(0, Math.max(0, journal.segments.size() - 1));
+
+                for (var segment : List.copyOf(sealedSegments)) {
+                    try {
+                        if (segment.lastTimestamp() < retainAfter) {
+                            log.info("Deleting expired price journal segment {}", segment.path());
+                            journal.segments.remove(segment);
+                            segment.delete();
+                        } else if (segment.lastTimestamp() < downsampleBefore) {
+                            downsample(journal, segment, downsampleInterval);
+                        }
+                    } catch (IOException exception) {
+                        log.warn("Could not compact price journal segment {}", segment.path(), exception);
+                    }
+                }
+            }
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        journals.values().forEach(journal -> journal.segments.forEach(segment -> {
+            try {
+                segment.close();
+            } catch (IOException exception) {
+                log.warn("Could not close price journal segment {}", segment.path(), exception);
+            }
+        }));
+    }
+
+    private void downsample(CryptoJournal journal, JournalSegment segment, long downsampleInterval) throws IOException {
+        Map<Long, PriceTick> closingTicks = new LinkedHashMap<>();
+
+        for (int i = 0; i < segment.count(); i++) {
+            var tick = segment.tickAt(i);
+            closingTicks.put(Math.floorDiv(tick.timestamp(), downsampleInterval), tick);
+        }
+
+        if (closingTicks.size() == segment.count()) {
+            return;
+        }
+
+        var compactingPath = segment.path().resolveSibling(segment.path().getFileName() + COMPACTING_EXTENSION);
+        Files.deleteIfExists(compactingPath);
+
+        try (var compacted = JournalSegment.open(compactingPath, segmentRecords)) {
+            closingTicks.values().forEach(compacted::append);
+        }
+
+        segment.close();
+        Files.move(compactingPath, segment.path(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        journal.segments.set(journal.segments.indexOf(segment), JournalSegment.open(segment.path(), segmentRecords));
+
+        log.info("Downsampled price journal segment {} from {} to {} ticks", segment.path(), segment.count(), closingTicks.size());
+    }
+
+    private JournalSegment rollover(CryptoJournal journal) {
+        var activeSegment = journal.activeSegment();
+
+        if (activeSegment != null) {
+            activeSegment.force();
+        }
+
+        var segmentPath = journal.directory.resolve("%012d%s".formatted(journal.nextSegmentNumber++, SEGMENT_EXTENSION));
+
+        try {
+            var segment = JournalSegment.open(segmentPath, segmentRecords);
+            journal.segments.add(segment);
+            log.info("Rolled over price journal to segment {}", segmentPath);
+
+            return segment;
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private CryptoJournal createJournal(String coingeckoCryptoId) {
+        try {
+            return new CryptoJournal(Files.createDirectories(directory.resolve(coingeckoCryptoId)));
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    private void loadJournals() throws IOException {
+        try (Stream<Path> cryptoDirectories = Files.list(directory)) {
+            for (var cryptoDirectory : cryptoDirectories.filter(Files::isDirectory).toList()) {
+                var journal = new CryptoJournal(cryptoDirectory);
+
+                try (Stream<Path> files = Files.list(cryptoDirectory)) {
+                    var segmentPaths = files
+                        .filter(path -> path.getFileName().toString().endsWith(SEGMENT_EXTENSION))
+                        .sorted()
+                        .toList();
+
+                    for (var segmentPath : segmentPaths) {
+                        journal.segments.add(JournalSegment.open(segmentPath, segmentRecords));
+                        journal.nextSegmentNumber = segmentNumber(segmentPath) + 1;
+                    }
+                }
+
+                journals.put(cryptoDirectory.getFileName().toString(), journal);
+            }
+        }
+
+        log.info("Loaded price journal for {} crypto(s) from {}", journals.size(), directory);
+    }
+
+    private long segmentNumber(Path segmentPath) {
+        var fileName = segmentPath.getFileName().toString();
+
+        return Long.parseLong(fileName.substring(0, fileName.length() - SEGMENT_EXTENSION.length()));
+    }
+
+    private static final class CryptoJournal {
+
+        private final Path directory;
+        private final List<JournalSegment> segments = new CopyOnWriteArrayList<>();
+        private long nextSegmentNumber;
+
+        private CryptoJournal(Path directory) {
+            this.directory = directory;
+        }
+
+        private JournalSegment activeSegment() {
+            return segments.isEmpty() ? null : segments.getLast();
+        }
+
+        private long lastTimestamp() {
+            for (int i = segments.size() - 1; i >= 0; i--) {
+                var segment = segments.get(i);
+
+                if (segment.count() > 0) {
+                    return segment.lastTimestamp();
+                }
+            }
+
+            return Long.MIN_VALUE;
+        }
+    }
+}
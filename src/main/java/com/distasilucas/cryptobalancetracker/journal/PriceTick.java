@@ -0,0 +1,24 @@
+package com.distasilucas.cryptobalancetracker.journal;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+
+import java.time.ZoneOffset;
+
+public record PriceTick(
+    long timestamp,
+    double usd,
+    double eur,
+    double btc
+) {
+
+    public static PriceTick from(Crypto crypto) {
+        var lastKnownPrices = crypto.getLastKnownPrices();
+
+        return new PriceTick(
+            crypto.getLastUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli(),
+            lastKnownPrices.getLastKnownPrice().doubleValue(),
+            lastKnownPrices.getLastKnownPriceInEUR().doubleValue(),
+            lastKnownPrices.getLastKnownPriceInBTC().doubleValue()
+        );
+    }
+}
@@ -0,0 +1,96 @@
+package com.distasilucas.cryptobalancetracker.journal;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read-only ticks of a crypto backed by slices of the mapped segment files. Values are read in place,
+ * nothing is copied until {@link #toList()} is called.
+ */
+public final class PriceTickRange {
+
+    private static final PriceTickRange EMPTY = new PriceTickRange(List.of());
+
+    private final List<ByteBuffer> slices;
+    private final int[] startIndexes;
+    private final int size;
+
+    PriceTickRange(List<ByteBuffer> slices) {
+        this.slices = slices;
+        this.startIndexes = new int[slices.size()];
+
+        var total = 0;
+        for (int i = 0; i < slices.size(); i++) {
+            startIndexes[i] = total;
+            total += slices.get(i).remaining() / JournalSegment.RECORD_SIZE;
+        }
+
+        this.size = total;
+    }
+
+    public static PriceTickRange empty() {
+        return EMPTY;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public long timestampAt(int index) {
+        return read(index, 0);
+    }
+
+    public double usdAt(int index) {
+        return Double.longBitsToDouble(read(index, 8));
+    }
+
+    public double eurAt(int index) {
+        return Double.longBitsToDouble(read(index, 16));
+    }
+
+    public double btcAt(int index) {
+        return Double.longBitsToDouble(read(index, 24));
+    }
+
+    public List<PriceTick> toList() {
+        var ticks = new ArrayList<PriceTick>(size);
+
+        for (int i = 0; i < size; i++) {
+            ticks.add(new PriceTick(timestampAt(i), usdAt(i), eurAt(i), btcAt(i)));
+        }
+
+        return ticks;
+    }
+
+    private long read(int index, int fieldOffset) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(index);
+        }
+
+        var slice = sliceOf(index);
+
+        return slices.get(slice).getLong((index - startIndexes[slice]) * JournalSegment.RECORD_SIZE + fieldOffset);
+    }
+
+    private int sliceOf(int index) {
+        var low = 0;
+        var high = startIndexes.length - 1;
+
+        while (low < high) {
+            var middle = (low + high + 1) >>> 1;
+
+            if (startIndexes[middle] <= index) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return low;
+    }
+}
@@ -0,0 +1,7 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+public record BulkheadResult<T>(
+    T value,
+    boolean stale
+) {
+}
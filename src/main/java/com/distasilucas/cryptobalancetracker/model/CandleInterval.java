@@ -0,0 +1,38 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+
+@Getter
+@RequiredArgsConstructor
+public enum CandleInterval {
+    ONE_HOUR(168, "hour"),
+    ONE_DAY(365, "day"),
+    ONE_WEEK(104, "week");
+
+    private final int capacity;
+    private final String truncationUnit;
+
+    public LocalDateTime openTimeOf(LocalDateTime dateTime) {
+        return switch (this) {
+            case ONE_HOUR -> dateTime.truncatedTo(ChronoUnit.HOURS);
+            case ONE_DAY -> dateTime.truncatedTo(ChronoUnit.DAYS);
+            case ONE_WEEK -> dateTime.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+        };
+    }
+
+    public LocalDateTime oldestOpenTime(LocalDateTime now) {
+        var openTime = openTimeOf(now);
+
+        return switch (this) {
+            case ONE_HOUR -> openTime.minusHours(capacity - 1L);
+            case ONE_DAY -> openTime.minusDays(capacity - 1L);
+            case ONE_WEEK -> openTime.minusWeeks(capacity - 1L);
+        };
+    }
+}
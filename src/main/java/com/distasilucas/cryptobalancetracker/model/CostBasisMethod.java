@@ -0,0 +1,5 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+public enum CostBasisMethod {
+    FIFO, LIFO, HIFO
+}
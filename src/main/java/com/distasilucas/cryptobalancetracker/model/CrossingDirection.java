@@ -0,0 +1,6 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+public enum CrossingDirection {
+    UP,
+    DOWN
+}
@@ -0,0 +1,43 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A goal together with the summed quantity held of its crypto, read in a single aggregate query so a page
+ * of goals does not look up the holdings of each goal.
+ */
+public record GoalProgress(
+    String goalId,
+    String cryptoName,
+    BigDecimal goalQuantity,
+    BigDecimal lastKnownPrice,
+    BigDecimal actualQuantity
+) {
+
+    public GoalProgress {
+        actualQuantity = actualQuantity == null ? BigDecimal.ZERO : actualQuantity;
+    }
+
+    public GoalResponse toGoalResponse() {
+        var progress = getProgress();
+        var remainingQuantity = getRemainingQuantity();
+        var moneyNeeded = lastKnownPrice.multiply(remainingQuantity).setScale(2, RoundingMode.HALF_UP);
+
+        return new GoalResponse(goalId, cryptoName, actualQuantity.toPlainString(), progress,
+            remainingQuantity.toPlainString(), goalQuantity.toPlainString(), moneyNeeded.toPlainString());
+    }
+
+    private Float getProgress() {
+        return goalQuantity.compareTo(actualQuantity) <= 0 ? 100F :
+            actualQuantity.multiply(new BigDecimal("100"))
+                .divide(goalQuantity, 2, RoundingMode.HALF_UP)
+                .floatValue();
+    }
+
+    private BigDecimal getRemainingQuantity() {
+        return goalQuantity.compareTo(actualQuantity) <= 0 ? BigDecimal.ZERO : goalQuantity.subtract(actualQuantity);
+    }
+}
@@ -0,0 +1,8 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+public enum HoldingEventType {
+    ADD,
+    UPDATE,
+    DELETE,
+    TRANSFER
+}
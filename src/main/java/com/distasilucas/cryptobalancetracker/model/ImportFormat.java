@@ -0,0 +1,39 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import com.distasilucas.cryptobalancetracker.exception.ApiValidationException;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.UNSUPPORTED_IMPORT_FORMAT;
+
+@Getter
+@RequiredArgsConstructor
+public enum ImportFormat {
+    CSV(new MediaType("text", "csv")),
+    NDJSON(MediaType.APPLICATION_NDJSON);
+
+    public static final String CSV_VALUE = "text/csv";
+    public static final String NDJSON_VALUE = MediaType.APPLICATION_NDJSON_VALUE;
+
+    private final MediaType mediaType;
+
+    public static ImportFormat fromContentType(String contentType) {
+        var mediaType = MediaType.parseMediaType(contentType);
+
+        return Arrays.stream(values())
+            .filter(format -> format.getMediaType().isCompatibleWith(mediaType))
+            .findFirst()
+            .orElseThrow(() -> {
+                var formats = Arrays.stream(values())
+                    .map(format -> format.getMediaType().toString())
+                    .collect(Collectors.joining(", "));
+
+                return new ApiValidationException(HttpStatus.BAD_REQUEST, UNSUPPORTED_IMPORT_FORMAT.formatted(contentType, formats));
+            });
+    }
+}
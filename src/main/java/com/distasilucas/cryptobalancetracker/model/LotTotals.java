@@ -0,0 +1,16 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * Lots of a crypto or a user crypto added up by the database: the quantity still open, what it cost and
+ * the profit and loss realized by the sold quantity, so closed lots are never read one by one.
+ */
+public record LotTotals(
+    String id,
+    String cryptoId,
+    BigDecimal quantity,
+    BigDecimal costBasis,
+    BigDecimal realizedPnl
+) {
+}
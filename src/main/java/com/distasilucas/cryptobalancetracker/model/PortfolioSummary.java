@@ -0,0 +1,74 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The quantity and value held of a crypto or in a platform. Live insights read them already added up from
+ * the portfolio summary view, while balances at a past instant summarize the user cryptos rebuilt for it
+ * the same way the view queries do.
+ */
+public record PortfolioSummary(
+    String id,
+    String name,
+    BigDecimal quantity,
+    BigDecimal usdValue,
+    BigDecimal eurValue,
+    BigDecimal btcValue
+) {
+
+    public static List<PortfolioSummary> summarizeByCrypto(List<UserCrypto> userCryptos) {
+        Map<String, PortfolioSummary> summaries = new HashMap<>();
+
+        userCryptos.forEach(userCrypto -> {
+            var crypto = userCrypto.getCrypto();
+            var lastKnownPrices = crypto.getLastKnownPrices();
+            var quantity = userCrypto.getQuantity();
+            var summary = new PortfolioSummary(
+                crypto.getId(),
+                crypto.getCryptoInfo().getName(),
+                quantity,
+                quantity.multiply(lastKnownPrices.getLastKnownPrice()),
+                quantity.multiply(lastKnownPrices.getLastKnownPriceInEUR()),
+                quantity.multiply(lastKnownPrices.getLastKnownPriceInBTC())
+            );
+
+            summaries.merge(crypto.getId(), summary, PortfolioSummary::add);
+        });
+
+        return new ArrayList<>(summaries.values());
+    }
+
+    public static List<PortfolioSummary> summarizeByPlatform(List<UserCrypto> userCryptos) {
+        Map<String, PortfolioSummary> summaries = new HashMap<>();
+
+        userCryptos.forEach(userCrypto -> {
+            var platformName = userCrypto.getPlatform().getName();
+            var lastKnownPrices = userCrypto.getCrypto().getLastKnownPrices();
+            var quantity = userCrypto.getQuantity();
+            var summary = new PortfolioSummary(
+                platformName,
+                platformName,
+                quantity,
+                quantity.multiply(lastKnownPrices.getLastKnownPrice()).setScale(2, RoundingMode.HALF_UP),
+                quantity.multiply(lastKnownPrices.getLastKnownPriceInEUR()).setScale(2, RoundingMode.HALF_UP),
+                quantity.multiply(lastKnownPrices.getLastKnownPriceInBTC()).setScale(10, RoundingMode.HALF_UP)
+            );
+
+            summaries.merge(platformName, summary, PortfolioSummary::add);
+        });
+
+        return new ArrayList<>(summaries.values());
+    }
+
+    private PortfolioSummary add(PortfolioSummary other) {
+        return new PortfolioSummary(id, name, quantity.add(other.quantity), usdValue.add(other.usdValue),
+            eurValue.add(other.eurValue), btcValue.add(other.btcValue));
+    }
+}
@@ -0,0 +1,14 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import java.math.BigDecimal;
+
+/**
+ * A currency balances are valued in. Stored currencies have no USD rate, while the additional ones are
+ * derived from the USD price with it. Crypto currencies are shown with more decimals.
+ */
+public record QuoteCurrency(
+    String code,
+    BigDecimal fromUSD,
+    boolean crypto
+) {
+}
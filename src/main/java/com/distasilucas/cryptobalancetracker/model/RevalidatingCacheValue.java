@@ -0,0 +1,14 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import java.io.Serializable;
+import java.time.Instant;
+
+public record RevalidatingCacheValue(
+    Object value,
+    Instant refreshAt
+) implements Serializable {
+
+    public boolean isStale(Instant now) {
+        return now.isAfter(refreshAt);
+    }
+}
@@ -0,0 +1,15 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Everything a risk simulation depends on, so two portfolios share a cached result only if they are the
+ * same: every user crypto with its quantity, and the price and volatility of every crypto.
+ */
+public record RiskKey(
+    List<String> holdings,
+    List<String> prices,
+    double confidence
+) implements Serializable {
+}
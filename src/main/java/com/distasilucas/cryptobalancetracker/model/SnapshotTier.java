@@ -0,0 +1,7 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+public enum SnapshotTier {
+    RAW,
+    HOURLY,
+    DAILY
+}
@@ -0,0 +1,9 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import java.io.Serializable;
+
+public record TenantCacheKey(
+    String tenantId,
+    Object key
+) implements Serializable {
+}
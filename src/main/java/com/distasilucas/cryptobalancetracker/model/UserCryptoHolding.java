@@ -0,0 +1,29 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+
+import java.math.BigDecimal;
+
+/**
+ * A user crypto flattened together with the name of its platform. Insights read it as a single tuple, so
+ * valuing every holding does not load, snapshot and cache the user crypto entities. Each crypto is then
+ * loaded once, however many platforms hold it.
+ */
+public record UserCryptoHolding(
+    String userCryptoId,
+    String cryptoId,
+    BigDecimal quantity,
+    String platformId,
+    String platformName
+) {
+
+    public UserCryptoHolding(UserCrypto userCrypto) {
+        this(
+            userCrypto.getId(),
+            userCrypto.getCrypto().getId(),
+            userCrypto.getQuantity(),
+            userCrypto.getPlatform().getId(),
+            userCrypto.getPlatform().getName()
+        );
+    }
+}
@@ -0,0 +1,15 @@
+package com.distasilucas.cryptobalancetracker.model;
+
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+
+import java.util.Optional;
+
+/**
+ * The user crypto a transfer is sent from and the one of the same crypto in the platform it is sent to,
+ * both locked until the transfer commits.
+ */
+public record UserCryptosToTransfer(
+    UserCrypto from,
+    Optional<UserCrypto> to
+) {
+}
@@ -0,0 +1,34 @@
+package com.distasilucas.cryptobalancetracker.model.request.insights;
+
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.PRICE_SHOCK_DECIMAL_MIN;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.PRICE_SHOCK_NOT_NULL;
+
+/**
+ * Price changes, in percentage, applied to the current prices. Shocks are keyed by coingecko crypto id
+ * and cryptos without a shock move by the default one.
+ */
+public record StressScenarioRequest(
+    Map<
+        @NotBlank String,
+        @NotNull(message = PRICE_SHOCK_NOT_NULL) @DecimalMin(value = "-100", message = PRICE_SHOCK_DECIMAL_MIN) BigDecimal
+    > shocks,
+
+    @DecimalMin(value = "-100", message = PRICE_SHOCK_DECIMAL_MIN)
+    BigDecimal defaultShock
+) {
+
+    public BigDecimal shockFor(String coingeckoCryptoId) {
+        if (shocks != null && shocks.containsKey(coingeckoCryptoId)) {
+            return shocks.get(coingeckoCryptoId);
+        }
+
+        return defaultShock == null ? BigDecimal.ZERO : defaultShock;
+    }
+}
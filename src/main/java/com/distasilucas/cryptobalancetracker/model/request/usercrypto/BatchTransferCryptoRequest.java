@@ -0,0 +1,21 @@
+package com.distasilucas.cryptobalancetracker.model.request.usercrypto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.TRANSFERS_NOT_NULL;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.TRANSFERS_SIZE;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.TRANSFER_NOT_NULL;
+
+/**
+ * Transfers applied in the order given, so a transfer can send what an earlier one received.
+ */
+public record BatchTransferCryptoRequest(
+    @NotNull(message = TRANSFERS_NOT_NULL)
+    @Size(min = 1, max = 100, message = TRANSFERS_SIZE)
+    List<@NotNull(message = TRANSFER_NOT_NULL) @Valid TransferCryptoRequest> transfers
+) {
+}
@@ -0,0 +1,12 @@
+package com.distasilucas.cryptobalancetracker.model.response.coingecko;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * Exchange rates of every quote currency Coingecko supports, all of them expressed against BTC.
+ */
+public record CoingeckoExchangeRates(
+    Map<String, ExchangeRate> rates
+) implements Serializable {
+}
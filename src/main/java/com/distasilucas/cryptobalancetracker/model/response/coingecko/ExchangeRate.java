@@ -0,0 +1,12 @@
+package com.distasilucas.cryptobalancetracker.model.response.coingecko;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public record ExchangeRate(
+    String name,
+    String unit,
+    BigDecimal value,
+    String type
+) implements Serializable {
+}
@@ -0,0 +1,14 @@
+package com.distasilucas.cryptobalancetracker.model.response.crypto;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public record CandleResponse(
+    LocalDateTime openTime,
+    BigDecimal open,
+    BigDecimal high,
+    BigDecimal low,
+    BigDecimal close
+) implements Serializable {
+}
@@ -1,15 +1,24 @@
 package com.distasilucas.cryptobalancetracker.model.response.insights;
 
 import com.distasilucas.cryptobalancetracker.entity.Balances;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.io.Serializable;
+import java.util.Map;
 
 public record BalancesResponse(
     String totalUSDBalance,
     String totalEURBalance,
-    String totalBTCBalance
+    String totalBTCBalance,
+
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    Map<String, String> otherBalances
 ) implements Serializable {
 
+    public BalancesResponse(String totalUSDBalance, String totalEURBalance, String totalBTCBalance) {
+        this(totalUSDBalance, totalEURBalance, totalBTCBalance, null);
+    }
+
     public BalancesResponse(Balances balances) {
         this(balances.getUsdBalance(), balances.getEurBalance(), balances.getBtcBalance());
     }
@@ -1,7 +1,7 @@
 package com.distasilucas.cryptobalancetracker.model.response.insights;
 
 import com.distasilucas.cryptobalancetracker.entity.Crypto;
-import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
 import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
@@ -20,9 +20,9 @@ public record CryptoInfo(
         this(null, cryptoName, coingeckoCryptoId, symbol, image);
     }
 
-    public CryptoInfo(UserCrypto userCrypto, Crypto crypto) {
+    public CryptoInfo(UserCryptoHolding holding, Crypto crypto) {
         this(
-            userCrypto.getId(),
+            holding.userCryptoId(),
             crypto.getCryptoInfo().getName(),
             crypto.getId(),
             crypto.getCryptoInfo().getTicker(),
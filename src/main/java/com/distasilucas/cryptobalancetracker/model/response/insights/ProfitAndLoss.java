@@ -0,0 +1,10 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights;
+
+import java.io.Serializable;
+
+public record ProfitAndLoss(
+    String costBasis,
+    String unrealizedPnl,
+    String realizedPnl
+) implements Serializable {
+}
@@ -0,0 +1,14 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights;
+
+import java.io.Serializable;
+
+public record ReturnsResponse(
+    float timeWeightedReturn,
+    float moneyWeightedReturn,
+    String netCashFlow
+) implements Serializable {
+
+    public static ReturnsResponse empty() {
+        return new ReturnsResponse(0F, 0F, "0");
+    }
+}
@@ -0,0 +1,13 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+public record RollingStatistics(
+    String window,
+    int samples,
+    BigDecimal meanReturn,
+    BigDecimal standardDeviation,
+    BigDecimal maxDrawdown
+) implements Serializable {
+}
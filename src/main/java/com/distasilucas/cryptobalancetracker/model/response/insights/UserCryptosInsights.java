@@ -1,7 +1,8 @@
 package com.distasilucas.cryptobalancetracker.model.response.insights;
 
 import com.distasilucas.cryptobalancetracker.entity.Crypto;
-import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.util.List;
 
@@ -12,19 +13,47 @@ public record UserCryptosInsights(
     BalancesResponse balances,
     int marketCapRank,
     MarketData marketData,
-    List<String> platforms
+    List<String> platforms,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<RollingStatistics> statistics,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    ProfitAndLoss profitAndLoss
 ) {
 
-    public UserCryptosInsights(UserCrypto userCrypto, Crypto crypto, float percentage,
+    public UserCryptosInsights(CryptoInfo cryptoInfo, String quantity, float percentage, BalancesResponse balances,
+                               int marketCapRank, MarketData marketData, List<String> platforms) {
+        this(cryptoInfo, quantity, percentage, balances, marketCapRank, marketData, platforms, null, null);
+    }
+
+    public UserCryptosInsights(CryptoInfo cryptoInfo, String quantity, float percentage, BalancesResponse balances,
+                               int marketCapRank, MarketData marketData, List<String> platforms,
+                               List<RollingStatistics> statistics) {
+        this(cryptoInfo, quantity, percentage, balances, marketCapRank, marketData, platforms, statistics, null);
+    }
+
+    public UserCryptosInsights(UserCryptoHolding holding, Crypto crypto, float percentage,
                                BalancesResponse balances, MarketData marketData, List<String> platforms) {
+        this(holding, crypto, percentage, balances, marketData, platforms, null, null);
+    }
+
+    public UserCryptosInsights(UserCryptoHolding holding, Crypto crypto, float percentage, BalancesResponse balances,
+                               MarketData marketData, List<String> platforms, List<RollingStatistics> statistics) {
+        this(holding, crypto, percentage, balances, marketData, platforms, statistics, null);
+    }
+
+    public UserCryptosInsights(UserCryptoHolding holding, Crypto crypto, float percentage, BalancesResponse balances,
+                               MarketData marketData, List<String> platforms, List<RollingStatistics> statistics,
+                               ProfitAndLoss profitAndLoss) {
         this(
-            new CryptoInfo(userCrypto, crypto),
-            userCrypto.getQuantity().toPlainString(),
+            new CryptoInfo(holding, crypto),
+            holding.quantity().toPlainString(),
             percentage,
             balances,
             crypto.getCryptoInfo().getMarketCapRank(),
             marketData,
-            platforms
+            platforms,
+            statistics,
+            profitAndLoss
         );
     }
 }
@@ -1,6 +1,9 @@
 package com.distasilucas.cryptobalancetracker.model.response.insights.crypto;
 
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ProfitAndLoss;
+import com.distasilucas.cryptobalancetracker.model.response.insights.RollingStatistics;
+import com.fasterxml.jackson.annotation.JsonInclude;
 
 import java.io.Serializable;
 import java.util.Collections;
@@ -9,9 +12,22 @@ import java.util.List;
 public record CryptoInsightResponse(
     String cryptoName,
     BalancesResponse balances,
-    List<PlatformInsight> platforms
+    List<PlatformInsight> platforms,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    List<RollingStatistics> statistics,
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    ProfitAndLoss profitAndLoss
 ) implements Serializable {
 
+    public CryptoInsightResponse(String cryptoName, BalancesResponse balances, List<PlatformInsight> platforms) {
+        this(cryptoName, balances, platforms, null, null);
+    }
+
+    public CryptoInsightResponse(String cryptoName, BalancesResponse balances, List<PlatformInsight> platforms,
+                                 List<RollingStatistics> statistics) {
+        this(cryptoName, balances, platforms, statistics, null);
+    }
+
     public static CryptoInsightResponse empty() {
         return new CryptoInsightResponse(null, BalancesResponse.empty(), Collections.emptyList());
     }
@@ -0,0 +1,11 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights.risk;
+
+import java.io.Serializable;
+
+public record RiskInsight(
+    String name,
+    String value,
+    String valueAtRisk,
+    String conditionalValueAtRisk
+) implements Serializable {
+}
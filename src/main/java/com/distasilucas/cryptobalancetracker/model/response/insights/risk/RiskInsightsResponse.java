@@ -0,0 +1,20 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights.risk;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record RiskInsightsResponse(
+    String horizon,
+    float confidence,
+    int simulations,
+    String totalValue,
+    String valueAtRisk,
+    String conditionalValueAtRisk,
+    List<RiskInsight> platforms,
+    List<RiskInsight> cryptos
+) implements Serializable {
+
+    public static RiskInsightsResponse empty(String horizon, float confidence) {
+        return new RiskInsightsResponse(horizon, confidence, 0, "0", "0", "0", List.of(), List.of());
+    }
+}
@@ -0,0 +1,11 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights.risk;
+
+import java.io.Serializable;
+
+public record StressImpact(
+    String name,
+    String value,
+    String stressedValue,
+    String profitAndLoss
+) implements Serializable {
+}
@@ -0,0 +1,17 @@
+package com.distasilucas.cryptobalancetracker.model.response.insights.risk;
+
+import java.io.Serializable;
+import java.util.List;
+
+public record StressScenarioResponse(
+    String totalValue,
+    String stressedValue,
+    String profitAndLoss,
+    List<StressImpact> platforms,
+    List<StressImpact> cryptos
+) implements Serializable {
+
+    public static StressScenarioResponse empty() {
+        return new StressScenarioResponse("0", "0", "0", List.of(), List.of());
+    }
+}
@@ -0,0 +1,15 @@
+package com.distasilucas.cryptobalancetracker.model.response.pricetarget;
+
+import com.distasilucas.cryptobalancetracker.model.CrossingDirection;
+
+public record PriceTargetAlertResponse(
+    String alertId,
+    String priceTargetId,
+    String cryptoId,
+    String priceTarget,
+    String previousPrice,
+    String currentPrice,
+    CrossingDirection direction,
+    String triggeredAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.distasilucas.cryptobalancetracker.model.response.usercrypto;
+
+public record ImportUserCryptoError(
+    long line,
+    String error
+) {
+}
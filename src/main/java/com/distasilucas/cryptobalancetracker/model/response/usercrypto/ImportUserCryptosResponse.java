@@ -0,0 +1,9 @@
+package com.distasilucas.cryptobalancetracker.model.response.usercrypto;
+
+import java.util.List;
+
+public record ImportUserCryptosResponse(
+    int importedUserCryptos,
+    List<ImportUserCryptoError> errors
+) {
+}
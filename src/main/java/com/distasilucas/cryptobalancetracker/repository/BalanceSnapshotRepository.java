@@ -0,0 +1,40 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.BalanceSnapshot;
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface BalanceSnapshotRepository extends JpaRepository<BalanceSnapshot, String> {
+
+    @Query(
+        value = """
+            SELECT snapshot
+            FROM BalanceSnapshot snapshot
+            WHERE snapshot.tier = :tier
+            AND snapshot.takenAt >= :from
+            AND snapshot.takenAt < :to
+            ORDER BY snapshot.takenAt ASC
+            """
+    )
+    List<BalanceSnapshot> findAllByTierInRange(SnapshotTier tier, LocalDateTime from, LocalDateTime to);
+
+    List<BalanceSnapshot> findAllByTierAndTakenAtGreaterThanEqualOrderByTakenAtAsc(SnapshotTier tier, LocalDateTime from);
+
+    Optional<BalanceSnapshot> findFirstByTierOrderByTakenAtDesc(SnapshotTier tier);
+
+    @Modifying
+    @Query(
+        value = """
+            DELETE FROM BalanceSnapshot snapshot
+            WHERE snapshot.tier = :tier
+            AND snapshot.takenAt < :before
+            """
+    )
+    int deleteAllByTierOlderThan(SnapshotTier tier, LocalDateTime before);
+}
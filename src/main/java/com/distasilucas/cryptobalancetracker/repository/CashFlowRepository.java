@@ -0,0 +1,12 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.CashFlow;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface CashFlowRepository extends JpaRepository<CashFlow, String> {
+
+    List<CashFlow> findAllByOccurredAtGreaterThanEqualOrderByOccurredAtAsc(LocalDateTime from);
+}
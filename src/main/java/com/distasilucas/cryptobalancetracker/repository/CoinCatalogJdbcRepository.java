@@ -0,0 +1,15 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface CoinCatalogJdbcRepository {
+
+    void upsertAll(List<CoingeckoCrypto> coins);
+
+    void deleteAllByIds(Collection<String> ids);
+
+    List<CoingeckoCrypto> searchByName(String query, int limit);
+}
@@ -0,0 +1,64 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Coins are written in batches that only carry the ids added, renamed or delisted since the last sync,
+ * so syncing the catalog never rewrites the rows that did not change.
+ * Searches rank names by trigram word similarity, backed by the trigram index on the lowercase name.
+ */
+@RequiredArgsConstructor
+public class CoinCatalogJdbcRepositoryImpl implements CoinCatalogJdbcRepository {
+
+    private static final int BATCH_SIZE = 500;
+    private static final String UPSERT_COIN = """
+        INSERT INTO coin_catalog (id, symbol, name)
+        VALUES (?, ?, ?)
+        ON CONFLICT (id) DO UPDATE SET symbol = EXCLUDED.symbol, name = EXCLUDED.name
+        """;
+    private static final String DELETE_COIN = "DELETE FROM coin_catalog WHERE id = ?";
+    private static final String SEARCH_BY_NAME = """
+        SELECT id, symbol, name
+        FROM coin_catalog
+        WHERE LOWER(?) <% LOWER(name)
+        ORDER BY word_similarity(LOWER(?), LOWER(name)) DESC, similarity(LOWER(?), LOWER(name)) DESC, id ASC
+        LIMIT ?
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void upsertAll(List<CoingeckoCrypto> coins) {
+        jdbcTemplate.batchUpdate(UPSERT_COIN, coins, BATCH_SIZE, (preparedStatement, coin) -> {
+            preparedStatement.setString(1, coin.id());
+            preparedStatement.setString(2, coin.symbol());
+            preparedStatement.setString(3, coin.name());
+        });
+    }
+
+    @Override
+    public void deleteAllByIds(Collection<String> ids) {
+        jdbcTemplate.batchUpdate(DELETE_COIN, ids, BATCH_SIZE, (preparedStatement, id) -> preparedStatement.setString(1, id));
+    }
+
+    @Override
+    public List<CoingeckoCrypto> searchByName(String query, int limit) {
+        return jdbcTemplate.query(
+            SEARCH_BY_NAME,
+            (resultSet, rowNum) -> new CoingeckoCrypto(
+                resultSet.getString("id"),
+                resultSet.getString("symbol"),
+                resultSet.getString("name")
+            ),
+            query,
+            query,
+            query,
+            limit
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.CoinCatalogEntry;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface CoinCatalogRepository extends JpaRepository<CoinCatalogEntry, String>, CoinCatalogJdbcRepository {
+
+    @Query(
+        value = """
+            SELECT coin
+            FROM CoinCatalogEntry coin
+            WHERE LOWER(coin.name) = LOWER(:nameOrId)
+            OR LOWER(coin.id) = LOWER(:nameOrId)
+            ORDER BY coin.id ASC
+            LIMIT 1
+            """
+    )
+    Optional<CoinCatalogEntry> findFirstByNameOrId(String nameOrId);
+
+    /**
+     * Coins whose name or id is one of the lowercase names or ids given, ordered by id like
+     * {@link #findFirstByNameOrId(String)} so the first coin matching each of them is the same.
+     */
+    @Query(
+        value = """
+            SELECT coin
+            FROM CoinCatalogEntry coin
+            WHERE LOWER(coin.name) IN :namesOrIds
+            OR LOWER(coin.id) IN :namesOrIds
+            ORDER BY coin.id ASC
+            """
+    )
+    List<CoinCatalogEntry> findAllByNamesOrIds(Collection<String> namesOrIds);
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto(coin.id, coin.symbol, coin.name)
+            FROM CoinCatalogEntry coin
+            """
+    )
+    List<CoingeckoCrypto> findAllCoins();
+}
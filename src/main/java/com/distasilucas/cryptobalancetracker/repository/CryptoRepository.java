@@ -2,7 +2,9 @@ package com.distasilucas.cryptobalancetracker.repository;
 
 import com.distasilucas.cryptobalancetracker.entity.Crypto;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.Collection;
@@ -23,4 +25,18 @@ public interface CryptoRepository extends JpaRepository<Crypto, String> {
 
     List<Crypto> findAllByIdIn(Collection<String> ids);
 
+    @Modifying
+    @Transactional
+    @Query(
+        nativeQuery = true,
+        value = """
+            DELETE FROM cryptos crypto
+            WHERE crypto.id IN (:cryptoIds)
+            AND NOT EXISTS (SELECT 1 FROM user_cryptos user_crypto WHERE user_crypto.crypto_id = crypto.id)
+            AND NOT EXISTS (SELECT 1 FROM goals goal WHERE goal.crypto_id = crypto.id)
+            AND NOT EXISTS (SELECT 1 FROM price_targets price_target WHERE price_target.crypto_id = crypto.id)
+            """
+    )
+    int deleteOrphanCryptos(Collection<String> cryptoIds);
+
 }
@@ -1,6 +1,10 @@
 package com.distasilucas.cryptobalancetracker.repository;
 
 import com.distasilucas.cryptobalancetracker.entity.Goal;
+import com.distasilucas.cryptobalancetracker.model.GoalProgress;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
@@ -8,6 +12,17 @@ import java.util.Optional;
 
 public interface GoalRepository extends JpaRepository<Goal, String> {
 
+    @EntityGraph(attributePaths = "crypto")
+    @Query(
+        value = """
+                SELECT goals
+                FROM Goal goals
+                WHERE goals.id = :goalId
+                """
+    )
+    Optional<Goal> findById(String goalId);
+
+    @EntityGraph(attributePaths = "crypto")
     @Query(
         value = """
                 SELECT goals
@@ -16,4 +31,35 @@ public interface GoalRepository extends JpaRepository<Goal, String> {
                 """
     )
     Optional<Goal> findByCoingeckoCryptoId(String coingeckoCryptoId);
+
+    @Query(
+        value = """
+                SELECT new com.distasilucas.cryptobalancetracker.model.GoalProgress(
+                    goal.id, crypto.cryptoInfo.name, goal.goalQuantity, crypto.lastKnownPrices.lastKnownPrice, SUM(user_crypto.quantity)
+                )
+                FROM Goal goal
+                JOIN goal.crypto crypto
+                LEFT JOIN UserCrypto user_crypto ON user_crypto.crypto.id = crypto.id AND user_crypto.tenantId = goal.tenantId
+                GROUP BY goal.id, crypto.cryptoInfo.name, goal.goalQuantity, crypto.lastKnownPrices.lastKnownPrice
+                """,
+        countQuery = """
+                SELECT COUNT(goal)
+                FROM Goal goal
+                """
+    )
+    Page<GoalProgress> findAllGoalsProgress(Pageable pageable);
+
+    @Query(
+        value = """
+                SELECT new com.distasilucas.cryptobalancetracker.model.GoalProgress(
+                    goal.id, crypto.cryptoInfo.name, goal.goalQuantity, crypto.lastKnownPrices.lastKnownPrice, SUM(user_crypto.quantity)
+                )
+                FROM Goal goal
+                JOIN goal.crypto crypto
+                LEFT JOIN UserCrypto user_crypto ON user_crypto.crypto.id = crypto.id AND user_crypto.tenantId = goal.tenantId
+                WHERE goal.id = :goalId
+                GROUP BY goal.id, crypto.cryptoInfo.name, goal.goalQuantity, crypto.lastKnownPrices.lastKnownPrice
+                """
+    )
+    Optional<GoalProgress> findGoalProgressById(String goalId);
 }
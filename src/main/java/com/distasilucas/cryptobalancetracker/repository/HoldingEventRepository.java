@@ -0,0 +1,15 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.HoldingEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface HoldingEventRepository extends JpaRepository<HoldingEvent, Long> {
+
+    List<HoldingEvent> findAllByIdGreaterThanAndOccurredAtLessThanEqualOrderByIdAsc(Long id, LocalDateTime at);
+    List<HoldingEvent> findAllByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(Long fromId, Long toId);
+    Optional<HoldingEvent> findFirstByOccurredAtLessThanEqualOrderByIdDesc(LocalDateTime at);
+}
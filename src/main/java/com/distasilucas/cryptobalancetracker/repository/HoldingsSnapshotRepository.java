@@ -0,0 +1,13 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.HoldingsSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface HoldingsSnapshotRepository extends JpaRepository<HoldingsSnapshot, String> {
+
+    Optional<HoldingsSnapshot> findFirstByTakenAtLessThanEqualOrderByLastEventIdDesc(LocalDateTime at);
+    Optional<HoldingsSnapshot> findFirstByOrderByLastEventIdDesc();
+}
@@ -0,0 +1,40 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.Lot;
+import com.distasilucas.cryptobalancetracker.model.LotTotals;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+
+public interface LotRepository extends JpaRepository<Lot, String> {
+
+    List<Lot> findAllByUserCryptoIdAndQuantityGreaterThan(String userCryptoId, BigDecimal quantity, Pageable pageable);
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.LotTotals(
+                lot.userCryptoId, lot.cryptoId, SUM(lot.quantity), SUM(lot.unitCost * lot.quantity), SUM(lot.realizedPnl)
+            )
+            FROM Lot lot
+            WHERE lot.userCryptoId IN :userCryptoIds
+            GROUP BY lot.userCryptoId, lot.cryptoId
+            """
+    )
+    List<LotTotals> sumAllByUserCryptoIdIn(Collection<String> userCryptoIds);
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.LotTotals(
+                lot.cryptoId, lot.cryptoId, SUM(lot.quantity), SUM(lot.unitCost * lot.quantity), SUM(lot.realizedPnl)
+            )
+            FROM Lot lot
+            WHERE lot.cryptoId IN :cryptoIds
+            GROUP BY lot.cryptoId
+            """
+    )
+    List<LotTotals> sumAllByCryptoIdIn(Collection<String> cryptoIds);
+}
@@ -0,0 +1,48 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.OrphanCryptoCandidate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+public interface OrphanCryptoCandidateRepository extends JpaRepository<OrphanCryptoCandidate, String> {
+
+    @Modifying
+    @Transactional
+    @Query(
+        nativeQuery = true,
+        value = """
+            INSERT INTO orphan_crypto_candidates (crypto_id, enqueued_at)
+            VALUES (:cryptoId, :enqueuedAt)
+            ON CONFLICT (crypto_id) DO UPDATE SET enqueued_at = EXCLUDED.enqueued_at
+            """
+    )
+    void enqueue(String cryptoId, LocalDateTime enqueuedAt);
+
+    @Query(
+        value = """
+            SELECT candidate
+            FROM OrphanCryptoCandidate candidate
+            WHERE candidate.enqueuedAt <= :enqueuedBefore
+            ORDER BY candidate.enqueuedAt ASC
+            LIMIT :limit
+            """
+    )
+    List<OrphanCryptoCandidate> findOldestCandidates(LocalDateTime enqueuedBefore, int limit);
+
+    @Modifying
+    @Transactional
+    @Query(
+        value = """
+            DELETE FROM OrphanCryptoCandidate candidate
+            WHERE candidate.cryptoId IN :cryptoIds
+            AND candidate.enqueuedAt <= :enqueuedBefore
+            """
+    )
+    int deleteSweptCandidates(Collection<String> cryptoIds, LocalDateTime enqueuedBefore);
+}
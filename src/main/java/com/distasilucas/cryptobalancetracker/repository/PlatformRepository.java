@@ -2,6 +2,7 @@ package com.distasilucas.cryptobalancetracker.repository;
 
 import com.distasilucas.cryptobalancetracker.entity.Platform;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.Collection;
 import java.util.List;
@@ -9,6 +10,15 @@ import java.util.Optional;
 
 public interface PlatformRepository extends JpaRepository<Platform, String> {
 
+    @Query(
+        value = """
+            SELECT platforms
+            FROM Platform platforms
+            WHERE platforms.id = :platformId
+            """
+    )
+    Optional<Platform> findById(String platformId);
+
     Optional<Platform> findByName(String name);
 
     List<Platform> findAllByIdIn(Collection<String> ids);
@@ -0,0 +1,20 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+public interface PriceHistoryJdbcRepository {
+
+    void insertAll(List<PriceHistory> prices);
+
+    void createMonthlyPartition(YearMonth month);
+
+    List<CandleResponse> findCandles(String cryptoId, CandleInterval interval, LocalDateTime from);
+
+    List<PriceHistory> findLatestPrices(List<String> cryptoIds, LocalDateTime at);
+}
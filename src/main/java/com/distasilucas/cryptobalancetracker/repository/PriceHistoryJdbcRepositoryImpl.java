@@ -0,0 +1,137 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.List;
+
+/**
+ * Writes go straight through JDBC: rows are append-only, so a batched insert that ignores
+ * already recorded (crypto_id, recorded_at) pairs avoids the select-before-insert that
+ * {@code saveAll} would do for entities with assigned ids.
+ * Candles are aggregated by the database so only one row per candle is read.
+ * The latest prices at an instant are read with one index lookup per crypto, returned in the
+ * order of the given ids so callers can merge them with other streams sorted the same way.
+ */
+@RequiredArgsConstructor
+public class PriceHistoryJdbcRepositoryImpl implements PriceHistoryJdbcRepository {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String INSERT_PRICE_HISTORY = """
+        INSERT INTO price_history (crypto_id, recorded_at, usd, eur, btc)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+    private static final String SELECT_CANDLES = """
+        SELECT date_trunc(?, recorded_at) AS open_time,
+               (array_agg(usd ORDER BY recorded_at ASC))[1] AS open,
+               MAX(usd) AS high,
+               MIN(usd) AS low,
+               (array_agg(usd ORDER BY recorded_at DESC))[1] AS close
+        FROM price_history
+        WHERE crypto_id = ?
+        AND recorded_at >= ?
+        GROUP BY 1
+        ORDER BY 1
+        """;
+    private static final String SELECT_LATEST_PRICES = """
+        SELECT price.crypto_id, price.recorded_at, price.usd, price.eur, price.btc
+        FROM unnest(?::varchar[]) WITH ORDINALITY AS ids(crypto_id, position)
+        CROSS JOIN LATERAL (
+            SELECT crypto_id, recorded_at, usd, eur, btc
+            FROM price_history
+            WHERE crypto_id = ids.crypto_id
+            AND recorded_at <= ?
+            ORDER BY recorded_at DESC
+            LIMIT 1
+        ) price
+        ORDER BY ids.position
+        """;
+
+    /**
+     * Rows of a month without partition land in the default one, and Postgres refuses to create the partition
+     * while they are there. They are moved to the new partition in the same statement, with inserts blocked,
+     * so a month that was missed is caught up instead of being left in the default partition for good.
+     */
+    private static final String CREATE_MONTHLY_PARTITION = """
+        DO $$
+        BEGIN
+            IF to_regclass('%1$s') IS NULL THEN
+                LOCK TABLE price_history IN SHARE ROW EXCLUSIVE MODE;
+
+                CREATE TEMPORARY TABLE price_history_moved ON COMMIT DROP AS
+                    SELECT * FROM price_history_default
+                    WHERE recorded_at >= '%2$s' AND recorded_at < '%3$s';
+                DELETE FROM price_history_default
+                WHERE recorded_at >= '%2$s' AND recorded_at < '%3$s';
+
+                CREATE TABLE %1$s PARTITION OF price_history FOR VALUES FROM ('%2$s') TO ('%3$s');
+                INSERT INTO %1$s SELECT * FROM price_history_moved;
+            END IF;
+        END
+        $$
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<PriceHistory> prices) {
+        jdbcTemplate.batchUpdate(INSERT_PRICE_HISTORY, prices, BATCH_SIZE, (preparedStatement, price) -> {
+            preparedStatement.setString(1, price.getCryptoId());
+            preparedStatement.setTimestamp(2, Timestamp.valueOf(price.getRecordedAt()));
+            preparedStatement.setBigDecimal(3, price.getUsd());
+            preparedStatement.setBigDecimal(4, price.getEur());
+            preparedStatement.setBigDecimal(5, price.getBtc());
+        });
+    }
+
+    @Override
+    public void createMonthlyPartition(YearMonth month) {
+        var partitionName = "price_history_y%dm%02d".formatted(month.getYear(), month.getMonthValue());
+        var from = month.atDay(1);
+        var to = month.plusMonths(1).atDay(1);
+
+        jdbcTemplate.execute(CREATE_MONTHLY_PARTITION.formatted(partitionName, from, to));
+    }
+
+    @Override
+    public List<CandleResponse> findCandles(String cryptoId, CandleInterval interval, LocalDateTime from) {
+        return jdbcTemplate.query(
+            SELECT_CANDLES,
+            (resultSet, rowNum) -> new CandleResponse(
+                resultSet.getTimestamp("open_time").toLocalDateTime(),
+                resultSet.getBigDecimal("open"),
+                resultSet.getBigDecimal("high"),
+                resultSet.getBigDecimal("low"),
+                resultSet.getBigDecimal("close")
+            ),
+            interval.getTruncationUnit(),
+            cryptoId,
+            Timestamp.valueOf(from)
+        );
+    }
+
+    @Override
+    public List<PriceHistory> findLatestPrices(List<String> cryptoIds, LocalDateTime at) {
+        return jdbcTemplate.query(
+            SELECT_LATEST_PRICES,
+            preparedStatement -> {
+                preparedStatement.setArray(1, preparedStatement.getConnection().createArrayOf("varchar", cryptoIds.toArray()));
+                preparedStatement.setTimestamp(2, Timestamp.valueOf(at));
+            },
+            (resultSet, rowNum) -> new PriceHistory(
+                resultSet.getString("crypto_id"),
+                resultSet.getTimestamp("recorded_at").toLocalDateTime(),
+                resultSet.getBigDecimal("usd"),
+                resultSet.getBigDecimal("eur"),
+                resultSet.getBigDecimal("btc")
+            )
+        );
+    }
+}
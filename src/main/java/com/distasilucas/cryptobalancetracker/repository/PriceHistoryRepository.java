@@ -0,0 +1,26 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.entity.PriceHistoryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+public interface PriceHistoryRepository extends JpaRepository<PriceHistory, PriceHistoryId>, PriceHistoryJdbcRepository {
+
+    @Query(
+        value = """
+            SELECT price
+            FROM PriceHistory price
+            WHERE price.cryptoId = :cryptoId
+            AND price.recordedAt BETWEEN :from AND :to
+            ORDER BY price.recordedAt ASC
+            """
+    )
+    List<PriceHistory> findAllByCryptoIdInRange(String cryptoId, LocalDateTime from, LocalDateTime to);
+
+    Optional<PriceHistory> findFirstByCryptoIdAndRecordedAtLessThanEqualOrderByRecordedAtDesc(String cryptoId, LocalDateTime at);
+}
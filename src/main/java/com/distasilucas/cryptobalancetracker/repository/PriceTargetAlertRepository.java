@@ -0,0 +1,7 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.PriceTargetAlert;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface PriceTargetAlertRepository extends JpaRepository<PriceTargetAlert, String> {
+}
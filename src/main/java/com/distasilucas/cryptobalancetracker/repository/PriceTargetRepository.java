@@ -1,14 +1,29 @@
 package com.distasilucas.cryptobalancetracker.repository;
 
 import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
 import java.math.BigDecimal;
+import java.util.List;
 import java.util.Optional;
 
 public interface PriceTargetRepository extends JpaRepository<PriceTarget, String> {
 
+    @EntityGraph(attributePaths = "crypto")
+    @Query(
+        value = """
+                SELECT price_targets
+                FROM PriceTarget price_targets
+                WHERE price_targets.id = :priceTargetId
+                """
+    )
+    Optional<PriceTarget> findById(String priceTargetId);
+
+    @EntityGraph(attributePaths = "crypto")
     @Query(
         value = """
                 SELECT price_targets
@@ -18,4 +33,11 @@ public interface PriceTargetRepository extends JpaRepository<PriceTarget, String
                 """
     )
     Optional<PriceTarget> findByCoingeckoCryptoIdAndTarget(String coingeckoCryptoId, BigDecimal target);
+
+    @EntityGraph(attributePaths = "crypto")
+    List<PriceTarget> findAllByCryptoId(String coingeckoCryptoId);
+
+    @Override
+    @EntityGraph(attributePaths = "crypto")
+    Page<PriceTarget> findAll(Pageable pageable);
 }
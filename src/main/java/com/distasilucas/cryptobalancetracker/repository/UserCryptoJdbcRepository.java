@@ -0,0 +1,10 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+
+import java.util.List;
+
+public interface UserCryptoJdbcRepository {
+
+    List<UserCrypto> insertAll(List<UserCrypto> userCryptos);
+}
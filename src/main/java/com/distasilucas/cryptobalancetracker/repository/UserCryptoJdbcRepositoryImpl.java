@@ -0,0 +1,48 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Imported user cryptos are written in batches. Rows whose crypto is already held in the platform, which the
+ * unique index on (platform_id, crypto_id) rejects, are skipped instead of failing the whole batch, and only
+ * the user cryptos actually inserted are returned. Rows are stamped with the current tenant, as Hibernate
+ * does for the entities it saves.
+ */
+@RequiredArgsConstructor
+public class UserCryptoJdbcRepositoryImpl implements UserCryptoJdbcRepository {
+
+    private static final int BATCH_SIZE = 100;
+    private static final String INSERT_USER_CRYPTO = """
+        INSERT INTO user_cryptos (id, quantity, platform_id, crypto_id, tenant_id)
+        VALUES (?, ?, ?, ?, ?)
+        ON CONFLICT DO NOTHING
+        """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public List<UserCrypto> insertAll(List<UserCrypto> userCryptos) {
+        var tenantId = TenantContext.getTenantId();
+        var updateCounts = Arrays.stream(
+            jdbcTemplate.batchUpdate(INSERT_USER_CRYPTO, userCryptos, BATCH_SIZE, (preparedStatement, userCrypto) -> {
+                preparedStatement.setString(1, userCrypto.getId());
+                preparedStatement.setBigDecimal(2, userCrypto.getQuantity());
+                preparedStatement.setString(3, userCrypto.getPlatform().getId());
+                preparedStatement.setString(4, userCrypto.getCrypto().getId());
+                preparedStatement.setString(5, tenantId);
+            })
+        ).flatMapToInt(Arrays::stream).toArray();
+
+        return IntStream.range(0, userCryptos.size())
+            .filter(index -> updateCounts[index] != 0)
+            .mapToObj(userCryptos::get)
+            .toList();
+    }
+}
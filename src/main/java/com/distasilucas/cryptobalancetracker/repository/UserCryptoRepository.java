@@ -1,14 +1,32 @@
 package com.distasilucas.cryptobalancetracker.repository;
 
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface UserCryptoRepository extends JpaRepository<UserCrypto, String> {
+public interface UserCryptoRepository extends JpaRepository<UserCrypto, String>, UserCryptoJdbcRepository {
 
+    @EntityGraph(attributePaths = {"platform", "crypto"})
+    @Query(
+        value = """
+            SELECT user_cryptos
+            FROM UserCrypto user_cryptos
+            WHERE user_cryptos.id = :userCryptoId
+            """
+    )
+    Optional<UserCrypto> findById(String userCryptoId);
+
+    @EntityGraph(attributePaths = {"platform", "crypto"})
     @Query(
         value = """
             SELECT user_cryptos
@@ -18,6 +36,7 @@ public interface UserCryptoRepository extends JpaRepository<UserCrypto, String>
     )
     List<UserCrypto> findAllByCoingeckoCryptoId(String coingeckoCryptoId);
 
+    @EntityGraph(attributePaths = {"platform", "crypto"})
     @Query(
         value = """
             SELECT user_cryptos
@@ -28,6 +47,54 @@ public interface UserCryptoRepository extends JpaRepository<UserCrypto, String>
     )
     Optional<UserCrypto> findByCoingeckoCryptoIdAndPlatformId(String coingeckoCryptoId, String platformId);
 
+    @EntityGraph(attributePaths = {"platform", "crypto"})
+    @Query(
+        value = """
+            SELECT user_cryptos
+            FROM UserCrypto user_cryptos
+            WHERE user_cryptos.crypto.id IN :coingeckoCryptoIds
+            AND user_cryptos.platform.id IN :platformIds
+            """
+    )
+    List<UserCrypto> findAllByCoingeckoCryptoIdsAndPlatformIds(Collection<String> coingeckoCryptoIds, Collection<String> platformIds);
+
+    /**
+     * Locks the user cryptos with the ids given together with the ones of the same cryptos in the platforms
+     * given. Rows are locked ordered by id, so two transfers locking the same rows can't deadlock.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"platform", "crypto"})
+    @Query(
+        value = """
+            SELECT user_cryptos
+            FROM UserCrypto user_cryptos
+            WHERE user_cryptos.id IN :userCryptoIds
+            OR (
+                user_cryptos.platform.id IN :platformIds
+                AND user_cryptos.crypto.id IN (
+                    SELECT user_crypto.crypto.id
+                    FROM UserCrypto user_crypto
+                    WHERE user_crypto.id IN :userCryptoIds
+                )
+            )
+            ORDER BY user_cryptos.id
+            """
+    )
+    List<UserCrypto> findAllToTransferForUpdate(Collection<String> userCryptoIds, Collection<String> platformIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = {"platform", "crypto"})
+    @Query(
+        value = """
+            SELECT user_cryptos
+            FROM UserCrypto user_cryptos
+            WHERE user_cryptos.crypto.id = :coingeckoCryptoId
+            AND user_cryptos.platform.id = :platformId
+            """
+    )
+    Optional<UserCrypto> findByCoingeckoCryptoIdAndPlatformIdForUpdate(String coingeckoCryptoId, String platformId);
+
+    @EntityGraph(attributePaths = {"platform", "crypto"})
     @Query(
         value = """
             SELECT user_cryptos
@@ -36,4 +103,35 @@ public interface UserCryptoRepository extends JpaRepository<UserCrypto, String>
             """
     )
     List<UserCrypto> findAllByPlatformId(String platformId);
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.UserCryptoHolding(
+                user_cryptos.id, user_cryptos.crypto.id, user_cryptos.quantity, platform.id, platform.name
+            )
+            FROM UserCrypto user_cryptos
+            JOIN user_cryptos.platform platform
+            """
+    )
+    List<UserCryptoHolding> findAllHoldings();
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.UserCryptoHolding(
+                user_cryptos.id, user_cryptos.crypto.id, user_cryptos.quantity, platform.id, platform.name
+            )
+            FROM UserCrypto user_cryptos
+            JOIN user_cryptos.platform platform
+            WHERE platform.id = :platformId
+            """
+    )
+    List<UserCryptoHolding> findAllHoldingsByPlatformId(String platformId);
+
+    @Override
+    @EntityGraph(attributePaths = {"platform", "crypto"})
+    List<UserCrypto> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = {"platform", "crypto"})
+    Page<UserCrypto> findAll(Pageable pageable);
 }
@@ -0,0 +1,43 @@
+package com.distasilucas.cryptobalancetracker.repository.view;
+
+import com.distasilucas.cryptobalancetracker.entity.view.PortfolioSummaryView;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+public interface PortfolioSummaryViewRepository extends JpaRepository<PortfolioSummaryView, String> {
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.PortfolioSummary(
+                summary.cryptoId, summary.cryptoName, SUM(summary.quantity),
+                SUM(summary.usdValue), SUM(summary.eurValue), SUM(summary.btcValue)
+            )
+            FROM PortfolioSummaryView summary
+            GROUP BY summary.cryptoId, summary.cryptoName
+            """
+    )
+    List<PortfolioSummary> findCryptosSummaries();
+
+    @Query(
+        value = """
+            SELECT new com.distasilucas.cryptobalancetracker.model.PortfolioSummary(
+                summary.platformName, summary.platformName, SUM(summary.quantity),
+                SUM(ROUND(summary.usdValue, 2)), SUM(ROUND(summary.eurValue, 2)), SUM(ROUND(summary.btcValue, 10))
+            )
+            FROM PortfolioSummaryView summary
+            GROUP BY summary.platformName
+            """
+    )
+    List<PortfolioSummary> findPlatformsSummaries();
+
+    @Modifying
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Query(nativeQuery = true, value = "REFRESH MATERIALIZED VIEW CONCURRENTLY portfolio_summary_view")
+    void refresh();
+}
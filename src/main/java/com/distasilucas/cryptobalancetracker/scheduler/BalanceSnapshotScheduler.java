@@ -0,0 +1,24 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.BalanceSnapshotService;
+import com.distasilucas.cryptobalancetracker.service.TenantService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BalanceSnapshotScheduler {
+
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final TenantService tenantService;
+
+    @Scheduled(cron = "${balance-snapshots.compaction-cron}")
+    public void compactBalanceSnapshots() {
+        log.info("Running cron to compact balance snapshots");
+
+        tenantService.forEachTenant(balanceSnapshotService::compactSnapshots);
+    }
+}
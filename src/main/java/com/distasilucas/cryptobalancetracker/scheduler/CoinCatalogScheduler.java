@@ -0,0 +1,22 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.CoinCatalogService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoinCatalogScheduler {
+
+    private final CoinCatalogService coinCatalogService;
+
+    @Scheduled(cron = "${coin-catalog.sync-cron}")
+    public void syncCoinCatalog() {
+        log.info("Running cron to sync coin catalog");
+
+        coinCatalogService.syncCatalog();
+    }
+}
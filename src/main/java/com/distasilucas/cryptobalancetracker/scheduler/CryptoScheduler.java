@@ -4,6 +4,7 @@ import com.distasilucas.cryptobalancetracker.entity.Crypto;
 import com.distasilucas.cryptobalancetracker.exception.TooManyRequestsException;
 import com.distasilucas.cryptobalancetracker.service.CoingeckoService;
 import com.distasilucas.cryptobalancetracker.service.CryptoService;
+import com.distasilucas.cryptobalancetracker.service.PortfolioSummaryService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
@@ -23,17 +24,20 @@ public class CryptoScheduler {
     private final Clock clock;
     private final CryptoService cryptoService;
     private final CoingeckoService coingeckoService;
+    private final PortfolioSummaryService portfolioSummaryService;
 
     public CryptoScheduler(
         @Value("${max-limit-crypto}") int maxLimit,
         Clock clock,
         CryptoService cryptoService,
-        CoingeckoService coingeckoService
+        CoingeckoService coingeckoService,
+        PortfolioSummaryService portfolioSummaryService
     ) {
         this.maxLimit = maxLimit;
         this.clock = clock;
         this.cryptoService = cryptoService;
         this.coingeckoService = coingeckoService;
+        this.portfolioSummaryService = portfolioSummaryService;
     }
 
     @Scheduled(cron = "${update-crypto-info-cron}")
@@ -51,6 +55,7 @@ public class CryptoScheduler {
             log.info("About to update {} crypto(s)", cryptosToUpdate.size());
 
             cryptoService.updateCryptos(cryptosToUpdate);
+            portfolioSummaryService.requestRefresh();
         }
     }
 
@@ -2,7 +2,10 @@ package com.distasilucas.cryptobalancetracker.scheduler;
 
 import com.distasilucas.cryptobalancetracker.entity.DateBalance;
 import com.distasilucas.cryptobalancetracker.repository.DateBalanceRepository;
+import com.distasilucas.cryptobalancetracker.service.BalanceSnapshotService;
 import com.distasilucas.cryptobalancetracker.service.InsightsService;
+import com.distasilucas.cryptobalancetracker.service.ReturnsService;
+import com.distasilucas.cryptobalancetracker.service.TenantService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -18,12 +21,19 @@ public class DateBalanceScheduler {
 
     private final DateBalanceRepository dateBalancesRepository;
     private final InsightsService insightsService;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final ReturnsService returnsService;
+    private final TenantService tenantService;
     private final Clock clock;
 
     @Scheduled(cron = "${save-day-balance-cron}")
     public void saveDateBalance() {
         log.info("Running cron to save daily balance");
 
+        tenantService.forEachTenant(this::saveTenantDateBalance);
+    }
+
+    private void saveTenantDateBalance() {
         var now = LocalDate.now(clock);
         var totalBalances = insightsService.retrieveTotalBalancesInsights();
         var optionalDateBalance = dateBalancesRepository.findDateBalanceByDate(now);
@@ -36,5 +46,8 @@ public class DateBalanceScheduler {
             log.info("Saving balances {} for date {}", totalBalances, now);
             dateBalancesRepository.save(new DateBalance(now, totalBalances));
         });
+
+        balanceSnapshotService.saveSnapshot(totalBalances);
+        returnsService.updateReturns(now, totalBalances);
     }
 }
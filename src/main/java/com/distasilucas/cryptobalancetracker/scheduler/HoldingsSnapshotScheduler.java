@@ -0,0 +1,24 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.HoldingsLedgerService;
+import com.distasilucas.cryptobalancetracker.service.TenantService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class HoldingsSnapshotScheduler {
+
+    private final HoldingsLedgerService holdingsLedgerService;
+    private final TenantService tenantService;
+
+    @Scheduled(cron = "${holdings-ledger.snapshot-cron}")
+    public void takeHoldingsSnapshot() {
+        log.info("Running cron to snapshot holdings");
+
+        tenantService.forEachTenant(holdingsLedgerService::takeSnapshot);
+    }
+}
@@ -0,0 +1,22 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.OrphanCryptoService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OrphanCryptoScheduler {
+
+    private final OrphanCryptoService orphanCryptoService;
+
+    @Scheduled(cron = "${orphan-cryptos.cleanup-cron}")
+    public void deleteOrphanCryptos() {
+        log.info("Running cron to delete orphan cryptos");
+
+        orphanCryptoService.deleteOrphanCryptos();
+    }
+}
@@ -0,0 +1,18 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.PortfolioSummaryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PortfolioSummaryScheduler {
+
+    private final PortfolioSummaryService portfolioSummaryService;
+
+    @Scheduled(cron = "${portfolio-summary.refresh-cron}")
+    public void refreshPortfolioSummary() {
+        portfolioSummaryService.refreshIfRequested();
+    }
+}
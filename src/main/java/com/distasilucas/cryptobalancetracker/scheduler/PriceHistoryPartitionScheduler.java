@@ -0,0 +1,37 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.PriceHistoryService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+
+@Slf4j
+@Component
+public class PriceHistoryPartitionScheduler {
+
+    private final int partitionsAhead;
+    private final PriceHistoryService priceHistoryService;
+    private final Clock clock;
+
+    public PriceHistoryPartitionScheduler(@Value("${price-history.partitions-ahead}") int partitionsAhead,
+                                          PriceHistoryService priceHistoryService,
+                                          Clock clock) {
+        this.partitionsAhead = partitionsAhead;
+        this.priceHistoryService = priceHistoryService;
+        this.clock = clock;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${price-history.partition-cron}")
+    public void createPriceHistoryPartitions() {
+        log.info("Running cron to create price history partitions");
+
+        priceHistoryService.createPartitions(YearMonth.now(clock), partitionsAhead);
+    }
+}
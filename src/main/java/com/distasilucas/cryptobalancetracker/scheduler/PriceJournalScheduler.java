@@ -0,0 +1,48 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.journal.PriceJournal;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "price-journal", name = "enabled", havingValue = "true")
+public class PriceJournalScheduler {
+
+    private final Duration retention;
+    private final Duration downsampleAfter;
+    private final Duration downsampleInterval;
+    private final PriceJournal priceJournal;
+    private final Clock clock;
+
+    public PriceJournalScheduler(@Value("${price-journal.retention}") Duration retention,
+                                 @Value("${price-journal.downsample-after}") Duration downsampleAfter,
+                                 @Value("${price-journal.downsample-interval}") Duration downsampleInterval,
+                                 PriceJournal priceJournal,
+                                 Clock clock) {
+        this.retention = retention;
+        this.downsampleAfter = downsampleAfter;
+        this.downsampleInterval = downsampleInterval;
+        this.priceJournal = priceJournal;
+        this.clock = clock;
+    }
+
+    @Scheduled(cron = "${price-journal.flush-cron}")
+    public void flushPriceJournal() {
+        priceJournal.flush();
+    }
+
+    @Scheduled(cron = "${price-journal.compaction-cron}")
+    public void compactPriceJournal() {
+        log.info("Running cron to compact price journal");
+
+        var now = clock.millis();
+        priceJournal.compact(now - retention.toMillis(), now - downsampleAfter.toMillis(), downsampleInterval.toMillis());
+    }
+}
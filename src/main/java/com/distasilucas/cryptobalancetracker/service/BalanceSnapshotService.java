@@ -0,0 +1,118 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.BalanceSnapshot;
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import com.distasilucas.cryptobalancetracker.repository.BalanceSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class BalanceSnapshotService {
+
+    private final Duration rawRetention;
+    private final Duration hourlyRetention;
+    private final Duration dailyRetention;
+    private final BalanceSnapshotRepository balanceSnapshotRepository;
+    private final Clock clock;
+
+    public BalanceSnapshotService(@Value("${balance-snapshots.retention.raw}") Duration rawRetention,
+                                  @Value("${balance-snapshots.retention.hourly}") Duration hourlyRetention,
+                                  @Value("${balance-snapshots.retention.daily}") Duration dailyRetention,
+                                  BalanceSnapshotRepository balanceSnapshotRepository,
+                                  Clock clock) {
+        this.rawRetention = rawRetention;
+        this.hourlyRetention = hourlyRetention;
+        this.dailyRetention = dailyRetention;
+        this.balanceSnapshotRepository = balanceSnapshotRepository;
+        this.clock = clock;
+    }
+
+    public void saveSnapshot(BalancesResponse balancesResponse) {
+        var now = LocalDateTime.now(clock);
+        log.info("Saving raw balance snapshot {} at {}", balancesResponse, now);
+
+        balanceSnapshotRepository.save(new BalanceSnapshot(SnapshotTier.RAW, now, balancesResponse));
+    }
+
+    /**
+     * Returns the snapshots of the given tier taken within the window, oldest first.
+     * Rollup tiers lag behind the current bucket, so the latest raw snapshot is appended
+     * to keep the curve up to date.
+     */
+    public List<BalanceSnapshot> retrieveIntradaySnapshots(SnapshotTier tier, Duration window) {
+        var from = LocalDateTime.now(clock).minus(window);
+        log.info("Retrieving {} balance snapshots since {}", tier, from);
+
+        var snapshots = new ArrayList<>(
+            balanceSnapshotRepository.findAllByTierAndTakenAtGreaterThanEqualOrderByTakenAtAsc(tier, from)
+        );
+
+        if (SnapshotTier.RAW != tier) {
+            balanceSnapshotRepository.findFirstByTierOrderByTakenAtDesc(SnapshotTier.RAW)
+                .filter(latest -> snapshots.isEmpty() || latest.getTakenAt().isAfter(snapshots.getLast().getTakenAt()))
+                .ifPresent(snapshots::add);
+        }
+
+        return snapshots;
+    }
+
+    /**
+     * Rolls raw snapshots up into hourly ones and hourly into daily ones, keeping the closing value
+     * of every bucket, and then drops whatever is older than the retention of each tier.
+     * Only closed buckets that were not rolled up yet are read.
+     */
+    @Transactional
+    public void compactSnapshots() {
+        var now = LocalDateTime.now(clock);
+
+        rollup(SnapshotTier.RAW, SnapshotTier.HOURLY, ChronoUnit.HOURS, now.minus(rawRetention), now);
+        rollup(SnapshotTier.HOURLY, SnapshotTier.DAILY, ChronoUnit.DAYS, now.minus(hourlyRetention), now);
+
+        prune(SnapshotTier.RAW, now.minus(rawRetention));
+        prune(SnapshotTier.HOURLY, now.minus(hourlyRetention));
+        prune(SnapshotTier.DAILY, now.minus(dailyRetention));
+    }
+
+    private void rollup(SnapshotTier source, SnapshotTier target, ChronoUnit unit, LocalDateTime oldest, LocalDateTime now) {
+        var until = now.truncatedTo(unit);
+        var from = balanceSnapshotRepository.findFirstByTierOrderByTakenAtDesc(target)
+            .map(lastRollup -> lastRollup.getTakenAt().plus(1, unit))
+            .filter(nextBucket -> nextBucket.isAfter(oldest))
+            .orElse(oldest.truncatedTo(unit));
+
+        if (!from.isBefore(until)) {
+            log.info("No closed {} buckets to roll up into {}", source, target);
+            return;
+        }
+
+        var snapshots = balanceSnapshotRepository.findAllByTierInRange(source, from, until);
+        Map<LocalDateTime, BalanceSnapshot> closingSnapshots = new LinkedHashMap<>();
+        snapshots.forEach(snapshot -> closingSnapshots.put(snapshot.getTakenAt().truncatedTo(unit), snapshot));
+
+        var rollups = closingSnapshots.entrySet()
+            .stream()
+            .map(entry -> entry.getValue().toRollup(target, entry.getKey()))
+            .toList();
+
+        log.info("Rolling up {} {} snapshots into {} {} snapshots", snapshots.size(), source, rollups.size(), target);
+        balanceSnapshotRepository.saveAll(rollups);
+    }
+
+    private void prune(SnapshotTier tier, LocalDateTime before) {
+        var deleted = balanceSnapshotRepository.deleteAllByTierOlderThan(tier, before);
+        log.info("Deleted {} {} snapshots older than {}", deleted, tier, before);
+    }
+}
@@ -0,0 +1,198 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.exception.ServiceUnavailableException;
+import com.distasilucas.cryptobalancetracker.model.BulkheadResult;
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Admission control for expensive endpoints. Each bulkhead runs up to a fixed number of recomputations at
+ * once and lets a few more wait a short time for a free slot. Only recomputations are guarded, so cached
+ * responses are served without taking a slot. Recomputations beyond that are shed: the request gets the
+ * last value computed for the same tenant and key, marked as stale, or a {@link ServiceUnavailableException}
+ * telling the client when to retry if nothing was computed yet. Bursts of cache misses are then served by a
+ * few recomputations instead of all of them competing for database connections. Last values are dropped
+ * along with the insights caches, so a shed request never gets a response from before a write.
+ */
+@Slf4j
+@Service
+public class BulkheadService {
+
+    private static final int MAX_STALE_VALUES = 1_000;
+
+    private final int maxConcurrentCalls;
+    private final int maxWaitingCalls;
+    private final Duration maxWait;
+    private final Duration retryAfter;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+
+    public BulkheadService(@Value("${bulkheads.max-concurrent-calls}") int maxConcurrentCalls,
+                           @Value("${bulkheads.max-waiting-calls}") int maxWaitingCalls,
+                           @Value("${bulkheads.max-wait}") Duration maxWait,
+                           @Value("${bulkheads.retry-after}") Duration retryAfter,
+                           MeterRegistry meterRegistry) {
+        this.maxConcurrentCalls = maxConcurrentCalls;
+        this.maxWaitingCalls = maxWaitingCalls;
+        this.maxWait = maxWait;
+        this.retryAfter = retryAfter;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Runs a request whose recomputation is guarded by {@link #guard(String, Supplier)} with the same
+     * bulkhead, serving the last value of the key if the recomputation is shed.
+     */
+    public <T> BulkheadResult<T> execute(String name, Object key, Supplier<T> supplier) {
+        var bulkhead = bulkheads.computeIfAbsent(name, this::newBulkhead);
+        var valueKey = new TenantCacheKey(TenantContext.getTenantId(), key);
+
+        try {
+            var value = supplier.get();
+            bulkhead.lastValues().put(valueKey, value);
+
+            return new BulkheadResult<>(value, false);
+        } catch (BulkheadFullException exception) {
+            return shed(name, bulkhead, valueKey);
+        }
+    }
+
+    public <T> T guard(String name, Supplier<T> recomputation) {
+        var bulkhead = bulkheads.computeIfAbsent(name, this::newBulkhead);
+
+        if (!bulkhead.acquire(maxWaitingCalls, maxWait)) {
+            throw new BulkheadFullException(name);
+        }
+
+        try {
+            return recomputation.get();
+        } finally {
+            bulkhead.semaphore().release();
+        }
+    }
+
+    public void invalidate() {
+        var tenantId = TenantContext.getTenantId();
+
+        for (var bulkhead : bulkheads.values()) {
+            var lastValues = bulkhead.lastValues();
+
+            synchronized (lastValues) {
+                if (TenantContext.isBound()) {
+                    lastValues.keySet().removeIf(valueKey -> tenantId.equals(valueKey.tenantId()));
+                } else {
+                    lastValues.clear();
+                }
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> BulkheadResult<T> shed(String name, Bulkhead bulkhead, TenantCacheKey valueKey) {
+        var lastValue = bulkhead.lastValues().get(valueKey);
+
+        if (lastValue == null) {
+            log.warn("Bulkhead {} is full and there is no value to serve for {}", name, valueKey);
+            throw new ServiceUnavailableException(retryAfter);
+        }
+
+        log.info("Bulkhead {} is full. Serving stale value for {}", name, valueKey);
+        bulkhead.stale().increment();
+
+        return new BulkheadResult<>((T) lastValue, true);
+    }
+
+    private Bulkhead newBulkhead(String name) {
+        var bulkhead = new Bulkhead(
+            new Semaphore(maxConcurrentCalls),
+            new AtomicInteger(),
+            counter(name, "admitted"),
+            counter(name, "queued"),
+            counter(name, "shed"),
+            Counter.builder("bulkhead.stale.responses").tag("bulkhead", name).register(meterRegistry),
+            Collections.synchronizedMap(new LinkedHashMap<TenantCacheKey, Object>(16, 0.75F, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<TenantCacheKey, Object> eldest) {
+                    return size() > MAX_STALE_VALUES;
+                }
+            })
+        );
+
+        Gauge.builder("bulkhead.available.permits", bulkhead.semaphore(), Semaphore::availablePermits)
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+        Gauge.builder("bulkhead.waiting.calls", bulkhead.waiting(), AtomicInteger::get)
+            .tag("bulkhead", name)
+            .register(meterRegistry);
+
+        return bulkhead;
+    }
+
+    private Counter counter(String name, String outcome) {
+        return Counter.builder("bulkhead.calls")
+            .tag("bulkhead", name)
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static final class BulkheadFullException extends RuntimeException {
+
+        private BulkheadFullException(String name) {
+            super("Bulkhead %s is full".formatted(name), null, false, false);
+        }
+    }
+
+    private record Bulkhead(
+        Semaphore semaphore,
+        AtomicInteger waiting,
+        Counter admitted,
+        Counter queued,
+        Counter shed,
+        Counter stale,
+        Map<TenantCacheKey, Object> lastValues
+    ) {
+
+        private boolean acquire(int maxWaitingCalls, Duration maxWait) {
+            if (semaphore.tryAcquire()) {
+                admitted.increment();
+                return true;
+            }
+
+            if (waiting.incrementAndGet() > maxWaitingCalls) {
+                waiting.decrementAndGet();
+                shed.increment();
+                return false;
+            }
+
+            try {
+                if (semaphore.tryAcquire(maxWait.toNanos(), TimeUnit.NANOSECONDS)) {
+                    queued.increment();
+                    return true;
+                }
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            } finally {
+                waiting.decrementAndGet();
+            }
+
+            shed.increment();
+            return false;
+        }
+    }
+}
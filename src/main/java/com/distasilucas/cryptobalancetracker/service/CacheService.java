@@ -5,6 +5,8 @@ import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.ALL_PLATFORMS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_BALANCES_INSIGHTS_CACHE;
@@ -12,6 +14,7 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.DATES_BALANCES_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_PROGRESS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PAGE_GOALS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_PLATFORMS_IDS_CACHE;
@@ -19,6 +22,7 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM_PLATFORM_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_PAGE_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.RISK_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.TOTAL_BALANCES_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE;
@@ -32,6 +36,7 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRY
 public class CacheService {
 
     private final CacheManager cacheManager;
+    private final BulkheadService bulkheadService;
 
     public void invalidate(CacheType firstCache, CacheType ...caches) {
         invalidate(firstCache);
@@ -41,6 +46,24 @@ public class CacheService {
         }
     }
 
+    /**
+     * Invalidates the caches once the current transaction commits, so a read racing with the write can't
+     * cache the rows it is about to replace. Without a transaction they are invalidated right away.
+     */
+    public void invalidateAfterCommit(CacheType firstCache, CacheType ...caches) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            invalidate(firstCache, caches);
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                invalidate(firstCache, caches);
+            }
+        });
+    }
+
     private void invalidate(CacheType cache) {
         switch (cache) {
             case USER_CRYPTOS_CACHES -> invalidateUserCryptosCaches();
@@ -80,6 +103,7 @@ public class CacheService {
         log.info("Invalidating goals cache");
 
         cacheManager.getCache(GOAL_CACHE).invalidate();
+        cacheManager.getCache(GOAL_PROGRESS_CACHE).invalidate();
         cacheManager.getCache(PAGE_GOALS_CACHE).invalidate();
     }
 
@@ -99,5 +123,7 @@ public class CacheService {
         cacheManager.getCache(CRYPTO_INSIGHTS_CACHE).invalidate();
         cacheManager.getCache(PLATFORMS_BALANCES_INSIGHTS_CACHE).invalidate();
         cacheManager.getCache(CRYPTOS_BALANCES_INSIGHTS_CACHE).invalidate();
+        cacheManager.getCache(RISK_INSIGHTS_CACHE).invalidate();
+        bulkheadService.invalidate();
     }
 }
@@ -0,0 +1,241 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.journal.PriceTickRange;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps a bounded series of OHLC candles per crypto and interval in memory. Every price refresh only
+ * touches the newest candle of each series, and a series is seeded once when it is first requested. Seeds
+ * are aggregated from the price journal ticks when the journal covers the whole series, and from the price
+ * history otherwise. The response list is built once per change and reused by every request.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CandleService {
+
+    private final PriceHistoryService priceHistoryService;
+    private final Clock clock;
+    private final Map<String, Map<CandleInterval, CandleSeries>> candles = new ConcurrentHashMap<>();
+
+    public void updateCandles(List<Crypto> cryptos) {
+        cryptos.stream()
+            .filter(crypto -> Objects.nonNull(crypto.getLastUpdatedAt()))
+            .forEach(crypto -> {
+                var price = crypto.getLastKnownPrices().getLastKnownPrice();
+
+                seriesOf(crypto.getId()).forEach((interval, series) -> series.update(crypto.getLastUpdatedAt(), price));
+            });
+    }
+
+    public List<CandleResponse> retrieveCandles(String coingeckoCryptoId, CandleInterval interval) {
+        var cryptoSeries = candles.get(coingeckoCryptoId);
+
+        if (cryptoSeries == null) {
+            var history = retrieveHistory(coingeckoCryptoId, interval);
+
+            if (history.isEmpty()) {
+                return List.of();
+            }
+
+            cryptoSeries = seriesOf(coingeckoCryptoId);
+            cryptoSeries.get(interval).seed(history);
+        }
+
+        var series = cryptoSeries.get(interval);
+
+        if (!series.isSeeded()) {
+            series.seed(retrieveHistory(coingeckoCryptoId, interval));
+        }
+
+        return series.candles();
+    }
+
+    private List<CandleResponse> retrieveHistory(String coingeckoCryptoId, CandleInterval interval) {
+        var now = LocalDateTime.now(clock);
+        var from = interval.oldestOpenTime(now);
+
+        return priceHistoryService.retrievePriceTicks(coingeckoCryptoId, from, now)
+            .map(ticks -> aggregate(ticks, interval))
+            .orElseGet(() -> priceHistoryService.retrieveCandles(coingeckoCryptoId, interval, from));
+    }
+
+    private List<CandleResponse> aggregate(PriceTickRange ticks, CandleInterval interval) {
+        var series = new CandleSeries(interval);
+
+        for (int i = 0; i < ticks.size(); i++) {
+            var tickAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(ticks.timestampAt(i)), ZoneOffset.UTC);
+            series.update(tickAt, BigDecimal.valueOf(ticks.usdAt(i)));
+        }
+
+        return series.candles();
+    }
+
+    private Map<CandleInterval, CandleSeries> seriesOf(String coingeckoCryptoId) {
+        return candles.computeIfAbsent(coingeckoCryptoId, id -> {
+            Map<CandleInterval, CandleSeries> series = new EnumMap<>(CandleInterval.class);
+
+            for (var interval : CandleInterval.values()) {
+                series.put(interval, new CandleSeries(interval));
+            }
+
+            return series;
+        });
+    }
+
+    static final class CandleSeries {
+
+        private final CandleInterval interval;
+        private final ArrayDeque<Candle> candles;
+        private LocalDateTime lastTickAt = LocalDateTime.MIN;
+        private volatile boolean seeded;
+        private volatile List<CandleResponse> snapshot = List.of();
+
+        CandleSeries(CandleInterval interval) {
+            this.interval = interval;
+            this.candles = new ArrayDeque<>(interval.getCapacity());
+        }
+
+        boolean isSeeded() {
+            return seeded;
+        }
+
+        List<CandleResponse> candles() {
+            var current = snapshot;
+
+            if (current == null) {
+                synchronized (this) {
+                    if (snapshot == null) {
+                        snapshot = candles.stream().map(Candle::toCandleResponse).toList();
+                    }
+
+                    current = snapshot;
+                }
+            }
+
+            return current;
+        }
+
+        synchronized void update(LocalDateTime tickAt, BigDecimal price) {
+            if (!tickAt.isAfter(lastTickAt)) {
+                return;
+            }
+
+            lastTickAt = tickAt;
+            var openTime = interval.openTimeOf(tickAt);
+            var current = candles.peekLast();
+
+            if (current != null && current.openTime.equals(openTime)) {
+                current.update(price);
+            } else {
+                append(new Candle(openTime, price, price, price, price));
+            }
+
+            invalidateSnapshot();
+        }
+
+        /**
+         * Merges the candles aggregated from the price history with the ones built from ticks received
+         * before seeding. For a candle present in both, the history has the earliest open and the live
+         * candle has the latest close.
+         */
+        synchronized void seed(List<CandleResponse> history) {
+            if (seeded) {
+                return;
+            }
+
+            var live = new ArrayList<>(candles);
+            candles.clear();
+
+            var liveIndex = 0;
+            for (var candle : history) {
+                while (liveIndex < live.size() && live.get(liveIndex).openTime.isBefore(candle.openTime())) {
+                    append(live.get(liveIndex++));
+                }
+
+                var merged = Candle.from(candle);
+
+                if (liveIndex < live.size() && live.get(liveIndex).openTime.equals(candle.openTime())) {
+                    merged.merge(live.get(liveIndex++));
+                }
+
+                append(merged);
+            }
+
+            while (liveIndex < live.size()) {
+                append(live.get(liveIndex++));
+            }
+
+            seeded = true;
+            invalidateSnapshot();
+        }
+
+        private void append(Candle candle) {
+            if (candles.size() == interval.getCapacity()) {
+                candles.pollFirst();
+            }
+
+            candles.addLast(candle);
+        }
+
+        private void invalidateSnapshot() {
+            snapshot = null;
+        }
+    }
+
+    private static final class Candle {
+
+        private final LocalDateTime openTime;
+        private final BigDecimal open;
+        private BigDecimal high;
+        private BigDecimal low;
+        private BigDecimal close;
+
+        private Candle(LocalDateTime openTime, BigDecimal open, BigDecimal high, BigDecimal low, BigDecimal close) {
+            this.openTime = openTime;
+            this.open = open;
+            this.high = high;
+            this.low = low;
+            this.close = close;
+        }
+
+        private static Candle from(CandleResponse candleResponse) {
+            return new Candle(candleResponse.openTime(), candleResponse.open(), candleResponse.high(),
+                candleResponse.low(), candleResponse.close());
+        }
+
+        private void update(BigDecimal price) {
+            high = high.max(price);
+            low = low.min(price);
+            close = price;
+        }
+
+        private void merge(Candle live) {
+            high = high.max(live.high);
+            low = low.min(live.low);
+            close = live.close;
+        }
+
+        private CandleResponse toCandleResponse() {
+            return new CandleResponse(openTime, open, high, low, close);
+        }
+    }
+}
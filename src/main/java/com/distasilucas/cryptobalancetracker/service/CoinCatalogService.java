@@ -0,0 +1,154 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.CoinCatalogEntry;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.repository.CoinCatalogRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.CollectionUtils;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.COINGECKO_CRYPTOS_CACHE;
+
+/**
+ * Keeps a copy of the Coingecko coins list in the coin catalog table. Each sync only writes the ids that
+ * were added, renamed or delisted since the previous one. Names and ids are looked up in the cached coins
+ * list while it is warm, and in the catalog while it is not, so a node does not need to download the whole
+ * list before validating its first write. Coins missing from the catalog, listed after the last sync, are
+ * looked up in the downloaded list as before.
+ */
+@Slf4j
+@Service
+public class CoinCatalogService {
+
+    private final int searchLimit;
+    private final CoinCatalogRepository coinCatalogRepository;
+    private final CoingeckoService coingeckoService;
+    private final CacheManager cacheManager;
+
+    public CoinCatalogService(@Value("${coin-catalog.search-limit}") int searchLimit,
+                              CoinCatalogRepository coinCatalogRepository,
+                              CoingeckoService coingeckoService,
+                              CacheManager cacheManager) {
+        this.searchLimit = searchLimit;
+        this.coinCatalogRepository = coinCatalogRepository;
+        this.coingeckoService = coingeckoService;
+        this.cacheManager = cacheManager;
+    }
+
+    @Transactional
+    public void syncCatalog() {
+        var coingeckoCryptos = coingeckoService.refreshAllCryptos();
+
+        if (CollectionUtils.isEmpty(coingeckoCryptos)) {
+            log.warn("Coingecko returned no cryptos. Keeping coin catalog as it is");
+            return;
+        }
+
+        var catalog = coinCatalogRepository.findAllCoins()
+            .stream()
+            .collect(Collectors.toMap(CoingeckoCrypto::id, Function.identity()));
+        var coingeckoCryptosIds = coingeckoCryptos.stream()
+            .map(CoingeckoCrypto::id)
+            .collect(Collectors.toSet());
+        var changedCoins = coingeckoCryptos.stream()
+            .filter(coingeckoCrypto -> !coingeckoCrypto.equals(catalog.get(coingeckoCrypto.id())))
+            .toList();
+        var delistedIds = catalog.keySet()
+            .stream()
+            .filter(id -> !coingeckoCryptosIds.contains(id))
+            .toList();
+
+        coinCatalogRepository.upsertAll(changedCoins);
+        coinCatalogRepository.deleteAllByIds(delistedIds);
+
+        log.info("Synced coin catalog. Upserted {} coin(s) and deleted {} delisted coin(s)", changedCoins.size(), delistedIds.size());
+    }
+
+    public Optional<CoingeckoCrypto> findByNameOrId(String cryptoNameOrId) {
+        var cachedCryptos = getCachedCryptos();
+
+        if (cachedCryptos != null) {
+            return findByNameOrId(cachedCryptos, cryptoNameOrId);
+        }
+
+        log.info("Coingecko cryptos are not cached. Looking up {} in coin catalog", cryptoNameOrId);
+
+        return coinCatalogRepository.findFirstByNameOrId(cryptoNameOrId)
+            .map(CoinCatalogEntry::toCoingeckoCrypto)
+            .or(() -> findByNameOrId(coingeckoService.retrieveAllCryptos(), cryptoNameOrId));
+    }
+
+    /**
+     * Looks up several names or ids at once. Each of them is mapped, in lowercase, to the same coin
+     * {@link #findByNameOrId(String)} would return for it. Names or ids not found are left out.
+     */
+    public Map<String, CoingeckoCrypto> findAllByNamesOrIds(Collection<String> cryptoNamesOrIds) {
+        var namesOrIds = cryptoNamesOrIds.stream()
+            .map(String::toLowerCase)
+            .collect(Collectors.toSet());
+        var cachedCryptos = getCachedCryptos();
+
+        if (cachedCryptos != null) {
+            return indexByNameOrId(cachedCryptos, namesOrIds);
+        }
+
+        log.info("Coingecko cryptos are not cached. Looking up {} coin(s) in coin catalog", namesOrIds.size());
+
+        var coins = coinCatalogRepository.findAllByNamesOrIds(namesOrIds)
+            .stream()
+            .map(CoinCatalogEntry::toCoingeckoCrypto)
+            .toList();
+        var cryptosByNameOrId = indexByNameOrId(coins, namesOrIds);
+
+        if (cryptosByNameOrId.size() < namesOrIds.size()) {
+            indexByNameOrId(coingeckoService.retrieveAllCryptos(), namesOrIds).forEach(cryptosByNameOrId::putIfAbsent);
+        }
+
+        return cryptosByNameOrId;
+    }
+
+    public List<CoingeckoCrypto> searchByName(String query) {
+        log.info("Searching coin catalog for {}", query);
+
+        return coinCatalogRepository.searchByName(query.strip(), searchLimit);
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<CoingeckoCrypto> getCachedCryptos() {
+        var cache = cacheManager.getCache(COINGECKO_CRYPTOS_CACHE);
+
+        return cache == null ? null : cache.get(SimpleKey.EMPTY, List.class);
+    }
+
+    private Optional<CoingeckoCrypto> findByNameOrId(List<CoingeckoCrypto> coingeckoCryptos, String cryptoNameOrId) {
+        return coingeckoCryptos.stream()
+            .filter(coingeckoCrypto -> coingeckoCrypto.name().equalsIgnoreCase(cryptoNameOrId) ||
+                coingeckoCrypto.id().equalsIgnoreCase(cryptoNameOrId))
+            .findFirst();
+    }
+
+    private Map<String, CoingeckoCrypto> indexByNameOrId(List<CoingeckoCrypto> coingeckoCryptos, Set<String> namesOrIds) {
+        Map<String, CoingeckoCrypto> cryptosByNameOrId = new HashMap<>();
+
+        coingeckoCryptos.forEach(coingeckoCrypto -> Stream.of(coingeckoCrypto.name(), coingeckoCrypto.id())
+            .map(String::toLowerCase)
+            .filter(namesOrIds::contains)
+            .forEach(nameOrId -> cryptosByNameOrId.putIfAbsent(nameOrId, coingeckoCrypto)));
+
+        return cryptosByNameOrId;
+    }
+}
@@ -2,8 +2,10 @@ package com.distasilucas.cryptobalancetracker.service;
 
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCryptoInfo;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoExchangeRates;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.CachePut;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.core.ParameterizedTypeReference;
 import org.springframework.http.HttpHeaders;
@@ -23,6 +25,7 @@ import java.util.function.Function;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.COINGECKO_CRYPTOS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INFO_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.EXCHANGE_RATES_CACHE;
 
 @Slf4j
 @Service
@@ -30,6 +33,7 @@ public class CoingeckoService {
 
     private static final String COIN_URI = "/coins/";
     private static final String COINS_URI = COIN_URI + "/list";
+    private static final String EXCHANGE_RATES_URI = "/exchange_rates";
     private static final String DEMO_API_KEY_QUERY_PARAM = "x_cg_demo_api_key";
     private static final String PRO_API_KEY_QUERY_PARAM = "x_cg_pro_api_key";
 
@@ -48,14 +52,13 @@ public class CoingeckoService {
     @Cacheable(cacheNames = COINGECKO_CRYPTOS_CACHE)
     @Retryable(retryFor = RestClientException.class, backoff = @Backoff(delay = 1500))
     public List<CoingeckoCrypto> retrieveAllCryptos() {
-        var coingeckoCryptosURI = getCryptosURI();
-        var uriAsString = coingeckoCryptosURI.apply(UriComponentsBuilder.newInstance());
-        log.info("Hitting Coingecko API for URI [{}] Retrieving all cryptos.", uriAsString);
+        return fetchAllCryptos();
+    }
 
-        return coingeckoRestClient.get()
-            .uri(coingeckoCryptosURI)
-            .retrieve()
-            .body(new ParameterizedTypeReference<>() {});
+    @CachePut(cacheNames = COINGECKO_CRYPTOS_CACHE)
+    @Retryable(retryFor = RestClientException.class, backoff = @Backoff(delay = 1500))
+    public List<CoingeckoCrypto> refreshAllCryptos() {
+        return fetchAllCryptos();
     }
 
     @Cacheable(cacheNames = CRYPTO_INFO_CACHE, key = "#coingeckoCryptoId")
@@ -72,12 +75,40 @@ public class CoingeckoService {
             .body(CoingeckoCryptoInfo.class);
     }
 
+    @Cacheable(cacheNames = EXCHANGE_RATES_CACHE)
+    @Retryable(retryFor = RestClientException.class, backoff = @Backoff(delay = 1500))
+    public CoingeckoExchangeRates retrieveExchangeRates() {
+        var exchangeRatesURI = getURI(EXCHANGE_RATES_URI);
+        var uriAsString = exchangeRatesURI.apply(UriComponentsBuilder.newInstance());
+        log.info("Hitting Coingecko API for URI [{}] Retrieving exchange rates.", uriAsString);
+
+        return coingeckoRestClient.get()
+            .uri(exchangeRatesURI)
+            .retrieve()
+            .body(CoingeckoExchangeRates.class);
+    }
+
+    private List<CoingeckoCrypto> fetchAllCryptos() {
+        var coingeckoCryptosURI = getCryptosURI();
+        var uriAsString = coingeckoCryptosURI.apply(UriComponentsBuilder.newInstance());
+        log.info("Hitting Coingecko API for URI [{}] Retrieving all cryptos.", uriAsString);
+
+        return coingeckoRestClient.get()
+            .uri(coingeckoCryptosURI)
+            .retrieve()
+            .body(new ParameterizedTypeReference<>() {});
+    }
+
     private Function<UriBuilder, URI> getCryptosURI() {
-        Function<UriBuilder, URI> proCoingeckoURI = uriBuilder -> uriBuilder.path(COINS_URI)
+        return getURI(COINS_URI);
+    }
+
+    private Function<UriBuilder, URI> getURI(String path) {
+        Function<UriBuilder, URI> proCoingeckoURI = uriBuilder -> uriBuilder.path(path)
             .queryParam(PRO_API_KEY_QUERY_PARAM, proCoingeckoApiKey)
             .build();
 
-        Function<UriBuilder, URI> freeCoingeckoURI = uriBuilder -> uriBuilder.path(COINS_URI)
+        Function<UriBuilder, URI> freeCoingeckoURI = uriBuilder -> uriBuilder.path(path)
             .queryParam(DEMO_API_KEY_QUERY_PARAM, demoCoingeckoApiKey)
             .build();
 
@@ -0,0 +1,188 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.Lot;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.CostBasisMethod;
+import com.distasilucas.cryptobalancetracker.model.LotTotals;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ProfitAndLoss;
+import com.distasilucas.cryptobalancetracker.repository.LotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Acquisition lots of every user crypto. Increases open a lot at the current price and reductions sell
+ * the open lots in the configured order: first in first out, last in first out or highest cost first.
+ * The open lots are read already sorted in that order and a page at a time, so matching a reduction only
+ * reads the lots it consumes. Profit and loss is added up by the database.
+ */
+@Slf4j
+@Service
+public class CostBasisService {
+
+    private static final int OPEN_LOTS_PAGE_SIZE = 50;
+
+    private final CostBasisMethod method;
+    private final LotRepository lotRepository;
+    private final Clock clock;
+
+    public CostBasisService(@Value("${cost-basis.method}") CostBasisMethod method,
+                            LotRepository lotRepository,
+                            Clock clock) {
+        this.method = method;
+        this.lotRepository = lotRepository;
+        this.clock = clock;
+    }
+
+    /**
+     * Opens a lot for a positive quantity and sells lots for a negative one, both at the current price.
+     */
+    public void recordChange(UserCrypto userCrypto, BigDecimal quantity) {
+        if (quantity.signum() > 0) {
+            lotRepository.save(new Lot(userCrypto, quantity, LocalDateTime.now(clock)));
+        } else if (quantity.signum() < 0) {
+            var unitPrice = userCrypto.getCrypto().getLastKnownPrices().getLastKnownPrice();
+            var openLots = new OpenLots(userCrypto.getId());
+            Set<Lot> touchedLots = new LinkedHashSet<>();
+
+            match(openLots, quantity.negate(), (lot, matched) -> lot.sell(matched, unitPrice), touchedLots);
+            lotRepository.saveAll(touchedLots);
+        }
+    }
+
+    /**
+     * Moves lots from one user crypto to another keeping their cost, and sells the quantity spent in
+     * the network fee. Moving lots to the same user crypto leaves them as they are.
+     */
+    public void transferLots(UserCrypto from, String toUserCryptoId, BigDecimal movedQuantity, BigDecimal spentQuantity) {
+        var unitPrice = from.getCrypto().getLastKnownPrices().getLastKnownPrice();
+        var openLots = new OpenLots(from.getId());
+        Set<Lot> touchedLots = new LinkedHashSet<>();
+        List<Lot> movedLots = new ArrayList<>();
+
+        if (!from.getId().equals(toUserCryptoId)) {
+            match(openLots, movedQuantity, (lot, matched) -> movedLots.add(lot.moveTo(toUserCryptoId, matched)), touchedLots);
+        }
+
+        match(openLots, spentQuantity, (lot, matched) -> lot.sell(matched, unitPrice), touchedLots);
+
+        touchedLots.addAll(movedLots);
+        lotRepository.saveAll(touchedLots);
+    }
+
+    public Map<String, ProfitAndLoss> retrieveProfitAndLossByCrypto(List<Crypto> cryptos) {
+        var unitPrices = getUnitPrices(cryptos);
+
+        return toProfitAndLoss(lotRepository.sumAllByCryptoIdIn(unitPrices.keySet()), unitPrices);
+    }
+
+    public Map<String, ProfitAndLoss> retrieveProfitAndLossByUserCrypto(List<String> userCryptosIds, List<Crypto> cryptos) {
+        return toProfitAndLoss(lotRepository.sumAllByUserCryptoIdIn(userCryptosIds), getUnitPrices(cryptos));
+    }
+
+    private void match(OpenLots openLots, BigDecimal quantity, BiConsumer<Lot, BigDecimal> onMatch, Set<Lot> touchedLots) {
+        var remaining = quantity;
+        var lot = openLots.peek();
+
+        while (remaining.signum() > 0 && lot != null) {
+            var matched = remaining.min(lot.getQuantity());
+
+            onMatch.accept(lot, matched);
+            touchedLots.add(lot);
+            remaining = remaining.subtract(matched);
+
+            if (lot.getQuantity().signum() == 0) {
+                openLots.poll();
+                lot = openLots.peek();
+            }
+        }
+
+        if (remaining.signum() > 0) {
+            log.warn("Not enough open lots to match {}. {} left unmatched", quantity, remaining);
+        }
+    }
+
+    private Map<String, BigDecimal> getUnitPrices(List<Crypto> cryptos) {
+        return cryptos.stream()
+            .collect(Collectors.toMap(Crypto::getId, crypto -> crypto.getLastKnownPrices().getLastKnownPrice(), (price, duplicated) -> price));
+    }
+
+    private Map<String, ProfitAndLoss> toProfitAndLoss(List<LotTotals> lotsTotals, Map<String, BigDecimal> unitPrices) {
+        return lotsTotals.stream()
+            .filter(lotTotals -> unitPrices.containsKey(lotTotals.cryptoId()))
+            .collect(Collectors.toMap(LotTotals::id, lotTotals -> {
+                var marketValue = unitPrices.get(lotTotals.cryptoId()).multiply(lotTotals.quantity());
+
+                return new ProfitAndLoss(
+                    toUSD(lotTotals.costBasis()),
+                    toUSD(marketValue.subtract(lotTotals.costBasis())),
+                    toUSD(lotTotals.realizedPnl())
+                );
+            }));
+    }
+
+    private String toUSD(BigDecimal value) {
+        return value.setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    /**
+     * Open lots of a user crypto in the order they are sold, read a page at a time as the matched ones run
+     * out. A page is only read once every lot read so far is sold or moved, so flushing them first leaves
+     * them out of it and the first page is always the next one.
+     */
+    private final class OpenLots {
+
+        private final String userCryptoId;
+        private final Deque<Lot> lots = new ArrayDeque<>();
+        private boolean exhausted;
+
+        private OpenLots(String userCryptoId) {
+            this.userCryptoId = userCryptoId;
+        }
+
+        private Lot peek() {
+            if (lots.isEmpty() && !exhausted) {
+                lotRepository.flush();
+                var page = lotRepository.findAllByUserCryptoIdAndQuantityGreaterThan(
+                    userCryptoId,
+                    BigDecimal.ZERO,
+                    PageRequest.of(0, OPEN_LOTS_PAGE_SIZE, sort())
+                );
+
+                lots.addAll(page);
+                exhausted = page.size() < OPEN_LOTS_PAGE_SIZE;
+            }
+
+            return lots.peekFirst();
+        }
+
+        private void poll() {
+            lots.pollFirst();
+        }
+
+        private Sort sort() {
+            return switch (method) {
+                case FIFO -> Sort.by(Sort.Order.asc("acquiredAt"));
+                case LIFO -> Sort.by(Sort.Order.desc("acquiredAt"));
+                case HIFO -> Sort.by(Sort.Order.desc("unitCost"), Sort.Order.asc("acquiredAt"));
+            };
+        }
+    }
+}
@@ -5,26 +5,30 @@ import com.distasilucas.cryptobalancetracker.entity.Crypto;
 import com.distasilucas.cryptobalancetracker.entity.CryptoInfo;
 import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
-import com.distasilucas.cryptobalancetracker.entity.view.NonUsedCryptosView;
 import com.distasilucas.cryptobalancetracker.exception.CoingeckoCryptoNotFoundException;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
 import com.distasilucas.cryptobalancetracker.repository.CryptoRepository;
-import com.distasilucas.cryptobalancetracker.repository.view.NonUsedCryptosViewRepository;
+import com.distasilucas.cryptobalancetracker.repository.OrphanCryptoCandidateRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
 
 import java.time.Clock;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_CRYPTOS_IDS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_COINGECKO_CRYPTO_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.COINGECKO_CRYPTO_NOT_FOUND;
 import static com.distasilucas.cryptobalancetracker.model.CacheType.CRYPTOS_CACHES;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.GOALS_CACHES;
 import static com.distasilucas.cryptobalancetracker.model.CacheType.PRICE_TARGETS_CACHES;
 
 @Slf4j
@@ -33,8 +37,13 @@ import static com.distasilucas.cryptobalancetracker.model.CacheType.PRICE_TARGET
 public class CryptoService {
 
     private final CoingeckoService coingeckoService;
+    private final CoinCatalogService coinCatalogService;
     private final CryptoRepository cryptoRepository;
-    private final NonUsedCryptosViewRepository nonUsedCryptosViewRepository;
+    private final OrphanCryptoCandidateRepository orphanCryptoCandidateRepository;
+    private final PriceHistoryService priceHistoryService;
+    private final CandleService candleService;
+    private final RollingStatisticsService rollingStatisticsService;
+    private final PriceTargetAlertService priceTargetAlertService;
     private final CacheService cacheService;
     private final Clock clock;
 
@@ -46,6 +55,10 @@ public class CryptoService {
             .orElseGet(() -> {
                 var crypto = getCrypto(coingeckoCryptoId);
                 cryptoRepository.save(crypto);
+                priceHistoryService.recordPrices(List.of(crypto));
+                candleService.updateCandles(List.of(crypto));
+                rollingStatisticsService.updateStatistics(List.of(crypto));
+                priceTargetAlertService.checkTargets(List.of(crypto));
                 cacheService.invalidate(CRYPTOS_CACHES);
 
                 log.info("Saved crypto {}", crypto);
@@ -54,37 +67,57 @@ public class CryptoService {
             });
     }
 
+    /**
+     * Retrieves several cryptos at once. The ones not stored yet are fetched from Coingecko, once per crypto,
+     * and stored together. Cryptos Coingecko could not be reached for are left out, so the caller can report
+     * them without discarding the others.
+     */
+    public List<Crypto> retrieveCryptosInfoByIds(Collection<String> coingeckoCryptoIds) {
+        log.info("Retrieving crypto info for ids {}", coingeckoCryptoIds);
+
+        var cryptos = new ArrayList<>(cryptoRepository.findAllByIdIn(coingeckoCryptoIds));
+        var storedIds = cryptos.stream()
+            .map(Crypto::getId)
+            .collect(Collectors.toSet());
+        var newCryptos = coingeckoCryptoIds.stream()
+            .distinct()
+            .filter(coingeckoCryptoId -> !storedIds.contains(coingeckoCryptoId))
+            .map(this::fetchCrypto)
+            .flatMap(Optional::stream)
+            .toList();
+
+        if (!newCryptos.isEmpty()) {
+            cryptoRepository.saveAll(newCryptos);
+            priceHistoryService.recordPrices(newCryptos);
+            candleService.updateCandles(newCryptos);
+            rollingStatisticsService.updateStatistics(newCryptos);
+            priceTargetAlertService.checkTargets(newCryptos);
+            cacheService.invalidate(CRYPTOS_CACHES);
+
+            log.info("Saved {} crypto(s)", newCryptos.size());
+        }
+
+        cryptos.addAll(newCryptos);
+
+        return cryptos;
+    }
+
     public CoingeckoCrypto retrieveCoingeckoCryptoInfoByNameOrId(String cryptoNameOrId) {
         log.info("Retrieving info for coingecko crypto {}", cryptoNameOrId);
 
-        return coingeckoService.retrieveAllCryptos()
-            .stream()
-            .filter(coingeckoCrypto -> coingeckoCrypto.name().equalsIgnoreCase(cryptoNameOrId) ||
-                coingeckoCrypto.id().equalsIgnoreCase(cryptoNameOrId))
-            .findFirst()
+        return coinCatalogService.findByNameOrId(cryptoNameOrId)
             .orElseThrow(() -> new CoingeckoCryptoNotFoundException(COINGECKO_CRYPTO_NOT_FOUND.formatted(cryptoNameOrId)));
     }
 
     public void deleteCryptoIfNotUsed(String coingeckoCryptoId) {
-        var nonUsedCryptos = nonUsedCryptosViewRepository.findNonUsedCryptosByCoingeckoCryptoId(coingeckoCryptoId);
-
-        nonUsedCryptos.ifPresent(nonUsedCrypto -> {
-            cryptoRepository.deleteById(nonUsedCrypto.getId());
-            cacheService.invalidate(CRYPTOS_CACHES);
-            log.info("Deleted crypto [{}] - ({}) {} because it was not used", nonUsedCrypto.getId(), nonUsedCrypto.getTicker(), nonUsedCrypto.getName());
-        });
+        deleteCryptosIfNotUsed(List.of(coingeckoCryptoId));
     }
 
     public void deleteCryptosIfNotUsed(List<String> coingeckoCryptoIds) {
-        var nonUsedCryptos = nonUsedCryptosViewRepository.findNonUsedCryptosByCoingeckoCryptoIds(coingeckoCryptoIds);
+        var now = LocalDateTime.now(clock);
+        coingeckoCryptoIds.forEach(coingeckoCryptoId -> orphanCryptoCandidateRepository.enqueue(coingeckoCryptoId, now));
 
-        if (!nonUsedCryptos.isEmpty()) {
-            var nonUsedCryptosIds = nonUsedCryptos.stream().map(NonUsedCryptosView::getId).toList();
-            cryptoRepository.deleteAllById(nonUsedCryptosIds);
-            cacheService.invalidate(CRYPTOS_CACHES);
-
-            log.info("Deleted cryptos {} because they were not used", nonUsedCryptosIds);
-        }
+        log.info("Queued cryptos {} to be deleted if they are not used", coingeckoCryptoIds);
     }
 
     public List<Crypto> findOldestNCryptosByLastPriceUpdate(LocalDateTime localDateTime, int limit) {
@@ -95,6 +128,11 @@ public class CryptoService {
 
     public void updateCryptos(List<Crypto> cryptosToUpdate) {
         cryptoRepository.saveAll(cryptosToUpdate);
+        priceHistoryService.recordPrices(cryptosToUpdate);
+        candleService.updateCandles(cryptosToUpdate);
+        rollingStatisticsService.updateStatistics(cryptosToUpdate);
+        priceTargetAlertService.checkTargets(cryptosToUpdate);
+        cacheService.invalidate(GOALS_CACHES);
         var cryptosNames = cryptosToUpdate.stream()
             .map(crypto -> crypto.getCryptoInfo().getName())
             .toList();
@@ -109,6 +147,16 @@ public class CryptoService {
         return cryptoRepository.findAllByIdIn(ids);
     }
 
+    private Optional<Crypto> fetchCrypto(String coingeckoCryptoId) {
+        try {
+            return Optional.of(getCrypto(coingeckoCryptoId));
+        } catch (RestClientException exception) {
+            log.warn("Could not retrieve crypto info for {}", coingeckoCryptoId, exception);
+
+            return Optional.empty();
+        }
+    }
+
     private Crypto getCrypto(String coingeckoCryptoId) {
         var coingeckoCryptoInfo = coingeckoService.retrieveCryptoInfo(coingeckoCryptoId);
         var marketData = coingeckoCryptoInfo.marketData();
@@ -0,0 +1,194 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import com.distasilucas.cryptobalancetracker.model.QuoteCurrency;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.ExchangeRate;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Values holdings in every quote currency at once. USD, EUR and BTC prices are stored for each crypto
+ * and any additional currency is derived from the USD price through the Coingecko exchange rates. Each
+ * holding is multiplied by the whole price vector in a single pass over the holdings, so configuring one
+ * more currency adds a column to the vector instead of another traversal. Callers resolve the quote
+ * currencies once per request and pass them to every valuation, since deriving them hits Coingecko.
+ */
+@Slf4j
+@Service
+public class CurrencyValuationService {
+
+    private static final String USD = "usd";
+    private static final String EUR = "eur";
+    private static final String BTC = "btc";
+    private static final String CRYPTO_RATE_TYPE = "crypto";
+    private static final List<String> STORED_CURRENCIES = List.of(USD, EUR, BTC);
+
+    private final List<String> additionalCurrencies;
+    private final CoingeckoService coingeckoService;
+
+    public CurrencyValuationService(@Value("${valuation.additional-currencies:}") List<String> additionalCurrencies,
+                                    CoingeckoService coingeckoService) {
+        this.additionalCurrencies = additionalCurrencies.stream()
+            .map(currency -> currency.trim().toLowerCase())
+            .filter(StringUtils::hasText)
+            .filter(currency -> !STORED_CURRENCIES.contains(currency))
+            .distinct()
+            .toList();
+        this.coingeckoService = coingeckoService;
+    }
+
+    public BalancesResponse getTotalBalances(List<Crypto> cryptos, Map<String, BigDecimal> quantities,
+                                             List<QuoteCurrency> quoteCurrencies) {
+        var cryptosById = cryptos.stream()
+            .collect(Collectors.toMap(Crypto::getId, Function.identity(), (crypto, duplicated) -> crypto));
+        var totals = zeros(quoteCurrencies.size());
+
+        for (Map.Entry<String, BigDecimal> entry : quantities.entrySet()) {
+            var crypto = Optional.ofNullable(cryptosById.get(entry.getKey())).orElseThrow();
+            accumulate(totals, getPrices(crypto, quoteCurrencies), entry.getValue(), quoteCurrencies);
+        }
+
+        return toBalancesResponse(totals, quoteCurrencies);
+    }
+
+    public BalancesResponse getTotalBalances(List<PortfolioSummary> cryptosSummaries, List<QuoteCurrency> quoteCurrencies) {
+        var totals = zeros(quoteCurrencies.size());
+
+        for (var cryptoSummary : cryptosSummaries) {
+            accumulate(totals, getValues(cryptoSummary, quoteCurrencies), BigDecimal.ONE, quoteCurrencies);
+        }
+
+        return toBalancesResponse(totals, quoteCurrencies);
+    }
+
+    public BalancesResponse getCryptoTotalBalances(Crypto crypto, BigDecimal quantity, List<QuoteCurrency> quoteCurrencies) {
+        var totals = zeros(quoteCurrencies.size());
+        accumulate(totals, getPrices(crypto, quoteCurrencies), quantity, quoteCurrencies);
+
+        return toBalancesResponse(totals, quoteCurrencies);
+    }
+
+    public BalancesResponse getCryptoTotalBalances(PortfolioSummary cryptoSummary, List<QuoteCurrency> quoteCurrencies) {
+        var totals = zeros(quoteCurrencies.size());
+        accumulate(totals, getValues(cryptoSummary, quoteCurrencies), BigDecimal.ONE, quoteCurrencies);
+
+        return toBalancesResponse(totals, quoteCurrencies);
+    }
+
+    public List<QuoteCurrency> getQuoteCurrencies() {
+        List<QuoteCurrency> quoteCurrencies = new ArrayList<>();
+        quoteCurrencies.add(new QuoteCurrency(USD, null, false));
+        quoteCurrencies.add(new QuoteCurrency(EUR, null, false));
+        quoteCurrencies.add(new QuoteCurrency(BTC, null, true));
+
+        if (!additionalCurrencies.isEmpty()) {
+            quoteCurrencies.addAll(getDerivedCurrencies());
+        }
+
+        return quoteCurrencies;
+    }
+
+    private List<QuoteCurrency> getDerivedCurrencies() {
+        Map<String, ExchangeRate> rates;
+
+        try {
+            rates = coingeckoService.retrieveExchangeRates().rates();
+        } catch (RestClientException exception) {
+            log.warn("Could not retrieve exchange rates. Skipping additional currencies {}", additionalCurrencies, exception);
+            return List.of();
+        }
+
+        var usdRate = rates.get(USD);
+        List<QuoteCurrency> derivedCurrencies = new ArrayList<>();
+
+        for (var currency : additionalCurrencies) {
+            var rate = rates.get(currency);
+
+            if (rate == null || usdRate == null) {
+                log.warn("No exchange rate for {}. Skipping it", currency);
+                continue;
+            }
+
+            var fromUSD = rate.value().divide(usdRate.value(), MathContext.DECIMAL64);
+            derivedCurrencies.add(new QuoteCurrency(currency, fromUSD, CRYPTO_RATE_TYPE.equals(rate.type())));
+        }
+
+        return derivedCurrencies;
+    }
+
+    private BigDecimal[] getPrices(Crypto crypto, List<QuoteCurrency> quoteCurrencies) {
+        var lastKnownPrices = crypto.getLastKnownPrices();
+
+        return getPrices(lastKnownPrices.getLastKnownPrice(), lastKnownPrices.getLastKnownPriceInEUR(),
+            lastKnownPrices.getLastKnownPriceInBTC(), quoteCurrencies);
+    }
+
+    private BigDecimal[] getValues(PortfolioSummary summary, List<QuoteCurrency> quoteCurrencies) {
+        return getPrices(summary.usdValue(), summary.eurValue(), summary.btcValue(), quoteCurrencies);
+    }
+
+    private BigDecimal[] getPrices(BigDecimal usdPrice, BigDecimal eurPrice, BigDecimal btcPrice, List<QuoteCurrency> quoteCurrencies) {
+        var prices = new BigDecimal[quoteCurrencies.size()];
+        prices[0] = usdPrice;
+        prices[1] = eurPrice;
+        prices[2] = btcPrice;
+
+        for (int i = STORED_CURRENCIES.size(); i < prices.length; i++) {
+            prices[i] = prices[0].multiply(quoteCurrencies.get(i).fromUSD());
+        }
+
+        return prices;
+    }
+
+    private void accumulate(BigDecimal[] totals, BigDecimal[] prices, BigDecimal quantity, List<QuoteCurrency> quoteCurrencies) {
+        for (int i = 0; i < totals.length; i++) {
+            var value = prices[i].multiply(quantity);
+            totals[i] = totals[i].add(quoteCurrencies.get(i).crypto() ? value : value.setScale(2, RoundingMode.HALF_UP));
+        }
+    }
+
+    private BalancesResponse toBalancesResponse(BigDecimal[] totals, List<QuoteCurrency> quoteCurrencies) {
+        var balances = new String[totals.length];
+
+        for (int i = 0; i < totals.length; i++) {
+            balances[i] = quoteCurrencies.get(i).crypto() ?
+                totals[i].setScale(10, RoundingMode.HALF_EVEN).stripTrailingZeros().toPlainString() :
+                totals[i].toPlainString();
+        }
+
+        if (totals.length == STORED_CURRENCIES.size()) {
+            return new BalancesResponse(balances[0], balances[1], balances[2]);
+        }
+
+        Map<String, String> otherBalances = new LinkedHashMap<>();
+        for (int i = STORED_CURRENCIES.size(); i < totals.length; i++) {
+            otherBalances.put(quoteCurrencies.get(i).code(), balances[i]);
+        }
+
+        return new BalancesResponse(balances[0], balances[1], balances[2], otherBalances);
+    }
+
+    private BigDecimal[] zeros(int size) {
+        var zeros = new BigDecimal[size];
+        Arrays.fill(zeros, BigDecimal.ZERO);
+
+        return zeros;
+    }
+}
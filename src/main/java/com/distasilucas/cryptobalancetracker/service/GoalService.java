@@ -3,7 +3,9 @@ package com.distasilucas.cryptobalancetracker.service;
 import com.distasilucas.cryptobalancetracker.entity.Goal;
 import com.distasilucas.cryptobalancetracker.exception.DuplicatedGoalException;
 import com.distasilucas.cryptobalancetracker.exception.GoalNotFoundException;
+import com.distasilucas.cryptobalancetracker.model.GoalProgress;
 import com.distasilucas.cryptobalancetracker.model.request.goal.GoalRequest;
+import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
 import com.distasilucas.cryptobalancetracker.repository.GoalRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,6 +17,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_PROGRESS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PAGE_GOALS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.DUPLICATED_GOAL;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.GOAL_ID_NOT_FOUND;
@@ -39,12 +42,21 @@ public class GoalService {
             .orElseThrow(() -> new GoalNotFoundException(GOAL_ID_NOT_FOUND.formatted(goalId)));
     }
 
+    @Cacheable(cacheNames = GOAL_PROGRESS_CACHE, key = "#goalId")
+    public GoalResponse retrieveGoalProgress(String goalId) {
+        log.info("Retrieving goal progress for id {}", goalId);
+
+        return goalRepository.findGoalProgressById(goalId)
+            .map(GoalProgress::toGoalResponse)
+            .orElseThrow(() -> new GoalNotFoundException(GOAL_ID_NOT_FOUND.formatted(goalId)));
+    }
+
     @Cacheable(cacheNames = PAGE_GOALS_CACHE, key = "#page")
-    public Page<Goal> retrieveGoalsForPage(int page) {
+    public Page<GoalResponse> retrieveGoalsForPage(int page) {
         log.info("Retrieving pageGoals for page {}", page);
         var pageRequest = PageRequest.of(page, 10);
 
-        return goalRepository.findAll(pageRequest);
+        return goalRepository.findAllGoalsProgress(pageRequest).map(GoalProgress::toGoalResponse);
     }
 
     public Goal saveGoal(GoalRequest goalRequest) {
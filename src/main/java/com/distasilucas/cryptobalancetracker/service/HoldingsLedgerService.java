@@ -0,0 +1,122 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Holding;
+import com.distasilucas.cryptobalancetracker.entity.HoldingEvent;
+import com.distasilucas.cryptobalancetracker.entity.HoldingsSnapshot;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.repository.HoldingEventRepository;
+import com.distasilucas.cryptobalancetracker.repository.HoldingsSnapshotRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Append-only ledger of the changes to the user cryptos. The user cryptos table is the current
+ * projection of the ledger and is written in the same transaction as the events. Past holdings are
+ * rebuilt from the nearest snapshot plus the events that happened after it.
+ */
+@Slf4j
+@Service
+public class HoldingsLedgerService {
+
+    private final Duration snapshotLag;
+    private final HoldingEventRepository holdingEventRepository;
+    private final HoldingsSnapshotRepository holdingsSnapshotRepository;
+    private final Clock clock;
+
+    public HoldingsLedgerService(@Value("${holdings-ledger.snapshot-lag}") Duration snapshotLag,
+                                 HoldingEventRepository holdingEventRepository,
+                                 HoldingsSnapshotRepository holdingsSnapshotRepository,
+                                 Clock clock) {
+        this.snapshotLag = snapshotLag;
+        this.holdingEventRepository = holdingEventRepository;
+        this.holdingsSnapshotRepository = holdingsSnapshotRepository;
+        this.clock = clock;
+    }
+
+    public void recordEvents(HoldingEventType type, List<UserCrypto> userCryptos) {
+        var now = LocalDateTime.now(clock);
+        var events = userCryptos.stream()
+            .map(userCrypto -> new HoldingEvent(type, userCrypto, null, now))
+            .toList();
+
+        holdingEventRepository.saveAll(events);
+    }
+
+    /**
+     * Records a transfer given the state of both user cryptos after it. The network fee is kept in the
+     * event of the user crypto the crypto was sent from, which has quantity zero if nothing remained.
+     */
+    public void recordTransfer(UserCrypto from, UserCrypto to, BigDecimal networkFee) {
+        var now = LocalDateTime.now(clock);
+        List<HoldingEvent> events = new ArrayList<>();
+        events.add(new HoldingEvent(HoldingEventType.TRANSFER, from, networkFee, now));
+
+        if (to != null) {
+            events.add(new HoldingEvent(HoldingEventType.TRANSFER, to, null, now));
+        }
+
+        holdingEventRepository.saveAll(events);
+        log.info("Recorded transfer of {} from platform {}", from.getCrypto().getId(), from.getPlatform().getId());
+    }
+
+    public List<Holding> retrieveHoldingsAt(LocalDateTime at) {
+        var snapshot = holdingsSnapshotRepository.findFirstByTakenAtLessThanEqualOrderByLastEventIdDesc(at);
+        var lastEventId = snapshot.map(HoldingsSnapshot::getLastEventId).orElse(0L);
+        var events = holdingEventRepository.findAllByIdGreaterThanAndOccurredAtLessThanEqualOrderByIdAsc(lastEventId, at);
+
+        log.info("Rebuilding holdings at {} replaying {} event(s) after event {}", at, events.size(), lastEventId);
+
+        return replay(snapshot.map(HoldingsSnapshot::getHoldings).orElse(List.of()), events);
+    }
+
+    /**
+     * Event ids are taken when the event is inserted, not when its transaction commits, so the newest
+     * events might still have uncommitted ones before them. Only events older than the snapshot lag are
+     * snapshotted, as the transactions that took lower ids have committed by then. Newer events are
+     * replayed on top of the snapshot.
+     */
+    public void takeSnapshot() {
+        var lastEvent = holdingEventRepository.findFirstByOccurredAtLessThanEqualOrderByIdDesc(LocalDateTime.now(clock).minus(snapshotLag));
+        var lastSnapshot = holdingsSnapshotRepository.findFirstByOrderByLastEventIdDesc();
+
+        if (lastEvent.isEmpty() ||
+            lastSnapshot.filter(snapshot -> Objects.equals(snapshot.getLastEventId(), lastEvent.get().getId())).isPresent()) {
+            log.info("No holding events since the last snapshot");
+            return;
+        }
+
+        var lastEventId = lastSnapshot.map(HoldingsSnapshot::getLastEventId).orElse(0L);
+        var events = holdingEventRepository.findAllByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(lastEventId, lastEvent.get().getId());
+        var holdings = replay(lastSnapshot.map(HoldingsSnapshot::getHoldings).orElse(List.of()), events);
+
+        holdingsSnapshotRepository.save(new HoldingsSnapshot(lastEvent.get(), holdings));
+        log.info("Saved holdings snapshot with {} holding(s) up to event {}", holdings.size(), lastEvent.get().getId());
+    }
+
+    private List<Holding> replay(List<Holding> holdings, List<HoldingEvent> events) {
+        Map<String, Holding> holdingsById = new LinkedHashMap<>();
+        holdings.forEach(holding -> holdingsById.put(holding.getUserCryptoId(), holding));
+
+        for (var event : events) {
+            if (event.getQuantity().signum() == 0) {
+                holdingsById.remove(event.getUserCryptoId());
+            } else {
+                holdingsById.put(event.getUserCryptoId(), event.toHolding());
+            }
+        }
+
+        return new ArrayList<>(holdingsById.values());
+    }
+}
@@ -1,12 +1,13 @@
 package com.distasilucas.cryptobalancetracker.service;
 
-import com.distasilucas.cryptobalancetracker.entity.Crypto;
 import com.distasilucas.cryptobalancetracker.entity.DateBalance;
-import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.model.BalanceType;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
 import com.distasilucas.cryptobalancetracker.model.SortParams;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalanceChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.CirculatingSupply;
@@ -16,6 +17,7 @@ import com.distasilucas.cryptobalancetracker.model.response.insights.DatesBalanc
 import com.distasilucas.cryptobalancetracker.model.response.insights.DateBalances;
 import com.distasilucas.cryptobalancetracker.model.response.insights.DifferencesChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.MarketData;
+import com.distasilucas.cryptobalancetracker.model.response.insights.RollingStatistics;
 import com.distasilucas.cryptobalancetracker.model.response.insights.UserCryptosInsights;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
@@ -30,28 +32,39 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_BALANCES_INSIGHTS_BULKHEAD;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_BALANCES_INSIGHTS_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_INSIGHTS_BULKHEAD;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_PLATFORMS_INSIGHTS_BULKHEAD;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.DATES_BALANCES_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_BULKHEAD;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.TOTAL_BALANCES_CACHE;
+import static com.distasilucas.cryptobalancetracker.service.PortfolioSummaryService.SKIP_CACHE_WHILE_REFRESHING;
 import static java.lang.Math.ceil;
 
 @Slf4j
@@ -60,12 +73,21 @@ public class InsightsService {
 
     private static final Double ELEMENTS_PER_PAGE = 10.0;
     private static final int INT_ELEMENTS_PER_PAGE = ELEMENTS_PER_PAGE.intValue();
+    private static final DateTimeFormatter INTRADAY_FORMATTER = DateTimeFormatter.ofPattern("d MMMM yyyy HH:mm");
 
     private final int max;
     private final PlatformService platformService;
     private final UserCryptoService userCryptoService;
     private final CryptoService cryptoService;
     private final DateBalanceRepository dateBalanceRepository;
+    private final BalanceSnapshotService balanceSnapshotService;
+    private final RollingStatisticsService rollingStatisticsService;
+    private final PortfolioValuationService portfolioValuationService;
+    private final CostBasisService costBasisService;
+    private final CurrencyValuationService currencyValuationService;
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final BulkheadService bulkheadService;
+    private final TransactionTemplate readOnlyTransactionTemplate;
     private final Clock clock;
 
     public InsightsService(@Value("${insights.cryptos}") int max,
@@ -73,35 +95,78 @@ public class InsightsService {
                            UserCryptoService userCryptoService,
                            CryptoService cryptoService,
                            DateBalanceRepository dateBalanceRepository,
+                           BalanceSnapshotService balanceSnapshotService,
+                           RollingStatisticsService rollingStatisticsService,
+                           PortfolioValuationService portfolioValuationService,
+                           CostBasisService costBasisService,
+                           CurrencyValuationService currencyValuationService,
+                           PortfolioSummaryService portfolioSummaryService,
+                           BulkheadService bulkheadService,
+                           PlatformTransactionManager transactionManager,
                            Clock clock) {
         this.max = max;
         this.platformService = platformService;
         this.userCryptoService = userCryptoService;
         this.cryptoService = cryptoService;
         this.dateBalanceRepository = dateBalanceRepository;
+        this.balanceSnapshotService = balanceSnapshotService;
+        this.rollingStatisticsService = rollingStatisticsService;
+        this.portfolioValuationService = portfolioValuationService;
+        this.costBasisService = costBasisService;
+        this.currencyValuationService = currencyValuationService;
+        this.portfolioSummaryService = portfolioSummaryService;
+        this.bulkheadService = bulkheadService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
         this.clock = clock;
     }
 
-    @Cacheable(cacheNames = TOTAL_BALANCES_CACHE)
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = TOTAL_BALANCES_CACHE, condition = SKIP_CACHE_WHILE_REFRESHING, sync = true)
     public BalancesResponse retrieveTotalBalancesInsights() {
         log.info("Retrieving total balances");
 
-        var userCryptos = userCryptoService.findAll();
+        var cryptosSummaries = portfolioSummaryService.retrieveCryptosSummaries();
+
+        if (cryptosSummaries.isEmpty()) {
+            return BalancesResponse.empty();
+        }
+
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+
+        return currencyValuationService.getTotalBalances(cryptosSummaries, quoteCurrencies);
+    }
+
+    @Transactional(readOnly = true)
+    public BalancesResponse retrieveTotalBalancesInsights(LocalDateTime at) {
+        log.info("Retrieving total balances at {}", at);
+
+        var userCryptos = portfolioValuationService.retrieveUserCryptosAt(at);
 
         if (userCryptos.isEmpty()) {
             return BalancesResponse.empty();
         }
 
-        var userCryptoQuantity = getUserCryptoQuantity(userCryptos);
-        var cryptosIds = userCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).collect(Collectors.toSet());
-        var cryptos = cryptoService.findAllByIds(cryptosIds);
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
 
-        return getTotalBalances(cryptos, userCryptoQuantity);
+        return currencyValuationService.getTotalBalances(PortfolioSummary.summarizeByCrypto(userCryptos), quoteCurrencies);
     }
 
-    @Cacheable(cacheNames = DATES_BALANCES_CACHE, key = "#dateRange")
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = DATES_BALANCES_CACHE, key = "#dateRange", sync = true)
     public DatesBalanceResponse retrieveDatesBalances(DateRange dateRange) {
         log.info("Retrieving balances for date range: {}", dateRange);
+
+        if (DateRange.ONE_DAY == dateRange || DateRange.THREE_DAYS == dateRange) {
+            var intradayBalances = retrieveIntradayBalances(dateRange);
+
+            if (intradayBalances.size() > 1) {
+                return toDatesBalanceResponse(intradayBalances);
+            }
+
+            log.info("Not enough intraday snapshots for {}. Falling back to daily balances", dateRange);
+        }
+
         List<DateBalance> dateBalances = new ArrayList<>();
         var now = LocalDateTime.now(clock).toLocalDate();
 
@@ -123,44 +188,39 @@ public class InsightsService {
                 return new DateBalances(formattedDate, balancesResponse);
             })
             .toList();
-        log.info("Balances found: {}", datesBalances.size());
-
-        if (datesBalances.isEmpty()) {
-            return DatesBalanceResponse.empty();
-        }
-
-        var changesPair = changesPair(datesBalances);
 
-        return new DatesBalanceResponse(datesBalances, changesPair.getFirst(), changesPair.getSecond());
+        return toDatesBalanceResponse(datesBalances);
     }
 
-    @Cacheable(cacheNames = PLATFORM_INSIGHTS_CACHE, key = "#platformId")
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = PLATFORM_INSIGHTS_CACHE, key = "#platformId", sync = true)
     public PlatformInsightsResponse retrievePlatformInsights(String platformId) {
         log.info("Retrieving insights for platform with id {}", platformId);
 
-        var userCryptosInPlatform = userCryptoService.findAllByPlatformId(platformId);
+        var holdingsInPlatform = userCryptoService.findAllHoldingsByPlatformId(platformId);
 
-        if (userCryptosInPlatform.isEmpty()) {
+        if (holdingsInPlatform.isEmpty()) {
             return PlatformInsightsResponse.empty();
         }
 
-        var platformResponse = platformService.retrievePlatformById(platformId);
-        var cryptosIds = userCryptosInPlatform.stream().map(userCrypto -> userCrypto.getCrypto().getId()).toList();
+        var platformName = holdingsInPlatform.getFirst().platformName();
+        var cryptosIds = holdingsInPlatform.stream().map(UserCryptoHolding::cryptoId).toList();
         var cryptos = cryptoService.findAllByIds(cryptosIds);
-        var userCryptosQuantity = getUserCryptoQuantity(userCryptosInPlatform);
-        var totalBalances = getTotalBalances(cryptos, userCryptosQuantity);
+        var userCryptosQuantity = getUserCryptoQuantity(holdingsInPlatform);
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var totalBalances = currencyValuationService.getTotalBalances(cryptos, userCryptosQuantity, quoteCurrencies);
 
-        var cryptosInsights = userCryptosInPlatform.stream()
-            .map(userCrypto -> {
-                var quantity = userCryptosQuantity.get(userCrypto.getCrypto().getId());
+        var cryptosInsights = holdingsInPlatform.stream()
+            .map(holding -> {
+                var quantity = userCryptosQuantity.get(holding.cryptoId());
                 var crypto = cryptos.stream()
-                    .filter(c -> userCrypto.getCrypto().getId().equals(c.getId()))
+                    .filter(c -> holding.cryptoId().equals(c.getId()))
                     .findFirst()
                     .get();
-                var cryptoTotalBalances = getCryptoTotalBalances(crypto, quantity);
+                var cryptoTotalBalances = currencyValuationService.getCryptoTotalBalances(crypto, quantity, quoteCurrencies);
 
                 return new CryptoInsights(
-                    userCrypto.getId(),
+                    holding.userCryptoId(),
                     crypto.getCryptoInfo().getName(),
                     crypto.getId(),
                     quantity.toPlainString(),
@@ -171,10 +231,11 @@ public class InsightsService {
             .sorted(Comparator.comparing(CryptoInsights::percentage, Comparator.reverseOrder()))
             .toList();
 
-        return new PlatformInsightsResponse(platformResponse.getName(), totalBalances, cryptosInsights);
+        return new PlatformInsightsResponse(platformName, totalBalances, cryptosInsights);
     }
 
-    @Cacheable(cacheNames = CRYPTO_INSIGHTS_CACHE, key = "#coingeckoCryptoId")
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CRYPTO_INSIGHTS_CACHE, key = "#coingeckoCryptoId", sync = true)
     public CryptoInsightResponse retrieveCryptoInsights(String coingeckoCryptoId) {
         log.info("Retrieving insights for crypto with coingeckoCryptoId {}", coingeckoCryptoId);
 
@@ -186,6 +247,7 @@ public class InsightsService {
 
         var platformsIds = userCryptos.stream().map(userCrypto -> userCrypto.getPlatform().getId()).toList();
         var platforms = platformService.findAllByIds(platformsIds);
+        // Stored already, since user cryptos reference it, so this never saves it in the read-only transaction
         var crypto = cryptoService.retrieveCryptoInfoById(coingeckoCryptoId);
 
         var platformUserCryptoQuantity = userCryptos.stream()
@@ -193,12 +255,14 @@ public class InsightsService {
         var totalCryptoQuantity = userCryptos.stream()
             .map(UserCrypto::getQuantity)
             .reduce(BigDecimal.ZERO, BigDecimal::add);
-        var totalBalances = getTotalBalances(List.of(crypto), Map.of(coingeckoCryptoId, totalCryptoQuantity));
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var totalBalances = currencyValuationService.getTotalBalances(List.of(crypto), Map.of(coingeckoCryptoId, totalCryptoQuantity),
+            quoteCurrencies);
 
         var platformInsights = platforms.stream()
             .map(platform -> {
                 var quantity = platformUserCryptoQuantity.get(platform.getId());
-                var cryptoTotalBalances = getCryptoTotalBalances(crypto, quantity);
+                var cryptoTotalBalances = currencyValuationService.getCryptoTotalBalances(crypto, quantity, quoteCurrencies);
 
                 return new PlatformInsight(
                     quantity.toPlainString(),
@@ -210,153 +274,120 @@ public class InsightsService {
             .sorted(Comparator.comparing(PlatformInsight::percentage, Comparator.reverseOrder()))
             .toList();
 
-        return new CryptoInsightResponse(crypto.getCryptoInfo().getName(), totalBalances, platformInsights);
+        var profitAndLoss = costBasisService.retrieveProfitAndLossByCrypto(List.of(crypto)).get(coingeckoCryptoId);
+
+        return new CryptoInsightResponse(crypto.getCryptoInfo().getName(), totalBalances, platformInsights,
+            retrieveStatistics(coingeckoCryptoId), profitAndLoss);
     }
 
-    @Cacheable(cacheNames = PLATFORMS_BALANCES_INSIGHTS_CACHE)
+    @Cacheable(cacheNames = PLATFORMS_BALANCES_INSIGHTS_CACHE, condition = SKIP_CACHE_WHILE_REFRESHING, sync = true)
     public PlatformsBalancesInsightsResponse retrievePlatformsBalancesInsights() {
         log.info("Retrieving all platforms balances insights");
 
-        var userCryptos = userCryptoService.findAll();
+        return guardReadOnly(PLATFORMS_BALANCES_INSIGHTS_BULKHEAD, () -> {
+            var cryptosSummaries = portfolioSummaryService.retrieveCryptosSummaries();
 
-        if (userCryptos.isEmpty()) {
-            return PlatformsBalancesInsightsResponse.empty();
-        }
+            if (cryptosSummaries.isEmpty()) {
+                return PlatformsBalancesInsightsResponse.empty();
+            }
 
-        var platformsIds = userCryptos.stream()
-            .map(userCrypto -> userCrypto.getPlatform().getId())
-            .collect(Collectors.toSet());
-        var platforms = platformService.findAllByIds(platformsIds);
-        var userCryptoQuantity = getUserCryptoQuantity(userCryptos);
-        var platformsUserCryptos = getPlatformsUserCryptos(userCryptos, platforms);
-        var cryptosIds = platformsUserCryptos.values()
-            .stream()
-            .flatMap(cryptos -> cryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()))
-            .collect(Collectors.toSet());
-        var cryptos = cryptoService.findAllByIds(cryptosIds);
-        var totalBalances = getTotalBalances(cryptos, userCryptoQuantity);
+            return getPlatformsBalancesInsights(cryptosSummaries, portfolioSummaryService.retrievePlatformsSummaries());
+        });
+    }
 
-        var platformsInsights = platformsUserCryptos.entrySet()
-            .stream()
-            .map(entry -> {
-                var platformName = entry.getKey();
-                var cryptosUser = entry.getValue();
-
-                var totalUSDBalance = BigDecimal.ZERO;
-                var totalBTCBalance = BigDecimal.ZERO;
-                var totalEURBalance = BigDecimal.ZERO;
-
-                for (var userCrypto : cryptosUser) {
-                    var crypto = cryptos.stream()
-                        .filter(c -> c.getId().equalsIgnoreCase(userCrypto.getCrypto().getId()))
-                        .findFirst()
-                        .orElseThrow();
-                    var balance = getCryptoTotalBalances(crypto, userCrypto.getQuantity());
-
-                    totalUSDBalance = totalUSDBalance.add(new BigDecimal(balance.totalUSDBalance()));
-                    totalBTCBalance = totalBTCBalance.add(new BigDecimal(balance.totalBTCBalance()));
-                    totalEURBalance = totalEURBalance.add(new BigDecimal(balance.totalEURBalance()));
-                }
-
-                var balances = new BalancesResponse(
-                    totalUSDBalance.toPlainString(),
-                    totalEURBalance.toPlainString(),
-                    totalBTCBalance.toPlainString()
-                );
-                var percentage = calculatePercentage(totalBalances.totalUSDBalance(), totalUSDBalance.toPlainString());
+    public PlatformsBalancesInsightsResponse retrievePlatformsBalancesInsights(LocalDateTime at) {
+        log.info("Retrieving all platforms balances insights at {}", at);
 
-                return new PlatformsInsights(platformName, balances, percentage);
-            })
-            .sorted(Comparator.comparing(PlatformsInsights::percentage, Comparator.reverseOrder()))
-            .toList();
+        return guardReadOnly(PLATFORMS_BALANCES_INSIGHTS_BULKHEAD, () -> {
+            var userCryptos = portfolioValuationService.retrieveUserCryptosAt(at);
 
-        return new PlatformsBalancesInsightsResponse(totalBalances, platformsInsights);
+            if (userCryptos.isEmpty()) {
+                return PlatformsBalancesInsightsResponse.empty();
+            }
+
+            return getPlatformsBalancesInsights(PortfolioSummary.summarizeByCrypto(userCryptos),
+                PortfolioSummary.summarizeByPlatform(userCryptos));
+        });
     }
 
-    @Cacheable(cacheNames = CRYPTOS_BALANCES_INSIGHTS_CACHE)
+    @Cacheable(cacheNames = CRYPTOS_BALANCES_INSIGHTS_CACHE, condition = SKIP_CACHE_WHILE_REFRESHING, sync = true)
     public CryptosBalancesInsightsResponse retrieveCryptosBalancesInsights() {
         log.info("Retrieving all cryptos balances insights");
 
-        var userCryptos = userCryptoService.findAll();
+        return guardReadOnly(CRYPTOS_BALANCES_INSIGHTS_BULKHEAD, () -> {
+            var cryptosSummaries = portfolioSummaryService.retrieveCryptosSummaries();
 
-        if (userCryptos.isEmpty()) {
-            return CryptosBalancesInsightsResponse.empty();
-        }
+            if (cryptosSummaries.isEmpty()) {
+                return CryptosBalancesInsightsResponse.empty();
+            }
 
-        var userCryptoQuantity = getUserCryptoQuantity(userCryptos);
-        var cryptosIds = userCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).collect(Collectors.toSet());
-        var cryptos = cryptoService.findAllByIds(cryptosIds);
-        var totalBalances = getTotalBalances(cryptos, userCryptoQuantity);
+            return getCryptosBalancesInsights(cryptosSummaries);
+        });
+    }
 
-        var cryptosInsights = userCryptoQuantity.entrySet()
-            .stream()
-            .map(entry -> {
-                var coingeckoCryptoId = entry.getKey();
-                var quantity = entry.getValue();
-                var crypto = cryptos.stream()
-                    .filter(c -> c.getId().equalsIgnoreCase(coingeckoCryptoId))
-                    .findFirst()
-                    .orElseThrow();
-                var cryptoBalances = getCryptoTotalBalances(crypto, quantity);
+    public CryptosBalancesInsightsResponse retrieveCryptosBalancesInsights(LocalDateTime at) {
+        log.info("Retrieving all cryptos balances insights at {}", at);
 
-                return new CryptoInsights(
-                    crypto.getCryptoInfo().getName(),
-                    coingeckoCryptoId,
-                    quantity.toPlainString(),
-                    cryptoBalances,
-                    calculatePercentage(totalBalances.totalUSDBalance(), cryptoBalances.totalUSDBalance())
-                );
-            })
-            .sorted(Comparator.comparing(CryptoInsights::percentage, Comparator.reverseOrder()))
-            .toList();
+        return guardReadOnly(CRYPTOS_BALANCES_INSIGHTS_BULKHEAD, () -> {
+            var userCryptos = portfolioValuationService.retrieveUserCryptosAt(at);
 
-        var cryptosToReturn = cryptosInsights.size() > max ?
-            getCryptoInsightsWithOthers(totalBalances, cryptosInsights) :
-            cryptosInsights;
+            if (userCryptos.isEmpty()) {
+                return CryptosBalancesInsightsResponse.empty();
+            }
 
-        return new CryptosBalancesInsightsResponse(totalBalances, cryptosToReturn);
+            return getCryptosBalancesInsights(PortfolioSummary.summarizeByCrypto(userCryptos));
+        });
     }
 
     public Optional<PageUserCryptosInsightsResponse> retrieveUserCryptosInsights(int page, SortParams sortParams) {
         log.info("Retrieving user cryptos insights for page {} with sort params {}", page, sortParams);
 
+        return guardReadOnly(CRYPTOS_INSIGHTS_BULKHEAD, () -> getUserCryptosInsights(page, sortParams));
+    }
+
+    /**
+     * Recomputes an insight holding a permit of the bulkhead, in a read-only transaction started once the
+     * permit is acquired, so calls waiting for a permit or shed don't hold a pooled connection.
+     */
+    private <T> T guardReadOnly(String bulkheadName, Supplier<T> recomputation) {
+        return bulkheadService.guard(bulkheadName, () -> readOnlyTransactionTemplate.execute(status -> recomputation.get()));
+    }
+
+    private Optional<PageUserCryptosInsightsResponse> getUserCryptosInsights(int page, SortParams sortParams) {
         // Not the best because I'm paginating, but I need total balances to calculate individual percentages
-        var userCryptos = userCryptoService.findAll();
+        var holdings = userCryptoService.findAllHoldings();
 
-        if (userCryptos.isEmpty()) {
+        if (holdings.isEmpty()) {
             return Optional.empty();
         }
 
-        var cryptosIds = userCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).collect(Collectors.toSet());
-        var platformsIds = userCryptos.stream()
-            .map(userCrypto -> userCrypto.getPlatform().getId())
-            .collect(Collectors.toSet());
+        var cryptosIds = holdings.stream().map(UserCryptoHolding::cryptoId).collect(Collectors.toSet());
         var cryptos = cryptoService.findAllByIds(cryptosIds);
-        var platforms = platformService.findAllByIds(platformsIds);
-        var userCryptoQuantity = getUserCryptoQuantity(userCryptos);
-        var totalBalances = getTotalBalances(cryptos, userCryptoQuantity);
+        var userCryptoQuantity = getUserCryptoQuantity(holdings);
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var totalBalances = currencyValuationService.getTotalBalances(cryptos, userCryptoQuantity, quoteCurrencies);
+        var userCryptosIds = holdings.stream().map(UserCryptoHolding::userCryptoId).toList();
+        var profitAndLoss = costBasisService.retrieveProfitAndLossByUserCrypto(userCryptosIds, cryptos);
 
         List<UserCryptosInsights> userCryptosInsights = new ArrayList<>();
 
-        for (var userCrypto : userCryptos) {
+        for (var holding : holdings) {
             var crypto = cryptos.stream()
-                .filter(c -> c.getId().equalsIgnoreCase(userCrypto.getCrypto().getId()))
-                .findFirst()
-                .orElseThrow();
-            var platform = platforms.stream()
-                .filter(p -> p.getId().equalsIgnoreCase(userCrypto.getPlatform().getId()))
+                .filter(c -> c.getId().equalsIgnoreCase(holding.cryptoId()))
                 .findFirst()
                 .orElseThrow();
-            var balances = getCryptoTotalBalances(crypto, userCrypto.getQuantity());
+            var balances = currencyValuationService.getCryptoTotalBalances(crypto, holding.quantity(), quoteCurrencies);
             var circulatingSupply = getCirculatingSupply(crypto.getCryptoInfo().getMaxSupply(), crypto.getCryptoInfo().getCirculatingSupply());
 
             var userCryptosInsight = new UserCryptosInsights(
-                userCrypto,
+                holding,
                 crypto,
                 calculatePercentage(totalBalances.totalUSDBalance(), balances.totalUSDBalance()),
                 balances,
                 new MarketData(circulatingSupply, crypto),
-                List.of(platform.getName())
+                List.of(holding.platformName()),
+                retrieveStatistics(crypto.getId()),
+                profitAndLoss.get(holding.userCryptoId())
             );
 
             userCryptosInsights.add(userCryptosInsight);
@@ -372,7 +403,7 @@ public class InsightsService {
             return Optional.empty();
         }
 
-        var totalPages = (int) ceil(userCryptos.size() / ELEMENTS_PER_PAGE);
+        var totalPages = (int) ceil(holdings.size() / ELEMENTS_PER_PAGE);
         var endIndex = isLastPage(page, totalPages) ? userCryptosInsights.size() : startIndex + INT_ELEMENTS_PER_PAGE;
         var cryptosInsights = userCryptosInsights.subList(startIndex, endIndex);
 
@@ -382,6 +413,10 @@ public class InsightsService {
     public Optional<PageUserCryptosInsightsResponse> retrieveUserCryptosPlatformsInsights(int page, SortParams sortParams) {
         log.info("Retrieving user cryptos in platforms insights for page {} with sort params {}", page, sortParams);
 
+        return guardReadOnly(CRYPTOS_PLATFORMS_INSIGHTS_BULKHEAD, () -> getUserCryptosPlatformsInsights(page, sortParams));
+    }
+
+    private Optional<PageUserCryptosInsightsResponse> getUserCryptosPlatformsInsights(int page, SortParams sortParams) {
         // If one of the user cryptos happens to be at the end, and another of the same (i.e: bitcoin), at the start
         // using findAllByPage() will display the same crypto twice (in this example), and the idea of this insight
         // it's to display total balances and percentage for each individual crypto.
@@ -389,21 +424,19 @@ public class InsightsService {
         // Maybe create a query that returns the coingeckoCryptoId summing all balances for that crypto and
         // returning an array of the platforms for that crypto and then paginate the results
         // would be a better approach, so I don't need to retrieve all.
-        var userCryptos = userCryptoService.findAll();
+        var holdings = userCryptoService.findAllHoldings();
 
-        if (userCryptos.isEmpty()) {
+        if (holdings.isEmpty()) {
             return Optional.empty();
         }
 
-        var userCryptoQuantity = getUserCryptoQuantity(userCryptos);
-        var cryptosIds = userCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).collect(Collectors.toSet());
+        var userCryptoQuantity = getUserCryptoQuantity(holdings);
+        var cryptosIds = holdings.stream().map(UserCryptoHolding::cryptoId).collect(Collectors.toSet());
         var cryptos = cryptoService.findAllByIds(cryptosIds);
-        var platformsIds = userCryptos.stream()
-            .map(userCrypto -> userCrypto.getPlatform().getId())
-            .collect(Collectors.toSet());
-        var platforms = platformService.findAllByIds(platformsIds);
-        var totalBalances = getTotalBalances(cryptos, userCryptoQuantity);
-        var userCryptosQuantityPlatforms = getUserCryptosQuantityPlatforms(userCryptos, platforms);
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var totalBalances = currencyValuationService.getTotalBalances(cryptos, userCryptoQuantity, quoteCurrencies);
+        var userCryptosQuantityPlatforms = getUserCryptosQuantityPlatforms(holdings);
+        var profitAndLoss = costBasisService.retrieveProfitAndLossByCrypto(cryptos);
 
         var userCryptosInsights = userCryptosQuantityPlatforms.entrySet()
             .stream()
@@ -414,7 +447,7 @@ public class InsightsService {
                     .filter(c -> c.getId().equalsIgnoreCase(entry.getKey()))
                     .findFirst()
                     .orElseThrow();
-                var cryptoTotalBalances = getCryptoTotalBalances(crypto, cryptoTotalQuantity);
+                var cryptoTotalBalances = currencyValuationService.getCryptoTotalBalances(crypto, cryptoTotalQuantity, quoteCurrencies);
                 var circulatingSupply = getCirculatingSupply(crypto.getCryptoInfo().getMaxSupply(), crypto.getCryptoInfo().getCirculatingSupply());
 
                 return new UserCryptosInsights(
@@ -424,7 +457,9 @@ public class InsightsService {
                     cryptoTotalBalances,
                     crypto.getCryptoInfo().getMarketCapRank(),
                     new MarketData(circulatingSupply, crypto),
-                    cryptoPlatforms
+                    cryptoPlatforms,
+                    retrieveStatistics(crypto.getId()),
+                    profitAndLoss.get(crypto.getId())
                 );
             })
             .sorted(sortParams.cryptosInsightsResponseComparator())
@@ -443,57 +478,63 @@ public class InsightsService {
         return Optional.of(new PageUserCryptosInsightsResponse(page, totalPages, totalBalances, cryptosInsights));
     }
 
-    private Map<String, BigDecimal> getUserCryptoQuantity(List<UserCrypto> userCryptos) {
-        var userCryptoQuantity = new HashMap<String, BigDecimal>();
+    private PlatformsBalancesInsightsResponse getPlatformsBalancesInsights(List<PortfolioSummary> cryptosSummaries,
+                                                                           List<PortfolioSummary> platformsSummaries) {
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var totalBalances = currencyValuationService.getTotalBalances(cryptosSummaries, quoteCurrencies);
 
-        userCryptos.forEach(userCrypto -> {
-            if (userCryptoQuantity.containsKey(userCrypto.getCrypto().getId())) {
-                var quantity = userCryptoQuantity.get(userCrypto.getCrypto().getId());
-                userCryptoQuantity.put(userCrypto.getCrypto().getId(), quantity.add(userCrypto.getQuantity()));
-            } else {
-                userCryptoQuantity.put(userCrypto.getCrypto().getId(), userCrypto.getQuantity());
-            }
-        });
+        var platformsInsights = platformsSummaries.stream()
+            .map(platformSummary -> {
+                var balances = currencyValuationService.getCryptoTotalBalances(platformSummary, quoteCurrencies);
+                var percentage = calculatePercentage(totalBalances.totalUSDBalance(), balances.totalUSDBalance());
 
-        return userCryptoQuantity;
+                return new PlatformsInsights(platformSummary.name(), balances, percentage);
+            })
+            .sorted(Comparator.comparing(PlatformsInsights::percentage, Comparator.reverseOrder()))
+            .toList();
+
+        return new PlatformsBalancesInsightsResponse(totalBalances, platformsInsights);
     }
 
-    private BalancesResponse getTotalBalances(List<Crypto> cryptos, Map<String, BigDecimal> userCryptoQuantity) {
-        var totalUSDBalance = BigDecimal.ZERO;
-        var totalBTCBalance = BigDecimal.ZERO;
-        var totalEURBalance = BigDecimal.ZERO;
+    private CryptosBalancesInsightsResponse getCryptosBalancesInsights(List<PortfolioSummary> cryptosSummaries) {
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var totalBalances = currencyValuationService.getTotalBalances(cryptosSummaries, quoteCurrencies);
 
-        var entries = userCryptoQuantity.entrySet();
-        for (Map.Entry<String, BigDecimal> entry : entries) {
-            var coingeckoCryptoId = entry.getKey();
-            var quantity = entry.getValue();
+        var cryptosInsights = cryptosSummaries.stream()
+            .map(cryptoSummary -> {
+                var cryptoBalances = currencyValuationService.getCryptoTotalBalances(cryptoSummary, quoteCurrencies);
 
-            var crypto = cryptos.stream()
-                .filter(c -> c.getId().equalsIgnoreCase(coingeckoCryptoId))
-                .findFirst()
-                .orElseThrow();
-            var lastKnownPrice = crypto.getLastKnownPrices().getLastKnownPrice();
-            var lastKnownPriceInBTC = crypto.getLastKnownPrices().getLastKnownPriceInBTC();
-            var lastKnownPriceInEUR = crypto.getLastKnownPrices().getLastKnownPriceInEUR();
+                return new CryptoInsights(
+                    cryptoSummary.name(),
+                    cryptoSummary.id(),
+                    cryptoSummary.quantity().toPlainString(),
+                    cryptoBalances,
+                    calculatePercentage(totalBalances.totalUSDBalance(), cryptoBalances.totalUSDBalance())
+                );
+            })
+            .sorted(Comparator.comparing(CryptoInsights::percentage, Comparator.reverseOrder()))
+            .toList();
 
-            totalUSDBalance = totalUSDBalance.add(lastKnownPrice.multiply(quantity).setScale(2, RoundingMode.HALF_UP));
-            totalBTCBalance = totalBTCBalance.add(lastKnownPriceInBTC.multiply(quantity)).stripTrailingZeros();
-            totalEURBalance = totalEURBalance.add(lastKnownPriceInEUR.multiply(quantity).setScale(2, RoundingMode.HALF_UP));
-        }
+        var cryptosToReturn = cryptosInsights.size() > max ?
+            getCryptoInsightsWithOthers(totalBalances, cryptosInsights) :
+            cryptosInsights;
 
-        return new BalancesResponse(
-            totalUSDBalance.toPlainString(),
-            totalEURBalance.toPlainString(),
-            totalBTCBalance.setScale(10, RoundingMode.HALF_EVEN).stripTrailingZeros().toPlainString()
-        );
+        return new CryptosBalancesInsightsResponse(totalBalances, cryptosToReturn);
     }
 
-    private BalancesResponse getCryptoTotalBalances(Crypto crypto, BigDecimal quantity) {
-        return new BalancesResponse(
-            crypto.getLastKnownPrices().getLastKnownPrice().multiply(quantity).setScale(2, RoundingMode.HALF_UP).toPlainString(),
-            crypto.getLastKnownPrices().getLastKnownPriceInEUR().multiply(quantity).setScale(2, RoundingMode.HALF_UP).toPlainString(),
-            crypto.getLastKnownPrices().getLastKnownPriceInBTC().multiply(quantity).setScale(10, RoundingMode.HALF_EVEN).stripTrailingZeros().toPlainString()
-        );
+    private Map<String, BigDecimal> getUserCryptoQuantity(List<UserCryptoHolding> holdings) {
+        var userCryptoQuantity = new HashMap<String, BigDecimal>();
+
+        holdings.forEach(holding -> {
+            if (userCryptoQuantity.containsKey(holding.cryptoId())) {
+                var quantity = userCryptoQuantity.get(holding.cryptoId());
+                userCryptoQuantity.put(holding.cryptoId(), quantity.add(holding.quantity()));
+            } else {
+                userCryptoQuantity.put(holding.cryptoId(), holding.quantity());
+            }
+        });
+
+        return userCryptoQuantity;
     }
 
     private CirculatingSupply getCirculatingSupply(BigDecimal maxSupply, BigDecimal circulatingSupply) {
@@ -515,27 +556,6 @@ public class InsightsService {
             .floatValue();
     }
 
-    private Map<String, List<UserCrypto>> getPlatformsUserCryptos(List<UserCrypto> userCryptos, List<Platform> platforms) {
-        var platformsUserCryptos = new HashMap<String, List<UserCrypto>>();
-
-        userCryptos.forEach(userCrypto -> {
-            var platform = platforms.stream()
-                .filter(p -> p.getId().equalsIgnoreCase(userCrypto.getPlatform().getId()))
-                .findFirst()
-                .orElseThrow();
-
-            if (platformsUserCryptos.containsKey(platform.getName())) {
-                var cryptos = new ArrayList<>(platformsUserCryptos.get(platform.getName()));
-                cryptos.add(userCrypto);
-                platformsUserCryptos.put(platform.getName(), cryptos);
-            } else {
-                platformsUserCryptos.put(platform.getName(), List.of(userCrypto));
-            }
-        });
-
-        return platformsUserCryptos;
-    }
-
     private List<CryptoInsights> getCryptoInsightsWithOthers(BalancesResponse totalBalances, List<CryptoInsights> cryptosInsights) {
         var topCryptos = cryptosInsights.subList(0, max);
         var others = cryptosInsights.subList(max, cryptosInsights.size());
@@ -543,18 +563,27 @@ public class InsightsService {
         var totalUSDBalance = BigDecimal.ZERO;
         var totalBTCBalance = BigDecimal.ZERO;
         var totalEURBalance = BigDecimal.ZERO;
+        Map<String, BigDecimal> totalOtherBalances = new LinkedHashMap<>();
 
         for (var cryptoInsights : others) {
             totalUSDBalance = totalUSDBalance.add(new BigDecimal(cryptoInsights.balances().totalUSDBalance()));
             totalBTCBalance = totalBTCBalance.add(new BigDecimal(cryptoInsights.balances().totalBTCBalance()));
             totalEURBalance = totalEURBalance.add(new BigDecimal(cryptoInsights.balances().totalEURBalance()));
+
+            if (cryptoInsights.balances().otherBalances() != null) {
+                cryptoInsights.balances().otherBalances()
+                    .forEach((currency, balance) -> totalOtherBalances.merge(currency, new BigDecimal(balance), BigDecimal::add));
+            }
         }
 
         var othersTotalPercentage = calculatePercentage(totalBalances.totalUSDBalance(), totalUSDBalance.toPlainString());
         var balancesResponse = new BalancesResponse(
             totalUSDBalance.toPlainString(),
             totalEURBalance.toPlainString(),
-            totalBTCBalance.toPlainString()
+            totalBTCBalance.toPlainString(),
+            totalOtherBalances.isEmpty() ? null : totalOtherBalances.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().toPlainString(), (balance, duplicated) -> balance, LinkedHashMap::new))
         );
         var othersCryptoInsights = new CryptoInsights("Others", balancesResponse, othersTotalPercentage);
 
@@ -564,30 +593,21 @@ public class InsightsService {
         return cryptosInsightsWithOthers;
     }
 
-    private Map<String, Pair<BigDecimal, List<String>>> getUserCryptosQuantityPlatforms(
-        List<UserCrypto> userCryptos,
-        List<Platform> platforms
-    ) {
+    private Map<String, Pair<BigDecimal, List<String>>> getUserCryptosQuantityPlatforms(List<UserCryptoHolding> holdings) {
         var map = new HashMap<String, Pair<BigDecimal, List<String>>>();
 
-        userCryptos.forEach(userCrypto -> {
-            var platformName = platforms.stream()
-                .filter(p -> p.getId().equalsIgnoreCase(userCrypto.getPlatform().getId()))
-                .findFirst()
-                .orElseThrow()
-                .getName();
-
-            if (map.containsKey(userCrypto.getCrypto().getId())) {
-                var crypto = map.get(userCrypto.getCrypto().getId());
+        holdings.forEach(holding -> {
+            if (map.containsKey(holding.cryptoId())) {
+                var crypto = map.get(holding.cryptoId());
                 var actualQuantity = crypto.component1();
                 var actualPlatforms = new ArrayList<>(crypto.component2());
 
-                var newQuantity = actualQuantity.add(userCrypto.getQuantity());
-                actualPlatforms.add(platformName);
+                var newQuantity = actualQuantity.add(holding.quantity());
+                actualPlatforms.add(holding.platformName());
 
-                map.put(userCrypto.getCrypto().getId(), new Pair<>(newQuantity, actualPlatforms));
+                map.put(holding.cryptoId(), new Pair<>(newQuantity, actualPlatforms));
             } else {
-                map.put(userCrypto.getCrypto().getId(), new Pair<>(userCrypto.getQuantity(), List.of(platformName)));
+                map.put(holding.cryptoId(), new Pair<>(holding.quantity(), List.of(holding.platformName())));
             }
         });
 
@@ -598,6 +618,37 @@ public class InsightsService {
         return page + 1 >= totalPages;
     }
 
+    private List<RollingStatistics> retrieveStatistics(String coingeckoCryptoId) {
+        var statistics = rollingStatisticsService.retrieveStatistics(coingeckoCryptoId);
+
+        return statistics.isEmpty() ? null : statistics;
+    }
+
+    private List<DateBalances> retrieveIntradayBalances(DateRange dateRange) {
+        var snapshots = DateRange.ONE_DAY == dateRange ?
+            balanceSnapshotService.retrieveIntradaySnapshots(SnapshotTier.RAW, Duration.ofDays(1)) :
+            balanceSnapshotService.retrieveIntradaySnapshots(SnapshotTier.HOURLY, Duration.ofDays(3));
+
+        return snapshots.stream()
+            .map(snapshot -> new DateBalances(
+                snapshot.getTakenAt().format(INTRADAY_FORMATTER),
+                new BalancesResponse(snapshot.getBalances())
+            ))
+            .toList();
+    }
+
+    private DatesBalanceResponse toDatesBalanceResponse(List<DateBalances> datesBalances) {
+        log.info("Balances found: {}", datesBalances.size());
+
+        if (datesBalances.isEmpty()) {
+            return DatesBalanceResponse.empty();
+        }
+
+        var changesPair = changesPair(datesBalances);
+
+        return new DatesBalanceResponse(datesBalances, changesPair.getFirst(), changesPair.getSecond());
+    }
+
     private List<DateBalance> retrieveDatesBalances(LocalDate from, LocalDate to) {
         log.info("Retrieving date balances from {} to {}", from, to);
 
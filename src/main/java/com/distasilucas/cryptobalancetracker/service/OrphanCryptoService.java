@@ -0,0 +1,68 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.OrphanCryptoCandidate;
+import com.distasilucas.cryptobalancetracker.repository.CryptoRepository;
+import com.distasilucas.cryptobalancetracker.repository.OrphanCryptoCandidateRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+
+import static com.distasilucas.cryptobalancetracker.model.CacheType.CRYPTOS_CACHES;
+
+/**
+ * Deletes the cryptos queued as orphan candidates that are not referenced by any user crypto, goal or
+ * price target. Candidates are swept in batches of the oldest ones, and each batch is checked with
+ * indexed NOT EXISTS lookups, so the cost of a sweep depends on the number of candidates and not on the
+ * size of the referencing tables. Candidates queued again while a sweep runs are kept for the next one.
+ */
+@Slf4j
+@Service
+public class OrphanCryptoService {
+
+    private final int batchSize;
+    private final OrphanCryptoCandidateRepository orphanCryptoCandidateRepository;
+    private final CryptoRepository cryptoRepository;
+    private final CacheService cacheService;
+    private final Clock clock;
+
+    public OrphanCryptoService(@Value("${orphan-cryptos.batch-size}") int batchSize,
+                               OrphanCryptoCandidateRepository orphanCryptoCandidateRepository,
+                               CryptoRepository cryptoRepository,
+                               CacheService cacheService,
+                               Clock clock) {
+        this.batchSize = batchSize;
+        this.orphanCryptoCandidateRepository = orphanCryptoCandidateRepository;
+        this.cryptoRepository = cryptoRepository;
+        this.cacheService = cacheService;
+        this.clock = clock;
+    }
+
+    public void deleteOrphanCryptos() {
+        var sweptAt = LocalDateTime.now(clock);
+        var deletedCryptos = 0;
+        var sweptCandidates = 0;
+        int batchCandidates;
+
+        do {
+            var candidates = orphanCryptoCandidateRepository.findOldestCandidates(sweptAt, batchSize);
+            batchCandidates = candidates.size();
+
+            if (batchCandidates == 0) {
+                break;
+            }
+
+            var cryptoIds = candidates.stream().map(OrphanCryptoCandidate::getCryptoId).toList();
+            deletedCryptos += cryptoRepository.deleteOrphanCryptos(cryptoIds);
+            sweptCandidates += orphanCryptoCandidateRepository.deleteSweptCandidates(cryptoIds, sweptAt);
+        } while (batchCandidates == batchSize);
+
+        if (deletedCryptos > 0) {
+            cacheService.invalidate(CRYPTOS_CACHES);
+        }
+
+        log.info("Swept {} orphan crypto candidate(s). Deleted {} crypto(s) that were not used", sweptCandidates, deletedCryptos);
+    }
+}
@@ -32,15 +32,18 @@ public class PlatformService {
     private final PlatformRepository platformRepository;
     private final UserCryptoService userCryptoService;
     private final CacheService cacheService;
+    private final PortfolioSummaryService portfolioSummaryService;
     private final PlatformService self;
 
     public PlatformService(PlatformRepository platformRepository,
                            @Lazy UserCryptoService userCryptoService,
                            CacheService cacheService,
+                           PortfolioSummaryService portfolioSummaryService,
                            PlatformService self) {
         this.platformRepository = platformRepository;
         this.userCryptoService = userCryptoService;
         this.cacheService = cacheService;
+        this.portfolioSummaryService = portfolioSummaryService;
         this.self = self;
     }
 
@@ -81,6 +84,7 @@ public class PlatformService {
         log.info("Updating platform. Before: {}. After: {}", platform, updatedPlatform);
         platformRepository.save(updatedPlatform);
         cacheService.invalidate(PLATFORMS_CACHES, USER_CRYPTOS_CACHES, INSIGHTS_CACHES);
+        portfolioSummaryService.refreshAfterCommit();
 
         return updatedPlatform;
     }
@@ -0,0 +1,137 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import com.distasilucas.cryptobalancetracker.repository.view.PortfolioSummaryViewRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.ROOT_TENANT;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.INSIGHTS_CACHES;
+
+/**
+ * Reads the quantity and value held of each crypto and in each platform from the portfolio summary view.
+ * The view is refreshed concurrently, so insights keep reading the previous rows while it is rebuilt.
+ * Writes request a refresh once their transaction commits and a scheduler runs it, so at most one refresh
+ * is in progress and the requests made meanwhile are served by a single refresh after it. After a refresh,
+ * the insights caches of each tenant that requested it are invalidated under that tenant, so other tenants
+ * keep theirs. Until then insights read from the view are not cached for those tenants, see
+ * {@link #SKIP_CACHE_WHILE_REFRESHING}, so none is cached from rows that are about to change.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioSummaryService {
+
+    /**
+     * Cache condition of insights read from the view, to compute them without caching while a refresh
+     * requested by the current tenant is pending or running.
+     */
+    public static final String SKIP_CACHE_WHILE_REFRESHING = "!@portfolioSummaryService.isRefreshPending()";
+
+    private static final String REFRESH_SCHEDULED = PortfolioSummaryService.class.getName() + ".REFRESH_SCHEDULED";
+
+    private final PortfolioSummaryViewRepository portfolioSummaryViewRepository;
+    private final CacheService cacheService;
+    private final Set<String> requestedTenants = ConcurrentHashMap.newKeySet();
+    private final Set<String> refreshingTenants = ConcurrentHashMap.newKeySet();
+
+    public List<PortfolioSummary> retrieveCryptosSummaries() {
+        log.info("Retrieving cryptos summaries");
+
+        return portfolioSummaryViewRepository.findCryptosSummaries();
+    }
+
+    public List<PortfolioSummary> retrievePlatformsSummaries() {
+        log.info("Retrieving platforms summaries");
+
+        return portfolioSummaryViewRepository.findPlatformsSummaries();
+    }
+
+    public void refreshAfterCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            requestRefresh();
+            return;
+        }
+
+        if (TransactionSynchronizationManager.hasResource(REFRESH_SCHEDULED)) {
+            return;
+        }
+
+        TransactionSynchronizationManager.bindResource(REFRESH_SCHEDULED, Boolean.TRUE);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                TransactionSynchronizationManager.unbindResourceIfPossible(REFRESH_SCHEDULED);
+
+                if (STATUS_COMMITTED == status) {
+                    requestRefresh();
+                }
+            }
+        });
+    }
+
+    public void requestRefresh() {
+        requestedTenants.add(TenantContext.getTenantId());
+    }
+
+    /**
+     * Whether a refresh requested by the current tenant, or by the root tenant on behalf of all of them, is
+     * pending or running. For the root tenant, whether any refresh is.
+     */
+    public boolean isRefreshPending() {
+        var tenantId = TenantContext.getTenantId();
+
+        if (ROOT_TENANT.equals(tenantId)) {
+            return !requestedTenants.isEmpty() || !refreshingTenants.isEmpty();
+        }
+
+        return isRefreshPending(tenantId) || isRefreshPending(ROOT_TENANT);
+    }
+
+    public void refreshIfRequested() {
+        if (requestedTenants.isEmpty()) {
+            return;
+        }
+
+        List<String> tenantIds = new ArrayList<>();
+
+        for (var tenantId : List.copyOf(requestedTenants)) {
+            refreshingTenants.add(tenantId);
+            requestedTenants.remove(tenantId);
+            tenantIds.add(tenantId);
+        }
+
+        log.info("Refreshing portfolio summary for tenant(s) {}", tenantIds);
+
+        try {
+            portfolioSummaryViewRepository.refresh();
+            tenantIds.forEach(this::invalidateInsightsCaches);
+        } catch (RuntimeException exception) {
+            requestedTenants.addAll(tenantIds);
+            throw exception;
+        } finally {
+            refreshingTenants.removeAll(tenantIds);
+        }
+    }
+
+    private boolean isRefreshPending(String tenantId) {
+        return requestedTenants.contains(tenantId) || refreshingTenants.contains(tenantId);
+    }
+
+    private void invalidateInsightsCaches(String tenantId) {
+        if (ROOT_TENANT.equals(tenantId)) {
+            cacheService.invalidate(INSIGHTS_CACHES);
+        } else {
+            TenantContext.runAs(tenantId, () -> cacheService.invalidate(INSIGHTS_CACHES));
+        }
+    }
+}
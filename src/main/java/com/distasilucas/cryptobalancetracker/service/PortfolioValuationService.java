@@ -0,0 +1,89 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.CryptoInfo;
+import com.distasilucas.cryptobalancetracker.entity.Holding;
+import com.distasilucas.cryptobalancetracker.entity.Platform;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Values the portfolio as it stood at a past instant. Holdings are rebuilt from the ledger and the
+ * latest price of every crypto at that instant is read in a single query. Both are sorted by crypto
+ * id, so they are merge-joined in one pass instead of looking up a price per holding.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PortfolioValuationService {
+
+    private final HoldingsLedgerService holdingsLedgerService;
+    private final PriceHistoryService priceHistoryService;
+    private final CryptoService cryptoService;
+    private final PlatformService platformService;
+
+    /**
+     * User cryptos held at the given instant, each one with a crypto carrying the prices of that instant.
+     * Holdings of cryptos without a recorded price by then are left out, as they can not be valued.
+     */
+    public List<UserCrypto> retrieveUserCryptosAt(LocalDateTime at) {
+        var holdings = holdingsLedgerService.retrieveHoldingsAt(at)
+            .stream()
+            .sorted(Comparator.comparing(Holding::getCryptoId))
+            .toList();
+
+        if (holdings.isEmpty()) {
+            return List.of();
+        }
+
+        var cryptosIds = holdings.stream().map(Holding::getCryptoId).distinct().toList();
+        var platformsIds = holdings.stream().map(Holding::getPlatformId).collect(Collectors.toSet());
+        var prices = priceHistoryService.retrieveLatestPricesBefore(cryptosIds, at);
+        var cryptosInfo = cryptoService.findAllByIds(cryptosIds)
+            .stream()
+            .collect(Collectors.toMap(Crypto::getId, Crypto::getCryptoInfo));
+        var platforms = platformService.findAllByIds(platformsIds)
+            .stream()
+            .collect(Collectors.toMap(Platform::getId, Function.identity()));
+
+        List<UserCrypto> userCryptos = new ArrayList<>(holdings.size());
+        var priceIndex = 0;
+        Crypto crypto = null;
+
+        for (var holding : holdings) {
+            while (priceIndex < prices.size() && prices.get(priceIndex).getCryptoId().compareTo(holding.getCryptoId()) < 0) {
+                priceIndex++;
+            }
+
+            if (priceIndex == prices.size() || !prices.get(priceIndex).getCryptoId().equals(holding.getCryptoId())) {
+                log.warn("No price recorded for {} at {}. Skipping user crypto {}", holding.getCryptoId(), at, holding.getUserCryptoId());
+                continue;
+            }
+
+            if (crypto == null || !crypto.getId().equals(holding.getCryptoId())) {
+                var price = prices.get(priceIndex);
+                crypto = price.toCrypto(cryptosInfo.getOrDefault(price.getCryptoId(), unknownCryptoInfo(price.getCryptoId())));
+            }
+
+            var platform = platforms.getOrDefault(holding.getPlatformId(), new Platform(holding.getPlatformId(), holding.getPlatformId()));
+            userCryptos.add(new UserCrypto(holding.getUserCryptoId(), holding.getQuantity(), platform, crypto));
+        }
+
+        return userCryptos;
+    }
+
+    private CryptoInfo unknownCryptoInfo(String coingeckoCryptoId) {
+        return new CryptoInfo(coingeckoCryptoId, coingeckoCryptoId, null, 0, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO);
+    }
+}
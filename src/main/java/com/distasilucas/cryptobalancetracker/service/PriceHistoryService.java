@@ -0,0 +1,157 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.journal.PriceJournal;
+import com.distasilucas.cryptobalancetracker.journal.PriceTick;
+import com.distasilucas.cryptobalancetracker.journal.PriceTickRange;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import com.distasilucas.cryptobalancetracker.repository.PriceHistoryRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PriceHistoryService {
+
+    private final PriceHistoryRepository priceHistoryRepository;
+    private final Optional<PriceJournal> priceJournal;
+
+    public void recordPrices(List<Crypto> cryptos) {
+        var prices = cryptos.stream()
+            .filter(crypto -> Objects.nonNull(crypto.getLastUpdatedAt()))
+            .map(PriceHistory::new)
+            .toList();
+
+        if (!prices.isEmpty()) {
+            log.info("Recording {} price(s) in price history", prices.size());
+            priceHistoryRepository.insertAll(prices);
+        }
+
+        priceJournal.ifPresent(journal -> cryptos.stream()
+            .filter(crypto -> Objects.nonNull(crypto.getLastUpdatedAt()))
+            .forEach(crypto -> journal.append(crypto.getId(), PriceTick.from(crypto))));
+    }
+
+    /**
+     * Reads the ticks of a crypto from the price journal without copying them. They are only returned if the
+     * journal is enabled and holds a tick at or before {@code from}, so it covers the whole range. Otherwise
+     * the caller reads the price history table.
+     */
+    public Optional<PriceTickRange> retrievePriceTicks(String coingeckoCryptoId, LocalDateTime from, LocalDateTime to) {
+        var fromMillis = toEpochMilli(from);
+
+        return priceJournal
+            .filter(journal -> !journal.read(coingeckoCryptoId, 0, fromMillis).isEmpty())
+            .map(journal -> journal.read(coingeckoCryptoId, fromMillis, toEpochMilli(to)));
+    }
+
+    public List<PriceHistory> retrievePriceHistory(String coingeckoCryptoId, LocalDateTime from, LocalDateTime to) {
+        log.info("Retrieving price history for {} from {} to {}", coingeckoCryptoId, from, to);
+
+        return priceHistoryRepository.findAllByCryptoIdInRange(coingeckoCryptoId, from, to);
+    }
+
+    public List<CandleResponse> retrieveCandles(String coingeckoCryptoId, CandleInterval interval, LocalDateTime from) {
+        log.info("Aggregating {} candles for {} since {}", interval, coingeckoCryptoId, from);
+
+        return priceHistoryRepository.findCandles(coingeckoCryptoId, interval, from);
+    }
+
+    public Optional<PriceHistory> retrieveLatestPriceBefore(String coingeckoCryptoId, LocalDateTime at) {
+        log.info("Retrieving latest price for {} before {}", coingeckoCryptoId, at);
+
+        return priceHistoryRepository.findFirstByCryptoIdAndRecordedAtLessThanEqualOrderByRecordedAtDesc(coingeckoCryptoId, at);
+    }
+
+    /**
+     * Retrieves the latest price of each crypto at or before {@code at}, sorted by crypto. Prices are read from
+     * the price journal when it is enabled and holds a tick by then. Only the cryptos it has no tick for are
+     * read from the price history table.
+     */
+    public List<PriceHistory> retrieveLatestPricesBefore(List<String> coingeckoCryptoIds, LocalDateTime at) {
+        log.info("Retrieving latest prices for {} crypto(s) before {}", coingeckoCryptoIds.size(), at);
+
+        if (priceJournal.isEmpty()) {
+            return priceHistoryRepository.findLatestPrices(coingeckoCryptoIds, at);
+        }
+
+        var atMillis = toEpochMilli(at);
+        List<PriceHistory> prices = new ArrayList<>(coingeckoCryptoIds.size());
+        List<String> notJournaledCryptosIds = new ArrayList<>();
+
+        for (var coingeckoCryptoId : coingeckoCryptoIds) {
+            var ticks = priceJournal.get().read(coingeckoCryptoId, 0, atMillis);
+
+            if (ticks.isEmpty()) {
+                notJournaledCryptosIds.add(coingeckoCryptoId);
+            } else {
+                prices.add(toPriceHistory(coingeckoCryptoId, ticks, ticks.size() - 1));
+            }
+        }
+
+        if (!notJournaledCryptosIds.isEmpty()) {
+            prices.addAll(priceHistoryRepository.findLatestPrices(notJournaledCryptosIds, at));
+        }
+
+        prices.sort(Comparator.comparing(PriceHistory::getCryptoId));
+
+        return prices;
+    }
+
+    /**
+     * Creates the partition of every month from {@code from}, moving the rows the default partition holds for
+     * it. Every month is attempted, and then the creation fails if any of them could not be created, since
+     * their rows would keep piling up in the default partition.
+     */
+    public void createPartitions(YearMonth from, int monthsAhead) {
+        List<YearMonth> failedMonths = new ArrayList<>();
+        DataAccessException failure = null;
+
+        for (int month = 0; month <= monthsAhead; month++) {
+            var partitionMonth = from.plusMonths(month);
+            log.info("Ensuring price history partition exists for {}", partitionMonth);
+
+            try {
+                priceHistoryRepository.createMonthlyPartition(partitionMonth);
+            } catch (DataAccessException exception) {
+                log.error("Could not create price history partition for {}", partitionMonth, exception);
+                failedMonths.add(partitionMonth);
+                failure = exception;
+            }
+        }
+
+        if (!failedMonths.isEmpty()) {
+            throw new IllegalStateException("Could not create price history partitions for %s".formatted(failedMonths), failure);
+        }
+    }
+
+    private PriceHistory toPriceHistory(String coingeckoCryptoId, PriceTickRange ticks, int index) {
+        return new PriceHistory(
+            coingeckoCryptoId,
+            LocalDateTime.ofInstant(Instant.ofEpochMilli(ticks.timestampAt(index)), ZoneOffset.UTC),
+            BigDecimal.valueOf(ticks.usdAt(index)),
+            BigDecimal.valueOf(ticks.eurAt(index)),
+            BigDecimal.valueOf(ticks.btcAt(index))
+        );
+    }
+
+    private long toEpochMilli(LocalDateTime dateTime) {
+        return dateTime.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+}
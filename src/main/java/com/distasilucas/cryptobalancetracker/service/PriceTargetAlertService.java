@@ -0,0 +1,170 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
+import com.distasilucas.cryptobalancetracker.entity.PriceTargetAlert;
+import com.distasilucas.cryptobalancetracker.repository.PriceTargetAlertRepository;
+import com.distasilucas.cryptobalancetracker.repository.PriceTargetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Detects the price targets crossed by each price update. Targets of every crypto are kept in a sorted
+ * index next to the last seen price, so the targets crossed between the previous and the new price are a
+ * range of the index found in O(log n + k) without reading targets on every tick. Crossed targets are
+ * written to the alerts outbox and pushed to the event streams of the tenant owning each target. The first
+ * tick of a crypto seeds its index and only sets the price the next tick is compared with. Requests only
+ * read the targets of their own tenant, so indexes are only seeded from threads that are not bound to a
+ * tenant, like the price updates scheduler.
+ */
+@Slf4j
+@Service
+public class PriceTargetAlertService {
+
+    private static final String ALERT_EVENT = "price-target-alert";
+    private static final long EMITTER_TIMEOUT = Duration.ofMinutes(30).toMillis();
+
+    private final PriceTargetRepository priceTargetRepository;
+    private final PriceTargetAlertRepository priceTargetAlertRepository;
+    private final Clock clock;
+    private final Map<String, CryptoTargets> targets = new ConcurrentHashMap<>();
+    private final Map<String, List<SseEmitter>> emitters = new ConcurrentHashMap<>();
+
+    public PriceTargetAlertService(PriceTargetRepository priceTargetRepository,
+                                   PriceTargetAlertRepository priceTargetAlertRepository,
+                                   Clock clock) {
+        this.priceTargetRepository = priceTargetRepository;
+        this.priceTargetAlertRepository = priceTargetAlertRepository;
+        this.clock = clock;
+    }
+
+    public void checkTargets(List<Crypto> cryptos) {
+        var now = LocalDateTime.now(clock);
+        List<PriceTargetAlert> alerts = new ArrayList<>();
+
+        cryptos.stream()
+            .filter(crypto -> Objects.nonNull(crypto.getLastKnownPrices()))
+            .filter(crypto -> !TenantContext.isBound() || targets.containsKey(crypto.getId()))
+            .forEach(crypto -> {
+                var price = crypto.getLastKnownPrices().getLastKnownPrice();
+                targets.computeIfAbsent(crypto.getId(), this::seedTargets).cross(crypto.getId(), price, now, alerts);
+            });
+
+        if (!alerts.isEmpty()) {
+            log.info("{} price target(s) crossed", alerts.size());
+            priceTargetAlertRepository.saveAll(alerts);
+            alerts.forEach(this::publish);
+        }
+    }
+
+    public void addTarget(PriceTarget priceTarget) {
+        targets.computeIfPresent(priceTarget.getCrypto().getId(), (cryptoId, cryptoTargets) -> {
+            cryptoTargets.add(priceTarget.getTarget(), new IndexedTarget(priceTarget.getId(), TenantContext.getTenantId()));
+            return cryptoTargets;
+        });
+    }
+
+    public void updateTarget(PriceTarget priceTarget, BigDecimal previousTarget) {
+        targets.computeIfPresent(priceTarget.getCrypto().getId(), (cryptoId, cryptoTargets) -> {
+            cryptoTargets.remove(previousTarget, priceTarget.getId());
+            cryptoTargets.add(priceTarget.getTarget(), new IndexedTarget(priceTarget.getId(), TenantContext.getTenantId()));
+            return cryptoTargets;
+        });
+    }
+
+    public void removeTarget(PriceTarget priceTarget) {
+        targets.computeIfPresent(priceTarget.getCrypto().getId(), (cryptoId, cryptoTargets) -> {
+            cryptoTargets.remove(priceTarget.getTarget(), priceTarget.getId());
+            return cryptoTargets;
+        });
+    }
+
+    public SseEmitter subscribe() {
+        var emitter = new SseEmitter(EMITTER_TIMEOUT);
+        var tenantEmitters = emitters.computeIfAbsent(TenantContext.getTenantId(), tenantId -> new CopyOnWriteArrayList<>());
+        emitter.onCompletion(() -> tenantEmitters.remove(emitter));
+        emitter.onTimeout(() -> tenantEmitters.remove(emitter));
+        emitter.onError(throwable -> tenantEmitters.remove(emitter));
+        tenantEmitters.add(emitter);
+
+        return emitter;
+    }
+
+    private CryptoTargets seedTargets(String coingeckoCryptoId) {
+        var cryptoTargets = new CryptoTargets();
+        var priceTargets = priceTargetRepository.findAllByCryptoId(coingeckoCryptoId);
+
+        log.info("Seeding price targets index for {} with {} target(s)", coingeckoCryptoId, priceTargets.size());
+        priceTargets.forEach(priceTarget ->
+            cryptoTargets.add(priceTarget.getTarget(), new IndexedTarget(priceTarget.getId(), priceTarget.getTenantId())));
+
+        return cryptoTargets;
+    }
+
+    private void publish(PriceTargetAlert alert) {
+        var response = alert.toPriceTargetAlertResponse();
+        var tenantEmitters = emitters.getOrDefault(alert.getTenantId(), List.of());
+
+        for (var emitter : tenantEmitters) {
+            try {
+                emitter.send(SseEmitter.event().id(alert.getId()).name(ALERT_EVENT).data(response));
+            } catch (IOException | IllegalStateException exception) {
+                log.debug("Removing closed price target alerts stream", exception);
+                tenantEmitters.remove(emitter);
+            }
+        }
+    }
+
+    private static final class CryptoTargets {
+
+        private final NavigableMap<BigDecimal, Set<IndexedTarget>> targets = new ConcurrentSkipListMap<>();
+        private BigDecimal lastPrice;
+
+        private void add(BigDecimal target, IndexedTarget indexedTarget) {
+            targets.computeIfAbsent(target, price -> ConcurrentHashMap.newKeySet()).add(indexedTarget);
+        }
+
+        private void remove(BigDecimal target, String priceTargetId) {
+            targets.computeIfPresent(target, (price, indexedTargets) -> {
+                indexedTargets.removeIf(indexedTarget -> indexedTarget.priceTargetId().equals(priceTargetId));
+                return indexedTargets.isEmpty() ? null : indexedTargets;
+            });
+        }
+
+        private synchronized void cross(String cryptoId, BigDecimal price, LocalDateTime now, List<PriceTargetAlert> alerts) {
+            var previousPrice = lastPrice;
+            lastPrice = price;
+
+            if (previousPrice == null || previousPrice.compareTo(price) == 0) {
+                return;
+            }
+
+            var crossedTargets = price.compareTo(previousPrice) > 0 ?
+                targets.subMap(previousPrice, false, price, true) :
+                targets.subMap(price, true, previousPrice, false);
+
+            crossedTargets.forEach((target, indexedTargets) -> indexedTargets.forEach(indexedTarget ->
+                alerts.add(new PriceTargetAlert(indexedTarget.priceTargetId(), indexedTarget.tenantId(), cryptoId, target, previousPrice, price, now))));
+        }
+    }
+
+    private record IndexedTarget(String priceTargetId, String tenantId) {
+    }
+}
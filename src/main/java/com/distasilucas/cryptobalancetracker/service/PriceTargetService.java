@@ -29,6 +29,7 @@ public class PriceTargetService {
     private final PriceTargetRepository priceTargetRepository;
     private final CryptoService cryptoService;
     private final CacheService cacheService;
+    private final PriceTargetAlertService priceTargetAlertService;
     private final PriceTargetService self;
 
     @Cacheable(cacheNames = PRICE_TARGET_ID_CACHE, key = "#priceTargetId")
@@ -56,6 +57,7 @@ public class PriceTargetService {
         var priceTargetEntity = priceTargetRequest.toEntity(crypto);
 
         var priceTarget = priceTargetRepository.save(priceTargetEntity);
+        priceTargetAlertService.addTarget(priceTarget);
         cacheService.invalidate(PRICE_TARGETS_CACHES);
 
         return priceTarget;
@@ -65,12 +67,14 @@ public class PriceTargetService {
         log.info("Updating price target for id {}. New value: {}", priceTargetId, priceTargetRequest);
 
         var priceTarget = self.retrievePriceTargetById(priceTargetId);
+        var previousTarget = priceTarget.getTarget();
         priceTarget.setTarget(priceTargetRequest.priceTarget());
 
         var coingeckoCryptoId = priceTarget.getCrypto().getId();
         validatePriceTargetIsNotDuplicated(coingeckoCryptoId, priceTargetRequest.priceTarget());
 
         var updatedPriceTarget = priceTargetRepository.save(priceTarget);
+        priceTargetAlertService.updateTarget(updatedPriceTarget, previousTarget);
         cacheService.invalidate(PRICE_TARGETS_CACHES);
 
         return updatedPriceTarget;
@@ -81,6 +85,7 @@ public class PriceTargetService {
         var priceTarget = self.retrievePriceTargetById(priceTargetId);
 
         priceTargetRepository.delete(priceTarget);
+        priceTargetAlertService.removeTarget(priceTarget);
         cryptoService.deleteCryptoIfNotUsed(priceTarget.getCrypto().getId());
         cacheService.invalidate(PRICE_TARGETS_CACHES);
     }
@@ -0,0 +1,271 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.entity.CashFlow;
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.DateBalance;
+import com.distasilucas.cryptobalancetracker.model.DateRange;
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ReturnsResponse;
+import com.distasilucas.cryptobalancetracker.repository.CashFlowRepository;
+import com.distasilucas.cryptobalancetracker.repository.DateBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.ROOT_TENANT;
+
+/**
+ * Time-weighted and money-weighted USD returns of the portfolio over a date range. Deposits and
+ * withdrawals made by the user are recorded as cash flows so they are not reported as performance.
+ * Each tenant keeps a series per range in memory, seeded from its date balances on first use and
+ * updated as its new balances land. Series of the root tenant span every tenant, so they are dropped
+ * and seeded again whenever a tenant writes.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ReturnsService {
+
+    private static final int IRR_ITERATIONS = 100;
+
+    private final DateBalanceRepository dateBalanceRepository;
+    private final CashFlowRepository cashFlowRepository;
+    private final Clock clock;
+    private final Map<TenantCacheKey, ReturnsSeries> series = new ConcurrentHashMap<>();
+
+    public void recordCashFlow(Crypto crypto, BigDecimal quantity) {
+        if (quantity.signum() == 0) {
+            return;
+        }
+
+        var cashFlow = new CashFlow(crypto, quantity, LocalDateTime.now(clock));
+        cashFlowRepository.save(cashFlow);
+        tenantSeries().forEach((dateRange, returnsSeries) -> returnsSeries.addCashFlow(cashFlow.getUsdValue().doubleValue()));
+
+        log.info("Recorded cash flow {}", cashFlow);
+    }
+
+    public void updateReturns(LocalDate date, BalancesResponse balances) {
+        var value = Double.parseDouble(balances.totalUSDBalance());
+
+        tenantSeries().forEach((dateRange, returnsSeries) -> returnsSeries.addBalance(date, value, startDate(dateRange, date)));
+    }
+
+    public ReturnsResponse retrieveReturns(DateRange dateRange) {
+        log.info("Retrieving returns for date range: {}", dateRange);
+
+        var key = new TenantCacheKey(TenantContext.getTenantId(), dateRange);
+
+        return series.computeIfAbsent(key, tenantKey -> seedSeries(dateRange)).response();
+    }
+
+    /**
+     * Series of the current tenant by range. Series of the root tenant are dropped, as they also hold
+     * the balances and cash flows of the tenant writing.
+     */
+    private Map<DateRange, ReturnsSeries> tenantSeries() {
+        var tenantId = TenantContext.getTenantId();
+
+        if (!ROOT_TENANT.equals(tenantId)) {
+            series.keySet().removeIf(key -> ROOT_TENANT.equals(key.tenantId()));
+        }
+
+        Map<DateRange, ReturnsSeries> tenantSeries = new EnumMap<>(DateRange.class);
+        series.forEach((key, returnsSeries) -> {
+            if (tenantId.equals(key.tenantId())) {
+                tenantSeries.put((DateRange) key.key(), returnsSeries);
+            }
+        });
+
+        return tenantSeries;
+    }
+
+    private ReturnsSeries seedSeries(DateRange dateRange) {
+        var now = LocalDate.now(clock);
+        var from = startDate(dateRange, now);
+        var dateBalances = dateBalanceRepository.findDateBalancesByDateBetween(from, now)
+            .stream()
+            .sorted(Comparator.comparing(DateBalance::getDate))
+            .toList();
+        var cashFlows = cashFlowRepository.findAllByOccurredAtGreaterThanEqualOrderByOccurredAtAsc(from.plusDays(1).atStartOfDay());
+
+        log.info("Seeding returns for {} with {} balance(s) and {} cash flow(s)", dateRange, dateBalances.size(), cashFlows.size());
+
+        var returnsSeries = new ReturnsSeries();
+        var cashFlowIndex = 0;
+
+        for (var dateBalance : dateBalances) {
+            while (cashFlowIndex < cashFlows.size() &&
+                !cashFlows.get(cashFlowIndex).getOccurredAt().toLocalDate().isAfter(dateBalance.getDate())) {
+                returnsSeries.addCashFlow(cashFlows.get(cashFlowIndex++).getUsdValue().doubleValue());
+            }
+
+            returnsSeries.addBalance(dateBalance.getDate(), Double.parseDouble(dateBalance.getBalances().getUsdBalance()), from);
+        }
+
+        cashFlows.subList(cashFlowIndex, cashFlows.size())
+            .forEach(cashFlow -> returnsSeries.addCashFlow(cashFlow.getUsdValue().doubleValue()));
+
+        return returnsSeries;
+    }
+
+    private LocalDate startDate(DateRange dateRange, LocalDate date) {
+        return switch (dateRange) {
+            case ONE_DAY -> date.minusDays(1);
+            case THREE_DAYS -> date.minusDays(3);
+            case ONE_WEEK -> date.minusWeeks(1);
+            case ONE_MONTH -> date.minusMonths(1);
+            case THREE_MONTHS -> date.minusMonths(3);
+            case SIX_MONTHS -> date.minusMonths(6);
+            case ONE_YEAR -> date.minusYears(1);
+        };
+    }
+
+    /**
+     * Balances of a range, each one with the net cash flow that happened since the previous balance.
+     * The time-weighted return is kept as a running sum of the logarithm of every sub-period growth
+     * factor, so adding or evicting a balance does not walk the series again. The money-weighted
+     * return is solved on demand and cached until the next balance lands.
+     */
+    private static final class ReturnsSeries {
+
+        private final Deque<Point> points = new ArrayDeque<>();
+        private double pendingCashFlow;
+        private double logGrowth;
+        private int totalLosses;
+        private ReturnsResponse response;
+
+        private synchronized void addCashFlow(double usdValue) {
+            pendingCashFlow += usdValue;
+        }
+
+        private synchronized void addBalance(LocalDate date, double value, LocalDate from) {
+            var cashFlow = pendingCashFlow;
+
+            if (!points.isEmpty() && date.isBefore(points.getLast().date())) {
+                return;
+            }
+
+            if (!points.isEmpty() && date.equals(points.getLast().date())) {
+                var replaced = points.removeLast();
+                removeGrowth(replaced.growth());
+                cashFlow += replaced.cashFlow();
+            }
+
+            var previous = points.peekLast();
+            var point = previous == null ?
+                new Point(date, value, 0, 1) :
+                new Point(date, value, cashFlow, growth(previous.value(), value, cashFlow));
+            points.addLast(point);
+            addGrowth(point.growth());
+            pendingCashFlow = 0;
+
+            while (points.size() > 1 && points.getFirst().date().isBefore(from)) {
+                points.removeFirst();
+                var base = points.removeFirst();
+                removeGrowth(base.growth());
+                points.addFirst(new Point(base.date(), base.value(), 0, 1));
+            }
+
+            response = null;
+        }
+
+        private synchronized ReturnsResponse response() {
+            if (response == null) {
+                response = points.size() < 2 ? ReturnsResponse.empty() : new ReturnsResponse(
+                    toPercentage(totalLosses > 0 ? -1 : Math.expm1(logGrowth)),
+                    toPercentage(moneyWeightedReturn()),
+                    BigDecimal.valueOf(netCashFlow()).setScale(2, RoundingMode.HALF_UP).toPlainString()
+                );
+            }
+
+            return response;
+        }
+
+        /**
+         * Daily internal rate of return found by bisection, compounded over the days of the series.
+         * Zero if the cash flows never change sign, as there is no rate to solve for.
+         */
+        private double moneyWeightedReturn() {
+            var days = ChronoUnit.DAYS.between(points.getFirst().date(), points.getLast().date());
+            var low = -0.5;
+            var high = 0.5;
+
+            if (days == 0 || Math.signum(netPresentValue(low)) == Math.signum(netPresentValue(high))) {
+                return 0;
+            }
+
+            for (int i = 0; i < IRR_ITERATIONS; i++) {
+                var rate = (low + high) / 2;
+
+                if (Math.signum(netPresentValue(rate)) == Math.signum(netPresentValue(low))) {
+                    low = rate;
+                } else {
+                    high = rate;
+                }
+            }
+
+            return Math.pow(1 + (low + high) / 2, days) - 1;
+        }
+
+        private double netPresentValue(double dailyRate) {
+            var start = points.getFirst().date();
+            var netPresentValue = -points.getFirst().value();
+
+            for (var point : points) {
+                var days = ChronoUnit.DAYS.between(start, point.date());
+                netPresentValue -= point.cashFlow() / Math.pow(1 + dailyRate, days);
+            }
+
+            var days = ChronoUnit.DAYS.between(start, points.getLast().date());
+
+            return netPresentValue + points.getLast().value() / Math.pow(1 + dailyRate, days);
+        }
+
+        private double netCashFlow() {
+            return points.stream().mapToDouble(Point::cashFlow).sum();
+        }
+
+        private void addGrowth(double growth) {
+            if (growth <= 0) {
+                totalLosses++;
+            } else {
+                logGrowth += Math.log(growth);
+            }
+        }
+
+        private void removeGrowth(double growth) {
+            if (growth <= 0) {
+                totalLosses--;
+            } else {
+                logGrowth -= Math.log(growth);
+            }
+        }
+
+        private static double growth(double previousValue, double value, double cashFlow) {
+            return previousValue <= 0 ? 1 : (value - cashFlow) / previousValue;
+        }
+
+        private static float toPercentage(double value) {
+            return BigDecimal.valueOf(value * 100).setScale(2, RoundingMode.HALF_UP).floatValue();
+        }
+    }
+
+    private record Point(LocalDate date, double value, double cashFlow, double growth) {
+    }
+}
@@ -0,0 +1,400 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.Platform;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.RiskKey;
+import com.distasilucas.cryptobalancetracker.model.request.insights.StressScenarioRequest;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsight;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressImpact;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressScenarioResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.RISK_INSIGHTS_CACHE;
+
+/**
+ * Value at risk and conditional value at risk of the current holdings over the configured horizon, plus
+ * user-defined price shocks. Paths follow a one factor model: every crypto moves with a shock common to
+ * the market and one of its own, scaled by its rolling volatility over the horizon. Holdings and prices
+ * are flattened into primitive arrays and paths are simulated in parallel batches, each one with its own
+ * split of a {@link SplittableRandom}, until all simulations are done or the time budget runs out.
+ * Results are cached by the holdings, prices and volatilities they were simulated from, and only when
+ * every simulation was done, so a result cut short by a busy machine is not served afterwards.
+ */
+@Slf4j
+@Service
+public class RiskService {
+
+    private static final int BATCH_SIZE = 1_000;
+
+    private final String horizon;
+    private final int simulations;
+    private final double marketCorrelation;
+    private final double defaultVolatility;
+    private final Duration timeBudget;
+    private final UserCryptoService userCryptoService;
+    private final CryptoService cryptoService;
+    private final PlatformService platformService;
+    private final RollingStatisticsService rollingStatisticsService;
+    private final CacheManager cacheManager;
+
+    public RiskService(@Value("${risk.horizon}") String horizon,
+                       @Value("${risk.simulations}") int simulations,
+                       @Value("${risk.market-correlation}") double marketCorrelation,
+                       @Value("${risk.default-volatility}") double defaultVolatility,
+                       @Value("${risk.time-budget}") Duration timeBudget,
+                       UserCryptoService userCryptoService,
+                       CryptoService cryptoService,
+                       PlatformService platformService,
+                       RollingStatisticsService rollingStatisticsService,
+                       CacheManager cacheManager) {
+        this.horizon = horizon;
+        this.simulations = simulations;
+        this.marketCorrelation = marketCorrelation;
+        this.defaultVolatility = defaultVolatility;
+        this.timeBudget = timeBudget;
+        this.userCryptoService = userCryptoService;
+        this.cryptoService = cryptoService;
+        this.platformService = platformService;
+        this.rollingStatisticsService = rollingStatisticsService;
+        this.cacheManager = cacheManager;
+    }
+
+    public RiskInsightsResponse retrieveRiskInsights(BigDecimal confidence) {
+        log.info("Retrieving risk insights with confidence {}", confidence);
+
+        var userCryptos = userCryptoService.findAll();
+
+        if (userCryptos.isEmpty()) {
+            return RiskInsightsResponse.empty(horizon, confidence.floatValue());
+        }
+
+        var portfolio = getPortfolio(userCryptos);
+        var riskKey = new RiskKey(portfolio.holdings(), portfolio.prices(), confidence.doubleValue());
+        var cache = cacheManager.getCache(RISK_INSIGHTS_CACHE);
+        var cachedRiskInsights = cache.get(riskKey, RiskInsightsResponse.class);
+
+        if (cachedRiskInsights != null) {
+            return cachedRiskInsights;
+        }
+
+        var riskInsights = simulate(portfolio, riskKey.confidence());
+
+        if (riskInsights.simulations() == simulations) {
+            cache.put(riskKey, riskInsights);
+        }
+
+        return riskInsights;
+    }
+
+    public StressScenarioResponse retrieveStressScenario(StressScenarioRequest stressScenarioRequest) {
+        log.info("Retrieving stress scenario for {}", stressScenarioRequest);
+
+        var userCryptos = userCryptoService.findAll();
+
+        if (userCryptos.isEmpty()) {
+            return StressScenarioResponse.empty();
+        }
+
+        var portfolio = getPortfolio(userCryptos);
+        var cryptosChanges = new double[portfolio.cryptosIds().length];
+        var cryptosProfitAndLoss = new double[portfolio.cryptosIds().length];
+        var platformsProfitAndLoss = new double[portfolio.platformsNames().length];
+
+        for (int crypto = 0; crypto < cryptosChanges.length; crypto++) {
+            cryptosChanges[crypto] = stressScenarioRequest.shockFor(portfolio.cryptosIds()[crypto]).doubleValue() / 100;
+            cryptosProfitAndLoss[crypto] = portfolio.cryptosValues()[crypto] * cryptosChanges[crypto];
+        }
+
+        for (int position = 0; position < portfolio.positionsValues().length; position++) {
+            platformsProfitAndLoss[portfolio.positionsPlatforms()[position]] +=
+                portfolio.positionsValues()[position] * cryptosChanges[portfolio.positionsCryptos()[position]];
+        }
+
+        var totalValue = Arrays.stream(portfolio.cryptosValues()).sum();
+        var totalProfitAndLoss = Arrays.stream(cryptosProfitAndLoss).sum();
+
+        return new StressScenarioResponse(
+            toUSD(totalValue),
+            toUSD(totalValue + totalProfitAndLoss),
+            toUSD(totalProfitAndLoss),
+            toStressImpacts(portfolio.platformsNames(), portfolio.platformsValues(), platformsProfitAndLoss),
+            toStressImpacts(portfolio.cryptosNames(), portfolio.cryptosValues(), cryptosProfitAndLoss)
+        );
+    }
+
+    private RiskInsightsResponse simulate(Portfolio portfolio, double confidence) {
+        var startedAt = System.nanoTime();
+        var deadline = startedAt + timeBudget.toNanos();
+        var batches = (simulations + BATCH_SIZE - 1) / BATCH_SIZE;
+        var random = new SplittableRandom(Objects.hash(portfolio.holdings(), portfolio.prices()));
+        var randoms = Stream.generate(random::split).limit(batches).toList();
+        var completed = new boolean[batches];
+        var totalLosses = new double[simulations];
+        var cryptosLosses = new double[portfolio.cryptosIds().length][simulations];
+        var platformsLosses = new double[portfolio.platformsNames().length][simulations];
+
+        IntStream.range(0, batches)
+            .parallel()
+            .filter(batch -> batch == 0 || System.nanoTime() < deadline)
+            .forEach(batch -> {
+                var from = batch * BATCH_SIZE;
+                var to = Math.min(from + BATCH_SIZE, simulations);
+
+                simulateBatch(portfolio, randoms.get(batch), from, to, totalLosses, cryptosLosses, platformsLosses);
+                completed[batch] = true;
+            });
+
+        var simulated = IntStream.range(0, batches)
+            .filter(batch -> completed[batch])
+            .map(batch -> Math.min(BATCH_SIZE, simulations - batch * BATCH_SIZE))
+            .sum();
+
+        log.info("Simulated {} of {} path(s) in {}ms", simulated, simulations, Duration.ofNanos(System.nanoTime() - startedAt).toMillis());
+
+        var totalTail = tail(compact(totalLosses, completed, simulated), confidence);
+
+        return new RiskInsightsResponse(
+            horizon,
+            (float) confidence,
+            simulated,
+            toUSD(Arrays.stream(portfolio.cryptosValues()).sum()),
+            toUSD(totalTail[0]),
+            toUSD(totalTail[1]),
+            toRiskInsights(portfolio.platformsNames(), portfolio.platformsValues(), platformsLosses, completed, simulated, confidence),
+            toRiskInsights(portfolio.cryptosNames(), portfolio.cryptosValues(), cryptosLosses, completed, simulated, confidence)
+        );
+    }
+
+    private void simulateBatch(Portfolio portfolio,
+                               SplittableRandom random,
+                               int from,
+                               int to,
+                               double[] totalLosses,
+                               double[][] cryptosLosses,
+                               double[][] platformsLosses) {
+        var marketWeight = Math.sqrt(marketCorrelation);
+        var cryptoWeight = Math.sqrt(1 - marketCorrelation);
+        var volatilities = portfolio.volatilities();
+        var cryptosValues = portfolio.cryptosValues();
+        var positionsCryptos = portfolio.positionsCryptos();
+        var positionsPlatforms = portfolio.positionsPlatforms();
+        var positionsValues = portfolio.positionsValues();
+        var returns = new double[volatilities.length];
+
+        for (int path = from; path < to; path++) {
+            var marketShock = random.nextGaussian();
+            var totalLoss = 0D;
+
+            for (int crypto = 0; crypto < volatilities.length; crypto++) {
+                var volatility = volatilities[crypto];
+                var shock = marketWeight * marketShock + cryptoWeight * random.nextGaussian();
+                returns[crypto] = Math.expm1(volatility * shock - volatility * volatility / 2);
+
+                var loss = -cryptosValues[crypto] * returns[crypto];
+                cryptosLosses[crypto][path] = loss;
+                totalLoss += loss;
+            }
+
+            totalLosses[path] = totalLoss;
+
+            for (int position = 0; position < positionsValues.length; position++) {
+                platformsLosses[positionsPlatforms[position]][path] -= positionsValues[position] * returns[positionsCryptos[position]];
+            }
+        }
+    }
+
+    private Portfolio getPortfolio(List<UserCrypto> userCryptos) {
+        var sortedUserCryptos = userCryptos.stream().sorted(Comparator.comparing(UserCrypto::getId)).toList();
+        var cryptosIds = sortedUserCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).distinct().sorted().toList();
+        var platformsIds = sortedUserCryptos.stream().map(userCrypto -> userCrypto.getPlatform().getId()).distinct().sorted().toList();
+        var cryptos = cryptoService.findAllByIds(cryptosIds)
+            .stream()
+            .collect(Collectors.toMap(Crypto::getId, Function.identity()));
+        var platformsNames = platformService.findAllByIds(platformsIds)
+            .stream()
+            .collect(Collectors.toMap(Platform::getId, Platform::getName));
+
+        var cryptosIndexes = indexes(cryptosIds);
+        var platformsIndexes = indexes(platformsIds);
+        var cryptosNames = new String[cryptosIds.size()];
+        var prices = new double[cryptosIds.size()];
+        var volatilities = new double[cryptosIds.size()];
+        var cryptosValues = new double[cryptosIds.size()];
+        var platformsValues = new double[platformsIds.size()];
+        var positionsCryptos = new int[sortedUserCryptos.size()];
+        var positionsPlatforms = new int[sortedUserCryptos.size()];
+        var positionsValues = new double[sortedUserCryptos.size()];
+
+        for (int crypto = 0; crypto < cryptosIds.size(); crypto++) {
+            var cryptoId = cryptosIds.get(crypto);
+            var cryptoEntity = cryptos.get(cryptoId);
+
+            cryptosNames[crypto] = cryptoEntity == null ? cryptoId : cryptoEntity.getCryptoInfo().getName();
+            prices[crypto] = cryptoEntity == null ? 0 : cryptoEntity.getLastKnownPrices().getLastKnownPrice().doubleValue();
+            volatilities[crypto] = getVolatility(cryptoId);
+        }
+
+        for (int position = 0; position < sortedUserCryptos.size(); position++) {
+            var userCrypto = sortedUserCryptos.get(position);
+            var crypto = cryptosIndexes.get(userCrypto.getCrypto().getId());
+            var platform = platformsIndexes.get(userCrypto.getPlatform().getId());
+            var value = userCrypto.getQuantity().doubleValue() * prices[crypto];
+
+            positionsCryptos[position] = crypto;
+            positionsPlatforms[position] = platform;
+            positionsValues[position] = value;
+            cryptosValues[crypto] += value;
+            platformsValues[platform] += value;
+        }
+
+        var holdings = sortedUserCryptos.stream()
+            .map(userCrypto -> String.join(":",
+                userCrypto.getId(),
+                userCrypto.getCrypto().getId(),
+                userCrypto.getPlatform().getId(),
+                userCrypto.getQuantity().stripTrailingZeros().toPlainString()
+            ))
+            .toList();
+        var pricesAndVolatilities = IntStream.range(0, cryptosIds.size())
+            .mapToObj(crypto -> String.join(":", cryptosIds.get(crypto), Double.toString(prices[crypto]), Double.toString(volatilities[crypto])))
+            .toList();
+
+        return new Portfolio(
+            cryptosIds.toArray(String[]::new),
+            cryptosNames,
+            cryptosValues,
+            volatilities,
+            platformsIds.stream().map(platformId -> platformsNames.getOrDefault(platformId, platformId)).toArray(String[]::new),
+            platformsValues,
+            positionsCryptos,
+            positionsPlatforms,
+            positionsValues,
+            holdings,
+            pricesAndVolatilities
+        );
+    }
+
+    /**
+     * Volatility of the crypto over the horizon. The rolling statistics hold the deviation between
+     * consecutive prices, so it is scaled by the square root of the returns in the window.
+     */
+    private double getVolatility(String coingeckoCryptoId) {
+        return rollingStatisticsService.retrieveStatistics(coingeckoCryptoId)
+            .stream()
+            .filter(statistics -> horizon.equals(statistics.window()) && statistics.samples() > 2)
+            .findFirst()
+            .map(statistics -> statistics.standardDeviation().doubleValue() / 100 * Math.sqrt(statistics.samples() - 1))
+            .orElse(defaultVolatility);
+    }
+
+    private List<RiskInsight> toRiskInsights(String[] names,
+                                             double[] values,
+                                             double[][] losses,
+                                             boolean[] completed,
+                                             int simulated,
+                                             double confidence) {
+        return IntStream.range(0, names.length)
+            .boxed()
+            .sorted(Comparator.comparingDouble(index -> -values[index]))
+            .map(index -> {
+                var tail = tail(compact(losses[index], completed, simulated), confidence);
+
+                return new RiskInsight(names[index], toUSD(values[index]), toUSD(tail[0]), toUSD(tail[1]));
+            })
+            .toList();
+    }
+
+    private List<StressImpact> toStressImpacts(String[] names, double[] values, double[] profitAndLoss) {
+        return IntStream.range(0, names.length)
+            .boxed()
+            .sorted(Comparator.comparingDouble(index -> -values[index]))
+            .map(index -> new StressImpact(
+                names[index],
+                toUSD(values[index]),
+                toUSD(values[index] + profitAndLoss[index]),
+                toUSD(profitAndLoss[index])
+            ))
+            .toList();
+    }
+
+    private double[] compact(double[] losses, boolean[] completed, int simulated) {
+        if (simulated == losses.length) {
+            return losses;
+        }
+
+        var compacted = new double[simulated];
+        var position = 0;
+
+        for (int batch = 0; batch < completed.length; batch++) {
+            if (completed[batch]) {
+                var from = batch * BATCH_SIZE;
+                var length = Math.min(BATCH_SIZE, losses.length - from);
+
+                System.arraycopy(losses, from, compacted, position, length);
+                position += length;
+            }
+        }
+
+        return compacted;
+    }
+
+    /**
+     * Value at risk and conditional value at risk of the simulated losses, which are sorted in place.
+     */
+    private double[] tail(double[] losses, double confidence) {
+        Arrays.sort(losses);
+
+        var index = Math.min(losses.length - 1, (int) Math.ceil(confidence * losses.length) - 1);
+        var tailLoss = 0D;
+
+        for (int i = index; i < losses.length; i++) {
+            tailLoss += losses[i];
+        }
+
+        return new double[]{losses[index], tailLoss / (losses.length - index)};
+    }
+
+    private Map<String, Integer> indexes(List<String> ids) {
+        return IntStream.range(0, ids.size())
+            .boxed()
+            .collect(Collectors.toMap(ids::get, Function.identity()));
+    }
+
+    private String toUSD(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP).toPlainString();
+    }
+
+    private record Portfolio(
+        String[] cryptosIds,
+        String[] cryptosNames,
+        double[] cryptosValues,
+        double[] volatilities,
+        String[] platformsNames,
+        double[] platformsValues,
+        int[] positionsCryptos,
+        int[] positionsPlatforms,
+        double[] positionsValues,
+        List<String> holdings,
+        List<String> prices
+    ) {
+    }
+}
@@ -0,0 +1,297 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.model.response.insights.RollingStatistics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mean log return, standard deviation and max drawdown of the USD price of every crypto over the
+ * configured windows. Statistics are updated as prices arrive and the last computed values are served,
+ * so no price history is read at request time. The first tick of a crypto seeds its windows from the
+ * price history.
+ */
+@Slf4j
+@Service
+public class RollingStatisticsService {
+
+    private final List<Duration> windows;
+    private final int maxSamples;
+    private final PriceHistoryService priceHistoryService;
+    private final Clock clock;
+    private final Map<String, CryptoStatistics> statistics = new ConcurrentHashMap<>();
+
+    public RollingStatisticsService(@Value("${rolling-statistics.windows}") List<Duration> windows,
+                                    @Value("${rolling-statistics.max-samples}") int maxSamples,
+                                    PriceHistoryService priceHistoryService,
+                                    Clock clock) {
+        this.windows = windows;
+        this.maxSamples = maxSamples;
+        this.priceHistoryService = priceHistoryService;
+        this.clock = clock;
+    }
+
+    public void updateStatistics(List<Crypto> cryptos) {
+        cryptos.stream()
+            .filter(crypto -> Objects.nonNull(crypto.getLastUpdatedAt()))
+            .forEach(crypto -> retrieveOrSeedStatistics(crypto.getId())
+                .update(crypto.getLastUpdatedAt(), crypto.getLastKnownPrices().getLastKnownPrice()));
+    }
+
+    public List<RollingStatistics> retrieveStatistics(String coingeckoCryptoId) {
+        var cryptoStatistics = statistics.get(coingeckoCryptoId);
+
+        return cryptoStatistics == null ? List.of() : cryptoStatistics.snapshot;
+    }
+
+    /**
+     * Seeding reads the price history, so it runs outside the map instead of inside {@code computeIfAbsent},
+     * which would hold the bin lock of other cryptos during the query. If two ticks race, the first seeded
+     * statistics win and the other ones are discarded.
+     */
+    private CryptoStatistics retrieveOrSeedStatistics(String coingeckoCryptoId) {
+        var cryptoStatistics = statistics.get(coingeckoCryptoId);
+
+        if (cryptoStatistics != null) {
+            return cryptoStatistics;
+        }
+
+        var seededStatistics = seedStatistics(coingeckoCryptoId);
+
+        return Objects.requireNonNullElse(statistics.putIfAbsent(coingeckoCryptoId, seededStatistics), seededStatistics);
+    }
+
+    private CryptoStatistics seedStatistics(String coingeckoCryptoId) {
+        var cryptoStatistics = new CryptoStatistics(windows, maxSamples);
+        var longestWindow = windows.stream().max(Comparator.naturalOrder()).orElse(Duration.ZERO);
+        var now = LocalDateTime.now(clock);
+        var priceHistory = priceHistoryService.retrievePriceHistory(coingeckoCryptoId, now.minus(longestWindow), now);
+
+        log.info("Seeding rolling statistics for {} with {} price(s)", coingeckoCryptoId, priceHistory.size());
+        priceHistory.forEach(price -> cryptoStatistics.update(price.getRecordedAt(), price.getUsd()));
+
+        return cryptoStatistics;
+    }
+
+    private static final class CryptoStatistics {
+
+        private final List<RollingWindow> windows;
+        private long lastTimestamp = Long.MIN_VALUE;
+        private double lastPrice = Double.NaN;
+        private volatile List<RollingStatistics> snapshot = List.of();
+
+        private CryptoStatistics(List<Duration> windows, int maxSamples) {
+            this.windows = windows.stream().map(window -> new RollingWindow(window, maxSamples)).toList();
+        }
+
+        private synchronized void update(LocalDateTime recordedAt, BigDecimal price) {
+            var timestamp = recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli();
+            var currentPrice = price.doubleValue();
+
+            if (timestamp <= lastTimestamp || currentPrice <= 0) {
+                return;
+            }
+
+            var logReturn = Double.isNaN(lastPrice) ? Double.NaN : Math.log(currentPrice / lastPrice);
+            windows.forEach(window -> window.add(timestamp, currentPrice, logReturn));
+
+            lastTimestamp = timestamp;
+            lastPrice = currentPrice;
+            snapshot = windows.stream().map(RollingWindow::toRollingStatistics).toList();
+        }
+    }
+
+    /**
+     * Ring buffer of the samples inside the window. Mean and variance of the returns are kept with
+     * Welford's algorithm, updated on every add and reverted on every eviction, which avoids the cancellation
+     * of {@code sumOfSquares - sum * sum / n} on small log returns.
+     * <p>
+     * Max drawdown is not invertible, so it is kept as a sliding window aggregation over two stacks: the
+     * newest samples are folded into a single back aggregate and, when the oldest one is evicted with an
+     * empty front, the retained samples are moved to the front computing the aggregate of each suffix.
+     * Every sample is moved once, so adds, evictions and reads are amortized O(1).
+     */
+    static final class RollingWindow {
+
+        private final Duration window;
+        private final long windowMillis;
+        private final long[] timestamps;
+        private final double[] prices;
+        private final double[] returns;
+        private final double[] suffixPeaks;
+        private final double[] suffixTroughs;
+        private final double[] suffixDrawdowns;
+        private int head;
+        private int size;
+        private int frontSize;
+        private double backPeak;
+        private double backTrough;
+        private double backDrawdown;
+        private int returnsCount;
+        private double mean;
+        private double squaredDeviations;
+
+        RollingWindow(Duration window, int capacity) {
+            this.window = window;
+            this.windowMillis = window.toMillis();
+            this.timestamps = new long[capacity];
+            this.prices = new double[capacity];
+            this.returns = new double[capacity];
+            this.suffixPeaks = new double[capacity];
+            this.suffixTroughs = new double[capacity];
+            this.suffixDrawdowns = new double[capacity];
+        }
+
+        void add(long timestamp, double price, double logReturn) {
+            while (size > 0 && timestamps[head] <= timestamp - windowMillis) {
+                evict();
+            }
+
+            if (size == timestamps.length) {
+                evict();
+            }
+
+            var tail = (head + size) % timestamps.length;
+            timestamps[tail] = timestamp;
+            prices[tail] = price;
+            returns[tail] = logReturn;
+
+            if (size == frontSize) {
+                backPeak = price;
+                backTrough = price;
+                backDrawdown = 0;
+            } else {
+                backDrawdown = Math.max(backDrawdown, drawdown(backPeak, price));
+                backPeak = Math.max(backPeak, price);
+                backTrough = Math.min(backTrough, price);
+            }
+
+            size++;
+
+            if (!Double.isNaN(logReturn)) {
+                returnsCount++;
+                var delta = logReturn - mean;
+                mean += delta / returnsCount;
+                squaredDeviations += delta * (logReturn - mean);
+            }
+        }
+
+        double mean() {
+            return returnsCount == 0 ? 0 : mean;
+        }
+
+        double standardDeviation() {
+            if (returnsCount < 2) {
+                return 0;
+            }
+
+            return Math.sqrt(Math.max(0, squaredDeviations / (returnsCount - 1)));
+        }
+
+        double maxDrawdown() {
+            if (size == 0) {
+                return 0;
+            }
+
+            if (frontSize == 0) {
+                return backDrawdown;
+            }
+
+            if (frontSize == size) {
+                return suffixDrawdowns[head];
+            }
+
+            return Math.max(
+                Math.max(suffixDrawdowns[head], backDrawdown),
+                drawdown(suffixPeaks[head], backTrough)
+            );
+        }
+
+        RollingStatistics toRollingStatistics() {
+            return new RollingStatistics(
+                format(window),
+                size,
+                toPercentage(mean()),
+                toPercentage(standardDeviation()),
+                toPercentage(maxDrawdown())
+            );
+        }
+
+        private void evict() {
+            if (frontSize == 0) {
+                moveBackToFront();
+            }
+
+            var logReturn = returns[head];
+
+            if (!Double.isNaN(logReturn)) {
+                if (returnsCount == 1) {
+                    mean = 0;
+                    squaredDeviations = 0;
+                } else {
+                    var delta = logReturn - mean;
+                    mean -= delta / (returnsCount - 1);
+                    squaredDeviations -= delta * (logReturn - mean);
+                }
+
+                returnsCount--;
+            }
+
+            head = (head + 1) % timestamps.length;
+            frontSize--;
+            size--;
+        }
+
+        private void moveBackToFront() {
+            var newest = (head + size - 1) % prices.length;
+            suffixPeaks[newest] = prices[newest];
+            suffixTroughs[newest] = prices[newest];
+            suffixDrawdowns[newest] = 0;
+
+            for (int i = size - 2; i >= 0; i--) {
+                var index = (head + i) % prices.length;
+                var next = (index + 1) % prices.length;
+                var price = prices[index];
+
+                suffixPeaks[index] = Math.max(price, suffixPeaks[next]);
+                suffixTroughs[index] = Math.min(price, suffixTroughs[next]);
+                suffixDrawdowns[index] = Math.max(suffixDrawdowns[next], drawdown(price, suffixTroughs[next]));
+            }
+
+            frontSize = size;
+        }
+
+        private static double drawdown(double peak, double price) {
+            return Math.max(0, (peak - price) / peak);
+        }
+
+        private static BigDecimal toPercentage(double value) {
+            return BigDecimal.valueOf(value * 100).setScale(4, RoundingMode.HALF_UP);
+        }
+
+        private static String format(Duration window) {
+            if (window.toDaysPart() > 0 && window.toHoursPart() == 0 && window.toMinutesPart() == 0) {
+                return window.toDays() + "d";
+            }
+
+            if (window.toHours() > 0 && window.toMinutesPart() == 0) {
+                return window.toHours() + "h";
+            }
+
+            return window.toMinutes() + "m";
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.TreeSet;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.DEFAULT_TENANT;
+
+/**
+ * Runs the schedulers that write tenant data once for every tenant. Threads that are not bound to a
+ * tenant act as the root tenant, which would read the data of all of them and stamp what it writes
+ * with the root tenant, so each run is bound to the tenant it works for. A run that fails is logged and
+ * does not stop the runs of the remaining tenants.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TenantService {
+
+    private final UserRepository userRepository;
+
+    public void forEachTenant(Runnable task) {
+        var tenantsIds = new TreeSet<>(userRepository.findAllTenantIds());
+        tenantsIds.add(DEFAULT_TENANT);
+
+        for (var tenantId : tenantsIds) {
+            try {
+                TenantContext.runAs(tenantId, task);
+            } catch (RuntimeException exception) {
+                log.warn("Could not run task for tenant {}", tenantId, exception);
+            }
+        }
+    }
+}
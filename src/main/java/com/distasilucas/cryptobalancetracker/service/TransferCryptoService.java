@@ -1,20 +1,33 @@
 package com.distasilucas.cryptobalancetracker.service;
 
+import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.exception.ApiValidationException;
 import com.distasilucas.cryptobalancetracker.exception.InsufficientBalanceException;
+import com.distasilucas.cryptobalancetracker.exception.PlatformNotFoundException;
+import com.distasilucas.cryptobalancetracker.exception.UserCryptoNotFoundException;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.TransferCryptoResponse;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.PLATFORM_ID_NOT_FOUND;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.SAME_FROM_TO_PLATFORM;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.USER_CRYPTO_ID_NOT_FOUND;
 
 @Slf4j
 @Service
@@ -23,11 +36,87 @@ public class TransferCryptoService {
 
     private final UserCryptoService userCryptoService;
     private final PlatformService platformService;
-
+    private final HoldingsLedgerService holdingsLedgerService;
+    private final CostBasisService costBasisService;
+
+    /**
+     * Transfers a user crypto in one transaction, locking it and the one it is transferred to until it
+     * commits so concurrent transfers of the same user crypto are applied one after the other.
+     */
+    @Transactional
     public TransferCryptoResponse transferCrypto(TransferCryptoRequest transferCryptoRequest) {
         var toPlatform = platformService.retrievePlatformById(transferCryptoRequest.toPlatformId());
-        var userCryptoToTransfer = userCryptoService.findUserCryptoById(transferCryptoRequest.userCryptoId());
-        var fromPlatform = platformService.retrievePlatformById(userCryptoToTransfer.getPlatform().getId());
+        var userCryptosToTransfer = userCryptoService.lockUserCryptosToTransfer(transferCryptoRequest.userCryptoId(), toPlatform.getId());
+        var transfer = transfer(transferCryptoRequest, userCryptosToTransfer.from(), toPlatform, userCryptosToTransfer.to());
+
+        userCryptoService.saveTransferredUserCryptos(transfer.savedUserCryptos(), transfer.deletedUserCryptos());
+
+        return transfer.transferCryptoResponse();
+    }
+
+    /**
+     * Applies the transfers in the order given in one transaction. Every user crypto they might touch is locked
+     * and loaded at once, and each transfer is validated against the quantities left by the previous ones, so
+     * a transfer can send what an earlier one received. User cryptos are written and caches invalidated once
+     * all of them are applied, and none is if any of them fails.
+     */
+    @Transactional
+    public List<TransferCryptoResponse> transferCryptos(List<TransferCryptoRequest> transferCryptoRequests) {
+        var userCryptoIds = transferCryptoRequests.stream().map(TransferCryptoRequest::userCryptoId).collect(Collectors.toSet());
+        var toPlatformIds = transferCryptoRequests.stream().map(TransferCryptoRequest::toPlatformId).collect(Collectors.toSet());
+        var toPlatforms = platformService.findAllByIds(toPlatformIds)
+            .stream()
+            .collect(Collectors.toMap(Platform::getId, Function.identity()));
+        var lockedUserCryptos = userCryptoService.lockAllToTransfer(userCryptoIds, toPlatformIds)
+            .stream()
+            .collect(Collectors.toMap(UserCrypto::getId, Function.identity()));
+        Map<String, UserCrypto> userCryptos = new LinkedHashMap<>(lockedUserCryptos);
+        Map<String, UserCrypto> savedUserCryptos = new LinkedHashMap<>();
+        var deletedUserCryptoIds = new LinkedHashSet<String>();
+        List<TransferCryptoResponse> transferCryptoResponses = new ArrayList<>();
+
+        transferCryptoRequests.forEach(transferCryptoRequest -> {
+            var toPlatform = Optional.ofNullable(toPlatforms.get(transferCryptoRequest.toPlatformId()))
+                .orElseThrow(() -> new PlatformNotFoundException(PLATFORM_ID_NOT_FOUND.formatted(transferCryptoRequest.toPlatformId())));
+            var userCryptoToTransfer = Optional.ofNullable(userCryptos.get(transferCryptoRequest.userCryptoId()))
+                .orElseThrow(() -> new UserCryptoNotFoundException(USER_CRYPTO_ID_NOT_FOUND.formatted(transferCryptoRequest.userCryptoId())));
+            var toPlatformUserCrypto = userCryptos.values()
+                .stream()
+                .filter(userCrypto -> userCrypto.getCrypto().getId().equals(userCryptoToTransfer.getCrypto().getId()))
+                .filter(userCrypto -> userCrypto.getPlatform().getId().equals(toPlatform.getId()))
+                .findFirst();
+            var transfer = transfer(transferCryptoRequest, userCryptoToTransfer, toPlatform, toPlatformUserCrypto);
+
+            transfer.deletedUserCryptos().forEach(userCrypto -> {
+                userCryptos.remove(userCrypto.getId());
+                savedUserCryptos.remove(userCrypto.getId());
+                deletedUserCryptoIds.add(userCrypto.getId());
+            });
+            transfer.savedUserCryptos().forEach(userCrypto -> {
+                userCryptos.put(userCrypto.getId(), userCrypto);
+                savedUserCryptos.put(userCrypto.getId(), userCrypto);
+            });
+            transferCryptoResponses.add(transfer.transferCryptoResponse());
+        });
+
+        var deletedUserCryptos = deletedUserCryptoIds.stream()
+            .filter(lockedUserCryptos::containsKey)
+            .map(lockedUserCryptos::get)
+            .toList();
+        userCryptoService.saveTransferredUserCryptos(new ArrayList<>(savedUserCryptos.values()), deletedUserCryptos);
+
+        log.info("Applied {} transfers of {} user cryptos", transferCryptoRequests.size(), userCryptoIds.size());
+
+        return transferCryptoResponses;
+    }
+
+    private Transfer transfer(
+        TransferCryptoRequest transferCryptoRequest,
+        UserCrypto userCryptoToTransfer,
+        Platform toPlatform,
+        Optional<UserCrypto> toPlatformOptionalUserCrypto
+    ) {
+        var fromPlatform = userCryptoToTransfer.getPlatform();
 
         if (isToAndFromSamePlatform(toPlatform.getId(), fromPlatform.getId())) {
             throw new ApiValidationException(HttpStatus.BAD_REQUEST, SAME_FROM_TO_PLATFORM);
@@ -42,11 +131,11 @@ public class TransferCryptoService {
 
         var remainingCryptoQuantity = transferCryptoRequest.calculateRemainingCryptoQuantity(availableQuantity);
         var quantityToSendReceive = transferCryptoRequest.calculateQuantityToSendReceive(remainingCryptoQuantity, availableQuantity);
-        var toPlatformOptionalUserCrypto = userCryptoService.findByCoingeckoCryptoIdAndPlatformId(
-            userCryptoToTransfer.getCrypto().getId(),
-            transferCryptoRequest.toPlatformId()
-        );
+        var movedQuantity = quantityToSendReceive.max(BigDecimal.ZERO);
+        var spentQuantity = availableQuantity.subtract(remainingCryptoQuantity).subtract(movedQuantity);
 
+        List<UserCrypto> savedUserCryptos = List.of();
+        List<UserCrypto> deletedUserCryptos = List.of();
         TransferCryptoResponse transferCryptoResponse = null;
 
         if (doesFromPlatformHaveRemaining(remainingCryptoQuantity) && toPlatformOptionalUserCrypto.isPresent()) {
@@ -55,7 +144,9 @@ public class TransferCryptoService {
             var updatedFromPlatformUserCrypto = userCryptoToTransfer.withQuantity(remainingCryptoQuantity);
             var updatedToPlatformUserCrypto = toPlatformUserCrypto.withQuantity(newQuantity);
 
-            userCryptoService.saveOrUpdateAll(List.of(updatedFromPlatformUserCrypto, updatedToPlatformUserCrypto));
+            savedUserCryptos = List.of(updatedFromPlatformUserCrypto, updatedToPlatformUserCrypto);
+            holdingsLedgerService.recordTransfer(updatedFromPlatformUserCrypto, updatedToPlatformUserCrypto, transferCryptoRequest.networkFee());
+            costBasisService.transferLots(userCryptoToTransfer, toPlatformUserCrypto.getId(), movedQuantity, spentQuantity);
 
             transferCryptoResponse = transferCryptoRequest.toTransferCryptoResponse(
                 remainingCryptoQuantity,
@@ -75,15 +166,20 @@ public class TransferCryptoService {
             var updatedUserCryptoToTransfer = userCryptoToTransfer.withQuantity(remainingCryptoQuantity);
 
             if (Boolean.TRUE.equals(transferCryptoRequest.sendFullQuantity())) {
-                userCryptoService.saveOrUpdateAll(List.of(updatedUserCryptoToTransfer, toPlatformUserCrypto));
+                savedUserCryptos = List.of(updatedUserCryptoToTransfer, toPlatformUserCrypto);
+                holdingsLedgerService.recordTransfer(updatedUserCryptoToTransfer, toPlatformUserCrypto, transferCryptoRequest.networkFee());
             } else {
                 if (quantityToSendReceive.compareTo(BigDecimal.ZERO) > 0) {
-                    userCryptoService.saveOrUpdateAll(List.of(updatedUserCryptoToTransfer, toPlatformUserCrypto));
+                    savedUserCryptos = List.of(updatedUserCryptoToTransfer, toPlatformUserCrypto);
+                    holdingsLedgerService.recordTransfer(updatedUserCryptoToTransfer, toPlatformUserCrypto, transferCryptoRequest.networkFee());
                 } else {
-                    userCryptoService.saveOrUpdateAll(List.of(updatedUserCryptoToTransfer));
+                    savedUserCryptos = List.of(updatedUserCryptoToTransfer);
+                    holdingsLedgerService.recordTransfer(updatedUserCryptoToTransfer, null, transferCryptoRequest.networkFee());
                 }
             }
 
+            costBasisService.transferLots(userCryptoToTransfer, uuid, movedQuantity, spentQuantity);
+
             transferCryptoResponse = transferCryptoRequest.toTransferCryptoResponse(
                 remainingCryptoQuantity,
                 quantityToSendReceive,
@@ -97,8 +193,14 @@ public class TransferCryptoService {
 
             var updatedToPlatformUserCrypto = toPlatformUserCrypto.withQuantity(newQuantity);
 
-            userCryptoService.deleteUserCrypto(userCryptoToTransfer.getId());
-            userCryptoService.saveOrUpdateAll(List.of(updatedToPlatformUserCrypto));
+            savedUserCryptos = List.of(updatedToPlatformUserCrypto);
+            deletedUserCryptos = List.of(userCryptoToTransfer);
+            holdingsLedgerService.recordTransfer(
+                userCryptoToTransfer.withQuantity(BigDecimal.ZERO),
+                updatedToPlatformUserCrypto,
+                transferCryptoRequest.networkFee()
+            );
+            costBasisService.transferLots(userCryptoToTransfer, toPlatformUserCrypto.getId(), movedQuantity, spentQuantity);
 
             transferCryptoResponse = transferCryptoRequest.toTransferCryptoResponse(
                 remainingCryptoQuantity,
@@ -116,11 +218,14 @@ public class TransferCryptoService {
             );
 
             if (updatedFromPlatformUserCrypto.getQuantity().compareTo(BigDecimal.ZERO) > 0) {
-                userCryptoService.saveOrUpdateAll(List.of(updatedFromPlatformUserCrypto));
+                savedUserCryptos = List.of(updatedFromPlatformUserCrypto);
             } else {
-                userCryptoService.deleteUserCrypto(updatedFromPlatformUserCrypto.getId());
+                deletedUserCryptos = List.of(userCryptoToTransfer);
             }
 
+            holdingsLedgerService.recordTransfer(updatedFromPlatformUserCrypto, null, transferCryptoRequest.networkFee());
+            costBasisService.transferLots(userCryptoToTransfer, userCryptoToTransfer.getId(), movedQuantity, spentQuantity);
+
             transferCryptoResponse = transferCryptoRequest.toTransferCryptoResponse(
                 remainingCryptoQuantity,
                 quantityToSendReceive,
@@ -130,7 +235,7 @@ public class TransferCryptoService {
 
         log.info("Transferred {} of {} from platform {} to {}", quantityToTransfer, userCryptoToTransfer.getCrypto().getId(), fromPlatform.getName(), toPlatform.getName());
 
-        return transferCryptoResponse;
+        return new Transfer(savedUserCryptos, deletedUserCryptos, transferCryptoResponse);
     }
 
     private boolean isToAndFromSamePlatform(String toPlatformId, String fromPlatformId) {
@@ -140,4 +245,11 @@ public class TransferCryptoService {
     private boolean doesFromPlatformHaveRemaining(BigDecimal remainingCryptoQuantity) {
         return remainingCryptoQuantity.compareTo(BigDecimal.ZERO) > 0;
     }
+
+    private record Transfer(
+        List<UserCrypto> savedUserCryptos,
+        List<UserCrypto> deletedUserCryptos,
+        TransferCryptoResponse transferCryptoResponse
+    ) {
+    }
 }
@@ -0,0 +1,428 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.Platform;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.exception.ApiValidationException;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.model.ImportFormat;
+import com.distasilucas.cryptobalancetracker.model.request.usercrypto.UserCryptoRequest;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptoError;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptosResponse;
+import com.distasilucas.cryptobalancetracker.repository.UserCryptoRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.COINGECKO_CRYPTO_NOT_FOUND;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.CRYPTO_INFO_UNAVAILABLE;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.DUPLICATED_CRYPTO_PLATFORM;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.IMPORT_ROW_NOT_SAVED;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.INVALID_IMPORT_QUANTITY;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.INVALID_IMPORT_ROW_JSON;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.INVALID_IMPORT_ROW_VALUES;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.MISSING_IMPORT_COLUMNS;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.PLATFORM_ID_NOT_FOUND;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.TOO_MANY_IMPORT_ROWS;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.GOALS_CACHES;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.INSIGHTS_CACHES;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.USER_CRYPTOS_CACHES;
+
+/**
+ * Imports user cryptos from a CSV or NDJSON upload. The upload is read line by line, so only its parsed rows
+ * are held in memory, and then imported in chunks. Each chunk looks up all its crypto names in the coin
+ * catalog at once and stores the cryptos that are new together, outside any transaction as Coingecko may be
+ * called for them. Then it inserts its user cryptos in JDBC batches in a transaction of its own, so a chunk
+ * that fails to be saved doesn't roll back the others. Rows that can't be imported are reported with their
+ * line number and don't stop the rest from being imported. Caches are invalidated once, after the last chunk.
+ */
+@Slf4j
+@Service
+public class UserCryptoImportService {
+
+    private static final List<String> CSV_COLUMNS = List.of("cryptoName", "quantity", "platformId");
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final int maxRows;
+    private final int chunkSize;
+    private final UserCryptoRepository userCryptoRepository;
+    private final CoinCatalogService coinCatalogService;
+    private final CryptoService cryptoService;
+    private final PlatformService platformService;
+    private final HoldingsLedgerService holdingsLedgerService;
+    private final ReturnsService returnsService;
+    private final CostBasisService costBasisService;
+    private final CacheService cacheService;
+    private final PortfolioSummaryService portfolioSummaryService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+
+    public UserCryptoImportService(@Value("${user-crypto-import.max-rows}") int maxRows,
+                                   @Value("${user-crypto-import.chunk-size}") int chunkSize,
+                                   UserCryptoRepository userCryptoRepository,
+                                   CoinCatalogService coinCatalogService,
+                                   CryptoService cryptoService,
+                                   PlatformService platformService,
+                                   HoldingsLedgerService holdingsLedgerService,
+                                   ReturnsService returnsService,
+                                   CostBasisService costBasisService,
+                                   CacheService cacheService,
+                                   PortfolioSummaryService portfolioSummaryService,
+                                   PlatformTransactionManager transactionManager,
+                                   ObjectMapper objectMapper,
+                                   Validator validator) {
+        this.maxRows = maxRows;
+        this.chunkSize = chunkSize;
+        this.userCryptoRepository = userCryptoRepository;
+        this.coinCatalogService = coinCatalogService;
+        this.cryptoService = cryptoService;
+        this.platformService = platformService;
+        this.holdingsLedgerService = holdingsLedgerService;
+        this.returnsService = returnsService;
+        this.costBasisService = costBasisService;
+        this.cacheService = cacheService;
+        this.portfolioSummaryService = portfolioSummaryService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+    }
+
+    /**
+     * Rows are validated like the ones saved one by one, and a crypto can only be imported once per platform,
+     * whether it was already held there or is repeated in the upload. An upload with more rows than allowed,
+     * or a CSV upload without the expected header, is rejected as a whole before any row is imported.
+     */
+    public ImportUserCryptosResponse importUserCryptos(InputStream userCryptos, ImportFormat format) {
+        List<ImportUserCryptoError> errors = new ArrayList<>();
+        var rows = readRows(userCryptos, format, errors);
+        Set<String> importedCryptosPlatforms = new HashSet<>();
+        var importedUserCryptos = 0;
+
+        try {
+            for (int from = 0; from < rows.size(); from += chunkSize) {
+                var chunk = rows.subList(from, Math.min(from + chunkSize, rows.size()));
+                importedUserCryptos += importChunk(chunk, importedCryptosPlatforms, errors);
+            }
+        } finally {
+            if (importedUserCryptos > 0) {
+                cacheService.invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+                portfolioSummaryService.requestRefresh();
+            }
+        }
+
+        errors.sort(Comparator.comparingLong(ImportUserCryptoError::line));
+        log.info("Imported {} user crypto(s). {} error(s) found", importedUserCryptos, errors.size());
+
+        return new ImportUserCryptosResponse(importedUserCryptos, errors);
+    }
+
+    private List<ImportRow> readRows(InputStream userCryptos, ImportFormat format, List<ImportUserCryptoError> errors) {
+        List<ImportRow> importRows = new ArrayList<>();
+        Function<String, UserCryptoRequest> rowParser = format == ImportFormat.NDJSON ? this::parseJsonRow : null;
+        var line = 0L;
+        var rows = 0;
+
+        try (var reader = new BufferedReader(new InputStreamReader(userCryptos, StandardCharsets.UTF_8))) {
+            String row;
+
+            while ((row = reader.readLine()) != null) {
+                line++;
+
+                if (line == 1) {
+                    row = row.replace(BYTE_ORDER_MARK, "");
+                }
+
+                if (row.isBlank()) {
+                    continue;
+                }
+
+                if (rowParser == null) {
+                    rowParser = csvRowParser(row);
+                    continue;
+                }
+
+                if (++rows > maxRows) {
+                    throw new ApiValidationException(HttpStatus.BAD_REQUEST, TOO_MANY_IMPORT_ROWS.formatted(maxRows));
+                }
+
+                parseRow(line, row, rowParser, errors).ifPresent(importRows::add);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+
+        if (rowParser == null) {
+            throw new ApiValidationException(HttpStatus.BAD_REQUEST, MISSING_IMPORT_COLUMNS.formatted(String.join(", ", CSV_COLUMNS)));
+        }
+
+        return importRows;
+    }
+
+    private Optional<ImportRow> parseRow(long line,
+                                                   String row,
+                                                   Function<String, UserCryptoRequest> rowParser,
+                                                   List<ImportUserCryptoError> errors) {
+        try {
+            var userCryptoRequest = rowParser.apply(row);
+            var violations = validator.validate(userCryptoRequest)
+                .stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .toList();
+
+            if (violations.isEmpty()) {
+                return Optional.of(new ImportRow(line, userCryptoRequest));
+            }
+
+            violations.forEach(violation -> errors.add(new ImportUserCryptoError(line, violation)));
+        } catch (IllegalArgumentException exception) {
+            errors.add(new ImportUserCryptoError(line, exception.getMessage()));
+        }
+
+        return Optional.empty();
+    }
+
+    private Function<String, UserCryptoRequest> csvRowParser(String header) {
+        var columns = splitCsvRow(header)
+            .stream()
+            .map(String::toLowerCase)
+            .toList();
+        var indexes = CSV_COLUMNS.stream()
+            .map(column -> columns.indexOf(column.toLowerCase()))
+            .toList();
+
+        if (indexes.contains(-1)) {
+            throw new ApiValidationException(HttpStatus.BAD_REQUEST, MISSING_IMPORT_COLUMNS.formatted(String.join(", ", CSV_COLUMNS)));
+        }
+
+        return row -> {
+            var values = splitCsvRow(row);
+
+            if (values.size() != columns.size()) {
+                throw new IllegalArgumentException(INVALID_IMPORT_ROW_VALUES.formatted(columns.size()));
+            }
+
+            return new UserCryptoRequest(values.get(indexes.get(0)), parseQuantity(values.get(indexes.get(1))), values.get(indexes.get(2)));
+        };
+    }
+
+    private UserCryptoRequest parseJsonRow(String row) {
+        try {
+            return objectMapper.readValue(row, UserCryptoRequest.class);
+        } catch (JsonProcessingException exception) {
+            throw new IllegalArgumentException(INVALID_IMPORT_ROW_JSON);
+        }
+    }
+
+    private BigDecimal parseQuantity(String quantity) {
+        if (quantity.isEmpty()) {
+            return null;
+        }
+
+        try {
+            return new BigDecimal(quantity);
+        } catch (NumberFormatException exception) {
+            throw new IllegalArgumentException(INVALID_IMPORT_QUANTITY.formatted(quantity));
+        }
+    }
+
+    /**
+     * Splits a CSV row into its values. Values can be quoted to hold commas, with quotes inside them doubled.
+     */
+    private List<String> splitCsvRow(String row) {
+        List<String> values = new ArrayList<>();
+        var value = new StringBuilder();
+        var quoted = false;
+
+        for (int index = 0; index < row.length(); index++) {
+            var character = row.charAt(index);
+
+            if (character == '"' && quoted && index + 1 < row.length() && row.charAt(index + 1) == '"') {
+                value.append(character);
+                index++;
+            } else if (character == '"') {
+                quoted = !quoted;
+            } else if (character == ',' && !quoted) {
+                values.add(value.toString().strip());
+                value.setLength(0);
+            } else {
+                value.append(character);
+            }
+        }
+
+        values.add(value.toString().strip());
+
+        return values;
+    }
+
+    private int importChunk(List<ImportRow> rows, Set<String> importedCryptosPlatforms, List<ImportUserCryptoError> errors) {
+        var cryptoNames = rows.stream()
+            .map(row -> row.userCryptoRequest().cryptoName())
+            .collect(Collectors.toSet());
+        var platformIds = rows.stream()
+            .map(row -> row.userCryptoRequest().platformId())
+            .collect(Collectors.toSet());
+        var coingeckoCryptos = coinCatalogService.findAllByNamesOrIds(cryptoNames);
+        var platforms = platformService.findAllByIds(platformIds)
+            .stream()
+            .collect(Collectors.toMap(Platform::getId, Function.identity()));
+        List<ResolvedImportRow> resolvedRows = new ArrayList<>();
+
+        rows.forEach(row -> {
+            var cryptoName = row.userCryptoRequest().cryptoName();
+            var platformId = row.userCryptoRequest().platformId();
+            var coingeckoCrypto = coingeckoCryptos.get(cryptoName.toLowerCase());
+            var platform = platforms.get(platformId);
+
+            if (coingeckoCrypto == null) {
+                errors.add(new ImportUserCryptoError(row.line(), COINGECKO_CRYPTO_NOT_FOUND.formatted(cryptoName)));
+            } else if (platform == null) {
+                errors.add(new ImportUserCryptoError(row.line(), PLATFORM_ID_NOT_FOUND.formatted(platformId)));
+            } else {
+                resolvedRows.add(new ResolvedImportRow(row.line(), row.userCryptoRequest().quantity(), coingeckoCrypto, platform));
+            }
+        });
+
+        if (resolvedRows.isEmpty()) {
+            return 0;
+        }
+
+        var coingeckoCryptoIds = resolvedRows.stream()
+            .map(row -> row.coingeckoCrypto().id())
+            .collect(Collectors.toSet());
+        var cryptos = cryptoService.retrieveCryptosInfoByIds(coingeckoCryptoIds)
+            .stream()
+            .collect(Collectors.toMap(Crypto::getId, Function.identity()));
+        List<ResolvedImportRow> availableRows = new ArrayList<>();
+
+        resolvedRows.forEach(row -> {
+            if (cryptos.containsKey(row.coingeckoCrypto().id())) {
+                availableRows.add(row);
+            } else {
+                errors.add(new ImportUserCryptoError(row.line(), CRYPTO_INFO_UNAVAILABLE.formatted(row.coingeckoCrypto().name())));
+            }
+        });
+
+        if (availableRows.isEmpty()) {
+            return 0;
+        }
+
+        List<ImportUserCryptoError> chunkErrors = new ArrayList<>();
+        Set<String> chunkCryptosPlatforms = new HashSet<>();
+
+        try {
+            int insertedUserCryptos = transactionTemplate.execute(status ->
+                saveChunk(availableRows, cryptos, importedCryptosPlatforms, chunkCryptosPlatforms, chunkErrors));
+
+            errors.addAll(chunkErrors);
+            importedCryptosPlatforms.addAll(chunkCryptosPlatforms);
+            log.info("Imported chunk of {} row(s). Inserted {} user crypto(s)", rows.size(), insertedUserCryptos);
+
+            return insertedUserCryptos;
+        } catch (DataAccessException exception) {
+            log.warn("Could not save chunk of {} row(s)", rows.size(), exception);
+            availableRows.forEach(row -> {
+                var message = IMPORT_ROW_NOT_SAVED.formatted(row.coingeckoCrypto().name(), row.platform().getName());
+                errors.add(new ImportUserCryptoError(row.line(), message));
+            });
+
+            return 0;
+        }
+    }
+
+    private int saveChunk(List<ResolvedImportRow> rows,
+                          Map<String, Crypto> cryptos,
+                          Set<String> importedCryptosPlatforms,
+                          Set<String> chunkCryptosPlatforms,
+                          List<ImportUserCryptoError> errors) {
+        var coingeckoCryptoIds = cryptos.keySet();
+        var platformIds = rows.stream()
+            .map(row -> row.platform().getId())
+            .collect(Collectors.toSet());
+        var heldCryptosPlatforms = userCryptoRepository.findAllByCoingeckoCryptoIdsAndPlatformIds(coingeckoCryptoIds, platformIds)
+            .stream()
+            .map(userCrypto -> cryptoPlatformKey(userCrypto.getCrypto().getId(), userCrypto.getPlatform().getId()))
+            .collect(Collectors.toSet());
+        List<PendingUserCrypto> pendingUserCryptos = new ArrayList<>();
+
+        rows.forEach(row -> {
+            var coingeckoCrypto = row.coingeckoCrypto();
+            var cryptoPlatform = cryptoPlatformKey(coingeckoCrypto.id(), row.platform().getId());
+
+            if (heldCryptosPlatforms.contains(cryptoPlatform) || importedCryptosPlatforms.contains(cryptoPlatform)
+                || !chunkCryptosPlatforms.add(cryptoPlatform)) {
+                var message = DUPLICATED_CRYPTO_PLATFORM.formatted(coingeckoCrypto.name(), row.platform().getName());
+                errors.add(new ImportUserCryptoError(row.line(), message));
+            } else {
+                var userCrypto = new UserCrypto(row.quantity(), row.platform(), cryptos.get(coingeckoCrypto.id()));
+                pendingUserCryptos.add(new PendingUserCrypto(row.line(), userCrypto));
+            }
+        });
+
+        var userCryptos = pendingUserCryptos.stream()
+            .map(PendingUserCrypto::userCrypto)
+            .toList();
+        var insertedUserCryptos = userCryptos.isEmpty() ? List.<UserCrypto>of() : userCryptoRepository.insertAll(userCryptos);
+        var insertedIds = insertedUserCryptos.stream()
+            .map(UserCrypto::getId)
+            .collect(Collectors.toSet());
+
+        pendingUserCryptos.stream()
+            .filter(pendingUserCrypto -> !insertedIds.contains(pendingUserCrypto.userCrypto().getId()))
+            .forEach(pendingUserCrypto -> {
+                var userCrypto = pendingUserCrypto.userCrypto();
+                var message = DUPLICATED_CRYPTO_PLATFORM.formatted(userCrypto.getCrypto().getCryptoInfo().getName(), userCrypto.getPlatform().getName());
+                errors.add(new ImportUserCryptoError(pendingUserCrypto.line(), message));
+            });
+
+        if (!insertedUserCryptos.isEmpty()) {
+            holdingsLedgerService.recordEvents(HoldingEventType.ADD, insertedUserCryptos);
+            insertedUserCryptos.forEach(userCrypto -> {
+                returnsService.recordCashFlow(userCrypto.getCrypto(), userCrypto.getQuantity());
+                costBasisService.recordChange(userCrypto, userCrypto.getQuantity());
+            });
+        }
+
+        return insertedUserCryptos.size();
+    }
+
+    private String cryptoPlatformKey(String coingeckoCryptoId, String platformId) {
+        return coingeckoCryptoId + ":" + platformId;
+    }
+
+    private record ImportRow(long line, UserCryptoRequest userCryptoRequest) {
+    }
+
+    private record ResolvedImportRow(long line, BigDecimal quantity, CoingeckoCrypto coingeckoCrypto, Platform platform) {
+    }
+
+    private record PendingUserCrypto(long line, UserCrypto userCrypto) {
+    }
+}
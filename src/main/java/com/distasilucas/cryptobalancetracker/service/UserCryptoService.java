@@ -3,6 +3,9 @@ package com.distasilucas.cryptobalancetracker.service;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.exception.DuplicatedCryptoPlatFormException;
 import com.distasilucas.cryptobalancetracker.exception.UserCryptoNotFoundException;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
+import com.distasilucas.cryptobalancetracker.model.UserCryptosToTransfer;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.UserCryptoRequest;
 import com.distasilucas.cryptobalancetracker.repository.UserCryptoRepository;
 import lombok.RequiredArgsConstructor;
@@ -13,9 +16,11 @@ import org.springframework.context.annotation.ScopedProxyMode;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.Optional;
 
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE;
@@ -37,7 +42,11 @@ public class UserCryptoService {
     private final UserCryptoRepository userCryptoRepository;
     private final PlatformService platformService;
     private final CryptoService cryptoService;
+    private final ReturnsService returnsService;
+    private final HoldingsLedgerService holdingsLedgerService;
+    private final CostBasisService costBasisService;
     private final CacheService cacheService;
+    private final PortfolioSummaryService portfolioSummaryService;
     private final UserCryptoService self;
 
     @Cacheable(cacheNames = USER_CRYPTO_ID_CACHE, key = "#userCryptoId")
@@ -56,6 +65,10 @@ public class UserCryptoService {
         return userCryptoRepository.findAll(pageRequest);
     }
 
+    /**
+     * Resolves the crypto before opening the transaction, as it might have to be fetched from Coingecko,
+     * and holding a connection while waiting for it would starve the pool.
+     */
     public UserCrypto saveUserCrypto(UserCryptoRequest userCryptoRequest) {
         var coingeckoCrypto = cryptoService.retrieveCoingeckoCryptoInfoByNameOrId(userCryptoRequest.cryptoName());
         var platform = platformService.retrievePlatformById(userCryptoRequest.platformId());
@@ -69,15 +82,25 @@ public class UserCryptoService {
         });
 
         var crypto = cryptoService.retrieveCryptoInfoById(coingeckoCrypto.id());
-        var userCrypto = new UserCrypto(userCryptoRequest.quantity(), platform, crypto);
+
+        return self.insertUserCrypto(new UserCrypto(userCryptoRequest.quantity(), platform, crypto));
+    }
+
+    @Transactional
+    public UserCrypto insertUserCrypto(UserCrypto userCrypto) {
         userCryptoRepository.save(userCrypto);
+        holdingsLedgerService.recordEvents(HoldingEventType.ADD, List.of(userCrypto));
+        returnsService.recordCashFlow(userCrypto.getCrypto(), userCrypto.getQuantity());
+        costBasisService.recordChange(userCrypto, userCrypto.getQuantity());
 
         log.info("Saved user crypto {}", userCrypto.toSavedUserCryptoString());
-        cacheService.invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        cacheService.invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        portfolioSummaryService.refreshAfterCommit();
 
         return userCrypto;
     }
 
+    @Transactional
     public UserCrypto updateUserCrypto(String userCryptoId, UserCryptoRequest userCryptoRequest) {
         var userCrypto = self.findUserCryptoById(userCryptoId);
         var platform = userCrypto.getPlatform();
@@ -97,26 +120,37 @@ public class UserCryptoService {
         var updatedUserCrypto = userCrypto.toUpdatedUserCrypto(userCryptoRequest.quantity(), platform);
         log.info("Updating user crypto. Before: {} | After: {}", userCrypto.toUpdatedUserCryptoString(), updatedUserCrypto.toUpdatedUserCryptoString());
         userCryptoRepository.save(updatedUserCrypto);
-        cacheService.invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        holdingsLedgerService.recordEvents(HoldingEventType.UPDATE, List.of(updatedUserCrypto));
+        returnsService.recordCashFlow(userCrypto.getCrypto(), updatedUserCrypto.getQuantity().subtract(userCrypto.getQuantity()));
+        costBasisService.recordChange(updatedUserCrypto, updatedUserCrypto.getQuantity().subtract(userCrypto.getQuantity()));
+        cacheService.invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        portfolioSummaryService.refreshAfterCommit();
 
         return updatedUserCrypto;
     }
 
+    @Transactional
     public void deleteUserCrypto(String userCryptoId) {
         var userCrypto = self.findUserCryptoById(userCryptoId);
-        userCryptoRepository.deleteById(userCryptoId);
-        cryptoService.deleteCryptoIfNotUsed(userCrypto.getCrypto().getId());
-        cacheService.invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
-
-        log.info("Deleted user crypto {} from platform {}", userCrypto.getCrypto().getCryptoInfo().getName(), userCrypto.getPlatform().getName());
+        delete(userCrypto);
+        holdingsLedgerService.recordEvents(HoldingEventType.DELETE, List.of(userCrypto));
+        returnsService.recordCashFlow(userCrypto.getCrypto(), userCrypto.getQuantity().negate());
+        costBasisService.recordChange(userCrypto, userCrypto.getQuantity().negate());
     }
 
+    @Transactional
     public void deleteUserCryptos(List<UserCrypto> userCryptos) {
         if (!userCryptos.isEmpty()) {
             var coingeckoCryptoIds = userCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).toList();
             userCryptoRepository.deleteAll(userCryptos);
+            holdingsLedgerService.recordEvents(HoldingEventType.DELETE, userCryptos);
+            userCryptos.forEach(userCrypto -> {
+                returnsService.recordCashFlow(userCrypto.getCrypto(), userCrypto.getQuantity().negate());
+                costBasisService.recordChange(userCrypto, userCrypto.getQuantity().negate());
+            });
             cryptoService.deleteCryptosIfNotUsed(coingeckoCryptoIds);
-            cacheService.invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+            cacheService.invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+            portfolioSummaryService.refreshAfterCommit();
 
             log.info("Deleted user cryptos {}", coingeckoCryptoIds);
         }
@@ -129,13 +163,49 @@ public class UserCryptoService {
         return userCryptoRepository.findAllByCoingeckoCryptoId(coingeckoCryptoId);
     }
 
-    public Optional<UserCrypto> findByCoingeckoCryptoIdAndPlatformId(String cryptoId, String platformId) {
-        return userCryptoRepository.findByCoingeckoCryptoIdAndPlatformId(cryptoId, platformId);
+    /**
+     * Locks the user crypto to transfer and the one of the same crypto in the platform it is transferred to
+     * until the transaction ends. The latter is looked up again if it wasn't found, as a transfer that
+     * committed while waiting for the lock might have added it.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public UserCryptosToTransfer lockUserCryptosToTransfer(String userCryptoId, String toPlatformId) {
+        var userCryptos = userCryptoRepository.findAllToTransferForUpdate(List.of(userCryptoId), List.of(toPlatformId));
+        var from = userCryptos.stream()
+            .filter(userCrypto -> userCrypto.getId().equals(userCryptoId))
+            .findFirst()
+            .orElseThrow(() -> new UserCryptoNotFoundException(USER_CRYPTO_ID_NOT_FOUND.formatted(userCryptoId)));
+        var to = userCryptos.stream()
+            .filter(userCrypto -> !userCrypto.getId().equals(userCryptoId))
+            .findFirst()
+            .or(() -> userCryptoRepository.findByCoingeckoCryptoIdAndPlatformIdForUpdate(from.getCrypto().getId(), toPlatformId));
+
+        return new UserCryptosToTransfer(from, to);
+    }
+
+    /**
+     * Locks the user cryptos to transfer and the ones of the same cryptos in the platforms they are
+     * transferred to until the transaction ends. Two batches racing to add the same user crypto to a
+     * platform can't both commit, as user cryptos are unique by platform and crypto.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<UserCrypto> lockAllToTransfer(Collection<String> userCryptoIds, Collection<String> toPlatformIds) {
+        return userCryptoRepository.findAllToTransferForUpdate(userCryptoIds, toPlatformIds);
     }
 
-    public void saveOrUpdateAll(List<UserCrypto> userCryptos) {
+    /**
+     * Saves and deletes the user cryptos changed by one or more transfers, invalidating the caches once for
+     * all of them.
+     */
+    public void saveTransferredUserCryptos(List<UserCrypto> userCryptos, List<UserCrypto> deletedUserCryptos) {
+        if (!deletedUserCryptos.isEmpty()) {
+            userCryptoRepository.deleteAll(deletedUserCryptos);
+            cryptoService.deleteCryptosIfNotUsed(deletedUserCryptos.stream().map(userCrypto -> userCrypto.getCrypto().getId()).toList());
+        }
+
         userCryptoRepository.saveAll(userCryptos);
-        cacheService.invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        cacheService.invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        portfolioSummaryService.refreshAfterCommit();
     }
 
     @Cacheable(cacheNames = USER_CRYPTOS_CACHE)
@@ -152,6 +222,29 @@ public class UserCryptoService {
         return userCryptoRepository.findAllByPlatformId(platformId);
     }
 
+    @Transactional(readOnly = true)
+    public List<UserCryptoHolding> findAllHoldings() {
+        log.info("Retrieving all user cryptos holdings");
+
+        return userCryptoRepository.findAllHoldings();
+    }
+
+    @Transactional(readOnly = true)
+    public List<UserCryptoHolding> findAllHoldingsByPlatformId(String platformId) {
+        log.info("Retrieving all user cryptos holdings for platformId {}", platformId);
+
+        return userCryptoRepository.findAllHoldingsByPlatformId(platformId);
+    }
+
+    private void delete(UserCrypto userCrypto) {
+        userCryptoRepository.deleteById(userCrypto.getId());
+        cryptoService.deleteCryptoIfNotUsed(userCrypto.getCrypto().getId());
+        cacheService.invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        portfolioSummaryService.refreshAfterCommit();
+
+        log.info("Deleted user crypto {} from platform {}", userCrypto.getCrypto().getCryptoInfo().getName(), userCrypto.getPlatform().getName());
+    }
+
     private boolean didChangePlatform(String newPlatform, String originalPlatform) {
         return !newPlatform.equalsIgnoreCase(originalPlatform);
     }
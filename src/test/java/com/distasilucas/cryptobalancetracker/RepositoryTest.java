@@ -0,0 +1,29 @@
+package com.distasilucas.cryptobalancetracker;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantIdentifierResolver;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Repository tests against an in-memory schema built from the entities, with tenants resolved and
+ * Hibernate statistics on. Tests sharing it also share the same application context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+@Import(TenantIdentifierResolver.class)
+public @interface RepositoryTest {
+}
@@ -18,6 +18,8 @@ import com.distasilucas.cryptobalancetracker.model.response.coingecko.MarketCap;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.MarketData;
 import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsight;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
@@ -34,6 +36,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_ENDPOINT;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.GOALS_ENDPOINT;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.INSIGHTS_ENDPOINT;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_ENDPOINT;
@@ -153,6 +156,22 @@ public class TestDataSource {
             .contentType(MediaType.APPLICATION_JSON);
     }
 
+    public static MockHttpServletRequestBuilder transferUserCryptos(String content) {
+        var url = USER_CRYPTOS_ENDPOINT.concat("/transfer/batch");
+
+        return MockMvcRequestBuilders.post(url)
+            .content(content)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
+    public static MockHttpServletRequestBuilder importUserCryptos(String content, MediaType mediaType) {
+        var url = USER_CRYPTOS_ENDPOINT.concat("/import");
+
+        return MockMvcRequestBuilders.post(url)
+            .content(content)
+            .contentType(mediaType);
+    }
+
     public static MockHttpServletRequestBuilder retrieveTotalBalancesInsights() {
         var url = INSIGHTS_ENDPOINT.concat("/balances");
 
@@ -160,6 +179,13 @@ public class TestDataSource {
             .contentType(MediaType.APPLICATION_JSON);
     }
 
+    public static MockHttpServletRequestBuilder retrieveTotalBalancesInsights(String at) {
+        var url = INSIGHTS_ENDPOINT.concat("/balances?at=%s".formatted(at));
+
+        return MockMvcRequestBuilders.get(url)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
     public static MockHttpServletRequestBuilder retrieveDatesBalances() {
         var url = INSIGHTS_ENDPOINT.concat("/dates-balances?dateRange=%s".formatted(DateRange.ONE_WEEK));
 
@@ -167,6 +193,28 @@ public class TestDataSource {
             .contentType(MediaType.APPLICATION_JSON);
     }
 
+    public static MockHttpServletRequestBuilder retrieveReturns() {
+        var url = INSIGHTS_ENDPOINT.concat("/returns?dateRange=%s".formatted(DateRange.ONE_MONTH));
+
+        return MockMvcRequestBuilders.get(url)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
+    public static MockHttpServletRequestBuilder retrieveRiskInsights(String confidence) {
+        var url = INSIGHTS_ENDPOINT.concat("/risk?confidence=%s".formatted(confidence));
+
+        return MockMvcRequestBuilders.get(url)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
+    public static MockHttpServletRequestBuilder retrieveStressScenario(String content) {
+        var url = INSIGHTS_ENDPOINT.concat("/risk/stress");
+
+        return MockMvcRequestBuilders.post(url)
+            .content(content)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
     public static MockHttpServletRequestBuilder retrieveUserCryptosInsights(int page) {
         var url = INSIGHTS_ENDPOINT.concat("/cryptos?page=%s".formatted(page));
 
@@ -209,6 +257,20 @@ public class TestDataSource {
             .contentType(MediaType.APPLICATION_JSON);
     }
 
+    public static MockHttpServletRequestBuilder retrieveCandles(String coingeckoCryptoId, String interval) {
+        var url = CRYPTOS_ENDPOINT.concat("/%s/candles?interval=%s".formatted(coingeckoCryptoId, interval));
+
+        return MockMvcRequestBuilders.get(url)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
+    public static MockHttpServletRequestBuilder searchCryptos(String query) {
+        var url = CRYPTOS_ENDPOINT.concat("/search?query=%s".formatted(query));
+
+        return MockMvcRequestBuilders.get(url)
+            .contentType(MediaType.APPLICATION_JSON);
+    }
+
     public static MockHttpServletRequestBuilder retrievePriceTargetById(String priceTargetId) {
         var url = PRICE_TARGET_ENDPOINT.concat("/%s".formatted(priceTargetId));
 
@@ -279,6 +341,13 @@ public class TestDataSource {
         );
     }
 
+    public static Crypto getCryptoEntity(String id) {
+        var bitcoin = getBitcoinCryptoEntity();
+
+        return new Crypto(id, bitcoin.getCryptoInfo(), bitcoin.getLastKnownPrices(), bitcoin.getChangePercentages(),
+            bitcoin.getLastUpdatedAt());
+    }
+
     public static CoingeckoCryptoInfo getCoingeckoCryptoInfo() {
         var image = new Image("https://assets.coingecko.com/coins/images/1/large/bitcoin.png?1547033579");
         var currentPrice = new CurrentPrice(new BigDecimal("30000"), new BigDecimal("27000"), new BigDecimal("1"));
@@ -320,15 +389,15 @@ public class TestDataSource {
     }
 
     public static GoalResponse getGoalResponse() {
-        return new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "1", 100f, "0", "1", "0");
+        return new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "1", 100f, "0", "1", "0.00");
     }
 
     public static Goal getGoal() {
         return new Goal("10e3c7c1-0732-4294-9410-9708a21128e3", new BigDecimal("1"), getBitcoinCryptoEntity());
     }
 
-    public static Page<Goal> getPageGoal() {
-        return new PageImpl<>(List.of(getGoal()), PageRequest.of(0, 10), 1);
+    public static Page<GoalResponse> getPageGoal() {
+        return new PageImpl<>(List.of(getGoalResponse()), PageRequest.of(0, 10), 1);
     }
 
     public static GoalRequest getGoalRequest() {
@@ -343,6 +412,19 @@ public class TestDataSource {
         return new BalancesResponse("100", "70", "0.1");
     }
 
+    public static RiskInsightsResponse getRiskInsightsResponse() {
+        return new RiskInsightsResponse(
+            "1d",
+            0.95F,
+            10000,
+            "7500.00",
+            "612.40",
+            "781.15",
+            List.of(new RiskInsight("BINANCE", "7500.00", "612.40", "781.15")),
+            List.of(new RiskInsight("Bitcoin", "7500.00", "612.40", "781.15"))
+        );
+    }
+
     public static Platform getBinancePlatformEntity() {
         return new Platform(
             "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6",
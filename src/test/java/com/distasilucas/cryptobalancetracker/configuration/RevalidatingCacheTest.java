@@ -0,0 +1,206 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.jcache.JCacheCache;
+
+import javax.cache.Caching;
+import javax.cache.configuration.MutableConfiguration;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.TOTAL_BALANCES_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class RevalidatingCacheTest {
+
+    private static final Instant NOW = Instant.parse("2024-02-08T12:30:00Z");
+    private static final Duration TIME_TO_REFRESH = Duration.ofMinutes(5);
+
+    @Mock
+    private Clock clockMock;
+
+    private final List<Runnable> refreshes = new ArrayList<>();
+    private SimpleMeterRegistry meterRegistry;
+    private RevalidatingCache revalidatingCache;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        meterRegistry = new SimpleMeterRegistry();
+        revalidatingCache = new RevalidatingCache(new ConcurrentMapCache(TOTAL_BALANCES_CACHE), TIME_TO_REFRESH,
+            refreshes::add, clockMock, meterRegistry);
+
+        when(clockMock.instant()).thenReturn(NOW);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void shouldComputeMissingEntryOnceForConcurrentCallers() throws Exception {
+        var computations = new AtomicInteger();
+        var release = new CountDownLatch(1);
+        List<Future<String>> futures = new ArrayList<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 50; i++) {
+                futures.add(executor.submit(() -> revalidatingCache.get("key", () -> {
+                    computations.incrementAndGet();
+                    release.await(5, TimeUnit.SECONDS);
+                    return "value";
+                })));
+            }
+
+            Thread.sleep(100);
+            release.countDown();
+
+            for (var future : futures) {
+                assertThat(future.get(5, TimeUnit.SECONDS)).isEqualTo("value");
+            }
+        }
+
+        assertThat(computations).hasValue(1);
+        assertThat(meterRegistry.get("cache.computations").tag("mode", "sync").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeFreshEntryWithoutRefreshingIt() {
+        revalidatingCache.put("key", "value");
+
+        when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH));
+
+        assertThat(revalidatingCache.get("key", () -> "new value")).isEqualTo("value");
+        assertThat(refreshes).isEmpty();
+    }
+
+    @Test
+    void shouldServeStaleEntryWhileRefreshingItOnce() {
+        revalidatingCache.put("key", "value");
+
+        when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH).plusSeconds(1));
+
+        assertThat(revalidatingCache.get("key", () -> "new value")).isEqualTo("value");
+        assertThat(revalidatingCache.get("key", () -> "newer value")).isEqualTo("value");
+        assertThat(refreshes).hasSize(1);
+
+        refreshes.getFirst().run();
+
+        assertThat(revalidatingCache.get("key", () -> "newer value")).isEqualTo("new value");
+        assertThat(refreshes).hasSize(1);
+        assertThat(meterRegistry.get("cache.stale.serves").counter().count()).isEqualTo(2);
+        assertThat(meterRegistry.get("cache.computations").tag("mode", "background").timer().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldNotRestoreEntryEvictedWhileRefreshing() {
+        revalidatingCache.put("key", "value");
+
+        when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH).plusSeconds(1));
+
+        revalidatingCache.get("key", () -> "new value");
+        revalidatingCache.evict("key");
+        refreshes.getFirst().run();
+
+        assertThat(revalidatingCache.get("key")).isNull();
+    }
+
+    @Test
+    void shouldNotOverwriteEntryWrittenWhileRefreshing() {
+        revalidatingCache.put("key", "value");
+
+        when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH).plusSeconds(1));
+
+        revalidatingCache.get("key", () -> "new value");
+        revalidatingCache.put("key", "written value");
+        refreshes.getFirst().run();
+
+        assertThat(revalidatingCache.get("key", String.class)).isEqualTo("written value");
+    }
+
+    @Test
+    void shouldReplaceStaleEntryOfJCache() {
+        var cacheManager = Caching.getCachingProvider().getCacheManager();
+        var jCache = cacheManager.createCache("revalidating-cache-test",
+            new MutableConfiguration<Object, Object>().setStoreByValue(false));
+
+        try {
+            var revalidatingJCache = new RevalidatingCache(new JCacheCache(jCache), TIME_TO_REFRESH, refreshes::add,
+                clockMock, meterRegistry);
+            revalidatingJCache.put("key", "value");
+            revalidatingJCache.put("evicted key", "value");
+
+            when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH).plusSeconds(1));
+
+            revalidatingJCache.get("key", () -> "new value");
+            revalidatingJCache.get("evicted key", () -> "new value");
+            revalidatingJCache.evict("evicted key");
+            refreshes.forEach(Runnable::run);
+
+            assertThat(revalidatingJCache.get("key", String.class)).isEqualTo("new value");
+            assertThat(revalidatingJCache.get("evicted key")).isNull();
+        } finally {
+            cacheManager.destroyCache("revalidating-cache-test");
+        }
+    }
+
+    @Test
+    void shouldKeepStaleEntryIfRefreshFails() {
+        revalidatingCache.put("key", "value");
+
+        when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH).plusSeconds(1));
+
+        revalidatingCache.get("key", () -> {
+            throw new IllegalStateException("Database unavailable");
+        });
+        refreshes.getFirst().run();
+
+        assertThat(revalidatingCache.get("key", () -> "new value")).isEqualTo("value");
+        assertThat(refreshes).hasSize(2);
+    }
+
+    @Test
+    void shouldRefreshWithTenantOfKey() {
+        var tenantKey = new TenantCacheKey("tenant-a", "key");
+        List<String> tenants = new ArrayList<>();
+        revalidatingCache.put(tenantKey, "value");
+
+        when(clockMock.instant()).thenReturn(NOW.plus(TIME_TO_REFRESH).plusSeconds(1));
+
+        revalidatingCache.get(tenantKey, () -> tenants.add(TenantContext.getTenantId()));
+        refreshes.getFirst().run();
+
+        assertThat(tenants).containsExactly("tenant-a");
+        assertThat(TenantContext.isBound()).isFalse();
+    }
+
+    @Test
+    void shouldPropagateComputationFailuresOfMissingEntries() {
+        assertThatThrownBy(() -> revalidatingCache.get("key", () -> {
+            throw new IllegalStateException("Database unavailable");
+        }))
+            .isInstanceOf(Cache.ValueRetrievalException.class)
+            .hasRootCauseMessage("Database unavailable");
+
+        assertThat(revalidatingCache.get("key")).isNull();
+    }
+}
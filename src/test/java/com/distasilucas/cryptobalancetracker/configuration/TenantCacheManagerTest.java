@@ -0,0 +1,208 @@
+package com.distasilucas.cryptobalancetracker.configuration;
+
+import com.distasilucas.cryptobalancetracker.model.TenantCacheKey;
+import com.distasilucas.cryptobalancetracker.repository.view.PortfolioSummaryViewRepository;
+import com.distasilucas.cryptobalancetracker.service.BulkheadService;
+import com.distasilucas.cryptobalancetracker.service.CacheService;
+import com.distasilucas.cryptobalancetracker.service.PortfolioSummaryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.IntStream;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_BALANCES_INSIGHTS_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INFO_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INSIGHTS_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.DATES_BALANCES_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM_INSIGHTS_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.RISK_INSIGHTS_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.TOTAL_BALANCES_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_PAGE_CACHE;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.INSIGHTS_CACHES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TenantCacheManagerTest {
+
+    private static final int TENANTS = 1_000;
+    private static final int PLATFORMS = 10;
+
+    private TenantCacheManager tenantCacheManager;
+
+    @BeforeEach
+    void setUp() {
+        var cacheManager = new ConcurrentMapCacheManager(CRYPTO_INFO_CACHE, TOTAL_BALANCES_CACHE, USER_CRYPTOS_PAGE_CACHE);
+        tenantCacheManager = new TenantCacheManager(cacheManager, Set.of(TOTAL_BALANCES_CACHE, USER_CRYPTOS_PAGE_CACHE));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void shouldReturnSharedCachesUndecorated() {
+        assertThat(tenantCacheManager.getCache(CRYPTO_INFO_CACHE)).isInstanceOf(ConcurrentMapCache.class);
+        assertThat(tenantCacheManager.getCache(TOTAL_BALANCES_CACHE))
+            .isInstanceOf(TenantCache.class)
+            .isSameAs(tenantCacheManager.getCache(TOTAL_BALANCES_CACHE));
+    }
+
+    @Test
+    void shouldIsolateEntriesOfEachTenant() {
+        var cache = tenantCacheManager.getCache(USER_CRYPTOS_PAGE_CACHE);
+
+        TenantContext.bind("tenant-a");
+        cache.put(0, "tenant-a page");
+        TenantContext.bind("tenant-b");
+        var tenantBPage = cache.get(0);
+        cache.put(0, "tenant-b page");
+        TenantContext.bind("tenant-a");
+
+        assertThat(tenantBPage).isNull();
+        assertThat(cache.get(0, String.class)).isEqualTo("tenant-a page");
+        assertThat(nativeCache(USER_CRYPTOS_PAGE_CACHE)).containsOnlyKeys(
+            new TenantCacheKey("tenant-a", 0),
+            new TenantCacheKey("tenant-b", 0)
+        );
+    }
+
+    @Test
+    void shouldOnlyInvalidateEntriesOfCurrentTenant() {
+        var cache = tenantCacheManager.getCache(TOTAL_BALANCES_CACHE);
+
+        TenantContext.bind("tenant-a");
+        cache.put("balances", "tenant-a balances");
+        TenantContext.bind("tenant-b");
+        cache.put("balances", "tenant-b balances");
+
+        var invalidated = cache.invalidate();
+
+        assertThat(invalidated).isTrue();
+        assertThat(cache.get("balances")).isNull();
+        TenantContext.bind("tenant-a");
+        assertThat(cache.get("balances", String.class)).isEqualTo("tenant-a balances");
+    }
+
+    @Test
+    void shouldInvalidateEveryTenantFromUnboundThread() {
+        var cache = tenantCacheManager.getCache(TOTAL_BALANCES_CACHE);
+
+        TenantContext.bind("tenant-a");
+        cache.put("balances", "tenant-a balances");
+        TenantContext.bind("tenant-b");
+        cache.put("balances", "tenant-b balances");
+        TenantContext.clear();
+
+        cache.invalidate();
+
+        assertThat(nativeCache(TOTAL_BALANCES_CACHE)).isEmpty();
+    }
+
+    @Test
+    void shouldPruneKeysOfEntriesNoLongerCached() {
+        var cache = (TenantCache) tenantCacheManager.getCache(USER_CRYPTOS_PAGE_CACHE);
+
+        TenantContext.bind("tenant-a");
+        IntStream.range(0, 64).forEach(page -> cache.put(page, "tenant-a page " + page));
+        nativeCache(USER_CRYPTOS_PAGE_CACHE).clear();
+        IntStream.range(64, 70).forEach(page -> cache.put(page, "tenant-a page " + page));
+
+        assertThat(cache.trackedKeys("tenant-a"))
+            .containsExactlyInAnyOrderElementsOf(IntStream.range(64, 70).mapToObj(page -> new TenantCacheKey("tenant-a", page)).toList());
+    }
+
+    @Test
+    void shouldTrackKeysOfEntriesStillCachedWhenPruning() {
+        var cache = (TenantCache) tenantCacheManager.getCache(USER_CRYPTOS_PAGE_CACHE);
+
+        TenantContext.bind("tenant-a");
+        IntStream.range(0, 100).forEach(page -> cache.get(page, () -> "tenant-a page " + page));
+
+        assertThat(cache.trackedKeys("tenant-a")).hasSize(100);
+        assertThat(cache.invalidate()).isTrue();
+        assertThat(nativeCache(USER_CRYPTOS_PAGE_CACHE)).isEmpty();
+    }
+
+    @Test
+    void shouldKeepWarmInsightsOfThousandTenantsWhileHalfOfThemWrite() throws Exception {
+        var insightsCaches = Set.of(TOTAL_BALANCES_CACHE, DATES_BALANCES_CACHE, PLATFORM_INSIGHTS_CACHE, CRYPTO_INSIGHTS_CACHE,
+            PLATFORMS_BALANCES_INSIGHTS_CACHE, CRYPTOS_BALANCES_INSIGHTS_CACHE, RISK_INSIGHTS_CACHE);
+        tenantCacheManager = new TenantCacheManager(new ConcurrentMapCacheManager(), insightsCaches);
+        var bulkheadService = new BulkheadService(4, 8, Duration.ofMillis(250), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        var cacheService = new CacheService(tenantCacheManager, bulkheadService);
+        var portfolioSummaryService = new PortfolioSummaryService(mock(PortfolioSummaryViewRepository.class), cacheService);
+        var cache = tenantCacheManager.getCache(PLATFORM_INSIGHTS_CACHE);
+
+        runForEveryTenant(tenant -> {
+            IntStream.range(0, PLATFORMS).forEach(platform -> cache.get(platform, () -> tenant + " platform " + platform));
+            return true;
+        });
+
+        var hits = runForEveryTenant(tenant -> {
+            if (isWritingTenant(tenant)) {
+                cacheService.invalidate(INSIGHTS_CACHES);
+                portfolioSummaryService.requestRefresh();
+                return true;
+            }
+
+            return IntStream.range(0, PLATFORMS)
+                .allMatch(platform -> (tenant + " platform " + platform).equals(cache.get(platform, String.class)));
+        });
+        portfolioSummaryService.refreshIfRequested();
+
+        assertThat(hits).containsOnly(true);
+        assertThat(nativeCache(PLATFORM_INSIGHTS_CACHE))
+            .hasSize(TENANTS / 2 * PLATFORMS)
+            .allSatisfy((key, value) -> assertThat(isWritingTenant(((TenantCacheKey) key).tenantId())).isFalse());
+    }
+
+    private List<Boolean> runForEveryTenant(TenantTask task) throws Exception {
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Callable<Boolean>> tasks = IntStream.range(0, TENANTS)
+                .mapToObj(tenant -> (Callable<Boolean>) () -> {
+                    TenantContext.bind("tenant-" + tenant);
+
+                    try {
+                        return task.run("tenant-" + tenant);
+                    } finally {
+                        TenantContext.clear();
+                    }
+                })
+                .toList();
+
+            List<Boolean> results = new ArrayList<>();
+            for (Future<Boolean> future : executor.invokeAll(tasks)) {
+                results.add(future.get());
+            }
+
+            return results;
+        }
+    }
+
+    private boolean isWritingTenant(String tenant) {
+        return Integer.parseInt(tenant.substring("tenant-".length())) % 2 == 1;
+    }
+
+    private ConcurrentMap<Object, Object> nativeCache(String name) {
+        return (ConcurrentMap<Object, Object>) tenantCacheManager.getCache(name).getNativeCache();
+    }
+
+    @FunctionalInterface
+    private interface TenantTask {
+        boolean run(String tenant);
+    }
+}
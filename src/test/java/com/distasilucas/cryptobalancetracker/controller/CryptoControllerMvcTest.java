@@ -0,0 +1,96 @@
+package com.distasilucas.cryptobalancetracker.controller;
+
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import com.distasilucas.cryptobalancetracker.service.CandleService;
+import com.distasilucas.cryptobalancetracker.service.CoinCatalogService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveCandles;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.searchCryptos;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.SEARCH_QUERY_SIZE;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@AutoConfigureMockMvc(addFilters = false)
+@ExtendWith(SpringExtension.class)
+@WebMvcTest(CryptoController.class)
+class CryptoControllerMvcTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CandleService candleServiceMock;
+
+    @MockBean
+    private CoinCatalogService coinCatalogServiceMock;
+
+    @Test
+    void shouldRetrieveCandlesWithStatus200() throws Exception {
+        var candles = List.of(
+            new CandleResponse(LocalDateTime.of(2024, 2, 8, 13, 0), new BigDecimal("42000"), new BigDecimal("44000"),
+                new BigDecimal("41500"), new BigDecimal("43000"))
+        );
+
+        when(candleServiceMock.retrieveCandles("bitcoin", CandleInterval.ONE_HOUR)).thenReturn(candles);
+
+        mockMvc.perform(retrieveCandles("bitcoin", "ONE_HOUR"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].openTime", is("2024-02-08T13:00:00")))
+            .andExpect(jsonPath("$[0].open", is(42000)))
+            .andExpect(jsonPath("$[0].high", is(44000)))
+            .andExpect(jsonPath("$[0].low", is(41500)))
+            .andExpect(jsonPath("$[0].close", is(43000)));
+    }
+
+    @Test
+    void shouldFailWithStatus400WhenRetrievingCandlesWithInvalidInterval() throws Exception {
+        mockMvc.perform(retrieveCandles("bitcoin", "ONE_MINUTE"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is("Invalid value ONE_MINUTE for interval. Available values: [ONE_HOUR, ONE_DAY, ONE_WEEK]")));
+    }
+
+    @Test
+    void shouldSearchCryptosWithStatus200() throws Exception {
+        when(coinCatalogServiceMock.searchByName("bitc")).thenReturn(List.of(new CoingeckoCrypto("bitcoin", "btc", "Bitcoin")));
+
+        mockMvc.perform(searchCryptos("bitc"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].id", is("bitcoin")))
+            .andExpect(jsonPath("$[0].symbol", is("btc")))
+            .andExpect(jsonPath("$[0].name", is("Bitcoin")));
+    }
+
+    @Test
+    void shouldFailWithStatus400WhenSearchingCryptosWithShortQuery() throws Exception {
+        mockMvc.perform(searchCryptos("bt"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(SEARCH_QUERY_SIZE)));
+    }
+}
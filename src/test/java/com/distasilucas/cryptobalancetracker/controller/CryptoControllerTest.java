@@ -0,0 +1,65 @@
+package com.distasilucas.cryptobalancetracker.controller;
+
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import com.distasilucas.cryptobalancetracker.service.CandleService;
+import com.distasilucas.cryptobalancetracker.service.CoinCatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.http.ResponseEntity;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CryptoControllerTest {
+
+    @Mock
+    private CandleService candleServiceMock;
+
+    @Mock
+    private CoinCatalogService coinCatalogServiceMock;
+
+    private CryptoController cryptoController;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        cryptoController = new CryptoController(candleServiceMock, coinCatalogServiceMock);
+    }
+
+    @Test
+    void shouldRetrieveCandlesWithStatus200() {
+        var candles = List.of(
+            new CandleResponse(LocalDateTime.of(2024, 2, 8, 0, 0), new BigDecimal("42000"), new BigDecimal("44000"),
+                new BigDecimal("41500"), new BigDecimal("43000"))
+        );
+
+        when(candleServiceMock.retrieveCandles("bitcoin", CandleInterval.ONE_DAY)).thenReturn(candles);
+
+        var candlesResponse = cryptoController.retrieveCandles("bitcoin", CandleInterval.ONE_DAY);
+
+        assertThat(candlesResponse)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok(candles));
+    }
+
+    @Test
+    void shouldSearchCryptosWithStatus200() {
+        var cryptos = List.of(new CoingeckoCrypto("bitcoin", "btc", "Bitcoin"));
+
+        when(coinCatalogServiceMock.searchByName("bitc")).thenReturn(cryptos);
+
+        var cryptosResponse = cryptoController.searchCryptos("bitc");
+
+        assertThat(cryptosResponse)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok(cryptos));
+    }
+}
@@ -10,6 +10,7 @@ import com.distasilucas.cryptobalancetracker.exception.DuplicatedPlatformExcepti
 import com.distasilucas.cryptobalancetracker.exception.GoalNotFoundException;
 import com.distasilucas.cryptobalancetracker.exception.InsufficientBalanceException;
 import com.distasilucas.cryptobalancetracker.exception.PlatformNotFoundException;
+import com.distasilucas.cryptobalancetracker.exception.ServiceUnavailableException;
 import com.distasilucas.cryptobalancetracker.exception.TooManyRequestsException;
 import com.distasilucas.cryptobalancetracker.exception.UserCryptoNotFoundException;
 import com.distasilucas.cryptobalancetracker.exception.UsernameNotFoundException;
@@ -19,6 +20,7 @@ import jakarta.validation.ConstraintViolationException;
 import org.hibernate.validator.internal.engine.ConstraintViolationImpl;
 import org.junit.jupiter.api.Test;
 import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -32,6 +34,7 @@ import org.springframework.web.method.annotation.MethodArgumentTypeMismatchExcep
 
 import java.lang.reflect.Method;
 import java.net.URI;
+import java.time.Duration;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
@@ -47,6 +50,7 @@ import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.NOT_ENOUGH_BALANCE;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.PLATFORM_ID_NOT_FOUND;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.REQUEST_LIMIT_REACHED;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.SERVICE_UNAVAILABLE;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.USERNAME_NOT_FOUND;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.USER_CRYPTO_ID_NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -170,6 +174,21 @@ class ExceptionControllerTest {
             .isEqualTo(ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS).body(List.of(problemDetail)));
     }
 
+    @Test
+    void shouldHandleServiceUnavailableException() {
+        var exception = new ServiceUnavailableException(Duration.ofSeconds(5));
+        var problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE, SERVICE_UNAVAILABLE);
+        problemDetail.setType(URI.create(servletRequest.getRequest().getRequestURL().toString()));
+
+        var responseEntity = exceptionController.handleServiceUnavailableException(exception, servletRequest);
+
+        assertThat(responseEntity)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(List.of(problemDetail)));
+    }
+
     @Test
     void shouldHandleInsufficientBalanceException() {
         var exception = new InsufficientBalanceException();
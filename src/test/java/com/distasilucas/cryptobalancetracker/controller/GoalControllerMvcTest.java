@@ -1,9 +1,7 @@
 package com.distasilucas.cryptobalancetracker.controller;
 
-import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.model.request.goal.GoalRequest;
 import com.distasilucas.cryptobalancetracker.service.GoalService;
-import com.distasilucas.cryptobalancetracker.service.UserCryptoService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -16,14 +14,12 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
-import java.util.List;
 
 import static com.distasilucas.cryptobalancetracker.TestDataSource.deleteGoal;
-import static com.distasilucas.cryptobalancetracker.TestDataSource.getBinancePlatformEntity;
-import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getFileContent;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getGoal;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getGoalRequest;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getGoalResponse;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getPageGoal;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveGoalById;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveGoalsForPage;
@@ -53,20 +49,9 @@ class GoalControllerMvcTest {
     @MockBean
     private GoalService goalServiceMock;
 
-    @MockBean
-    private UserCryptoService userCryptoServiceMock;
-
     @Test
     void shouldRetrieveGoalWithStatus200() throws Exception {
-        var userCrypto = new UserCrypto(
-            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
-            new BigDecimal("1"),
-            getBinancePlatformEntity(),
-            getBitcoinCryptoEntity()
-        );
-
-        when(goalServiceMock.retrieveGoalById("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoal());
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(userCrypto));
+        when(goalServiceMock.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoalResponse());
 
         mockMvc.perform(retrieveGoalById("10e3c7c1-0732-4294-9410-9708a21128e3"))
             .andExpect(status().isOk())
@@ -97,15 +82,8 @@ class GoalControllerMvcTest {
     @Test
     void shouldRetrieveGoalsForPageWithStatus200() throws Exception {
         var pageGoalResponse = getPageGoal();
-        var userCrypto = new UserCrypto(
-            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
-            new BigDecimal("1"),
-            getBinancePlatformEntity(),
-            getBitcoinCryptoEntity()
-        );
 
         when(goalServiceMock.retrieveGoalsForPage(0)).thenReturn(pageGoalResponse);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(userCrypto));
 
         mockMvc.perform(retrieveGoalsForPage(0))
             .andExpect(status().isOk())
@@ -139,15 +117,9 @@ class GoalControllerMvcTest {
         var goal = getGoal();
         var content = getFileContent("request/platform/save_update_goal.json")
             .formatted("bitcoin", new BigDecimal("1"));
-        var userCrypto = new UserCrypto(
-            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
-            new BigDecimal("1"),
-            getBinancePlatformEntity(),
-            getBitcoinCryptoEntity()
-        );
 
         when(goalServiceMock.saveGoal(goalRequest)).thenReturn(goal);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(userCrypto));
+        when(goalServiceMock.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoalResponse());
 
         mockMvc.perform(saveGoal(content))
             .andExpect(status().isOk())
@@ -166,15 +138,9 @@ class GoalControllerMvcTest {
         var goalRequest = new GoalRequest("bitcoin", new BigDecimal("9999999999999999.999999999999"));
         var content = getFileContent("request/platform/save_update_goal.json")
             .formatted("bitcoin", new BigDecimal("9999999999999999.999999999999"));
-        var userCrypto = new UserCrypto(
-            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
-            new BigDecimal("1"),
-            getBinancePlatformEntity(),
-            getBitcoinCryptoEntity()
-        );
 
         when(goalServiceMock.saveGoal(goalRequest)).thenReturn(goal);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(userCrypto));
+        when(goalServiceMock.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoalResponse());
 
         mockMvc.perform(saveGoal(content))
             .andExpect(status().isOk())
@@ -350,15 +316,9 @@ class GoalControllerMvcTest {
             .formatted("bitcoin", new BigDecimal("1"));
         var goalRequest = new GoalRequest("bitcoin", new BigDecimal("1"));
         var goal = getGoal();
-        var userCrypto = new UserCrypto(
-            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
-            new BigDecimal("1"),
-            getBinancePlatformEntity(),
-            getBitcoinCryptoEntity()
-        );
 
         when(goalServiceMock.updateGoal("10e3c7c1-0732-4294-9410-9708a21128e3", goalRequest)).thenReturn(goal);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(userCrypto));
+        when(goalServiceMock.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoalResponse());
 
         mockMvc.perform(updateGoal("10e3c7c1-0732-4294-9410-9708a21128e3", content))
             .andExpect(status().isOk())
@@ -377,15 +337,9 @@ class GoalControllerMvcTest {
             .formatted("bitcoin", new BigDecimal("9999999999999999.999999999999"));
         var goalRequest = new GoalRequest("bitcoin", new BigDecimal("9999999999999999.999999999999"));
         var goal = getGoal();
-        var userCrypto = new UserCrypto(
-            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
-            new BigDecimal("1"),
-            getBinancePlatformEntity(),
-            getBitcoinCryptoEntity()
-        );
 
         when(goalServiceMock.updateGoal("10e3c7c1-0732-4294-9410-9708a21128e3", goalRequest)).thenReturn(goal);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(userCrypto));
+        when(goalServiceMock.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoalResponse());
 
         mockMvc.perform(updateGoal("10e3c7c1-0732-4294-9410-9708a21128e3", content))
             .andExpect(status().isOk())
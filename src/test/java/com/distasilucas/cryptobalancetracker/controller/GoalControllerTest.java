@@ -4,7 +4,6 @@ import com.distasilucas.cryptobalancetracker.entity.Goal;
 import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
 import com.distasilucas.cryptobalancetracker.model.response.goal.PageGoalResponse;
 import com.distasilucas.cryptobalancetracker.service.GoalService;
-import com.distasilucas.cryptobalancetracker.service.UserCryptoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
@@ -17,10 +16,7 @@ import java.math.BigDecimal;
 import java.util.List;
 
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
-import static com.distasilucas.cryptobalancetracker.TestDataSource.getGoal;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getGoalRequest;
-import static com.distasilucas.cryptobalancetracker.TestDataSource.getPageGoal;
-import static com.distasilucas.cryptobalancetracker.TestDataSource.getUserCrypto;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
@@ -31,23 +27,19 @@ class GoalControllerTest {
     @Mock
     private GoalService goalServiceMock;
 
-    @Mock
-    private UserCryptoService userCryptoServiceMock;
-
     private GoalController goalController;
 
     @BeforeEach
     void setUp() {
         openMocks(this);
-        goalController = new GoalController(goalServiceMock, userCryptoServiceMock);
+        goalController = new GoalController(goalServiceMock);
     }
 
     @Test
     void shouldRetrieveGoalWithStatus200() {
-        var userCryptos = List.of(getUserCrypto());
+        var goalResponse = new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "0.25", 25F, "0.75", "1", "22500.00");
 
-        when(goalServiceMock.retrieveGoalById("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(getGoal());
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(userCryptos);
+        when(goalServiceMock.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(goalResponse);
 
         var responseEntity = goalController.retrieveGoalById("10e3c7c1-0732-4294-9410-9708a21128e3");
 
@@ -70,10 +62,9 @@ class GoalControllerTest {
     void shouldRetrieveGoalsForPageWithStatus200() {
         var goalResponse = new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "0.25", 25F, "0.75", "1", "22500.00");
         var pageGoalResponse = new PageGoalResponse(0, 1, List.of(goalResponse));
-        var userCryptos = List.of(getUserCrypto());
+        var goalsPage = new PageImpl<>(List.of(goalResponse), PageRequest.of(0, 10), 1);
 
-        when(goalServiceMock.retrieveGoalsForPage(0)).thenReturn(getPageGoal());
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(userCryptos);
+        when(goalServiceMock.retrieveGoalsForPage(0)).thenReturn(goalsPage);
 
         var responseEntity = goalController.retrieveGoalsForPage(0);
 
@@ -86,11 +77,9 @@ class GoalControllerTest {
     void shouldRetrieveGoalsForPageWithStatus200AndNextPage() {
         var goalResponse = new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "0.25", 25F, "0.75", "1", "22500.00");
         var pageGoalResponse = new PageGoalResponse(1, 2, true, List.of(goalResponse));
-        var userCryptos = List.of(getUserCrypto());
-        var goalsPage = new PageImpl<>(List.of(getGoal()), PageRequest.of(0, 10), 20);
+        var goalsPage = new PageImpl<>(List.of(goalResponse), PageRequest.of(0, 10), 20);
 
         when(goalServiceMock.retrieveGoalsForPage(0)).thenReturn(goalsPage);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(userCryptos);
 
         var responseEntity = goalController.retrieveGoalsForPage(0);
 
@@ -114,11 +103,10 @@ class GoalControllerTest {
     void shouldSaveGoalAndReturn200() {
         var goalRequest = getGoalRequest();
         var goal = new Goal("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", new BigDecimal("1"), getBitcoinCryptoEntity());
-        var userCryptos = List.of(getUserCrypto());
-        var goalResponse = goal.toGoalResponse(userCryptos);
+        var goalResponse = new GoalResponse("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", "Bitcoin", "0.25", 25F, "0.75", "1", "22500.00");
 
         when(goalServiceMock.saveGoal(goalRequest)).thenReturn(goal);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(userCryptos);
+        when(goalServiceMock.retrieveGoalProgress("22d68987-471a-4dbf-8bb1-e830ea1a1aaa")).thenReturn(goalResponse);
 
         var responseEntity = goalController.saveGoal(goalRequest);
 
@@ -131,10 +119,10 @@ class GoalControllerTest {
     void shouldUpdateGoalAndReturn200() {
         var goalRequest = getGoalRequest();
         var goal = new Goal("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", new BigDecimal("1"), getBitcoinCryptoEntity());
-        var userCryptos = List.of(getUserCrypto());
+        var goalResponse = new GoalResponse("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", "Bitcoin", "0.25", 25F, "0.75", "1", "22500.00");
 
         when(goalServiceMock.updateGoal("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", goalRequest)).thenReturn(goal);
-        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(userCryptos);
+        when(goalServiceMock.retrieveGoalProgress("22d68987-471a-4dbf-8bb1-e830ea1a1aaa")).thenReturn(goalResponse);
 
         var responseEntity = goalController.updateGoal("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", goalRequest);
 
@@ -1,9 +1,12 @@
 package com.distasilucas.cryptobalancetracker.controller;
 
+import com.distasilucas.cryptobalancetracker.exception.ServiceUnavailableException;
+import com.distasilucas.cryptobalancetracker.model.BulkheadResult;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
 import com.distasilucas.cryptobalancetracker.model.SortBy;
 import com.distasilucas.cryptobalancetracker.model.SortParams;
 import com.distasilucas.cryptobalancetracker.model.SortType;
+import com.distasilucas.cryptobalancetracker.model.request.insights.StressScenarioRequest;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalanceChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.CirculatingSupply;
@@ -15,6 +18,7 @@ import com.distasilucas.cryptobalancetracker.model.response.insights.DatesBalanc
 import com.distasilucas.cryptobalancetracker.model.response.insights.DifferencesChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.MarketData;
 import com.distasilucas.cryptobalancetracker.model.response.insights.PriceChange;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ReturnsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.UserCryptosInsights;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
@@ -23,7 +27,13 @@ import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.Plat
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsInsights;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressImpact;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressScenarioResponse;
+import com.distasilucas.cryptobalancetracker.service.BulkheadService;
 import com.distasilucas.cryptobalancetracker.service.InsightsService;
+import com.distasilucas.cryptobalancetracker.service.ReturnsService;
+import com.distasilucas.cryptobalancetracker.service.RiskService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
@@ -36,22 +46,37 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getBalances;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getRiskInsightsResponse;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveCryptoInsights;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveCryptosBalancesInsights;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveDatesBalances;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrievePlatformInsights;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrievePlatformsBalancesInsights;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveReturns;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveRiskInsights;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveStressScenario;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveTotalBalancesInsights;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveUserCryptosInsights;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveUserCryptosPlatformsInsights;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.AT_PAST_OR_PRESENT;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CONFIDENCE_DECIMAL_MAX;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.PRICE_SHOCK_DECIMAL_MIN;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.PLATFORM_ID_UUID;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -66,8 +91,23 @@ class InsightsControllerMvcTest {
     @MockBean
     private InsightsService insightsServiceMock;
 
+    @MockBean
+    private ReturnsService returnsServiceMock;
+
+    @MockBean
+    private RiskService riskServiceMock;
+
+    @MockBean
+    private BulkheadService bulkheadServiceMock;
+
     private static final SortParams sortParams = new SortParams(SortBy.PERCENTAGE, SortType.DESC);
 
+    @BeforeEach
+    void setUp() {
+        when(bulkheadServiceMock.execute(anyString(), any(), any()))
+            .thenAnswer(invocation -> new BulkheadResult<>(invocation.<Supplier<?>>getArgument(2).get(), false));
+    }
+
     @Test
     void shouldRetrieveTotalBalancesWithStatus200() throws Exception {
         when(insightsServiceMock.retrieveTotalBalancesInsights()).thenReturn(getBalances());
@@ -90,6 +130,28 @@ class InsightsControllerMvcTest {
             .andExpect(jsonPath("$.totalEURBalance", is("0")));
     }
 
+    @Test
+    void shouldRetrieveTotalBalancesAtDateWithStatus200() throws Exception {
+        when(insightsServiceMock.retrieveTotalBalancesInsights(LocalDateTime.of(2024, 2, 8, 12, 30))).thenReturn(getBalances());
+
+        mockMvc.perform(retrieveTotalBalancesInsights("2024-02-08T12:30:00"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalUSDBalance", is("100")))
+            .andExpect(jsonPath("$.totalBTCBalance", is("0.1")))
+            .andExpect(jsonPath("$.totalEURBalance", is("70")));
+    }
+
+    @Test
+    void shouldFailWithStatus400WithOneMessageWhenRetrievingTotalBalancesAtFutureDate() throws Exception {
+        mockMvc.perform(retrieveTotalBalancesInsights(LocalDateTime.now().plusDays(1).toString()))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(AT_PAST_OR_PRESENT)));
+    }
+
     @Test
     void shouldRetrieveDatesBalancesResponseWithStatus200() throws Exception {
         var datesBalanceResponse = new DatesBalanceResponse(
@@ -121,6 +183,97 @@ class InsightsControllerMvcTest {
             .andExpect(jsonPath("$.priceDifference.btcDifference", is("0.007194555")));
     }
 
+    @Test
+    void shouldRetrieveReturnsWithStatus200() throws Exception {
+        var returnsResponse = new ReturnsResponse(12.5F, 10.25F, "1500.00");
+
+        when(returnsServiceMock.retrieveReturns(DateRange.ONE_MONTH)).thenReturn(returnsResponse);
+
+        mockMvc.perform(retrieveReturns())
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.timeWeightedReturn", is(12.5)))
+            .andExpect(jsonPath("$.moneyWeightedReturn", is(10.25)))
+            .andExpect(jsonPath("$.netCashFlow", is("1500.00")));
+    }
+
+    @Test
+    void shouldRetrieveRiskInsightsWithStatus200() throws Exception {
+        when(riskServiceMock.retrieveRiskInsights(new BigDecimal("0.95"))).thenReturn(getRiskInsightsResponse());
+
+        mockMvc.perform(retrieveRiskInsights("0.95"))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.horizon", is("1d")))
+            .andExpect(jsonPath("$.confidence", is(0.95)))
+            .andExpect(jsonPath("$.simulations", is(10000)))
+            .andExpect(jsonPath("$.totalValue", is("7500.00")))
+            .andExpect(jsonPath("$.valueAtRisk", is("612.40")))
+            .andExpect(jsonPath("$.conditionalValueAtRisk", is("781.15")))
+            .andExpect(jsonPath("$.platforms[0].name", is("BINANCE")))
+            .andExpect(jsonPath("$.platforms[0].valueAtRisk", is("612.40")))
+            .andExpect(jsonPath("$.cryptos[0].name", is("Bitcoin")))
+            .andExpect(jsonPath("$.cryptos[0].conditionalValueAtRisk", is("781.15")));
+    }
+
+    @Test
+    void shouldFailWithStatus400WithOneMessageWhenRetrievingRiskInsightsWithInvalidConfidence() throws Exception {
+        mockMvc.perform(retrieveRiskInsights("1.5"))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(CONFIDENCE_DECIMAL_MAX)));
+    }
+
+    @Test
+    void shouldRetrieveStressScenarioWithStatus200() throws Exception {
+        var stressScenarioRequest = new StressScenarioRequest(Map.of("bitcoin", new BigDecimal("-30")), new BigDecimal("-10"));
+        var stressScenarioResponse = new StressScenarioResponse(
+            "7500.00",
+            "5250.00",
+            "-2250.00",
+            List.of(new StressImpact("BINANCE", "7500.00", "5250.00", "-2250.00")),
+            List.of(new StressImpact("Bitcoin", "7500.00", "5250.00", "-2250.00"))
+        );
+        var content = """
+            {
+                "shocks": {
+                    "bitcoin": -30
+                },
+                "defaultShock": -10
+            }
+            """;
+
+        when(riskServiceMock.retrieveStressScenario(stressScenarioRequest)).thenReturn(stressScenarioResponse);
+
+        mockMvc.perform(retrieveStressScenario(content))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.totalValue", is("7500.00")))
+            .andExpect(jsonPath("$.stressedValue", is("5250.00")))
+            .andExpect(jsonPath("$.profitAndLoss", is("-2250.00")))
+            .andExpect(jsonPath("$.platforms[0].name", is("BINANCE")))
+            .andExpect(jsonPath("$.cryptos[0].stressedValue", is("5250.00")));
+    }
+
+    @Test
+    void shouldFailWithStatus400WithOneMessageWhenRetrievingStressScenarioWithInvalidShock() throws Exception {
+        var content = """
+            {
+                "shocks": {
+                    "bitcoin": -150
+                }
+            }
+            """;
+
+        mockMvc.perform(retrieveStressScenario(content))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(PRICE_SHOCK_DECIMAL_MIN)));
+    }
+
     @Test
     void shouldRetrieveUserCryptosInsightsForPageWithStatus200() throws Exception {
         var page = 0;
@@ -280,6 +433,30 @@ class InsightsControllerMvcTest {
             .andExpect(jsonPath("$.platforms[0].percentage", is(100.0)));
     }
 
+    @Test
+    void shouldRetrieveStalePlatformsBalancesInsightsWithStaleHeader() throws Exception {
+        when(bulkheadServiceMock.execute(eq("insights-platforms-balances"), any(), any()))
+            .thenReturn(new BulkheadResult<>(getPlatformsBalancesInsightsResponse(), true));
+
+        mockMvc.perform(retrievePlatformsBalancesInsights())
+            .andExpect(status().isOk())
+            .andExpect(header().string("X-Stale-Response", "true"))
+            .andExpect(jsonPath("$.balances.totalUSDBalance", is("7500.00")));
+    }
+
+    @Test
+    void shouldFailWithStatus503WhenBulkheadIsFull() throws Exception {
+        when(bulkheadServiceMock.execute(eq("insights-cryptos-balances"), any(), any()))
+            .thenThrow(new ServiceUnavailableException(Duration.ofSeconds(5)));
+
+        mockMvc.perform(retrieveCryptosBalancesInsights())
+            .andExpect(status().isServiceUnavailable())
+            .andExpect(header().string("Retry-After", "5"))
+            .andExpect(jsonPath("$[0].title", is("Service Unavailable")))
+            .andExpect(jsonPath("$[0].status", is(503)))
+            .andExpect(jsonPath("$[0].detail", is("Too many requests being processed. Try again later")));
+    }
+
     @Test
     void shouldRetrieveCryptoInsightsWithStatus200() throws Exception {
         when(insightsServiceMock.retrieveCryptoInsights("bitcoin")).thenReturn(getCryptoInsightResponse());
@@ -1,31 +1,51 @@
 package com.distasilucas.cryptobalancetracker.controller;
 
+import com.distasilucas.cryptobalancetracker.exception.ServiceUnavailableException;
+import com.distasilucas.cryptobalancetracker.model.BulkheadResult;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
 import com.distasilucas.cryptobalancetracker.model.SortBy;
 import com.distasilucas.cryptobalancetracker.model.SortParams;
 import com.distasilucas.cryptobalancetracker.model.SortType;
+import com.distasilucas.cryptobalancetracker.model.request.insights.StressScenarioRequest;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalanceChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.DatesBalanceResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.DateBalances;
 import com.distasilucas.cryptobalancetracker.model.response.insights.DifferencesChanges;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ReturnsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.PageUserCryptosInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressScenarioResponse;
+import com.distasilucas.cryptobalancetracker.service.BulkheadService;
 import com.distasilucas.cryptobalancetracker.service.InsightsService;
+import com.distasilucas.cryptobalancetracker.service.ReturnsService;
+import com.distasilucas.cryptobalancetracker.service.RiskService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mock;
 import org.springframework.http.ResponseEntity;
 
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getBalances;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getRiskInsightsResponse;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -34,6 +54,12 @@ class InsightsControllerTest {
     @Mock
     private InsightsService insightsServiceMock;
 
+    @Mock
+    private ReturnsService returnsServiceMock;
+
+    @Mock
+    private RiskService riskServiceMock;
+
     private InsightsController insightsController;
 
     private static final SortParams sortParams = new SortParams(SortBy.PERCENTAGE, SortType.DESC);
@@ -41,7 +67,8 @@ class InsightsControllerTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        insightsController = new InsightsController(insightsServiceMock);
+        insightsController = new InsightsController(insightsServiceMock, returnsServiceMock, riskServiceMock,
+            new BulkheadService(4, 8, Duration.ofMillis(250), Duration.ofSeconds(5), new SimpleMeterRegistry()));
     }
 
     @Test
@@ -50,7 +77,7 @@ class InsightsControllerTest {
 
         when(insightsServiceMock.retrieveTotalBalancesInsights()).thenReturn(balances);
 
-        var totalBalancesInsights = insightsController.retrieveTotalBalancesInsights();
+        var totalBalancesInsights = insightsController.retrieveTotalBalancesInsights(null);
 
         assertThat(totalBalancesInsights)
             .usingRecursiveComparison()
@@ -61,13 +88,28 @@ class InsightsControllerTest {
     void shouldRetrieveZeroForTotalBalancesWhenEmptyCryptosWithStatus200() {
         when(insightsServiceMock.retrieveTotalBalancesInsights()).thenReturn(BalancesResponse.empty());
 
-        var totalBalancesInsights = insightsController.retrieveTotalBalancesInsights();
+        var totalBalancesInsights = insightsController.retrieveTotalBalancesInsights(null);
 
         assertThat(totalBalancesInsights)
             .usingRecursiveComparison()
             .isEqualTo(ResponseEntity.ok(new BalancesResponse("0", "0", "0")));
     }
 
+    @Test
+    void shouldRetrieveTotalBalancesAtDateWithStatus200() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 30);
+        var balances = getBalances();
+
+        when(insightsServiceMock.retrieveTotalBalancesInsights(at)).thenReturn(balances);
+
+        var totalBalancesInsights = insightsController.retrieveTotalBalancesInsights(at);
+
+        verify(insightsServiceMock, never()).retrieveTotalBalancesInsights();
+        assertThat(totalBalancesInsights)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok(balances));
+    }
+
     @Test
     void shouldRetrieveDatesBalancesWithStatus200() {
         var datesBalanceResponse = new DatesBalanceResponse(
@@ -89,6 +131,46 @@ class InsightsControllerTest {
             .isEqualTo(ResponseEntity.ok(datesBalanceResponse));
     }
 
+    @Test
+    void shouldRetrieveReturnsWithStatus200() {
+        var returnsResponse = new ReturnsResponse(12.5F, 10.25F, "1500.00");
+
+        when(returnsServiceMock.retrieveReturns(DateRange.ONE_MONTH)).thenReturn(returnsResponse);
+
+        var returns = insightsController.retrieveReturns(DateRange.ONE_MONTH);
+
+        assertThat(returns)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok(returnsResponse));
+    }
+
+    @Test
+    void shouldRetrieveRiskInsightsWithStatus200() {
+        var riskInsightsResponse = getRiskInsightsResponse();
+
+        when(riskServiceMock.retrieveRiskInsights(new BigDecimal("0.95"))).thenReturn(riskInsightsResponse);
+
+        var riskInsights = insightsController.retrieveRiskInsights(new BigDecimal("0.95"));
+
+        assertThat(riskInsights)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok(riskInsightsResponse));
+    }
+
+    @Test
+    void shouldRetrieveStressScenarioWithStatus200() {
+        var stressScenarioRequest = new StressScenarioRequest(Map.of("bitcoin", new BigDecimal("-30")), new BigDecimal("-10"));
+        var stressScenarioResponse = new StressScenarioResponse("7500.00", "5250.00", "-2250.00", List.of(), List.of());
+
+        when(riskServiceMock.retrieveStressScenario(stressScenarioRequest)).thenReturn(stressScenarioResponse);
+
+        var stressScenario = insightsController.retrieveStressScenario(stressScenarioRequest);
+
+        assertThat(stressScenario)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok(stressScenarioResponse));
+    }
+
     @Test
     void shouldRetrieveCryptosInsightsWithStatus200() {
         var pageUserCryptosInsightsResponse = new PageUserCryptosInsightsResponse(1, 1, getBalances(), emptyList());
@@ -143,7 +225,7 @@ class InsightsControllerTest {
 
         when(insightsServiceMock.retrieveCryptosBalancesInsights()).thenReturn(cryptosBalancesInsightsResponse);
 
-        var cryptosBalancesInsights = insightsController.retrieveCryptosBalancesInsights();
+        var cryptosBalancesInsights = insightsController.retrieveCryptosBalancesInsights(null);
 
         assertThat(cryptosBalancesInsights)
             .usingRecursiveComparison()
@@ -156,13 +238,44 @@ class InsightsControllerTest {
 
         when(insightsServiceMock.retrievePlatformsBalancesInsights()).thenReturn(platformsBalancesInsightsResponse);
 
-        var platformsBalancesInsights = insightsController.retrievePlatformsBalancesInsights();
+        var platformsBalancesInsights = insightsController.retrievePlatformsBalancesInsights(null);
 
         assertThat(platformsBalancesInsights)
             .usingRecursiveComparison()
             .isEqualTo(ResponseEntity.ok(platformsBalancesInsightsResponse));
     }
 
+    @Test
+    void shouldFlagStalePlatformsBalancesInsights() {
+        var bulkheadServiceMock = mock(BulkheadService.class);
+        var controller = new InsightsController(insightsServiceMock, returnsServiceMock, riskServiceMock, bulkheadServiceMock);
+        var platformsBalancesInsightsResponse = new PlatformsBalancesInsightsResponse(getBalances(), emptyList());
+
+        when(bulkheadServiceMock.execute(eq("insights-platforms-balances"), eq("null"), any()))
+            .thenReturn(new BulkheadResult<>(platformsBalancesInsightsResponse, true));
+
+        var platformsBalancesInsights = controller.retrievePlatformsBalancesInsights(null);
+
+        assertThat(platformsBalancesInsights)
+            .usingRecursiveComparison()
+            .isEqualTo(ResponseEntity.ok()
+                .header("X-Stale-Response", "true")
+                .body(platformsBalancesInsightsResponse));
+        verify(insightsServiceMock, never()).retrievePlatformsBalancesInsights();
+    }
+
+    @Test
+    void shouldPropagateServiceUnavailableWhenBulkheadIsFull() {
+        var bulkheadServiceMock = mock(BulkheadService.class);
+        var controller = new InsightsController(insightsServiceMock, returnsServiceMock, riskServiceMock, bulkheadServiceMock);
+
+        when(bulkheadServiceMock.execute(eq("insights-cryptos-balances"), eq("null"), any()))
+            .thenThrow(new ServiceUnavailableException(Duration.ofSeconds(5)));
+
+        assertThatThrownBy(() -> controller.retrieveCryptosBalancesInsights(null))
+            .isInstanceOf(ServiceUnavailableException.class);
+    }
+
     @Test
     void shouldRetrieveCryptoInsightsWithStatus200() {
         var cryptoInsightResponse = new CryptoInsightResponse("Bitcoin", getBalances(), emptyList());
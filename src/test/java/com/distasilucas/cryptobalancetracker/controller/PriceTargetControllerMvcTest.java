@@ -2,6 +2,7 @@ package com.distasilucas.cryptobalancetracker.controller;
 
 import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
 import com.distasilucas.cryptobalancetracker.model.request.pricetarget.PriceTargetRequest;
+import com.distasilucas.cryptobalancetracker.service.PriceTargetAlertService;
 import com.distasilucas.cryptobalancetracker.service.PriceTargetService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -47,6 +48,9 @@ class PriceTargetControllerMvcTest {
     @MockBean
     private PriceTargetService priceTargetServiceMock;
 
+    @MockBean
+    private PriceTargetAlertService priceTargetAlertServiceMock;
+
     @Test
     void shouldRetrievePriceTargetWithStatus200() throws Exception {
         var priceTarget = new PriceTarget(
@@ -4,6 +4,7 @@ import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
 import com.distasilucas.cryptobalancetracker.model.request.pricetarget.PriceTargetRequest;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PagePriceTargetResponse;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetResponse;
+import com.distasilucas.cryptobalancetracker.service.PriceTargetAlertService;
 import com.distasilucas.cryptobalancetracker.service.PriceTargetService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,6 +13,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -27,12 +29,15 @@ class PriceTargetControllerTest {
     @Mock
     private PriceTargetService priceTargetServiceMock;
 
+    @Mock
+    private PriceTargetAlertService priceTargetAlertServiceMock;
+
     private PriceTargetController priceTargetController;
 
     @BeforeEach
     void setUp() {
         openMocks(this);
-        priceTargetController = new PriceTargetController(priceTargetServiceMock);
+        priceTargetController = new PriceTargetController(priceTargetServiceMock, priceTargetAlertServiceMock);
     }
 
     @Test
@@ -194,4 +199,15 @@ class PriceTargetControllerTest {
             .usingRecursiveComparison()
             .isEqualTo(ResponseEntity.noContent().build());
     }
+
+    @Test
+    void shouldStreamPriceTargetAlerts() {
+        var emitter = new SseEmitter();
+
+        when(priceTargetAlertServiceMock.subscribe()).thenReturn(emitter);
+
+        var priceTargetAlerts = priceTargetController.streamPriceTargetAlerts();
+
+        assertThat(priceTargetAlerts).isSameAs(emitter);
+    }
 }
@@ -2,12 +2,17 @@ package com.distasilucas.cryptobalancetracker.controller;
 
 import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.exception.ApiValidationException;
+import com.distasilucas.cryptobalancetracker.model.ImportFormat;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.UserCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.FromPlatform;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptoError;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptosResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ToPlatform;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.TransferCryptoResponse;
 import com.distasilucas.cryptobalancetracker.service.TransferCryptoService;
+import com.distasilucas.cryptobalancetracker.service.UserCryptoImportService;
 import com.distasilucas.cryptobalancetracker.service.UserCryptoService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,9 +24,12 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.util.List;
 
@@ -30,11 +38,14 @@ import static com.distasilucas.cryptobalancetracker.TestDataSource.getBinancePla
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getFileContent;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getUserCrypto;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.importUserCryptos;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveUserCryptoById;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.retrieveUserCryptosForPage;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.saveUserCrypto;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.transferUserCrypto;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.transferUserCryptos;
 import static com.distasilucas.cryptobalancetracker.TestDataSource.updateUserCrypto;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.MISSING_IMPORT_COLUMNS;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CRYPTO_NAME_NOT_BLANK;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CRYPTO_NAME_SIZE;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CRYPTO_QUANTITY_DECIMAL_MAX;
@@ -50,6 +61,7 @@ import static com.distasilucas.cryptobalancetracker.constants.ValidationConstant
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.QUANTITY_TO_TRANSFER_POSITIVE;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.TO_PLATFORM_ID_NOT_BLANK;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.TO_PLATFORM_ID_UUID;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.TRANSFERS_SIZE;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.USER_CRYPTO_ID_NOT_BLANK;
 import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.USER_CRYPTO_ID_UUID;
 import static java.util.Collections.emptyList;
@@ -58,6 +70,8 @@ import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.hamcrest.Matchers.everyItem;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.is;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
@@ -77,6 +91,9 @@ class UserCryptoControllerMvcTest {
     @MockBean
     private TransferCryptoService transferCryptoServiceMock;
 
+    @MockBean
+    private UserCryptoImportService userCryptoImportServiceMock;
+
     @Test
     void shouldRetrieveUserCryptoByIdWithStatus200() throws Exception {
         var userCrypto = getUserCrypto();
@@ -1090,4 +1107,142 @@ class UserCryptoControllerMvcTest {
             .andExpect(jsonPath("$[0].detail", is(TO_PLATFORM_ID_UUID)));
     }
 
+    @Test
+    void shouldTransferCryptosWithStatus200() throws Exception {
+        var payload = """
+                {
+                    "transfers": [
+                        {
+                            "userCryptoId": "e4a55857-aa15-4a67-8c4e-936a6fb5218d",
+                            "quantityToTransfer": 1,
+                            "networkFee": 0.5,
+                            "sendFullQuantity": false,
+                            "toPlatformId": "c8b9a2d3-7f46-42e0-9c13-5a8e8fcabfa7"
+                        }
+                    ]
+                }
+            """;
+        var transferCryptoRequest = new TransferCryptoRequest(
+            "e4a55857-aa15-4a67-8c4e-936a6fb5218d",
+            new BigDecimal("1"),
+            new BigDecimal("0.5"),
+            false,
+            "c8b9a2d3-7f46-42e0-9c13-5a8e8fcabfa7"
+        );
+        var fromPlatform = new FromPlatform(
+            "e4a55857-aa15-4a67-8c4e-936a6fb5218d",
+            "0.5",
+            "1",
+            "1",
+            "0.5",
+            "2",
+            false
+        );
+        var toPlatform = new ToPlatform("c8b9a2d3-7f46-42e0-9c13-5a8e8fcabfa7", "0.5");
+
+        when(transferCryptoServiceMock.transferCryptos(List.of(transferCryptoRequest)))
+            .thenReturn(List.of(new TransferCryptoResponse(fromPlatform, toPlatform)));
+
+        mockMvc.perform(transferUserCryptos(payload))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].fromPlatform.userCryptoId", is("e4a55857-aa15-4a67-8c4e-936a6fb5218d")))
+            .andExpect(jsonPath("$[0].fromPlatform.remainingCryptoQuantity", is("2")))
+            .andExpect(jsonPath("$[0].toPlatform.platformId", is("c8b9a2d3-7f46-42e0-9c13-5a8e8fcabfa7")))
+            .andExpect(jsonPath("$[0].toPlatform.newQuantity", is("0.5")));
+    }
+
+    @Test
+    void shouldFailWithStatus400WhenTransferringCryptosWithoutTransfers() throws Exception {
+        var payload = """
+                {
+                    "transfers": []
+                }
+            """;
+
+        mockMvc.perform(transferUserCryptos(payload))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(TRANSFERS_SIZE)));
+    }
+
+    @Test
+    void shouldFailWithStatus400WhenTransferringCryptosWithInvalidTransfer() throws Exception {
+        var payload = """
+                {
+                    "transfers": [
+                        {
+                            "userCryptoId": "e4a55857-aa15-4a67-8c4e-936a6fb5218d",
+                            "quantityToTransfer": 1,
+                            "networkFee": 0.5,
+                            "sendFullQuantity": false,
+                            "toPlatformId": "invalid"
+                        }
+                    ]
+                }
+            """;
+
+        mockMvc.perform(transferUserCryptos(payload))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(TO_PLATFORM_ID_UUID)));
+    }
+
+    @Test
+    void shouldImportUserCryptosFromCsv() throws Exception {
+        var csv = """
+            cryptoName,quantity,platformId
+            bitcoin,0.15,4f663841-7c82-4d0f-a756-cf7d4e2d3bc6
+            bitcoin,abc,4f663841-7c82-4d0f-a756-cf7d4e2d3bc6
+            """;
+        var importUserCryptosResponse = new ImportUserCryptosResponse(1, List.of(new ImportUserCryptoError(3, "Invalid quantity abc")));
+
+        when(userCryptoImportServiceMock.importUserCryptos(any(InputStream.class), eq(ImportFormat.CSV)))
+            .thenReturn(importUserCryptosResponse);
+
+        mockMvc.perform(importUserCryptos(csv, MediaType.valueOf("text/csv")))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importedUserCryptos", is(1)))
+            .andExpect(jsonPath("$.errors", hasSize(1)))
+            .andExpect(jsonPath("$.errors[0].line", is(3)))
+            .andExpect(jsonPath("$.errors[0].error", is("Invalid quantity abc")));
+    }
+
+    @Test
+    void shouldImportUserCryptosFromNdjson() throws Exception {
+        var ndjson = """
+            {"cryptoName": "bitcoin", "quantity": 0.15, "platformId": "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6"}
+            """;
+
+        when(userCryptoImportServiceMock.importUserCryptos(any(InputStream.class), eq(ImportFormat.NDJSON)))
+            .thenReturn(new ImportUserCryptosResponse(1, emptyList()));
+
+        mockMvc.perform(importUserCryptos(ndjson, MediaType.APPLICATION_NDJSON))
+            .andExpect(status().isOk())
+            .andExpect(jsonPath("$.importedUserCryptos", is(1)))
+            .andExpect(jsonPath("$.errors", hasSize(0)));
+    }
+
+    @Test
+    void shouldFailWithStatus400WhenImportingUserCryptosWithoutHeader() throws Exception {
+        var message = MISSING_IMPORT_COLUMNS.formatted("cryptoName, quantity, platformId");
+
+        when(userCryptoImportServiceMock.importUserCryptos(any(InputStream.class), eq(ImportFormat.CSV)))
+            .thenThrow(new ApiValidationException(HttpStatus.BAD_REQUEST, message));
+
+        mockMvc.perform(importUserCryptos("bitcoin,0.15", MediaType.valueOf("text/csv")))
+            .andExpect(status().isBadRequest())
+            .andExpect(jsonPath("$").isArray())
+            .andExpect(jsonPath("$", hasSize(1)))
+            .andExpect(jsonPath("$[0].title", is("Bad Request")))
+            .andExpect(jsonPath("$[0].status", is(400)))
+            .andExpect(jsonPath("$[0].detail", is(message)));
+    }
+
 }
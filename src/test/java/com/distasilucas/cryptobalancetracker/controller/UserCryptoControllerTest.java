@@ -1,12 +1,17 @@
 package com.distasilucas.cryptobalancetracker.controller;
 
+import com.distasilucas.cryptobalancetracker.model.ImportFormat;
+import com.distasilucas.cryptobalancetracker.model.request.usercrypto.BatchTransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.FromPlatform;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptoError;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptosResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.PageUserCryptoResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ToPlatform;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.TransferCryptoResponse;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.UserCryptoResponse;
 import com.distasilucas.cryptobalancetracker.service.TransferCryptoService;
+import com.distasilucas.cryptobalancetracker.service.UserCryptoImportService;
 import com.distasilucas.cryptobalancetracker.service.UserCryptoService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -17,6 +22,7 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 
+import java.io.ByteArrayInputStream;
 import java.math.BigDecimal;
 import java.util.Collections;
 import java.util.List;
@@ -37,12 +43,15 @@ class UserCryptoControllerTest {
     @Mock
     private TransferCryptoService transferCryptoServiceMock;
 
+    @Mock
+    private UserCryptoImportService userCryptoImportServiceMock;
+
     private UserCryptoController userCryptoController;
 
     @BeforeEach
     void setUp() {
         openMocks(this);
-        userCryptoController = new UserCryptoController(userCryptoServiceMock, transferCryptoServiceMock);
+        userCryptoController = new UserCryptoController(userCryptoServiceMock, transferCryptoServiceMock, userCryptoImportServiceMock);
     }
 
     @Test
@@ -157,6 +166,38 @@ class UserCryptoControllerTest {
             .isEqualTo(ResponseEntity.ok(transferCryptoResponse));
     }
 
+    @Test
+    void shouldTransferCryptosAndReturn200() {
+        var transferCryptoRequest = new TransferCryptoRequest(
+            "9da7b110-8937-4c3a-82d2-bc1923a43278",
+            new BigDecimal("0.2"),
+            new BigDecimal("0.0005"),
+            null,
+            "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6"
+        );
+        var transferCryptoResponse = new TransferCryptoResponse(getFromPlatform(), getToPlatform());
+
+        when(transferCryptoServiceMock.transferCryptos(List.of(transferCryptoRequest))).thenReturn(List.of(transferCryptoResponse));
+
+        var responseEntity = userCryptoController.transferUserCryptos(new BatchTransferCryptoRequest(List.of(transferCryptoRequest)));
+
+        assertThat(responseEntity)
+            .isEqualTo(ResponseEntity.ok(List.of(transferCryptoResponse)));
+    }
+
+    @Test
+    void shouldImportUserCryptosWithStatus200() {
+        var userCryptos = new ByteArrayInputStream(new byte[0]);
+        var importUserCryptosResponse = new ImportUserCryptosResponse(1, List.of(new ImportUserCryptoError(3, "Invalid quantity abc")));
+
+        when(userCryptoImportServiceMock.importUserCryptos(userCryptos, ImportFormat.NDJSON)).thenReturn(importUserCryptosResponse);
+
+        var responseEntity = userCryptoController.importUserCryptos("application/x-ndjson", userCryptos);
+
+        assertThat(responseEntity)
+            .isEqualTo(ResponseEntity.ok(importUserCryptosResponse));
+    }
+
     private FromPlatform getFromPlatform() {
         return new FromPlatform(
             "9da7b110-8937-4c3a-82d2-bc1923a43278",
@@ -0,0 +1,113 @@
+package com.distasilucas.cryptobalancetracker.journal;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PriceJournalTest {
+
+    private static final int SEGMENT_RECORDS = 100;
+
+    @TempDir
+    private Path directory;
+
+    private PriceJournal priceJournal;
+
+    @AfterEach
+    void tearDown() {
+        if (priceJournal != null) {
+            priceJournal.close();
+        }
+    }
+
+    @Test
+    void shouldAppendAndReadRange() throws IOException {
+        priceJournal = new PriceJournal(directory, SEGMENT_RECORDS);
+        LongStream.rangeClosed(1, 10).forEach(timestamp -> priceJournal.append("bitcoin", tick(timestamp)));
+
+        var range = priceJournal.read("bitcoin", 3, 6);
+
+        assertThat(range.toList()).containsExactly(tick(3), tick(4), tick(5), tick(6));
+        assertThat(range.usdAt(0)).isEqualTo(30003);
+        assertThat(priceJournal.read("ethereum", 0, Long.MAX_VALUE).isEmpty()).isTrue();
+    }
+
+    @Test
+    void shouldIgnoreOutOfOrderTicks() throws IOException {
+        priceJournal = new PriceJournal(directory, SEGMENT_RECORDS);
+
+        assertTrue(priceJournal.append("bitcoin", tick(5)));
+        assertFalse(priceJournal.append("bitcoin", tick(5)));
+        assertFalse(priceJournal.append("bitcoin", tick(4)));
+        assertThat(priceJournal.read("bitcoin", 0, Long.MAX_VALUE).size()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldRolloverSegmentsAndReadAcrossThem() throws IOException {
+        priceJournal = new PriceJournal(directory, SEGMENT_RECORDS);
+        LongStream.rangeClosed(1, 250).forEach(timestamp -> priceJournal.append("bitcoin", tick(timestamp)));
+
+        var range = priceJournal.read("bitcoin", 90, 210);
+
+        assertThat(segments("bitcoin")).hasSize(3);
+        assertThat(range.size()).isEqualTo(121);
+        assertThat(range.timestampAt(0)).isEqualTo(90);
+        assertThat(range.timestampAt(120)).isEqualTo(210);
+    }
+
+    @Test
+    void shouldRecoverJournalAndDropTornTail() throws IOException {
+        priceJournal = new PriceJournal(directory, SEGMENT_RECORDS);
+        LongStream.rangeClosed(1, 5).forEach(timestamp -> priceJournal.append("bitcoin", tick(timestamp)));
+        priceJournal.close();
+
+        try (var file = new RandomAccessFile(segments("bitcoin").getFirst().toFile(), "rw")) {
+            file.seek(4L * JournalSegment.RECORD_SIZE + 8);
+            file.writeDouble(1);
+        }
+
+        priceJournal = new PriceJournal(directory, SEGMENT_RECORDS);
+
+        assertThat(priceJournal.read("bitcoin", 0, Long.MAX_VALUE).toList())
+            .containsExactly(tick(1), tick(2), tick(3), tick(4));
+        assertTrue(priceJournal.append("bitcoin", tick(5)));
+        assertThat(priceJournal.read("bitcoin", 0, Long.MAX_VALUE).size()).isEqualTo(5);
+    }
+
+    @Test
+    void shouldDeleteExpiredAndDownsampleOldSegments() throws IOException {
+        priceJournal = new PriceJournal(directory, SEGMENT_RECORDS);
+        LongStream.rangeClosed(1, 300).forEach(timestamp -> priceJournal.append("bitcoin", tick(timestamp)));
+
+        priceJournal.compact(101, 201, 10);
+
+        var ticks = priceJournal.read("bitcoin", 0, Long.MAX_VALUE).toList();
+
+        assertThat(segments("bitcoin")).hasSize(2);
+        assertThat(ticks.getFirst()).isEqualTo(tick(109));
+        assertThat(ticks.stream().filter(tick -> tick.timestamp() <= 200).map(PriceTick::timestamp).toList())
+            .isEqualTo(List.of(109L, 119L, 129L, 139L, 149L, 159L, 169L, 179L, 189L, 199L, 200L));
+        assertThat(ticks.stream().filter(tick -> tick.timestamp() > 200).count()).isEqualTo(100);
+    }
+
+    private List<Path> segments(String coingeckoCryptoId) throws IOException {
+        try (var files = Files.list(directory.resolve(coingeckoCryptoId))) {
+            return files.sorted().toList();
+        }
+    }
+
+    private PriceTick tick(long timestamp) {
+        return new PriceTick(timestamp, 30000 + timestamp, 27000 + timestamp, 1);
+    }
+}
@@ -0,0 +1,76 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.RepositoryTest;
+import com.distasilucas.cryptobalancetracker.entity.CoinCatalogEntry;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RepositoryTest
+class CoinCatalogRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private CoinCatalogRepository coinCatalogRepository;
+
+    @BeforeEach
+    void setUp() {
+        testEntityManager.persist(new CoinCatalogEntry("wen-4", "wen", "WEN"));
+        testEntityManager.persist(new CoinCatalogEntry("wen", "wen", "WEN"));
+        testEntityManager.persist(new CoinCatalogEntry("bitcoin", "btc", "Bitcoin"));
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void shouldFindFirstByNameIgnoringCase() {
+        var coin = coinCatalogRepository.findFirstByNameOrId("wEn");
+
+        assertThat(coin)
+            .get()
+            .extracting(CoinCatalogEntry::getId)
+            .isEqualTo("wen");
+    }
+
+    @Test
+    void shouldFindFirstByIdIgnoringCase() {
+        var coin = coinCatalogRepository.findFirstByNameOrId("BITCOIN");
+
+        assertThat(coin)
+            .get()
+            .extracting(CoinCatalogEntry::toCoingeckoCrypto)
+            .isEqualTo(new CoingeckoCrypto("bitcoin", "btc", "Bitcoin"));
+    }
+
+    @Test
+    void shouldNotFindMissingCoin() {
+        assertThat(coinCatalogRepository.findFirstByNameOrId("dogecoin")).isEmpty();
+    }
+
+    @Test
+    void shouldFindAllByNamesOrIdsOrderedById() {
+        var coins = coinCatalogRepository.findAllByNamesOrIds(List.of("wen", "bitcoin", "dogecoin"));
+
+        assertThat(coins)
+            .extracting(CoinCatalogEntry::getId)
+            .containsExactly("bitcoin", "wen", "wen-4");
+    }
+
+    @Test
+    void shouldRetrieveAllCoins() {
+        assertThat(coinCatalogRepository.findAllCoins())
+            .containsExactlyInAnyOrder(
+                new CoingeckoCrypto("wen-4", "wen", "WEN"),
+                new CoingeckoCrypto("wen", "wen", "WEN"),
+                new CoingeckoCrypto("bitcoin", "btc", "Bitcoin")
+            );
+    }
+}
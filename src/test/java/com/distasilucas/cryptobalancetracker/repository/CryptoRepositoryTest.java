@@ -0,0 +1,64 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CryptoRepositoryTest extends StatementCountingRepositoryTest {
+
+    private static final LocalDateTime LAST_UPDATED_AT = LocalDateTime.of(2024, 2, 8, 12, 30, 0);
+
+    @Autowired
+    private CryptoRepository cryptoRepository;
+
+    @Test
+    void shouldOnlyWritePricesTableWhenRefreshingPrices() {
+        var bitcoin = getBitcoinCryptoEntity();
+        persist(crypto(bitcoin.getLastKnownPrices(), LAST_UPDATED_AT));
+        clearPersistenceContext();
+
+        var lastKnownPrices = new LastKnownPrices(new BigDecimal("31000"), new BigDecimal("28000"), BigDecimal.ONE);
+        cryptoRepository.saveAll(List.of(crypto(lastKnownPrices, LAST_UPDATED_AT.plusMinutes(5))));
+        testEntityManager.flush();
+
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(1);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        testEntityManager.clear();
+        var crypto = cryptoRepository.findById(bitcoin.getId()).orElseThrow();
+
+        assertThat(crypto.getCryptoInfo().getName()).isEqualTo("Bitcoin");
+        assertThat(crypto.getLastKnownPrices().getLastKnownPrice()).isEqualByComparingTo("31000");
+        assertThat(crypto.getLastUpdatedAt()).isEqualTo(LAST_UPDATED_AT.plusMinutes(5));
+    }
+
+    @Test
+    void shouldRetrieveOldestCryptosByLastPriceUpdate() {
+        var bitcoin = getBitcoinCryptoEntity();
+        persist(crypto(bitcoin.getLastKnownPrices(), LAST_UPDATED_AT));
+        clearPersistenceContext();
+
+        var oldestCryptos = cryptoRepository.findOldestNCryptosByLastPriceUpdate(LAST_UPDATED_AT, 10);
+        var recentCryptos = cryptoRepository.findOldestNCryptosByLastPriceUpdate(LAST_UPDATED_AT.minusMinutes(5), 10);
+
+        assertThat(oldestCryptos)
+            .singleElement()
+            .satisfies(crypto -> assertThat(crypto.getLastKnownPrices().getLastKnownPrice()).isEqualByComparingTo("30000"));
+        assertThat(recentCryptos).isEmpty();
+    }
+
+    private Crypto crypto(LastKnownPrices lastKnownPrices, LocalDateTime lastUpdatedAt) {
+        var bitcoin = getBitcoinCryptoEntity();
+
+        return new Crypto(bitcoin.getId(), bitcoin.getCryptoInfo(), lastKnownPrices, bitcoin.getChangePercentages(),
+            lastUpdatedAt);
+    }
+}
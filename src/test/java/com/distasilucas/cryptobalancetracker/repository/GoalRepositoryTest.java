@@ -0,0 +1,49 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.Goal;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.math.BigDecimal;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GoalRepositoryTest extends StatementCountingRepositoryTest {
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveGoalByIdWithCryptoInOneStatement(int rows) {
+        persistGoals(rows);
+
+        var goal = goalRepository.findById("goal-0");
+
+        assertThat(goal).isPresent();
+        assertThat(goal.get().getCrypto().getCryptoInfo().getName()).isEqualTo("Bitcoin");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveGoalByCoingeckoCryptoIdWithCryptoInOneStatement(int rows) {
+        persistGoals(rows);
+
+        var goal = goalRepository.findByCoingeckoCryptoId("crypto-0");
+
+        assertThat(goal).isPresent();
+        assertThat(goal.get().getCrypto().getCryptoInfo().getName()).isEqualTo("Bitcoin");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void persistGoals(int rows) {
+        for (int i = 0; i < rows; i++) {
+            var crypto = persist(getCryptoEntity("crypto-" + i));
+            persist(new Goal("goal-" + i, BigDecimal.TEN, crypto));
+        }
+        clearPersistenceContext();
+    }
+}
@@ -0,0 +1,78 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.math.BigDecimal;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriceTargetRepositoryTest extends StatementCountingRepositoryTest {
+
+    @Autowired
+    private PriceTargetRepository priceTargetRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrievePriceTargetsPageWithCryptosInTwoStatements(int rows) {
+        for (int i = 0; i < rows; i++) {
+            var crypto = persist(getCryptoEntity("crypto-" + i));
+            persist(new PriceTarget("price-target-" + i, new BigDecimal("100000"), crypto));
+        }
+        clearPersistenceContext();
+
+        var priceTargetsPage = priceTargetRepository.findAll(PageRequest.of(0, 10));
+
+        assertThat(priceTargetsPage.getTotalElements()).isEqualTo(rows);
+        assertThat(priceTargetsPage.getContent())
+            .allSatisfy(priceTarget -> assertThat(priceTarget.getCrypto().getCryptoInfo().getName()).isEqualTo("Bitcoin"));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrievePriceTargetsByCryptoIdInOneStatement(int rows) {
+        persistPriceTargetsOfBitcoin(rows);
+
+        var priceTargets = priceTargetRepository.findAllByCryptoId("bitcoin");
+
+        assertThat(priceTargets).hasSize(rows);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrievePriceTargetByIdInOneStatement(int rows) {
+        persistPriceTargetsOfBitcoin(rows);
+
+        var priceTarget = priceTargetRepository.findById("price-target-0");
+
+        assertThat(priceTarget).isPresent();
+        assertThat(priceTarget.get().getCrypto().getCryptoInfo().getName()).isEqualTo("Bitcoin");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrievePriceTargetByCoingeckoCryptoIdAndTargetInOneStatement(int rows) {
+        persistPriceTargetsOfBitcoin(rows);
+
+        var priceTarget = priceTargetRepository.findByCoingeckoCryptoIdAndTarget("bitcoin", new BigDecimal("100000"));
+
+        assertThat(priceTarget).isPresent();
+        assertThat(priceTarget.get().getCrypto().getCryptoInfo().getName()).isEqualTo("Bitcoin");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    private void persistPriceTargetsOfBitcoin(int rows) {
+        var crypto = persist(getCryptoEntity("bitcoin"));
+        for (int i = 0; i < rows; i++) {
+            persist(new PriceTarget("price-target-" + i, new BigDecimal(100000 + i), crypto));
+        }
+        clearPersistenceContext();
+    }
+}
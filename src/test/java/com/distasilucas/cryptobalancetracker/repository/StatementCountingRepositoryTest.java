@@ -0,0 +1,40 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.RepositoryTest;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+/**
+ * Counts the statements a repository call runs. Rows are persisted first and then
+ * {@link #clearPersistenceContext()} flushes them, detaches them and resets the counters.
+ */
+@RepositoryTest
+abstract class StatementCountingRepositoryTest {
+
+    @Autowired
+    protected TestEntityManager testEntityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    protected Statistics statistics;
+
+    @BeforeEach
+    void setUpStatistics() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    protected <T> T persist(T entity) {
+        return testEntityManager.persist(entity);
+    }
+
+    protected void clearPersistenceContext() {
+        testEntityManager.flush();
+        testEntityManager.clear();
+        statistics.clear();
+    }
+}
@@ -0,0 +1,140 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.RepositoryTest;
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.entity.BalanceSnapshot;
+import com.distasilucas.cryptobalancetracker.entity.CashFlow;
+import com.distasilucas.cryptobalancetracker.entity.DateBalance;
+import com.distasilucas.cryptobalancetracker.entity.Holding;
+import com.distasilucas.cryptobalancetracker.entity.HoldingEvent;
+import com.distasilucas.cryptobalancetracker.entity.HoldingsSnapshot;
+import com.distasilucas.cryptobalancetracker.entity.Lot;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Every repository call runs in its own transaction, as the tenant of a session is resolved when it is
+ * opened, so each tenant writes and reads its rows from a session of its own.
+ */
+@RepositoryTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class TenantIsolationRepositoryTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 2, 8, 12, 30);
+    private static final List<String> TENANTS = List.of("tenant-a", "tenant-b");
+
+    @Autowired
+    private LotRepository lotRepository;
+
+    @Autowired
+    private HoldingEventRepository holdingEventRepository;
+
+    @Autowired
+    private HoldingsSnapshotRepository holdingsSnapshotRepository;
+
+    @Autowired
+    private CashFlowRepository cashFlowRepository;
+
+    @Autowired
+    private DateBalanceRepository dateBalanceRepository;
+
+    @Autowired
+    private BalanceSnapshotRepository balanceSnapshotRepository;
+
+    @BeforeEach
+    void setUp() {
+        var balances = new BalancesResponse("1000", "900", "0.01");
+
+        TENANTS.forEach(tenant -> TenantContext.runAs(tenant, () -> {
+            lotRepository.save(new Lot("lot-" + tenant, "user-crypto-" + tenant, "bitcoin", AT, new BigDecimal("30000"),
+                BigDecimal.ONE, BigDecimal.ZERO));
+            var event = holdingEventRepository.save(new HoldingEvent(null, AT, HoldingEventType.ADD, "user-crypto-" + tenant,
+                "bitcoin", "binance", BigDecimal.ONE, null));
+            holdingsSnapshotRepository.save(new HoldingsSnapshot("snapshot-" + tenant, AT, event.getId(),
+                List.of(event.toHolding())));
+            cashFlowRepository.save(new CashFlow("cash-flow-" + tenant, "bitcoin", AT, BigDecimal.ONE, new BigDecimal("30000")));
+            dateBalanceRepository.save(new DateBalance("date-balance-" + tenant, AT.toLocalDate(), balances));
+            balanceSnapshotRepository.save(new BalanceSnapshot(SnapshotTier.RAW, AT, balances));
+        }));
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+        lotRepository.deleteAll();
+        holdingsSnapshotRepository.deleteAll();
+        holdingEventRepository.deleteAll();
+        cashFlowRepository.deleteAll();
+        dateBalanceRepository.deleteAll();
+        balanceSnapshotRepository.deleteAll();
+    }
+
+    @Test
+    void shouldOnlyAddUpLotsOfCurrentTenant() {
+        TenantContext.bind("tenant-a");
+
+        assertThat(lotRepository.sumAllByCryptoIdIn(List.of("bitcoin")))
+            .singleElement()
+            .satisfies(totals -> assertThat(totals.quantity()).isEqualByComparingTo(BigDecimal.ONE));
+        assertThat(lotRepository.findAll()).extracting(Lot::getId).containsExactly("lot-tenant-a");
+    }
+
+    @Test
+    void shouldOnlyReplayHoldingsOfCurrentTenant() {
+        TenantContext.bind("tenant-b");
+
+        var lastEvent = holdingEventRepository.findFirstByOccurredAtLessThanEqualOrderByIdDesc(AT);
+        var lastSnapshot = holdingsSnapshotRepository.findFirstByOrderByLastEventIdDesc();
+
+        assertThat(lastEvent).map(HoldingEvent::getUserCryptoId).contains("user-crypto-tenant-b");
+        assertThat(lastSnapshot).map(HoldingsSnapshot::getId).contains("snapshot-tenant-b");
+        assertThat(lastSnapshot.get().getHoldings()).extracting(Holding::getUserCryptoId).containsExactly("user-crypto-tenant-b");
+    }
+
+    @Test
+    void shouldOnlyReadBalancesOfCurrentTenant() {
+        TenantContext.bind("tenant-a");
+
+        assertThat(cashFlowRepository.findAllByOccurredAtGreaterThanEqualOrderByOccurredAtAsc(AT.minusDays(1)))
+            .extracting(CashFlow::getId)
+            .containsExactly("cash-flow-tenant-a");
+        assertThat(dateBalanceRepository.findDateBalanceByDate(AT.toLocalDate()))
+            .map(DateBalance::getId)
+            .contains("date-balance-tenant-a");
+        assertThat(balanceSnapshotRepository.findAllByTierInRange(SnapshotTier.RAW, AT, AT.plusMinutes(1))).hasSize(1);
+    }
+
+    @Test
+    void shouldStampRowsWithTenantThatWroteThem() {
+        TenantContext.bind("tenant-b");
+
+        assertThat(lotRepository.findAll()).extracting(Lot::getTenantId).containsExactly("tenant-b");
+        assertThat(cashFlowRepository.findAll()).extracting(CashFlow::getTenantId).containsExactly("tenant-b");
+        assertThat(dateBalanceRepository.findAll()).extracting(DateBalance::getTenantId).containsExactly("tenant-b");
+        assertThat(balanceSnapshotRepository.findAll()).extracting(BalanceSnapshot::getTenantId).containsExactly("tenant-b");
+    }
+
+    @Test
+    void shouldReadRowsOfEveryTenantFromUnboundThread() {
+        assertThat(lotRepository.findAll()).hasSize(TENANTS.size());
+        assertThat(holdingEventRepository.findAll()).hasSize(TENANTS.size());
+        assertThat(holdingsSnapshotRepository.findAll()).hasSize(TENANTS.size());
+        assertThat(cashFlowRepository.findAll()).hasSize(TENANTS.size());
+        assertThat(dateBalanceRepository.findAllByDateIn(List.of(LocalDate.of(2024, 2, 8)))).hasSize(TENANTS.size());
+        assertThat(balanceSnapshotRepository.findAll()).hasSize(TENANTS.size());
+    }
+}
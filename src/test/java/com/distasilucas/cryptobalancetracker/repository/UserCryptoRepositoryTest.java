@@ -0,0 +1,252 @@
+package com.distasilucas.cryptobalancetracker.repository;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.Platform;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+
+class UserCryptoRepositoryTest extends StatementCountingRepositoryTest {
+
+    private static final int WARM_UP_READS = 20;
+    private static final int MEASURED_READS = 50;
+
+    @Autowired
+    private UserCryptoRepository userCryptoRepository;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveAllUserCryptosWithPlatformsAndCryptosInOneStatement(int rows) {
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var userCryptos = userCryptoRepository.findAll();
+
+        assertThat(userCryptos).hasSize(rows);
+        assertLoaded(userCryptos);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveUserCryptosPageWithPlatformsAndCryptosInTwoStatements(int rows) {
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var userCryptosPage = userCryptoRepository.findAll(PageRequest.of(0, 10));
+
+        assertThat(userCryptosPage.getTotalElements()).isEqualTo(rows);
+        assertLoaded(userCryptosPage.getContent());
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveUserCryptosByPlatformIdInOneStatement(int rows) {
+        var platform = persist(new Platform("platform", "BINANCE"));
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(platform, persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var userCryptos = userCryptoRepository.findAllByPlatformId("platform");
+
+        assertThat(userCryptos).hasSize(rows);
+        assertLoaded(userCryptos);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveUserCryptosByCoingeckoCryptoIdInOneStatement(int rows) {
+        var crypto = persist(getCryptoEntity("bitcoin"));
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), crypto);
+        }
+        clearPersistenceContext();
+
+        var userCryptos = userCryptoRepository.findAllByCoingeckoCryptoId("bitcoin");
+
+        assertThat(userCryptos).hasSize(rows);
+        assertLoaded(userCryptos);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveUserCryptoByIdInOneStatement(int rows) {
+        var platform = persist(new Platform("platform", "BINANCE"));
+        var userCrypto = persistUserCrypto(platform, persist(getCryptoEntity("bitcoin")));
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(platform, persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var userCryptoById = userCryptoRepository.findById(userCrypto.getId());
+
+        assertThat(userCryptoById).isPresent();
+        assertLoaded(List.of(userCryptoById.get()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveUserCryptoByCoingeckoCryptoIdAndPlatformIdInOneStatement(int rows) {
+        var platform = persist(new Platform("platform", "BINANCE"));
+        persistUserCrypto(platform, persist(getCryptoEntity("bitcoin")));
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(platform, persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var userCrypto = userCryptoRepository.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "platform");
+
+        assertThat(userCrypto).isPresent();
+        assertLoaded(List.of(userCrypto.get()));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveUserCryptosByCoingeckoCryptoIdsAndPlatformIdsInOneStatement(int rows) {
+        var bitcoin = persist(getCryptoEntity("bitcoin"));
+        var binance = persist(new Platform("binance", "BINANCE"));
+        var bybit = persist(new Platform("bybit", "BYBIT"));
+        var binanceUserCrypto = persistUserCrypto(binance, bitcoin);
+        var bybitUserCrypto = persistUserCrypto(bybit, bitcoin);
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(binance, persist(getCryptoEntity("crypto-" + i)));
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), bitcoin);
+        }
+        clearPersistenceContext();
+
+        var userCryptos = userCryptoRepository.findAllByCoingeckoCryptoIdsAndPlatformIds(List.of("bitcoin"), List.of("binance", "bybit"));
+
+        assertThat(userCryptos)
+            .extracting(UserCrypto::getId)
+            .containsExactlyInAnyOrder(binanceUserCrypto.getId(), bybitUserCrypto.getId());
+        assertLoaded(userCryptos);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldLockUserCryptoToTransferAndUserCryptoInPlatformItIsTransferredToInOneStatement(int rows) {
+        var bitcoin = persist(getCryptoEntity("bitcoin"));
+        var fromPlatform = persist(new Platform("from-platform", "BINANCE"));
+        var toPlatform = persist(new Platform("to-platform", "BYBIT"));
+        var userCrypto = persistUserCrypto(fromPlatform, bitcoin);
+        var toPlatformUserCrypto = persistUserCrypto(toPlatform, bitcoin);
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(fromPlatform, persist(getCryptoEntity("crypto-" + i)));
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), bitcoin);
+        }
+        clearPersistenceContext();
+
+        var userCryptos = userCryptoRepository.findAllToTransferForUpdate(List.of(userCrypto.getId()), List.of("to-platform"));
+
+        assertThat(userCryptos)
+            .extracting(UserCrypto::getId)
+            .containsExactlyInAnyOrder(userCrypto.getId(), toPlatformUserCrypto.getId())
+            .isSorted();
+        assertLoaded(userCryptos);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveAllHoldingsInOneStatementWithoutLoadingEntities(int rows) {
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var holdings = userCryptoRepository.findAllHoldings();
+
+        assertThat(holdings)
+            .hasSize(rows)
+            .allSatisfy(holding -> {
+                assertThat(holding.cryptoId()).startsWith("crypto-");
+                assertThat(holding.platformName()).startsWith("PLATFORM");
+                assertThat(holding.quantity()).isEqualByComparingTo(BigDecimal.ONE);
+            });
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 40})
+    void shouldRetrieveHoldingsByPlatformIdInOneStatementWithoutLoadingEntities(int rows) {
+        var platform = persist(new Platform("platform", "BINANCE"));
+        for (int i = 0; i < rows; i++) {
+            persistUserCrypto(platform, persist(getCryptoEntity("crypto-" + i)));
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), persist(getCryptoEntity("other-crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var holdings = userCryptoRepository.findAllHoldingsByPlatformId("platform");
+
+        assertThat(holdings)
+            .hasSize(rows)
+            .allSatisfy(holding -> assertThat(holding.platformName()).isEqualTo("BINANCE"));
+        assertThat(statistics.getEntityLoadCount()).isZero();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldAllocateLessHeapPerRequestReadingHoldingsThanUserCryptos() {
+        for (int i = 0; i < 200; i++) {
+            persistUserCrypto(persist(new Platform("platform-" + i, "PLATFORM " + i)), persist(getCryptoEntity("crypto-" + i)));
+        }
+        clearPersistenceContext();
+
+        var userCryptosAllocatedBytes = allocatedBytesPerRead(userCryptoRepository::findAll);
+        var holdingsAllocatedBytes = allocatedBytesPerRead(userCryptoRepository::findAllHoldings);
+
+        assertThat(holdingsAllocatedBytes).isLessThan(userCryptosAllocatedBytes);
+    }
+
+    private UserCrypto persistUserCrypto(Platform platform, Crypto crypto) {
+        return persist(new UserCrypto(BigDecimal.ONE, platform, crypto));
+    }
+
+    private long allocatedBytesPerRead(Supplier<List<?>> read) {
+        var threadMXBean = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+        for (int i = 0; i < WARM_UP_READS; i++) {
+            read.get();
+            testEntityManager.clear();
+        }
+
+        var allocatedBytes = threadMXBean.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_READS; i++) {
+            read.get();
+            testEntityManager.clear();
+        }
+
+        return (threadMXBean.getCurrentThreadAllocatedBytes() - allocatedBytes) / MEASURED_READS;
+    }
+
+    private void assertLoaded(List<UserCrypto> userCryptos) {
+        assertThat(userCryptos)
+            .allSatisfy(userCrypto -> {
+                assertThat(userCrypto.getPlatform().getName()).isNotBlank();
+                assertThat(userCrypto.getCrypto().getCryptoInfo().getName()).isEqualTo("Bitcoin");
+            });
+    }
+}
@@ -0,0 +1,71 @@
+package com.distasilucas.cryptobalancetracker.repository.view;
+
+import com.distasilucas.cryptobalancetracker.RepositoryTest;
+import com.distasilucas.cryptobalancetracker.entity.view.PortfolioSummaryView;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RepositoryTest
+class PortfolioSummaryViewRepositoryTest {
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private PortfolioSummaryViewRepository portfolioSummaryViewRepository;
+
+    @BeforeEach
+    void setUp() {
+        persist("1", "bitcoin", "Bitcoin", "binance", "BINANCE", "0.10", "3000.00", "2700.00", "0.10");
+        persist("2", "bitcoin", "Bitcoin", "coinbase", "COINBASE", "0.05", "1500.00", "1350.00", "0.05");
+        persist("3", "ethereum", "Ethereum", "binance", "BINANCE", "1.25", "2000.00", "1812.50", "0.07");
+        testEntityManager.flush();
+        testEntityManager.clear();
+    }
+
+    @Test
+    void shouldSummarizeHoldingsByCrypto() {
+        var cryptosSummaries = portfolioSummaryViewRepository.findCryptosSummaries();
+
+        assertThat(cryptosSummaries)
+            .usingRecursiveComparison()
+            .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+            .ignoringCollectionOrder()
+            .isEqualTo(List.of(
+                new PortfolioSummary("bitcoin", "Bitcoin", new BigDecimal("0.15"), new BigDecimal("4500"),
+                    new BigDecimal("4050"), new BigDecimal("0.15")),
+                new PortfolioSummary("ethereum", "Ethereum", new BigDecimal("1.25"), new BigDecimal("2000"),
+                    new BigDecimal("1812.50"), new BigDecimal("0.07"))
+            ));
+    }
+
+    @Test
+    void shouldSummarizeHoldingsByPlatform() {
+        var platformsSummaries = portfolioSummaryViewRepository.findPlatformsSummaries();
+
+        assertThat(platformsSummaries)
+            .usingRecursiveComparison()
+            .withComparatorForType(BigDecimal::compareTo, BigDecimal.class)
+            .ignoringCollectionOrder()
+            .isEqualTo(List.of(
+                new PortfolioSummary("BINANCE", "BINANCE", new BigDecimal("1.35"), new BigDecimal("5000"),
+                    new BigDecimal("4512.50"), new BigDecimal("0.17")),
+                new PortfolioSummary("COINBASE", "COINBASE", new BigDecimal("0.05"), new BigDecimal("1500"),
+                    new BigDecimal("1350"), new BigDecimal("0.05"))
+            ));
+    }
+
+    private void persist(String id, String cryptoId, String cryptoName, String platformId, String platformName,
+                         String quantity, String usdValue, String eurValue, String btcValue) {
+        testEntityManager.persist(new PortfolioSummaryView(id, cryptoId, cryptoName, platformId, platformName,
+            new BigDecimal(quantity), new BigDecimal(usdValue), new BigDecimal(eurValue), new BigDecimal(btcValue), null));
+    }
+}
@@ -0,0 +1,42 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.BalanceSnapshotService;
+import com.distasilucas.cryptobalancetracker.service.TenantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class BalanceSnapshotSchedulerTest {
+
+    @Mock
+    private BalanceSnapshotService balanceSnapshotServiceMock;
+
+    @Mock
+    private TenantService tenantServiceMock;
+
+    private BalanceSnapshotScheduler balanceSnapshotScheduler;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        balanceSnapshotScheduler = new BalanceSnapshotScheduler(balanceSnapshotServiceMock, tenantServiceMock);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(tenantServiceMock).forEachTenant(any());
+    }
+
+    @Test
+    void shouldCompactBalanceSnapshots() {
+        balanceSnapshotScheduler.compactBalanceSnapshots();
+
+        verify(tenantServiceMock, times(1)).forEachTenant(any());
+        verify(balanceSnapshotServiceMock, times(1)).compactSnapshots();
+    }
+}
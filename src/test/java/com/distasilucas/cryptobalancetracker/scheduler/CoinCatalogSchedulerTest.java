@@ -0,0 +1,31 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.CoinCatalogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CoinCatalogSchedulerTest {
+
+    @Mock
+    private CoinCatalogService coinCatalogServiceMock;
+
+    private CoinCatalogScheduler coinCatalogScheduler;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        coinCatalogScheduler = new CoinCatalogScheduler(coinCatalogServiceMock);
+    }
+
+    @Test
+    void shouldSyncCoinCatalog() {
+        coinCatalogScheduler.syncCoinCatalog();
+
+        verify(coinCatalogServiceMock, times(1)).syncCatalog();
+    }
+}
@@ -9,6 +9,7 @@ import com.distasilucas.cryptobalancetracker.model.response.coingecko.MarketCap;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.MarketData;
 import com.distasilucas.cryptobalancetracker.service.CoingeckoService;
 import com.distasilucas.cryptobalancetracker.service.CryptoService;
+import com.distasilucas.cryptobalancetracker.service.PortfolioSummaryService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
@@ -53,12 +54,15 @@ class CryptoSchedulerTest {
     @Mock
     private CoingeckoService coingeckoServiceMock;
 
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
     private CryptoScheduler cryptoScheduler;
 
     @BeforeEach
     void setUp() {
         openMocks(this);
-        cryptoScheduler = new CryptoScheduler(LIMIT, clockMock, cryptoServiceMock, coingeckoServiceMock);
+        cryptoScheduler = new CryptoScheduler(LIMIT, clockMock, cryptoServiceMock, coingeckoServiceMock, portfolioSummaryServiceMock);
     }
 
     @Test
@@ -90,6 +94,7 @@ class CryptoSchedulerTest {
 
         verify(coingeckoServiceMock, times(1)).retrieveCryptoInfo("bitcoin");
         verify(cryptoServiceMock, times(1)).updateCryptos(captor.getValue());
+        verify(portfolioSummaryServiceMock, times(1)).requestRefresh();
     }
 
     @Test
@@ -146,6 +151,7 @@ class CryptoSchedulerTest {
         cryptoScheduler.updateCryptosInformation();
 
         verify(cryptoServiceMock, never()).updateCryptos(any());
+        verify(portfolioSummaryServiceMock, never()).requestRefresh();
     }
 
     @Test
@@ -3,7 +3,10 @@ package com.distasilucas.cryptobalancetracker.scheduler;
 import com.distasilucas.cryptobalancetracker.entity.DateBalance;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.repository.DateBalanceRepository;
+import com.distasilucas.cryptobalancetracker.service.BalanceSnapshotService;
 import com.distasilucas.cryptobalancetracker.service.InsightsService;
+import com.distasilucas.cryptobalancetracker.service.ReturnsService;
+import com.distasilucas.cryptobalancetracker.service.TenantService;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -19,6 +22,7 @@ import java.time.ZonedDateTime;
 import java.util.Optional;
 import java.util.UUID;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.times;
@@ -37,6 +41,15 @@ class DateBalanceSchedulerTest {
     @Mock
     private InsightsService insightsServiceMock;
 
+    @Mock
+    private BalanceSnapshotService balanceSnapshotServiceMock;
+
+    @Mock
+    private ReturnsService returnsServiceMock;
+
+    @Mock
+    private TenantService tenantServiceMock;
+
     @Mock
     private Clock clockMock;
 
@@ -45,7 +58,12 @@ class DateBalanceSchedulerTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        dateBalanceScheduler = new DateBalanceScheduler(dateBalancesRepositoryMock, insightsServiceMock, clockMock);
+        dateBalanceScheduler = new DateBalanceScheduler(dateBalancesRepositoryMock, insightsServiceMock, balanceSnapshotServiceMock,
+            returnsServiceMock, tenantServiceMock, clockMock);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(tenantServiceMock).forEachTenant(any());
     }
 
     @AfterEach
@@ -70,6 +88,8 @@ class DateBalanceSchedulerTest {
         dateBalanceScheduler.saveDateBalance();
 
         verify(dateBalancesRepositoryMock, times(1)).save(captor.getValue());
+        verify(balanceSnapshotServiceMock, times(1)).saveSnapshot(balancesResponse);
+        verify(returnsServiceMock, times(1)).updateReturns(localDate, balancesResponse);
     }
 
     @Test
@@ -89,6 +109,8 @@ class DateBalanceSchedulerTest {
         dateBalanceScheduler.saveDateBalance();
 
         verify(dateBalancesRepositoryMock, times(1)).save(captor.getValue());
+        verify(balanceSnapshotServiceMock, times(1)).saveSnapshot(balancesResponse);
+        verify(returnsServiceMock, times(1)).updateReturns(localDate, balancesResponse);
     }
 
 }
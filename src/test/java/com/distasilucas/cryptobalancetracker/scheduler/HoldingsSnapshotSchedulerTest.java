@@ -0,0 +1,42 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.HoldingsLedgerService;
+import com.distasilucas.cryptobalancetracker.service.TenantService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class HoldingsSnapshotSchedulerTest {
+
+    @Mock
+    private HoldingsLedgerService holdingsLedgerServiceMock;
+
+    @Mock
+    private TenantService tenantServiceMock;
+
+    private HoldingsSnapshotScheduler holdingsSnapshotScheduler;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        holdingsSnapshotScheduler = new HoldingsSnapshotScheduler(holdingsLedgerServiceMock, tenantServiceMock);
+        doAnswer(invocation -> {
+            invocation.<Runnable>getArgument(0).run();
+            return null;
+        }).when(tenantServiceMock).forEachTenant(any());
+    }
+
+    @Test
+    void shouldTakeHoldingsSnapshot() {
+        holdingsSnapshotScheduler.takeHoldingsSnapshot();
+
+        verify(tenantServiceMock, times(1)).forEachTenant(any());
+        verify(holdingsLedgerServiceMock, times(1)).takeSnapshot();
+    }
+}
@@ -0,0 +1,31 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.OrphanCryptoService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class OrphanCryptoSchedulerTest {
+
+    @Mock
+    private OrphanCryptoService orphanCryptoServiceMock;
+
+    private OrphanCryptoScheduler orphanCryptoScheduler;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        orphanCryptoScheduler = new OrphanCryptoScheduler(orphanCryptoServiceMock);
+    }
+
+    @Test
+    void shouldDeleteOrphanCryptos() {
+        orphanCryptoScheduler.deleteOrphanCryptos();
+
+        verify(orphanCryptoServiceMock, times(1)).deleteOrphanCryptos();
+    }
+}
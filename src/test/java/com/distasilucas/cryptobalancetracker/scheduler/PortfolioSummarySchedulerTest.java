@@ -0,0 +1,31 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.PortfolioSummaryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PortfolioSummarySchedulerTest {
+
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
+    private PortfolioSummaryScheduler portfolioSummaryScheduler;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        portfolioSummaryScheduler = new PortfolioSummaryScheduler(portfolioSummaryServiceMock);
+    }
+
+    @Test
+    void shouldRefreshPortfolioSummaryIfRequested() {
+        portfolioSummaryScheduler.refreshPortfolioSummary();
+
+        verify(portfolioSummaryServiceMock, times(1)).refreshIfRequested();
+    }
+}
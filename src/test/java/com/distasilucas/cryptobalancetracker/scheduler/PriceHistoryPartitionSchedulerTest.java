@@ -0,0 +1,45 @@
+package com.distasilucas.cryptobalancetracker.scheduler;
+
+import com.distasilucas.cryptobalancetracker.service.PriceHistoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PriceHistoryPartitionSchedulerTest {
+
+    @Mock
+    private PriceHistoryService priceHistoryServiceMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private PriceHistoryPartitionScheduler priceHistoryPartitionScheduler;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        priceHistoryPartitionScheduler = new PriceHistoryPartitionScheduler(2, priceHistoryServiceMock, clockMock);
+    }
+
+    @Test
+    void shouldCreatePriceHistoryPartitions() {
+        var localDateTime = LocalDateTime.of(2024, 2, 8, 12, 0);
+
+        when(clockMock.instant()).thenReturn(localDateTime.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+
+        priceHistoryPartitionScheduler.createPriceHistoryPartitions();
+
+        verify(priceHistoryServiceMock, times(1)).createPartitions(YearMonth.of(2024, 2), 2);
+    }
+}
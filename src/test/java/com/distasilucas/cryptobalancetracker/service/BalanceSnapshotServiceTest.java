@@ -0,0 +1,127 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.BalanceSnapshot;
+import com.distasilucas.cryptobalancetracker.entity.Balances;
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import com.distasilucas.cryptobalancetracker.repository.BalanceSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class BalanceSnapshotServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 10);
+
+    @Mock
+    private BalanceSnapshotRepository balanceSnapshotRepositoryMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private BalanceSnapshotService balanceSnapshotService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        balanceSnapshotService = new BalanceSnapshotService(Duration.ofDays(2), Duration.ofDays(30), Duration.ofDays(730),
+            balanceSnapshotRepositoryMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldSaveRawSnapshot() {
+        var captor = ArgumentCaptor.forClass(BalanceSnapshot.class);
+
+        balanceSnapshotService.saveSnapshot(new BalancesResponse("1000", "931.15", "0.0165289256"));
+
+        verify(balanceSnapshotRepositoryMock, times(1)).save(captor.capture());
+        assertThat(captor.getValue())
+            .usingRecursiveComparison()
+            .ignoringFields("id")
+            .isEqualTo(new BalanceSnapshot("", SnapshotTier.RAW, NOW, new Balances("1000", "931.15", "0.0165289256")));
+    }
+
+    @Test
+    void shouldRetrieveRawIntradaySnapshots() {
+        var snapshots = List.of(snapshot(SnapshotTier.RAW, NOW.minusMinutes(30), "900"), snapshot(SnapshotTier.RAW, NOW, "1000"));
+
+        when(balanceSnapshotRepositoryMock.findAllByTierAndTakenAtGreaterThanEqualOrderByTakenAtAsc(SnapshotTier.RAW, NOW.minusDays(1)))
+            .thenReturn(snapshots);
+
+        var intradaySnapshots = balanceSnapshotService.retrieveIntradaySnapshots(SnapshotTier.RAW, Duration.ofDays(1));
+
+        assertThat(intradaySnapshots).containsExactlyElementsOf(snapshots);
+        verify(balanceSnapshotRepositoryMock, never()).findFirstByTierOrderByTakenAtDesc(any());
+    }
+
+    @Test
+    void shouldAppendLatestRawSnapshotToHourlySnapshots() {
+        var hourly = snapshot(SnapshotTier.HOURLY, NOW.minusHours(1).withMinute(0), "900");
+        var latestRaw = snapshot(SnapshotTier.RAW, NOW, "1000");
+
+        when(balanceSnapshotRepositoryMock.findAllByTierAndTakenAtGreaterThanEqualOrderByTakenAtAsc(SnapshotTier.HOURLY, NOW.minusDays(3)))
+            .thenReturn(List.of(hourly));
+        when(balanceSnapshotRepositoryMock.findFirstByTierOrderByTakenAtDesc(SnapshotTier.RAW)).thenReturn(Optional.of(latestRaw));
+
+        var intradaySnapshots = balanceSnapshotService.retrieveIntradaySnapshots(SnapshotTier.HOURLY, Duration.ofDays(3));
+
+        assertThat(intradaySnapshots).containsExactly(hourly, latestRaw);
+    }
+
+    @Test
+    void shouldRollupClosingValuesAndPruneSnapshots() {
+        Class<List<BalanceSnapshot>> listClass = (Class<List<BalanceSnapshot>>) (Class) List.class;
+        ArgumentCaptor<List<BalanceSnapshot>> hourlyCaptor = ArgumentCaptor.forClass(listClass);
+        var lastHourly = snapshot(SnapshotTier.HOURLY, LocalDateTime.of(2024, 2, 8, 9, 0), "800");
+        var lastDaily = snapshot(SnapshotTier.DAILY, LocalDateTime.of(2024, 2, 7, 0, 0), "700");
+        var rawSnapshots = List.of(
+            snapshot(SnapshotTier.RAW, LocalDateTime.of(2024, 2, 8, 10, 0), "900"),
+            snapshot(SnapshotTier.RAW, LocalDateTime.of(2024, 2, 8, 10, 30), "950"),
+            snapshot(SnapshotTier.RAW, LocalDateTime.of(2024, 2, 8, 11, 30), "1000")
+        );
+
+        when(balanceSnapshotRepositoryMock.findFirstByTierOrderByTakenAtDesc(SnapshotTier.HOURLY)).thenReturn(Optional.of(lastHourly));
+        when(balanceSnapshotRepositoryMock.findFirstByTierOrderByTakenAtDesc(SnapshotTier.DAILY)).thenReturn(Optional.of(lastDaily));
+        when(balanceSnapshotRepositoryMock.findAllByTierInRange(SnapshotTier.RAW, LocalDateTime.of(2024, 2, 8, 10, 0), LocalDateTime.of(2024, 2, 8, 12, 0)))
+            .thenReturn(rawSnapshots);
+
+        balanceSnapshotService.compactSnapshots();
+
+        verify(balanceSnapshotRepositoryMock, times(1)).saveAll(hourlyCaptor.capture());
+        verify(balanceSnapshotRepositoryMock, never()).findAllByTierInRange(eq(SnapshotTier.HOURLY), any(), any());
+        assertThat(hourlyCaptor.getValue())
+            .usingRecursiveComparison()
+            .ignoringFields("id")
+            .isEqualTo(List.of(
+                snapshot(SnapshotTier.HOURLY, LocalDateTime.of(2024, 2, 8, 10, 0), "950"),
+                snapshot(SnapshotTier.HOURLY, LocalDateTime.of(2024, 2, 8, 11, 0), "1000")
+            ));
+        verify(balanceSnapshotRepositoryMock, times(1)).deleteAllByTierOlderThan(SnapshotTier.RAW, NOW.minusDays(2));
+        verify(balanceSnapshotRepositoryMock, times(1)).deleteAllByTierOlderThan(SnapshotTier.HOURLY, NOW.minusDays(30));
+        verify(balanceSnapshotRepositoryMock, times(1)).deleteAllByTierOlderThan(SnapshotTier.DAILY, NOW.minusDays(730));
+    }
+
+    private BalanceSnapshot snapshot(SnapshotTier tier, LocalDateTime takenAt, String usdBalance) {
+        return new BalanceSnapshot("id", tier, takenAt, new Balances(usdBalance, usdBalance, "0.01"));
+    }
+}
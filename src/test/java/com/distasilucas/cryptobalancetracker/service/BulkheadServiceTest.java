@@ -0,0 +1,190 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.exception.ServiceUnavailableException;
+import com.distasilucas.cryptobalancetracker.model.BulkheadResult;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.SERVICE_UNAVAILABLE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BulkheadServiceTest {
+
+    private static final String BULKHEAD = "insights-cryptos-balances";
+
+    private SimpleMeterRegistry meterRegistry;
+    private BulkheadService bulkheadService;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        bulkheadService = new BulkheadService(1, 0, Duration.ofMillis(10), Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void shouldRunAdmittedCalls() {
+        var result = bulkheadService.execute(BULKHEAD, "key", recomputation("value"));
+
+        assertThat(result)
+            .usingRecursiveComparison()
+            .isEqualTo(new BulkheadResult<>("value", false));
+        assertThat(count("admitted")).isEqualTo(1);
+        assertThat(meterRegistry.get("bulkhead.available.permits").tag("bulkhead", BULKHEAD).gauge().value()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldServeStaleValueWhenBulkheadIsFull() throws Exception {
+        bulkheadService.execute(BULKHEAD, "key", recomputation("previous"));
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var running = CompletableFuture.supplyAsync(() -> bulkheadService.execute(BULKHEAD, "key", () -> bulkheadService.guard(BULKHEAD, () -> {
+            started.countDown();
+            await(release);
+            return "current";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var shed = bulkheadService.execute(BULKHEAD, "key", recomputation("not computed"));
+        release.countDown();
+
+        assertThat(shed)
+            .usingRecursiveComparison()
+            .isEqualTo(new BulkheadResult<>("previous", true));
+        assertThat(running.get(5, TimeUnit.SECONDS))
+            .usingRecursiveComparison()
+            .isEqualTo(new BulkheadResult<>("current", false));
+        assertThat(count("shed")).isEqualTo(1);
+        assertThat(meterRegistry.get("bulkhead.stale.responses").tag("bulkhead", BULKHEAD).counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void shouldThrowServiceUnavailableExceptionIfThereIsNoValueToServe() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var running = CompletableFuture.runAsync(() -> bulkheadService.execute(BULKHEAD, "key", () -> bulkheadService.guard(BULKHEAD, () -> {
+            started.countDown();
+            await(release);
+            return "current";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkheadService.execute(BULKHEAD, "other-key", recomputation("not computed")))
+            .isInstanceOf(ServiceUnavailableException.class)
+            .hasMessage(SERVICE_UNAVAILABLE)
+            .extracting("retryAfter")
+            .isEqualTo(Duration.ofSeconds(5));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldNotServeStaleValuesOfAnotherTenant() throws Exception {
+        TenantContext.bind("tenant-a");
+        bulkheadService.execute(BULKHEAD, "key", recomputation("tenant-a value"));
+        TenantContext.bind("tenant-b");
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var running = CompletableFuture.runAsync(() -> bulkheadService.execute(BULKHEAD, "key", () -> bulkheadService.guard(BULKHEAD, () -> {
+            started.countDown();
+            await(release);
+            return "value";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkheadService.execute(BULKHEAD, "key", recomputation("not computed")))
+            .isInstanceOf(ServiceUnavailableException.class);
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    void shouldNotTakePermitsToServeCachedValues() throws Exception {
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var running = CompletableFuture.runAsync(() -> bulkheadService.execute(BULKHEAD, "key", () -> bulkheadService.guard(BULKHEAD, () -> {
+            started.countDown();
+            await(release);
+            return "value";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        var cached = bulkheadService.execute(BULKHEAD, "other-key", () -> "cached value");
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertThat(cached)
+            .usingRecursiveComparison()
+            .isEqualTo(new BulkheadResult<>("cached value", false));
+        assertThat(count("admitted")).isEqualTo(1);
+        assertThat(count("shed")).isZero();
+    }
+
+    @Test
+    void shouldNotServeStaleValuesOfCurrentTenantAfterInvalidating() throws Exception {
+        TenantContext.bind("tenant-a");
+        bulkheadService.execute(BULKHEAD, "key", recomputation("tenant-a value"));
+        TenantContext.bind("tenant-b");
+        bulkheadService.execute(BULKHEAD, "key", recomputation("tenant-b value"));
+        bulkheadService.invalidate();
+
+        var started = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var running = CompletableFuture.runAsync(() -> bulkheadService.execute(BULKHEAD, "key", () -> bulkheadService.guard(BULKHEAD, () -> {
+            started.countDown();
+            await(release);
+            return "value";
+        })));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> bulkheadService.execute(BULKHEAD, "key", recomputation("not computed")))
+            .isInstanceOf(ServiceUnavailableException.class);
+        TenantContext.bind("tenant-a");
+        var tenantAValue = bulkheadService.execute(BULKHEAD, "key", recomputation("not computed"));
+
+        release.countDown();
+        running.get(5, TimeUnit.SECONDS);
+
+        assertThat(tenantAValue)
+            .usingRecursiveComparison()
+            .isEqualTo(new BulkheadResult<>("tenant-a value", true));
+    }
+
+    private Supplier<String> recomputation(String value) {
+        return () -> bulkheadService.guard(BULKHEAD, () -> value);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("bulkhead.calls")
+            .tag("bulkhead", BULKHEAD)
+            .tag("outcome", outcome)
+            .counter()
+            .count();
+    }
+
+    private void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -3,6 +3,7 @@ package com.distasilucas.cryptobalancetracker.service;
 import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
+import com.distasilucas.cryptobalancetracker.model.RiskKey;
 import com.distasilucas.cryptobalancetracker.model.response.goal.PageGoalResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalanceChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
@@ -16,6 +17,7 @@ import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.Plat
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsInsights;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PagePriceTargetResponse;
 import com.distasilucas.cryptobalancetracker.model.response.pricetarget.PriceTargetResponse;
 import org.junit.jupiter.api.BeforeEach;
@@ -24,6 +26,8 @@ import org.mockito.Mock;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.concurrent.ConcurrentMapCache;
 import org.springframework.cache.interceptor.SimpleKey;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -39,6 +43,7 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTOS_
 import static com.distasilucas.cryptobalancetracker.constants.Constants.CRYPTO_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.DATES_BALANCES_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.GOAL_PROGRESS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PAGE_GOALS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_BALANCES_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORMS_PLATFORMS_IDS_CACHE;
@@ -46,6 +51,7 @@ import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PLATFORM_PLATFORM_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_ID_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.PRICE_TARGET_PAGE_CACHE;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.RISK_INSIGHTS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.TOTAL_BALANCES_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_CACHE;
 import static com.distasilucas.cryptobalancetracker.constants.Constants.USER_CRYPTOS_COINGECKO_CRYPTO_ID_CACHE;
@@ -58,6 +64,7 @@ import static com.distasilucas.cryptobalancetracker.model.CacheType.INSIGHTS_CAC
 import static com.distasilucas.cryptobalancetracker.model.CacheType.PLATFORMS_CACHES;
 import static com.distasilucas.cryptobalancetracker.model.CacheType.PRICE_TARGETS_CACHES;
 import static com.distasilucas.cryptobalancetracker.model.CacheType.USER_CRYPTOS_CACHES;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.times;
@@ -70,12 +77,15 @@ class CacheServiceTest {
     @Mock
     private CacheManager cacheManagerMock;
 
+    @Mock
+    private BulkheadService bulkheadServiceMock;
+
     private CacheService cacheService;
 
     @BeforeEach
     void setUp() {
         openMocks(this);
-        cacheService = new CacheService(cacheManagerMock);
+        cacheService = new CacheService(cacheManagerMock, bulkheadServiceMock);
     }
 
     @Test
@@ -115,6 +125,38 @@ class CacheServiceTest {
         verify(cacheManagerMock, times(1)).getCache(USER_CRYPTOS_PAGE_CACHE);
     }
 
+    @Test
+    void shouldInvalidateCachesOnceTransactionCommits() {
+        var map = Map.of(List.of("bitcoin"), List.of(getBitcoinCryptoEntity()));
+        var cache = getMapCache(CRYPTOS_CRYPTOS_IDS_CACHE, map);
+
+        when(cacheManagerMock.getCache(CRYPTOS_CRYPTOS_IDS_CACHE)).thenReturn(cache);
+        TransactionSynchronizationManager.initSynchronization();
+
+        try {
+            cacheService.invalidateAfterCommit(CRYPTOS_CACHES);
+
+            assertFalse(cache.getNativeCache().isEmpty());
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertTrue(cache.getNativeCache().isEmpty());
+    }
+
+    @Test
+    void shouldInvalidateCachesRightAwayWithoutTransaction() {
+        var map = Map.of(List.of("bitcoin"), List.of(getBitcoinCryptoEntity()));
+        var cache = getMapCache(CRYPTOS_CRYPTOS_IDS_CACHE, map);
+
+        when(cacheManagerMock.getCache(CRYPTOS_CRYPTOS_IDS_CACHE)).thenReturn(cache);
+
+        cacheService.invalidateAfterCommit(CRYPTOS_CACHES);
+
+        assertTrue(cache.getNativeCache().isEmpty());
+    }
+
     @Test
     void shouldInvalidateCryptosCaches() {
         var crypto = getBitcoinCryptoEntity();
@@ -159,17 +201,23 @@ class CacheServiceTest {
         var goalResponseGoalIdMap = Map.of("123e4567-e89b-12d3-a456-426614174111", getGoalResponse());
         var pageGoalsResponsePageMap = Map.of(0, new PageGoalResponse(0, 1, List.of(getGoalResponse())));
 
+        var goalProgressGoalIdMap = Map.of("123e4567-e89b-12d3-a456-426614174111", getGoalResponse());
+
         var goalResponseGoalIdCache = getMapCache(GOAL_CACHE, goalResponseGoalIdMap);
+        var goalProgressGoalIdCache = getMapCache(GOAL_PROGRESS_CACHE, goalProgressGoalIdMap);
         var pageGoalsResponsePageCache = getMapCache(PAGE_GOALS_CACHE, pageGoalsResponsePageMap);
 
         when(cacheManagerMock.getCache(GOAL_CACHE)).thenReturn(goalResponseGoalIdCache);
+        when(cacheManagerMock.getCache(GOAL_PROGRESS_CACHE)).thenReturn(goalProgressGoalIdCache);
         when(cacheManagerMock.getCache(PAGE_GOALS_CACHE)).thenReturn(pageGoalsResponsePageCache);
 
         cacheService.invalidate(GOALS_CACHES);
 
         assertTrue(goalResponseGoalIdCache.getNativeCache().isEmpty());
+        assertTrue(goalProgressGoalIdCache.getNativeCache().isEmpty());
         assertTrue(pageGoalsResponsePageCache.getNativeCache().isEmpty());
         verify(cacheManagerMock, times(1)).getCache(GOAL_CACHE);
+        verify(cacheManagerMock, times(1)).getCache(GOAL_PROGRESS_CACHE);
         verify(cacheManagerMock, times(1)).getCache(PAGE_GOALS_CACHE);
     }
 
@@ -208,6 +256,7 @@ class CacheServiceTest {
         var cryptoInsightsMap = Map.of(String.class, getCryptoInsightResponse());
         var platformsBalancesInsightsMap = Map.of(SimpleKey.class, getPlatformsBalancesInsightsResponse());
         var cryptosBalancesInsightsMap = Map.of(SimpleKey.class, getCryptosBalancesInsightsResponse());
+        var riskInsightsMap = Map.of(new RiskKey(1, 2, 0.95), RiskInsightsResponse.empty("1d", 0.95F));
 
         var totalBalancesCache = getMapCache(TOTAL_BALANCES_CACHE, totalBalancesMap);
         var datesBalancesCache = getMapCache(DATES_BALANCES_CACHE, datesBalancesMap);
@@ -215,6 +264,7 @@ class CacheServiceTest {
         var cryptoInsightsCache = getMapCache(CRYPTO_INSIGHTS_CACHE, cryptoInsightsMap);
         var platformsBalancesInsightsCache = getMapCache(PLATFORMS_BALANCES_INSIGHTS_CACHE, platformsBalancesInsightsMap);
         var cryptosBalancesInsightsCache = getMapCache(CRYPTOS_BALANCES_INSIGHTS_CACHE, cryptosBalancesInsightsMap);
+        var riskInsightsCache = getMapCache(RISK_INSIGHTS_CACHE, riskInsightsMap);
 
         when(cacheManagerMock.getCache(TOTAL_BALANCES_CACHE)).thenReturn(totalBalancesCache);
         when(cacheManagerMock.getCache(DATES_BALANCES_CACHE)).thenReturn(datesBalancesCache);
@@ -222,6 +272,7 @@ class CacheServiceTest {
         when(cacheManagerMock.getCache(CRYPTO_INSIGHTS_CACHE)).thenReturn(cryptoInsightsCache);
         when(cacheManagerMock.getCache(PLATFORMS_BALANCES_INSIGHTS_CACHE)).thenReturn(platformsBalancesInsightsCache);
         when(cacheManagerMock.getCache(CRYPTOS_BALANCES_INSIGHTS_CACHE)).thenReturn(cryptosBalancesInsightsCache);
+        when(cacheManagerMock.getCache(RISK_INSIGHTS_CACHE)).thenReturn(riskInsightsCache);
 
         cacheService.invalidate(INSIGHTS_CACHES);
 
@@ -231,6 +282,7 @@ class CacheServiceTest {
         assertTrue(cryptoInsightsCache.getNativeCache().isEmpty());
         assertTrue(platformsBalancesInsightsCache.getNativeCache().isEmpty());
         assertTrue(cryptosBalancesInsightsCache.getNativeCache().isEmpty());
+        assertTrue(riskInsightsCache.getNativeCache().isEmpty());
 
         verify(cacheManagerMock, times(1)).getCache(TOTAL_BALANCES_CACHE);
         verify(cacheManagerMock, times(1)).getCache(DATES_BALANCES_CACHE);
@@ -238,6 +290,8 @@ class CacheServiceTest {
         verify(cacheManagerMock, times(1)).getCache(CRYPTO_INSIGHTS_CACHE);
         verify(cacheManagerMock, times(1)).getCache(PLATFORMS_BALANCES_INSIGHTS_CACHE);
         verify(cacheManagerMock, times(1)).getCache(CRYPTOS_BALANCES_INSIGHTS_CACHE);
+        verify(cacheManagerMock, times(1)).getCache(RISK_INSIGHTS_CACHE);
+        verify(bulkheadServiceMock, times(1)).invalidate();
     }
 
     @Test
@@ -0,0 +1,191 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
+import com.distasilucas.cryptobalancetracker.journal.PriceJournal;
+import com.distasilucas.cryptobalancetracker.journal.PriceTick;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CandleServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+
+    @Mock
+    private PriceHistoryService priceHistoryServiceMock;
+
+    @Mock
+    private Clock clockMock;
+
+    @TempDir
+    private Path journalDirectory;
+
+    private PriceJournal priceJournal;
+    private CandleService candleService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        candleService = new CandleService(priceHistoryServiceMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (priceJournal != null) {
+            priceJournal.close();
+        }
+    }
+
+    @Test
+    void shouldUpdateCandlesIncrementally() {
+        var from = CandleInterval.ONE_HOUR.oldestOpenTime(NOW);
+        when(priceHistoryServiceMock.retrieveCandles("bitcoin", CandleInterval.ONE_HOUR, from)).thenReturn(List.of());
+
+        candleService.updateCandles(List.of(bitcoin("30000", NOW.withMinute(0))));
+        candleService.updateCandles(List.of(bitcoin("31000", NOW.withMinute(10))));
+        candleService.updateCandles(List.of(bitcoin("29500", NOW.withMinute(20))));
+        candleService.updateCandles(List.of(bitcoin("30500", NOW.withMinute(30))));
+        candleService.updateCandles(List.of(bitcoin("30700", NOW.plusHours(1))));
+
+        var candles = candleService.retrieveCandles("bitcoin", CandleInterval.ONE_HOUR);
+
+        assertThat(candles)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                candle(NOW.withMinute(0), "30000", "31000", "29500", "30500"),
+                candle(NOW.withMinute(0).plusHours(1), "30700", "30700", "30700", "30700")
+            ));
+    }
+
+    @Test
+    void shouldIgnoreRepeatedTicks() {
+        var from = CandleInterval.ONE_DAY.oldestOpenTime(NOW);
+        when(priceHistoryServiceMock.retrieveCandles("bitcoin", CandleInterval.ONE_DAY, from)).thenReturn(List.of());
+
+        candleService.updateCandles(List.of(bitcoin("30000", NOW)));
+        candleService.updateCandles(List.of(bitcoin("35000", NOW)));
+        candleService.updateCandles(List.of(bitcoin("35000", NOW.minusMinutes(5))));
+
+        var candles = candleService.retrieveCandles("bitcoin", CandleInterval.ONE_DAY);
+
+        assertThat(candles)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(candle(NOW.toLocalDate().atStartOfDay(), "30000", "30000", "30000", "30000")));
+    }
+
+    @Test
+    void shouldSeedCandlesFromPriceHistoryAndMergeLiveCandle() {
+        var today = NOW.toLocalDate().atStartOfDay();
+        var from = CandleInterval.ONE_DAY.oldestOpenTime(NOW);
+        var history = List.of(
+            candle(today.minusDays(1), "28000", "29000", "27500", "28500"),
+            candle(today, "28500", "30500", "28000", "30000")
+        );
+
+        when(priceHistoryServiceMock.retrieveCandles("bitcoin", CandleInterval.ONE_DAY, from)).thenReturn(history);
+
+        candleService.updateCandles(List.of(bitcoin("31000", NOW)));
+        var candles = candleService.retrieveCandles("bitcoin", CandleInterval.ONE_DAY);
+        var cachedCandles = candleService.retrieveCandles("bitcoin", CandleInterval.ONE_DAY);
+
+        assertThat(candles)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                candle(today.minusDays(1), "28000", "29000", "27500", "28500"),
+                candle(today, "28500", "31000", "28000", "31000")
+            ));
+        assertThat(cachedCandles).isSameAs(candles);
+        verify(priceHistoryServiceMock, times(1)).retrieveCandles("bitcoin", CandleInterval.ONE_DAY, from);
+    }
+
+    @Test
+    void shouldSeedCandlesFromPriceJournalTicksIfJournalCoversSeries() throws IOException {
+        var today = NOW.toLocalDate().atStartOfDay();
+        var from = CandleInterval.ONE_DAY.oldestOpenTime(NOW);
+        priceJournal = new PriceJournal(journalDirectory, 16);
+        priceJournal.append("bitcoin", tick(today.minusDays(1).plusHours(1), 28000));
+        priceJournal.append("bitcoin", tick(today.minusDays(1).plusHours(8), 29000));
+        priceJournal.append("bitcoin", tick(today.minusDays(1).plusHours(16), 28500));
+        priceJournal.append("bitcoin", tick(today.plusHours(2), 30000));
+        var ticks = priceJournal.read("bitcoin", 0, Long.MAX_VALUE);
+
+        when(priceHistoryServiceMock.retrievePriceTicks("bitcoin", from, NOW)).thenReturn(Optional.of(ticks));
+
+        var candles = candleService.retrieveCandles("bitcoin", CandleInterval.ONE_DAY);
+
+        assertThat(candles)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                candle(today.minusDays(1), "28000.0", "29000.0", "28000.0", "28500.0"),
+                candle(today, "30000.0", "30000.0", "30000.0", "30000.0")
+            ));
+        verify(priceHistoryServiceMock, never()).retrieveCandles(any(), any(), any());
+    }
+
+    @Test
+    void shouldNotKeepSeriesForCryptosWithoutHistory() {
+        var from = CandleInterval.ONE_WEEK.oldestOpenTime(NOW);
+        when(priceHistoryServiceMock.retrieveCandles("unknown", CandleInterval.ONE_WEEK, from)).thenReturn(List.of());
+
+        var candles = candleService.retrieveCandles("unknown", CandleInterval.ONE_WEEK);
+        candleService.retrieveCandles("unknown", CandleInterval.ONE_WEEK);
+
+        assertThat(candles).isEmpty();
+        verify(priceHistoryServiceMock, times(2)).retrieveCandles("unknown", CandleInterval.ONE_WEEK, from);
+    }
+
+    @Test
+    void shouldKeepOnlyCapacityCandles() {
+        when(priceHistoryServiceMock.retrieveCandles(any(), any(), any())).thenReturn(List.of());
+
+        for (int hour = 0; hour < CandleInterval.ONE_HOUR.getCapacity() + 10; hour++) {
+            candleService.updateCandles(List.of(bitcoin("30000", NOW.minusHours(200).plusHours(hour))));
+        }
+
+        var candles = candleService.retrieveCandles("bitcoin", CandleInterval.ONE_HOUR);
+
+        assertThat(candles).hasSize(CandleInterval.ONE_HOUR.getCapacity());
+        assertThat(candles.getLast().openTime()).isEqualTo(NOW.minusHours(200).plusHours(177).withMinute(0));
+    }
+
+    private Crypto bitcoin(String price, LocalDateTime lastUpdatedAt) {
+        var bitcoin = getBitcoinCryptoEntity();
+        var lastKnownPrices = new LastKnownPrices(new BigDecimal(price), new BigDecimal(price), BigDecimal.ONE);
+
+        return new Crypto(bitcoin.getId(), bitcoin.getCryptoInfo(), lastKnownPrices, bitcoin.getChangePercentages(), lastUpdatedAt);
+    }
+
+    private CandleResponse candle(LocalDateTime openTime, String open, String high, String low, String close) {
+        return new CandleResponse(openTime, new BigDecimal(open), new BigDecimal(high), new BigDecimal(low), new BigDecimal(close));
+    }
+
+    private PriceTick tick(LocalDateTime recordedAt, double usd) {
+        return new PriceTick(recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), usd, usd, 1);
+    }
+}
@@ -0,0 +1,166 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.CoinCatalogEntry;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.repository.CoinCatalogRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.cache.interceptor.SimpleKey;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import static com.distasilucas.cryptobalancetracker.constants.Constants.COINGECKO_CRYPTOS_CACHE;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CoinCatalogServiceTest {
+
+    private static final CoingeckoCrypto BITCOIN = new CoingeckoCrypto("bitcoin", "btc", "Bitcoin");
+    private static final CoingeckoCrypto ETHEREUM = new CoingeckoCrypto("ethereum", "eth", "Ethereum");
+
+    @Mock
+    private CoinCatalogRepository coinCatalogRepositoryMock;
+
+    @Mock
+    private CoingeckoService coingeckoServiceMock;
+
+    private CacheManager cacheManager;
+    private CoinCatalogService coinCatalogService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        cacheManager = new ConcurrentMapCacheManager(COINGECKO_CRYPTOS_CACHE);
+        coinCatalogService = new CoinCatalogService(10, coinCatalogRepositoryMock, coingeckoServiceMock, cacheManager);
+    }
+
+    @Test
+    void shouldOnlyWriteAddedRenamedAndDelistedCoinsWhenSyncingCatalog() {
+        var renamedEthereum = new CoingeckoCrypto("ethereum", "eth", "Ether");
+        var solana = new CoingeckoCrypto("solana", "sol", "Solana");
+        var dogecoin = new CoingeckoCrypto("dogecoin", "doge", "Dogecoin");
+
+        when(coingeckoServiceMock.refreshAllCryptos()).thenReturn(List.of(BITCOIN, renamedEthereum, solana));
+        when(coinCatalogRepositoryMock.findAllCoins()).thenReturn(List.of(BITCOIN, ETHEREUM, dogecoin));
+
+        coinCatalogService.syncCatalog();
+
+        verify(coinCatalogRepositoryMock, times(1)).upsertAll(List.of(renamedEthereum, solana));
+        verify(coinCatalogRepositoryMock, times(1)).deleteAllByIds(List.of("dogecoin"));
+    }
+
+    @Test
+    void shouldKeepCatalogIfCoingeckoReturnsNoCryptos() {
+        when(coingeckoServiceMock.refreshAllCryptos()).thenReturn(emptyList());
+
+        coinCatalogService.syncCatalog();
+
+        verify(coinCatalogRepositoryMock, never()).findAllCoins();
+        verify(coinCatalogRepositoryMock, never()).upsertAll(any());
+        verify(coinCatalogRepositoryMock, never()).deleteAllByIds(any());
+    }
+
+    @Test
+    void shouldFindByNameOrIdInCachedCryptosIfCacheIsWarm() {
+        cacheManager.getCache(COINGECKO_CRYPTOS_CACHE).put(SimpleKey.EMPTY, List.of(BITCOIN, ETHEREUM));
+
+        var coingeckoCrypto = coinCatalogService.findByNameOrId("ETHEREUM");
+
+        assertThat(coingeckoCrypto).contains(ETHEREUM);
+        verify(coinCatalogRepositoryMock, never()).findFirstByNameOrId(anyString());
+        verify(coingeckoServiceMock, never()).retrieveAllCryptos();
+    }
+
+    @Test
+    void shouldFindByNameOrIdInCatalogIfCacheIsCold() {
+        when(coinCatalogRepositoryMock.findFirstByNameOrId("Bitcoin"))
+            .thenReturn(Optional.of(new CoinCatalogEntry("bitcoin", "btc", "Bitcoin")));
+
+        var coingeckoCrypto = coinCatalogService.findByNameOrId("Bitcoin");
+
+        assertThat(coingeckoCrypto).contains(BITCOIN);
+        verify(coingeckoServiceMock, never()).retrieveAllCryptos();
+    }
+
+    @Test
+    void shouldFindByNameOrIdInCoingeckoCryptosIfMissingFromCatalog() {
+        var coingeckoCrypto = new CoingeckoCrypto("wen-4", "wen", "WEN");
+        var coingeckoCrypto2 = new CoingeckoCrypto("wen", "wen", "WEN");
+
+        when(coinCatalogRepositoryMock.findFirstByNameOrId("wen-4")).thenReturn(Optional.empty());
+        when(coingeckoServiceMock.retrieveAllCryptos()).thenReturn(List.of(coingeckoCrypto, coingeckoCrypto2));
+
+        var crypto = coinCatalogService.findByNameOrId("wen-4");
+
+        assertThat(crypto).contains(coingeckoCrypto);
+    }
+
+    @Test
+    void shouldReturnEmptyIfCryptoDoesNotExist() {
+        when(coinCatalogRepositoryMock.findFirstByNameOrId("dogecoin")).thenReturn(Optional.empty());
+        when(coingeckoServiceMock.retrieveAllCryptos()).thenReturn(List.of(BITCOIN));
+
+        var coingeckoCrypto = coinCatalogService.findByNameOrId("dogecoin");
+
+        assertThat(coingeckoCrypto).isEmpty();
+    }
+
+    @Test
+    void shouldFindAllByNamesOrIdsInCachedCryptosIfCacheIsWarm() {
+        cacheManager.getCache(COINGECKO_CRYPTOS_CACHE).put(SimpleKey.EMPTY, List.of(BITCOIN, ETHEREUM));
+
+        var coingeckoCryptos = coinCatalogService.findAllByNamesOrIds(List.of("Bitcoin", "ETHEREUM", "dogecoin"));
+
+        assertThat(coingeckoCryptos).isEqualTo(Map.of("bitcoin", BITCOIN, "ethereum", ETHEREUM));
+        verify(coinCatalogRepositoryMock, never()).findAllByNamesOrIds(any());
+        verify(coingeckoServiceMock, never()).retrieveAllCryptos();
+    }
+
+    @Test
+    void shouldFindAllByNamesOrIdsInCatalogKeepingFirstCoinById() {
+        when(coinCatalogRepositoryMock.findAllByNamesOrIds(Set.of("wen", "bitcoin")))
+            .thenReturn(List.of(
+                new CoinCatalogEntry("bitcoin", "btc", "Bitcoin"),
+                new CoinCatalogEntry("wen", "wen", "WEN"),
+                new CoinCatalogEntry("wen-4", "wen", "WEN")
+            ));
+
+        var coingeckoCryptos = coinCatalogService.findAllByNamesOrIds(List.of("WEN", "bitcoin"));
+
+        assertThat(coingeckoCryptos).isEqualTo(Map.of("bitcoin", BITCOIN, "wen", new CoingeckoCrypto("wen", "wen", "WEN")));
+        verify(coingeckoServiceMock, never()).retrieveAllCryptos();
+    }
+
+    @Test
+    void shouldFindAllByNamesOrIdsInCoingeckoCryptosIfMissingFromCatalog() {
+        when(coinCatalogRepositoryMock.findAllByNamesOrIds(Set.of("bitcoin", "ethereum", "dogecoin")))
+            .thenReturn(List.of(new CoinCatalogEntry("bitcoin", "btc", "Bitcoin")));
+        when(coingeckoServiceMock.retrieveAllCryptos()).thenReturn(List.of(BITCOIN, ETHEREUM));
+
+        var coingeckoCryptos = coinCatalogService.findAllByNamesOrIds(List.of("bitcoin", "Ethereum", "dogecoin"));
+
+        assertThat(coingeckoCryptos).isEqualTo(Map.of("bitcoin", BITCOIN, "ethereum", ETHEREUM));
+    }
+
+    @Test
+    void shouldSearchCatalogByStrippedName() {
+        when(coinCatalogRepositoryMock.searchByName("bitc", 10)).thenReturn(List.of(BITCOIN));
+
+        var coingeckoCryptos = coinCatalogService.searchByName(" bitc ");
+
+        assertThat(coingeckoCryptos).containsExactly(BITCOIN);
+    }
+}
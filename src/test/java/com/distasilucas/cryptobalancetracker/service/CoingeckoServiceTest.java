@@ -45,6 +45,18 @@ class CoingeckoServiceTest {
         assertFalse(cryptos.isEmpty());
     }
 
+    @Test
+    void shouldRefreshAllCryptos() {
+        var mockResponse = new MockResponse();
+        mockWebServer.enqueue(mockResponse);
+        var restClient = RestClient.create(COINGECKO_API_URL);
+        coingeckoService = new CoingeckoService("", "", restClient);
+
+        var cryptos = coingeckoService.refreshAllCryptos();
+
+        assertFalse(cryptos.isEmpty());
+    }
+
     @Test
     void shouldRetrieveCoingeckoCryptoInfo() {
         var mockResponse = new MockResponse();
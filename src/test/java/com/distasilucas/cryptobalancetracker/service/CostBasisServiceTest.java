@@ -0,0 +1,245 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Lot;
+import com.distasilucas.cryptobalancetracker.model.CostBasisMethod;
+import com.distasilucas.cryptobalancetracker.model.LotTotals;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ProfitAndLoss;
+import com.distasilucas.cryptobalancetracker.repository.LotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getUserCrypto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CostBasisServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+    private static final String USER_CRYPTO_ID = "af827ac7-d642-4461-a73c-b31ca6f6d13d";
+    private static final String TO_USER_CRYPTO_ID = "a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d";
+
+    @Mock
+    private LotRepository lotRepositoryMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private CostBasisService costBasisService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        costBasisService = new CostBasisService(CostBasisMethod.FIFO, lotRepositoryMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldOpenLotAtCurrentPriceForPositiveChange() {
+        var captor = ArgumentCaptor.forClass(Lot.class);
+
+        costBasisService.recordChange(getUserCrypto(), new BigDecimal("0.25"));
+
+        verify(lotRepositoryMock, times(1)).save(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(Lot::getUserCryptoId, Lot::getCryptoId, Lot::getAcquiredAt, Lot::getUnitCost, Lot::getQuantity, Lot::getRealizedPnl)
+            .containsExactly(USER_CRYPTO_ID, "bitcoin", NOW, new BigDecimal("30000"), new BigDecimal("0.25"), BigDecimal.ZERO);
+    }
+
+    @Test
+    void shouldNotTouchLotsForZeroChange() {
+        costBasisService.recordChange(getUserCrypto(), BigDecimal.ZERO);
+
+        verify(lotRepositoryMock, never()).save(any());
+        verify(lotRepositoryMock, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldSellOldestLotsFirstWithFifo() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO, openLotsPage(Sort.by("acquiredAt"))))
+            .thenReturn(List.of(lot("lot-1", "20000", "1", 10), lot("lot-2", "35000", "1", 5), lot("lot-3", "25000", "1", 1)));
+
+        costBasisService.recordChange(getUserCrypto(), new BigDecimal("-1.5"));
+
+        verify(lotRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(Lot::getId, Lot::getQuantity, Lot::getRealizedPnl)
+            .containsExactly(
+                tuple("lot-1", new BigDecimal("0"), new BigDecimal("10000")),
+                tuple("lot-2", new BigDecimal("0.5"), new BigDecimal("-2500.0"))
+            );
+    }
+
+    @Test
+    void shouldSellNewestLotsFirstWithLifo() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+        var lifoCostBasisService = new CostBasisService(CostBasisMethod.LIFO, lotRepositoryMock, clockMock);
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO, openLotsPage(Sort.by("acquiredAt").descending())))
+            .thenReturn(List.of(lot("lot-3", "25000", "1", 1), lot("lot-2", "35000", "1", 5), lot("lot-1", "20000", "1", 10)));
+
+        lifoCostBasisService.recordChange(getUserCrypto(), new BigDecimal("-0.5"));
+
+        verify(lotRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(Lot::getId, Lot::getQuantity, Lot::getRealizedPnl)
+            .containsExactly(tuple("lot-3", new BigDecimal("0.5"), new BigDecimal("2500.0")));
+    }
+
+    @Test
+    void shouldSellHighestCostLotsFirstWithHifo() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+        var hifoCostBasisService = new CostBasisService(CostBasisMethod.HIFO, lotRepositoryMock, clockMock);
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO,
+            openLotsPage(Sort.by(Sort.Order.desc("unitCost"), Sort.Order.asc("acquiredAt")))))
+            .thenReturn(List.of(lot("lot-2", "35000", "1", 5), lot("lot-3", "25000", "1", 1), lot("lot-1", "20000", "1", 10)));
+
+        hifoCostBasisService.recordChange(getUserCrypto(), new BigDecimal("-1"));
+
+        verify(lotRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(Lot::getId, Lot::getQuantity, Lot::getRealizedPnl)
+            .containsExactly(tuple("lot-2", new BigDecimal("0"), new BigDecimal("-5000")));
+    }
+
+    @Test
+    void shouldMoveLotsKeepingCostAndSellNetworkFee() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO, openLotsPage(Sort.by("acquiredAt"))))
+            .thenReturn(List.of(lot("lot-1", "20000", "0.1", 10), lot("lot-2", "25000", "0.2", 5)));
+
+        costBasisService.transferLots(getUserCrypto(), TO_USER_CRYPTO_ID, new BigDecimal("0.15"), new BigDecimal("0.0005"));
+
+        verify(lotRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(Lot::getUserCryptoId, Lot::getAcquiredAt, Lot::getUnitCost, Lot::getQuantity, Lot::getRealizedPnl)
+            .containsExactly(
+                tuple(USER_CRYPTO_ID, NOW.minusDays(10), new BigDecimal("20000"), new BigDecimal("0.0"), BigDecimal.ZERO),
+                tuple(USER_CRYPTO_ID, NOW.minusDays(5), new BigDecimal("25000"), new BigDecimal("0.1495"), new BigDecimal("2.5000")),
+                tuple(TO_USER_CRYPTO_ID, NOW.minusDays(10), new BigDecimal("20000"), new BigDecimal("0.1"), BigDecimal.ZERO),
+                tuple(TO_USER_CRYPTO_ID, NOW.minusDays(5), new BigDecimal("25000"), new BigDecimal("0.05"), BigDecimal.ZERO)
+            );
+    }
+
+    @Test
+    void shouldOnlySellNetworkFeeWhenTransferringToSameUserCrypto() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO, openLotsPage(Sort.by("acquiredAt"))))
+            .thenReturn(List.of(lot("lot-1", "20000", "0.25", 10)));
+
+        costBasisService.transferLots(getUserCrypto(), USER_CRYPTO_ID, new BigDecimal("0.2495"), new BigDecimal("0.0005"));
+
+        verify(lotRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(Lot::getId, Lot::getQuantity, Lot::getRealizedPnl)
+            .containsExactly(tuple("lot-1", new BigDecimal("0.2495"), new BigDecimal("5.0000")));
+    }
+
+    @Test
+    void shouldReadNextPageOfOpenLotsOnceFirstOneIsSold() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+        var firstPage = IntStream.range(0, 50).mapToObj(i -> lot("lot-" + i, "20000", "0.01", 100 - i)).toList();
+        var secondPage = List.of(lot("lot-50", "25000", "1", 1));
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO, openLotsPage(Sort.by("acquiredAt"))))
+            .thenReturn(firstPage, secondPage);
+
+        costBasisService.recordChange(getUserCrypto(), new BigDecimal("-0.75"));
+
+        verify(lotRepositoryMock, times(2)).flush();
+        verify(lotRepositoryMock, times(2)).findAllByUserCryptoIdAndQuantityGreaterThan(any(), any(), any());
+        verify(lotRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .hasSize(51)
+            .last()
+            .extracting(Lot::getId, Lot::getQuantity)
+            .containsExactly("lot-50", new BigDecimal("0.75"));
+    }
+
+    @Test
+    void shouldNotReadMoreOpenLotsThanNeeded() {
+        var firstPage = IntStream.range(0, 50).mapToObj(i -> lot("lot-" + i, "20000", "0.01", 100 - i)).toList();
+
+        when(lotRepositoryMock.findAllByUserCryptoIdAndQuantityGreaterThan(USER_CRYPTO_ID, BigDecimal.ZERO, openLotsPage(Sort.by("acquiredAt"))))
+            .thenReturn(firstPage);
+
+        costBasisService.recordChange(getUserCrypto(), new BigDecimal("-0.25"));
+
+        verify(lotRepositoryMock, times(1)).findAllByUserCryptoIdAndQuantityGreaterThan(any(), any(), any());
+    }
+
+    @Test
+    void shouldRetrieveProfitAndLossByCrypto() {
+        when(lotRepositoryMock.sumAllByCryptoIdIn(Set.of("bitcoin"))).thenReturn(List.of(
+            new LotTotals("bitcoin", "bitcoin", new BigDecimal("0.25"), new BigDecimal("5750"), new BigDecimal("-120.5"))
+        ));
+
+        var profitAndLoss = costBasisService.retrieveProfitAndLossByCrypto(List.of(getBitcoinCryptoEntity()));
+
+        assertThat(profitAndLoss)
+            .usingRecursiveComparison()
+            .isEqualTo(Map.of("bitcoin", new ProfitAndLoss("5750.00", "1750.00", "-120.50")));
+    }
+
+    @Test
+    void shouldRetrieveProfitAndLossByUserCrypto() {
+        when(lotRepositoryMock.sumAllByUserCryptoIdIn(List.of(USER_CRYPTO_ID))).thenReturn(List.of(
+            new LotTotals(USER_CRYPTO_ID, "bitcoin", new BigDecimal("0.25"), new BigDecimal("5750"), BigDecimal.ZERO)
+        ));
+
+        var profitAndLoss = costBasisService.retrieveProfitAndLossByUserCrypto(List.of(USER_CRYPTO_ID), List.of(getBitcoinCryptoEntity()));
+
+        assertThat(profitAndLoss)
+            .usingRecursiveComparison()
+            .isEqualTo(Map.of(USER_CRYPTO_ID, new ProfitAndLoss("5750.00", "1750.00", "0.00")));
+    }
+
+    @Test
+    void shouldLeaveOutProfitAndLossOfCryptosWithoutPrice() {
+        when(lotRepositoryMock.sumAllByUserCryptoIdIn(List.of(USER_CRYPTO_ID))).thenReturn(List.of(
+            new LotTotals(USER_CRYPTO_ID, "ethereum", new BigDecimal("1"), new BigDecimal("2000"), BigDecimal.ZERO)
+        ));
+
+        var profitAndLoss = costBasisService.retrieveProfitAndLossByUserCrypto(List.of(USER_CRYPTO_ID), List.of(getBitcoinCryptoEntity()));
+
+        assertThat(profitAndLoss).isEmpty();
+    }
+
+    private Lot lot(String id, String unitCost, String quantity, int daysAgo) {
+        return new Lot(id, USER_CRYPTO_ID, "bitcoin", NOW.minusDays(daysAgo), new BigDecimal(unitCost), new BigDecimal(quantity), BigDecimal.ZERO);
+    }
+
+    private PageRequest openLotsPage(Sort sort) {
+        return PageRequest.of(0, 50, sort);
+    }
+
+    private Class<Iterable<Lot>> iterableClass() {
+        return (Class<Iterable<Lot>>)(Class) Iterable.class;
+    }
+}
@@ -4,7 +4,6 @@ import com.distasilucas.cryptobalancetracker.entity.ChangePercentages;
 import com.distasilucas.cryptobalancetracker.entity.Crypto;
 import com.distasilucas.cryptobalancetracker.entity.CryptoInfo;
 import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
-import com.distasilucas.cryptobalancetracker.entity.view.NonUsedCryptosView;
 import com.distasilucas.cryptobalancetracker.exception.CoingeckoCryptoNotFoundException;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCryptoInfo;
@@ -13,11 +12,12 @@ import com.distasilucas.cryptobalancetracker.model.response.coingecko.Image;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.MarketCap;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.MarketData;
 import com.distasilucas.cryptobalancetracker.repository.CryptoRepository;
-import com.distasilucas.cryptobalancetracker.repository.view.NonUsedCryptosViewRepository;
+import com.distasilucas.cryptobalancetracker.repository.OrphanCryptoCandidateRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.web.client.RestClientException;
 
 import java.math.BigDecimal;
 import java.time.Clock;
@@ -25,7 +25,6 @@ import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.time.ZoneOffset;
 import java.time.ZonedDateTime;
-import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -34,6 +33,7 @@ import static com.distasilucas.cryptobalancetracker.TestDataSource.getCoingeckoC
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getCoingeckoCryptoInfo;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.COINGECKO_CRYPTO_NOT_FOUND;
 import static com.distasilucas.cryptobalancetracker.model.CacheType.CRYPTOS_CACHES;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.GOALS_CACHES;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -49,11 +49,26 @@ class CryptoServiceTest {
     @Mock
     private CoingeckoService coingeckoServiceMock;
 
+    @Mock
+    private CoinCatalogService coinCatalogServiceMock;
+
     @Mock
     private CryptoRepository cryptoRepositoryMock;
 
     @Mock
-    private NonUsedCryptosViewRepository nonUsedCryptosViewRepositoryMock;
+    private OrphanCryptoCandidateRepository orphanCryptoCandidateRepositoryMock;
+
+    @Mock
+    private PriceHistoryService priceHistoryServiceMock;
+
+    @Mock
+    private CandleService candleServiceMock;
+
+    @Mock
+    private RollingStatisticsService rollingStatisticsServiceMock;
+
+    @Mock
+    private PriceTargetAlertService priceTargetAlertServiceMock;
 
     @Mock
     private CacheService cacheServiceMock;
@@ -66,8 +81,9 @@ class CryptoServiceTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        cryptoService = new CryptoService(coingeckoServiceMock, cryptoRepositoryMock, nonUsedCryptosViewRepositoryMock,
-            cacheServiceMock, clockMock);
+        cryptoService = new CryptoService(coingeckoServiceMock, coinCatalogServiceMock, cryptoRepositoryMock,
+            orphanCryptoCandidateRepositoryMock, priceHistoryServiceMock, candleServiceMock, rollingStatisticsServiceMock,
+            priceTargetAlertServiceMock, cacheServiceMock, clockMock);
     }
 
     @Test
@@ -101,6 +117,7 @@ class CryptoServiceTest {
         var crypto = cryptoService.retrieveCryptoInfoById("bitcoin");
 
         verify(cryptoRepositoryMock, times(1)).save(captor.getValue());
+        verify(priceHistoryServiceMock, times(1)).recordPrices(List.of(captor.getValue()));
 
         assertThat(crypto)
             .usingRecursiveComparison()
@@ -142,10 +159,10 @@ class CryptoServiceTest {
     }
 
     @Test
-    void shouldRetrieveCoingeckoCryptoInfoByName() {
+    void shouldRetrieveCoingeckoCryptoInfoByNameOrId() {
         var coingeckoCrypto = getCoingeckoCrypto();
 
-        when(coingeckoServiceMock.retrieveAllCryptos()).thenReturn(List.of(coingeckoCrypto));
+        when(coinCatalogServiceMock.findByNameOrId("bitcoin")).thenReturn(Optional.of(coingeckoCrypto));
 
         var crypto = cryptoService.retrieveCoingeckoCryptoInfoByNameOrId("bitcoin");
 
@@ -154,25 +171,9 @@ class CryptoServiceTest {
             .isEqualTo(new CoingeckoCrypto("bitcoin", "btc", "Bitcoin"));
     }
 
-    @Test
-    void shouldRetrieveCoingeckoCryptoInfoById() {
-        var coingeckoCrypto = new CoingeckoCrypto("wen-4", "wen", "WEN");
-        var coingeckoCrypto2 = new CoingeckoCrypto("wen", "wen", "WEN");
-
-        when(coingeckoServiceMock.retrieveAllCryptos()).thenReturn(List.of(coingeckoCrypto, coingeckoCrypto2));
-
-        var crypto = cryptoService.retrieveCoingeckoCryptoInfoByNameOrId("wen-4");
-
-        assertThat(crypto)
-            .usingRecursiveComparison()
-            .isEqualTo(coingeckoCrypto);
-    }
-
     @Test
     void shouldThrowCoingeckoCryptoNotFoundExceptionWhenRetrievingCoingeckoCryptoInfoByName() {
-        var coingeckoCrypto = getCoingeckoCrypto();
-
-        when(coingeckoServiceMock.retrieveAllCryptos()).thenReturn(List.of(coingeckoCrypto));
+        when(coinCatalogServiceMock.findByNameOrId("dogecoin")).thenReturn(Optional.empty());
 
         var exception = assertThrows(
             CoingeckoCryptoNotFoundException.class,
@@ -199,6 +200,7 @@ class CryptoServiceTest {
         cryptoService.retrieveCryptoInfoById("bitcoin");
 
         verify(cryptoRepositoryMock, times(1)).save(captor.getValue());
+        verify(priceTargetAlertServiceMock, times(1)).checkTargets(List.of(captor.getValue()));
         verify(cacheServiceMock, times(1)).invalidate(CRYPTOS_CACHES);
 
         assertThat(captor.getValue())
@@ -253,48 +255,30 @@ class CryptoServiceTest {
     }
 
     @Test
-    void shouldNotDeleteCryptoIfItsBeingUsedByUserCryptosTable() {
-        when(nonUsedCryptosViewRepositoryMock.findNonUsedCryptosByCoingeckoCryptoId("bitcoin")).thenReturn(Optional.empty());
-
-        cryptoService.deleteCryptoIfNotUsed("bitcoin");
-
-        verify(cryptoRepositoryMock, never()).deleteById("bitcoin");
-        verify(cacheServiceMock, never()).invalidate(any());
-    }
-
-    @Test
-    void shouldDeleteCryptoIfItIsNotBeingUsed() {
-        var nonUsedCryptosView = new NonUsedCryptosView("bitcoin", "Bitcoin", "btc");
+    void shouldQueueCryptoToBeDeletedIfNotUsed() {
+        var localDateTime = LocalDateTime.of(2024, 2, 8, 12, 30);
 
-        when(nonUsedCryptosViewRepositoryMock.findNonUsedCryptosByCoingeckoCryptoId("bitcoin"))
-            .thenReturn(Optional.of(nonUsedCryptosView));
+        when(clockMock.instant()).thenReturn(localDateTime.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
 
         cryptoService.deleteCryptoIfNotUsed("bitcoin");
 
-        verify(cryptoRepositoryMock, times(1)).deleteById("bitcoin");
-        verify(cacheServiceMock, times(1)).invalidate(CRYPTOS_CACHES);
+        verify(orphanCryptoCandidateRepositoryMock, times(1)).enqueue("bitcoin", localDateTime);
+        verify(cryptoRepositoryMock, never()).deleteById(any());
+        verify(cacheServiceMock, never()).invalidate(any());
     }
 
     @Test
-    void shouldDeleteNotUsedCryptos() {
-        var nonUsedCryptosView = new NonUsedCryptosView("ethereum", "Ethereum", "eth");
-
-        when(nonUsedCryptosViewRepositoryMock.findNonUsedCryptosByCoingeckoCryptoIds(List.of("bitcoin", "ethereum")))
-            .thenReturn(List.of(nonUsedCryptosView));
-
-        cryptoService.deleteCryptosIfNotUsed(List.of("bitcoin", "ethereum"));
-
-        verify(cryptoRepositoryMock, times(1)).deleteAllById(List.of("ethereum"));
-        verify(cacheServiceMock, times(1)).invalidate(CRYPTOS_CACHES);
-    }
+    void shouldQueueCryptosToBeDeletedIfNotUsed() {
+        var localDateTime = LocalDateTime.of(2024, 2, 8, 12, 30);
 
-    @Test
-    void shouldNotDeleteIfNotUsedCryptosItsEmpty() {
-        when(nonUsedCryptosViewRepositoryMock.findNonUsedCryptosByCoingeckoCryptoIds(List.of("bitcoin", "ethereum")))
-            .thenReturn(Collections.emptyList());
+        when(clockMock.instant()).thenReturn(localDateTime.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
 
         cryptoService.deleteCryptosIfNotUsed(List.of("bitcoin", "ethereum"));
 
+        verify(orphanCryptoCandidateRepositoryMock, times(1)).enqueue("bitcoin", localDateTime);
+        verify(orphanCryptoCandidateRepositoryMock, times(1)).enqueue("ethereum", localDateTime);
         verify(cryptoRepositoryMock, never()).deleteAllById(any());
         verify(cacheServiceMock, never()).invalidate(any());
     }
@@ -322,6 +306,11 @@ class CryptoServiceTest {
         cryptoService.updateCryptos(List.of(cryptosEntities));
 
         verify(cryptoRepositoryMock, times(1)).saveAll(List.of(cryptosEntities));
+        verify(priceHistoryServiceMock, times(1)).recordPrices(List.of(cryptosEntities));
+        verify(candleServiceMock, times(1)).updateCandles(List.of(cryptosEntities));
+        verify(rollingStatisticsServiceMock, times(1)).updateStatistics(List.of(cryptosEntities));
+        verify(priceTargetAlertServiceMock, times(1)).checkTargets(List.of(cryptosEntities));
+        verify(cacheServiceMock, times(1)).invalidate(GOALS_CACHES);
     }
 
     @Test
@@ -337,6 +326,45 @@ class CryptoServiceTest {
             .isEqualTo(List.of(crypto));
     }
 
+    @Test
+    void shouldRetrieveStoredCryptosAndSaveNewOnesTogether() {
+        var bitcoin = getBitcoinCryptoEntity();
+        var localDateTime = LocalDateTime.of(2023, 5, 3, 18, 55, 0);
+
+        when(cryptoRepositoryMock.findAllByIdIn(List.of("bitcoin", "ethereum", "solana"))).thenReturn(List.of(bitcoin));
+        when(coingeckoServiceMock.retrieveCryptoInfo("ethereum")).thenReturn(getCoingeckoCryptoInfo());
+        when(coingeckoServiceMock.retrieveCryptoInfo("solana")).thenReturn(getCoingeckoCryptoInfo());
+        when(clockMock.instant()).thenReturn(localDateTime.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneId.of("UTC"));
+
+        var cryptos = cryptoService.retrieveCryptosInfoByIds(List.of("bitcoin", "ethereum", "solana"));
+
+        assertThat(cryptos)
+            .extracting(Crypto::getId)
+            .containsExactly("bitcoin", "ethereum", "solana");
+        var newCryptos = cryptos.subList(1, 3);
+        verify(cryptoRepositoryMock, times(1)).saveAll(newCryptos);
+        verify(priceHistoryServiceMock, times(1)).recordPrices(newCryptos);
+        verify(candleServiceMock, times(1)).updateCandles(newCryptos);
+        verify(rollingStatisticsServiceMock, times(1)).updateStatistics(newCryptos);
+        verify(priceTargetAlertServiceMock, times(1)).checkTargets(newCryptos);
+        verify(cacheServiceMock, times(1)).invalidate(CRYPTOS_CACHES);
+    }
+
+    @Test
+    void shouldLeaveOutCryptosCoingeckoCouldNotBeReachedFor() {
+        var bitcoin = getBitcoinCryptoEntity();
+
+        when(cryptoRepositoryMock.findAllByIdIn(List.of("bitcoin", "ethereum"))).thenReturn(List.of(bitcoin));
+        when(coingeckoServiceMock.retrieveCryptoInfo("ethereum")).thenThrow(new RestClientException("Too many requests"));
+
+        var cryptos = cryptoService.retrieveCryptosInfoByIds(List.of("bitcoin", "ethereum"));
+
+        assertThat(cryptos).containsExactly(bitcoin);
+        verify(cryptoRepositoryMock, never()).saveAll(any());
+        verify(cacheServiceMock, never()).invalidate(any());
+    }
+
     private Crypto getCrypto(BigDecimal maxSupply, LocalDateTime lastUpdatedAt) {
         var cryptoInfo = new CryptoInfo(
             "Bitcoin",
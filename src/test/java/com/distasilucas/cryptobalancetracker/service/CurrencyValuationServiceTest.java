@@ -0,0 +1,163 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoExchangeRates;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.ExchangeRate;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.web.client.RestClientException;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class CurrencyValuationServiceTest {
+
+    @Mock
+    private CoingeckoService coingeckoServiceMock;
+
+    private CurrencyValuationService currencyValuationService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        currencyValuationService = new CurrencyValuationService(List.of(" GBP", "jpy", "usd", ""), coingeckoServiceMock);
+    }
+
+    @Test
+    void shouldRetrieveStoredCurrenciesWithoutHittingCoingecko() {
+        var valuationService = new CurrencyValuationService(List.of(), coingeckoServiceMock);
+
+        var quoteCurrencies = valuationService.getQuoteCurrencies();
+        var balances = valuationService.getTotalBalances(List.of(getBitcoinCryptoEntity(), getEthereumCrypto()),
+            Map.of("bitcoin", new BigDecimal("0.15"), "ethereum", new BigDecimal("1.123456789")), quoteCurrencies);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("6297.53", "5679.01", "0.2098802469"));
+        verify(coingeckoServiceMock, never()).retrieveExchangeRates();
+    }
+
+    @Test
+    void shouldDeriveAdditionalCurrenciesFromUSDInSinglePass() {
+        when(coingeckoServiceMock.retrieveExchangeRates()).thenReturn(exchangeRates());
+
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var balances = currencyValuationService.getTotalBalances(List.of(getBitcoinCryptoEntity(), getEthereumCrypto()),
+            Map.of("bitcoin", new BigDecimal("0.15"), "ethereum", new BigDecimal("1.123456789")), quoteCurrencies);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("6297.53", "5679.01", "0.2098802469", Map.of("gbp", "5038.02", "jpy", "944629.63")));
+        verify(coingeckoServiceMock, times(1)).retrieveExchangeRates();
+    }
+
+    @Test
+    void shouldRetrieveTotalBalancesOfCryptosSummaries() {
+        var valuationService = new CurrencyValuationService(List.of(), coingeckoServiceMock);
+        var cryptosSummaries = List.of(
+            summary(getBitcoinCryptoEntity(), "0.15"),
+            summary(getEthereumCrypto(), "1.123456789")
+        );
+
+        var quoteCurrencies = valuationService.getQuoteCurrencies();
+        var balances = valuationService.getTotalBalances(cryptosSummaries, quoteCurrencies);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("6297.53", "5679.01", "0.2098802469"));
+        verify(coingeckoServiceMock, never()).retrieveExchangeRates();
+    }
+
+    @Test
+    void shouldRetrieveCryptoSummaryTotalBalancesForAllCurrencies() {
+        when(coingeckoServiceMock.retrieveExchangeRates()).thenReturn(exchangeRates());
+
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var balances = currencyValuationService.getCryptoTotalBalances(summary(getBitcoinCryptoEntity(), "0.25"), quoteCurrencies);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("7500.00", "6750.00", "0.25", Map.of("gbp", "6000.00", "jpy", "1125000.00")));
+    }
+
+    @Test
+    void shouldRetrieveCryptoTotalBalancesForAllCurrencies() {
+        when(coingeckoServiceMock.retrieveExchangeRates()).thenReturn(exchangeRates());
+
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var balances = currencyValuationService.getCryptoTotalBalances(getBitcoinCryptoEntity(), new BigDecimal("0.25"), quoteCurrencies);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("7500.00", "6750.00", "0.25", Map.of("gbp", "6000.00", "jpy", "1125000.00")));
+    }
+
+    @Test
+    void shouldSkipCurrenciesWithoutExchangeRate() {
+        var exchangeRates = new CoingeckoExchangeRates(Map.of(
+            "usd", new ExchangeRate("US Dollar", "$", new BigDecimal("60000"), "fiat"),
+            "gbp", new ExchangeRate("British Pound Sterling", "£", new BigDecimal("48000"), "fiat")
+        ));
+        when(coingeckoServiceMock.retrieveExchangeRates()).thenReturn(exchangeRates);
+
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var balances = currencyValuationService.getCryptoTotalBalances(getBitcoinCryptoEntity(), BigDecimal.ONE, quoteCurrencies);
+
+        assertThat(balances.otherBalances()).containsExactly(Map.entry("gbp", "24000.00"));
+    }
+
+    @Test
+    void shouldRetrieveStoredCurrenciesIfExchangeRatesAreUnavailable() {
+        when(coingeckoServiceMock.retrieveExchangeRates()).thenThrow(new RestClientException("Too Many Requests"));
+
+        var quoteCurrencies = currencyValuationService.getQuoteCurrencies();
+        var balances = currencyValuationService.getCryptoTotalBalances(getBitcoinCryptoEntity(), BigDecimal.ONE, quoteCurrencies);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("30000.00", "27000.00", "1"));
+    }
+
+    private PortfolioSummary summary(Crypto crypto, String quantity) {
+        var lastKnownPrices = crypto.getLastKnownPrices();
+        var cryptoQuantity = new BigDecimal(quantity);
+
+        return new PortfolioSummary(
+            crypto.getId(),
+            crypto.getId(),
+            cryptoQuantity,
+            cryptoQuantity.multiply(lastKnownPrices.getLastKnownPrice()),
+            cryptoQuantity.multiply(lastKnownPrices.getLastKnownPriceInEUR()),
+            cryptoQuantity.multiply(lastKnownPrices.getLastKnownPriceInBTC())
+        );
+    }
+
+    private Crypto getEthereumCrypto() {
+        var lastKnownPrices = new LastKnownPrices(new BigDecimal("1600"), new BigDecimal("1450"), new BigDecimal("0.0533"));
+
+        return new Crypto("ethereum", null, lastKnownPrices, null, LocalDateTime.of(2023, 1, 1, 0, 0, 0));
+    }
+
+    private CoingeckoExchangeRates exchangeRates() {
+        return new CoingeckoExchangeRates(Map.of(
+            "btc", new ExchangeRate("Bitcoin", "BTC", BigDecimal.ONE, "crypto"),
+            "usd", new ExchangeRate("US Dollar", "$", new BigDecimal("60000"), "fiat"),
+            "gbp", new ExchangeRate("British Pound Sterling", "£", new BigDecimal("48000"), "fiat"),
+            "jpy", new ExchangeRate("Japanese Yen", "¥", new BigDecimal("9000000"), "fiat")
+        ));
+    }
+}
@@ -3,7 +3,9 @@ package com.distasilucas.cryptobalancetracker.service;
 import com.distasilucas.cryptobalancetracker.entity.Goal;
 import com.distasilucas.cryptobalancetracker.exception.DuplicatedGoalException;
 import com.distasilucas.cryptobalancetracker.exception.GoalNotFoundException;
+import com.distasilucas.cryptobalancetracker.model.GoalProgress;
 import com.distasilucas.cryptobalancetracker.model.request.goal.GoalRequest;
+import com.distasilucas.cryptobalancetracker.model.response.goal.GoalResponse;
 import com.distasilucas.cryptobalancetracker.repository.GoalRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -82,18 +84,64 @@ class GoalServiceTest {
         assertEquals(GOAL_ID_NOT_FOUND.formatted("10e3c7c1-0732-4294-9410-9708a21128e3"), exception.getMessage());
     }
 
+    @Test
+    void shouldRetrieveGoalProgress() {
+        var goalProgress = new GoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", new BigDecimal("1"), new BigDecimal("30000"), new BigDecimal("0.25"));
+
+        when(goalRepositoryMock.findGoalProgressById("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(Optional.of(goalProgress));
+
+        var goalResponse = goalService.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3");
+
+        assertThat(goalResponse)
+            .usingRecursiveComparison()
+            .isEqualTo(new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "0.25", 25F, "0.75", "1", "22500.00"));
+    }
+
+    @Test
+    void shouldRetrieveGoalProgressWithoutHoldings() {
+        var goalProgress = new GoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", new BigDecimal("1"), new BigDecimal("30000"), null);
+
+        when(goalRepositoryMock.findGoalProgressById("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(Optional.of(goalProgress));
+
+        var goalResponse = goalService.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3");
+
+        assertThat(goalResponse)
+            .usingRecursiveComparison()
+            .isEqualTo(new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "0", 0F, "1", "1", "30000.00"));
+    }
+
+    @Test
+    void shouldThrowGoalNotFoundExceptionWhenRetrievingGoalProgress() {
+        when(goalRepositoryMock.findGoalProgressById("10e3c7c1-0732-4294-9410-9708a21128e3")).thenReturn(Optional.empty());
+
+        var exception = assertThrows(
+            GoalNotFoundException.class,
+            () -> goalService.retrieveGoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3")
+        );
+
+        assertEquals(GOAL_ID_NOT_FOUND.formatted("10e3c7c1-0732-4294-9410-9708a21128e3"), exception.getMessage());
+    }
+
     @Test
     void shouldRetrieveGoalsForPage() {
         var pageRequest = PageRequest.of(0, 10);
-        var goal = new Goal("10e3c7c1-0732-4294-9410-9708a21128e3", new BigDecimal("1"), getBitcoinCryptoEntity());
+        var goalsProgress = List.of(
+            new GoalProgress("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", new BigDecimal("1"), new BigDecimal("30000"), new BigDecimal("1.5")),
+            new GoalProgress("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", "Ethereum", new BigDecimal("10"), new BigDecimal("1600"), new BigDecimal("2.5"))
+        );
 
-        when(goalRepositoryMock.findAll(pageRequest)).thenReturn(new PageImpl<>(List.of(goal), pageRequest, 10));
+        when(goalRepositoryMock.findAllGoalsProgress(pageRequest)).thenReturn(new PageImpl<>(goalsProgress, pageRequest, 2));
 
         var pageGoals = goalService.retrieveGoalsForPage(0);
 
-        assertThat(pageGoals)
+        assertThat(pageGoals.getContent())
             .usingRecursiveComparison()
-            .isEqualTo(new PageImpl<>(List.of(goal), pageRequest, 10));
+            .isEqualTo(List.of(
+                new GoalResponse("10e3c7c1-0732-4294-9410-9708a21128e3", "Bitcoin", "1.5", 100F, "0", "1", "0.00"),
+                new GoalResponse("22d68987-471a-4dbf-8bb1-e830ea1a1aaa", "Ethereum", "2.5", 25F, "7.5", "10", "12000.00")
+            ));
+        assertThat(pageGoals.getTotalPages()).isEqualTo(1);
+        verify(goalRepositoryMock, never()).findAll(pageRequest);
     }
 
     @Test
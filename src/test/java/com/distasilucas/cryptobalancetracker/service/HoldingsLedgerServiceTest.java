@@ -0,0 +1,173 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Holding;
+import com.distasilucas.cryptobalancetracker.entity.HoldingEvent;
+import com.distasilucas.cryptobalancetracker.entity.HoldingsSnapshot;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.repository.HoldingEventRepository;
+import com.distasilucas.cryptobalancetracker.repository.HoldingsSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getUserCrypto;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class HoldingsLedgerServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+
+    @Mock
+    private HoldingEventRepository holdingEventRepositoryMock;
+
+    @Mock
+    private HoldingsSnapshotRepository holdingsSnapshotRepositoryMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private HoldingsLedgerService holdingsLedgerService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        holdingsLedgerService = new HoldingsLedgerService(Duration.ofMinutes(5), holdingEventRepositoryMock, holdingsSnapshotRepositoryMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldRecordDeleteEventsWithZeroQuantity() {
+        Class<List<HoldingEvent>> listClass = (Class<List<HoldingEvent>>)(Class) List.class;
+        ArgumentCaptor<List<HoldingEvent>> captor = ArgumentCaptor.forClass(listClass);
+        var userCrypto = getUserCrypto();
+
+        holdingsLedgerService.recordEvents(HoldingEventType.DELETE, List.of(userCrypto));
+
+        verify(holdingEventRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                new HoldingEvent(null, NOW, HoldingEventType.DELETE, "af827ac7-d642-4461-a73c-b31ca6f6d13d", "bitcoin",
+                    "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6", BigDecimal.ZERO, null)
+            ));
+    }
+
+    @Test
+    void shouldRecordTransferWithNetworkFeeInFromEvent() {
+        Class<List<HoldingEvent>> listClass = (Class<List<HoldingEvent>>)(Class) List.class;
+        ArgumentCaptor<List<HoldingEvent>> captor = ArgumentCaptor.forClass(listClass);
+        var from = getUserCrypto().withQuantity(new BigDecimal("0.1"));
+        var to = new UserCrypto("8b1c4f6e-5d3a-4b2c-9e1f-7a6d5c4b3a21", new BigDecimal("0.1495"),
+            getUserCrypto().getPlatform(), getUserCrypto().getCrypto());
+
+        holdingsLedgerService.recordTransfer(from, to, new BigDecimal("0.0005"));
+
+        verify(holdingEventRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(HoldingEvent::getUserCryptoId, HoldingEvent::getQuantity, HoldingEvent::getNetworkFee)
+            .containsExactly(
+                tuple("af827ac7-d642-4461-a73c-b31ca6f6d13d", new BigDecimal("0.1"), new BigDecimal("0.0005")),
+                tuple("8b1c4f6e-5d3a-4b2c-9e1f-7a6d5c4b3a21", new BigDecimal("0.1495"), null)
+            );
+    }
+
+    @Test
+    void shouldRetrieveHoldingsAtFromSnapshotAndEvents() {
+        var at = NOW.minusDays(1);
+        var snapshot = new HoldingsSnapshot("3f0e7a52-0c5d-4c0b-8a3e-1f8d2b6c9e47", at.minusHours(5), 10L, List.of(
+            holding("uc-1", "1"),
+            holding("uc-2", "2")
+        ));
+
+        when(holdingsSnapshotRepositoryMock.findFirstByTakenAtLessThanEqualOrderByLastEventIdDesc(at)).thenReturn(Optional.of(snapshot));
+        when(holdingEventRepositoryMock.findAllByIdGreaterThanAndOccurredAtLessThanEqualOrderByIdAsc(10L, at)).thenReturn(List.of(
+            event(11L, HoldingEventType.UPDATE, "uc-1", "1.5"),
+            event(12L, HoldingEventType.DELETE, "uc-2", "0"),
+            event(13L, HoldingEventType.ADD, "uc-3", "3")
+        ));
+
+        var holdings = holdingsLedgerService.retrieveHoldingsAt(at);
+
+        assertThat(holdings)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(holding("uc-1", "1.5"), holding("uc-3", "3")));
+    }
+
+    @Test
+    void shouldRetrieveHoldingsAtReplayingAllEventsIfThereIsNoSnapshot() {
+        when(holdingsSnapshotRepositoryMock.findFirstByTakenAtLessThanEqualOrderByLastEventIdDesc(NOW)).thenReturn(Optional.empty());
+        when(holdingEventRepositoryMock.findAllByIdGreaterThanAndOccurredAtLessThanEqualOrderByIdAsc(0L, NOW)).thenReturn(List.of(
+            event(1L, HoldingEventType.ADD, "uc-1", "1"),
+            event(2L, HoldingEventType.TRANSFER, "uc-1", "0"),
+            event(3L, HoldingEventType.TRANSFER, "uc-2", "0.9995")
+        ));
+
+        var holdings = holdingsLedgerService.retrieveHoldingsAt(NOW);
+
+        assertThat(holdings)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(holding("uc-2", "0.9995")));
+    }
+
+    @Test
+    void shouldTakeSnapshotFromLastSnapshotAndNewEvents() {
+        var captor = ArgumentCaptor.forClass(HoldingsSnapshot.class);
+        var lastSnapshot = new HoldingsSnapshot("3f0e7a52-0c5d-4c0b-8a3e-1f8d2b6c9e47", NOW.minusHours(2), 5L, List.of(holding("uc-1", "1")));
+        var lastEvent = event(7L, HoldingEventType.ADD, "uc-2", "2");
+
+        when(holdingEventRepositoryMock.findFirstByOccurredAtLessThanEqualOrderByIdDesc(NOW.minusMinutes(5))).thenReturn(Optional.of(lastEvent));
+        when(holdingsSnapshotRepositoryMock.findFirstByOrderByLastEventIdDesc()).thenReturn(Optional.of(lastSnapshot));
+        when(holdingEventRepositoryMock.findAllByIdGreaterThanAndIdLessThanEqualOrderByIdAsc(5L, 7L)).thenReturn(List.of(
+            event(6L, HoldingEventType.UPDATE, "uc-1", "1.25"),
+            lastEvent
+        ));
+
+        holdingsLedgerService.takeSnapshot();
+
+        verify(holdingsSnapshotRepositoryMock, times(1)).save(captor.capture());
+        assertThat(captor.getValue().getLastEventId()).isEqualTo(7L);
+        assertThat(captor.getValue().getTakenAt()).isEqualTo(NOW);
+        assertThat(captor.getValue().getHoldings())
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(holding("uc-1", "1.25"), holding("uc-2", "2")));
+    }
+
+    @Test
+    void shouldNotTakeSnapshotIfThereAreNoNewEvents() {
+        var lastSnapshot = new HoldingsSnapshot("3f0e7a52-0c5d-4c0b-8a3e-1f8d2b6c9e47", NOW, 7L, List.of(holding("uc-1", "1")));
+
+        when(holdingEventRepositoryMock.findFirstByOccurredAtLessThanEqualOrderByIdDesc(NOW.minusMinutes(5))).thenReturn(Optional.of(event(7L, HoldingEventType.ADD, "uc-1", "1")));
+        when(holdingsSnapshotRepositoryMock.findFirstByOrderByLastEventIdDesc()).thenReturn(Optional.of(lastSnapshot));
+
+        holdingsLedgerService.takeSnapshot();
+
+        verify(holdingsSnapshotRepositoryMock, never()).save(any());
+    }
+
+    private HoldingEvent event(Long id, HoldingEventType type, String userCryptoId, String quantity) {
+        return new HoldingEvent(id, NOW, type, userCryptoId, "bitcoin", "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6", new BigDecimal(quantity), null);
+    }
+
+    private Holding holding(String userCryptoId, String quantity) {
+        return new Holding(userCryptoId, "bitcoin", "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6", new BigDecimal(quantity));
+    }
+}
@@ -1,5 +1,7 @@
 package com.distasilucas.cryptobalancetracker.service;
 
+import com.distasilucas.cryptobalancetracker.entity.BalanceSnapshot;
+import com.distasilucas.cryptobalancetracker.entity.Balances;
 import com.distasilucas.cryptobalancetracker.entity.ChangePercentages;
 import com.distasilucas.cryptobalancetracker.entity.Crypto;
 import com.distasilucas.cryptobalancetracker.entity.DateBalance;
@@ -7,10 +9,15 @@ import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
 import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.model.DateRange;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import com.distasilucas.cryptobalancetracker.model.SnapshotTier;
 import com.distasilucas.cryptobalancetracker.model.SortBy;
 import com.distasilucas.cryptobalancetracker.model.SortParams;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
 import com.distasilucas.cryptobalancetracker.model.SortType;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalanceChanges;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoExchangeRates;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.ExchangeRate;
 import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.CirculatingSupply;
 import com.distasilucas.cryptobalancetracker.model.response.insights.CryptoInfo;
@@ -21,6 +28,8 @@ import com.distasilucas.cryptobalancetracker.model.response.insights.DateBalance
 import com.distasilucas.cryptobalancetracker.model.response.insights.DifferencesChanges;
 import com.distasilucas.cryptobalancetracker.model.response.insights.MarketData;
 import com.distasilucas.cryptobalancetracker.model.response.insights.PriceChange;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ProfitAndLoss;
+import com.distasilucas.cryptobalancetracker.model.response.insights.RollingStatistics;
 import com.distasilucas.cryptobalancetracker.model.response.insights.UserCryptosInsights;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptoInsightResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.crypto.CryptosBalancesInsightsResponse;
@@ -30,20 +39,26 @@ import com.distasilucas.cryptobalancetracker.model.response.insights.platform.Pl
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsBalancesInsightsResponse;
 import com.distasilucas.cryptobalancetracker.model.response.insights.platform.PlatformsInsights;
 import com.distasilucas.cryptobalancetracker.repository.DateBalanceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 
 import java.math.BigDecimal;
 import java.time.Clock;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.IntStream;
@@ -53,7 +68,13 @@ import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCry
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getUserCrypto;
 import static java.util.Collections.emptyList;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mockito.MockitoAnnotations.openMocks;
 
@@ -71,9 +92,33 @@ class InsightsServiceTest {
     @Mock
     private DateBalanceRepository dateBalanceRepositoryMock;
 
+    @Mock
+    private BalanceSnapshotService balanceSnapshotServiceMock;
+
+    @Mock
+    private RollingStatisticsService rollingStatisticsServiceMock;
+
+    @Mock
+    private PortfolioValuationService portfolioValuationServiceMock;
+
+    @Mock
+    private CostBasisService costBasisServiceMock;
+
+    @Mock
+    private CoingeckoService coingeckoServiceMock;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
     @Mock
     private Clock clockMock;
 
+    private final BulkheadService bulkheadService = new BulkheadService(4, 8, Duration.ofMillis(250), Duration.ofSeconds(5),
+        new SimpleMeterRegistry());
+
     private InsightsService insightsService;
 
     private static final SortParams sortParams = new SortParams(SortBy.PERCENTAGE, SortType.DESC);
@@ -83,17 +128,16 @@ class InsightsServiceTest {
     void setUp() {
         openMocks(this);
         insightsService = new InsightsService(12, platformServiceMock, userCryptoServiceMock, cryptoServiceMock,
-            dateBalanceRepositoryMock, clockMock);
+            dateBalanceRepositoryMock, balanceSnapshotServiceMock, rollingStatisticsServiceMock, portfolioValuationServiceMock,
+            costBasisServiceMock, new CurrencyValuationService(List.of(), coingeckoServiceMock), portfolioSummaryServiceMock, bulkheadService, transactionManagerMock, clockMock);
     }
 
     @Test
     void shouldRetrieveTotalBalancesInsights() {
         var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
-        var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
 
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
-        when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum", "litecoin"))).thenReturn(cryptosEntities);
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(PortfolioSummary.summarizeByCrypto(userCryptos));
 
         var balances = insightsService.retrieveTotalBalancesInsights();
 
@@ -102,9 +146,39 @@ class InsightsServiceTest {
             .isEqualTo(new BalancesResponse("7108.39", "6484.23", "0.2512793593"));
     }
 
+    @Test
+    void shouldRetrieveTotalBalancesInsightsAtDate() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 30);
+        var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
+        var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
+
+        when(portfolioValuationServiceMock.retrieveUserCryptosAt(at)).thenReturn(userCryptos);
+
+        var balances = insightsService.retrieveTotalBalancesInsights(at);
+
+        verify(portfolioSummaryServiceMock, never()).retrieveCryptosSummaries();
+        verify(cryptoServiceMock, never()).findAllByIds(any());
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("7108.39", "6484.23", "0.2512793593"));
+    }
+
+    @Test
+    void shouldRetrieveEmptyForTotalBalancesInsightsAtDateWithoutHoldings() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 30);
+
+        when(portfolioValuationServiceMock.retrieveUserCryptosAt(at)).thenReturn(emptyList());
+
+        var balances = insightsService.retrieveTotalBalancesInsights(at);
+
+        assertThat(balances)
+            .usingRecursiveComparison()
+            .isEqualTo(BalancesResponse.empty());
+    }
+
     @Test
     void shouldRetrieveEmptyForTotalBalancesInsights() {
-        when(userCryptoServiceMock.findAll()).thenReturn(emptyList());
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(emptyList());
 
         var balances = insightsService.retrieveTotalBalancesInsights();
 
@@ -173,6 +247,95 @@ class InsightsServiceTest {
             );
     }
 
+    @Test
+    void shouldRetrieveIntradayBalancesForOneDay() {
+        var now = LocalDateTime.of(2024, 2, 8, 12, 0);
+        var snapshots = List.of(
+            new BalanceSnapshot("1", SnapshotTier.RAW, now.minusHours(12), new Balances("900", "838.04", "0.0148760331")),
+            new BalanceSnapshot("2", SnapshotTier.RAW, now.minusMinutes(30), new Balances("950", "884.6", "0.0157024793")),
+            new BalanceSnapshot("3", SnapshotTier.RAW, now, new Balances("1000", "931.15", "0.0165289256"))
+        );
+
+        when(clockMock.instant()).thenReturn(now.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(balanceSnapshotServiceMock.retrieveIntradaySnapshots(SnapshotTier.RAW, Duration.ofDays(1))).thenReturn(snapshots);
+
+        var datesBalances = insightsService.retrieveDatesBalances(DateRange.ONE_DAY);
+
+        assertThat(datesBalances)
+            .usingRecursiveComparison()
+            .isEqualTo(
+                new DatesBalanceResponse(
+                    List.of(
+                        new DateBalances("8 February 2024 00:00", new BalancesResponse("900", "838.04", "0.0148760331")),
+                        new DateBalances("8 February 2024 11:30", new BalancesResponse("950", "884.6", "0.0157024793")),
+                        new DateBalances("8 February 2024 12:00", new BalancesResponse("1000", "931.15", "0.0165289256"))
+                    ),
+                    new BalanceChanges(11.11F, 11.11F, 11.11F),
+                    new DifferencesChanges("100", "93.11", "0.0016528925")
+                )
+            );
+    }
+
+    @Test
+    void shouldRetrieveIntradayBalancesForThreeDays() {
+        var now = LocalDateTime.of(2024, 2, 8, 12, 0);
+        var snapshots = List.of(
+            new BalanceSnapshot("1", SnapshotTier.HOURLY, now.minusDays(2), new Balances("1100", "1024.27", "0.0181818182")),
+            new BalanceSnapshot("2", SnapshotTier.HOURLY, now.minusHours(1), new Balances("900", "838.04", "0.0148760331")),
+            new BalanceSnapshot("3", SnapshotTier.RAW, now, new Balances("1000", "931.15", "0.0165289256"))
+        );
+
+        when(clockMock.instant()).thenReturn(now.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+        when(balanceSnapshotServiceMock.retrieveIntradaySnapshots(SnapshotTier.HOURLY, Duration.ofDays(3))).thenReturn(snapshots);
+
+        var datesBalances = insightsService.retrieveDatesBalances(DateRange.THREE_DAYS);
+
+        assertThat(datesBalances)
+            .usingRecursiveComparison()
+            .isEqualTo(
+                new DatesBalanceResponse(
+                    List.of(
+                        new DateBalances("6 February 2024 12:00", new BalancesResponse("1100", "1024.27", "0.0181818182")),
+                        new DateBalances("8 February 2024 11:00", new BalancesResponse("900", "838.04", "0.0148760331")),
+                        new DateBalances("8 February 2024 12:00", new BalancesResponse("1000", "931.15", "0.0165289256"))
+                    ),
+                    new BalanceChanges(-9.09F, -9.09F, -9.09F),
+                    new DifferencesChanges("-100", "-93.12", "-0.0016528926")
+                )
+            );
+    }
+
+    @Test
+    void shouldFallbackToDailyBalancesIfNotEnoughIntradaySnapshots() {
+        var now = LocalDate.of(2024, 2, 8);
+        var zonedDateTime = now.atStartOfDay().atZone(ZoneOffset.UTC);
+        var snapshots = List.of(
+            new BalanceSnapshot("1", SnapshotTier.RAW, now.atStartOfDay(), new Balances("1000", "931.15", "0.0165289256"))
+        );
+        var balances = List.of(
+            new DateBalance("", now.minusDays(1), new BalancesResponse("900", "838.04", "0.0148760331")),
+            new DateBalance("", now, new BalancesResponse("1000", "931.15", "0.0165289256"))
+        );
+
+        when(clockMock.instant()).thenReturn(zonedDateTime.toInstant());
+        when(clockMock.getZone()).thenReturn(zonedDateTime.getZone());
+        when(balanceSnapshotServiceMock.retrieveIntradaySnapshots(SnapshotTier.RAW, Duration.ofDays(1))).thenReturn(snapshots);
+        when(dateBalanceRepositoryMock.findDateBalancesByDateBetween(now.minusDays(2), now)).thenReturn(balances);
+
+        var datesBalances = insightsService.retrieveDatesBalances(DateRange.ONE_DAY);
+
+        assertThat(datesBalances.datesBalances())
+            .usingRecursiveComparison()
+            .isEqualTo(
+                List.of(
+                    new DateBalances("7 February 2024", new BalancesResponse("900", "838.04", "0.0148760331")),
+                    new DateBalances("8 February 2024", new BalancesResponse("1000", "931.15", "0.0165289256"))
+                )
+            );
+    }
+
     @Test
     void shouldRetrieveDatesBalancesForOneWeek() {
         var now = LocalDate.of(2024, 2, 8);
@@ -436,12 +599,10 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrievePlatformInsightsWithOneCrypto() {
-        var platformEntity = getBinancePlatformEntity();
         var userCryptos = getUserCrypto();
         var bitcoinCryptoEntity = getBitcoinCryptoEntity();
 
-        when(platformServiceMock.retrievePlatformById("123e4567-e89b-12d3-a456-426614174111")).thenReturn(platformEntity);
-        when(userCryptoServiceMock.findAllByPlatformId("123e4567-e89b-12d3-a456-426614174111")).thenReturn(List.of(userCryptos));
+        when(userCryptoServiceMock.findAllHoldingsByPlatformId("123e4567-e89b-12d3-a456-426614174111")).thenReturn(holdings(List.of(userCryptos)));
         when(cryptoServiceMock.findAllByIds(List.of("bitcoin"))).thenReturn(List.of(bitcoinCryptoEntity));
 
         var platformInsightsResponse = insightsService.retrievePlatformInsights("123e4567-e89b-12d3-a456-426614174111");
@@ -467,13 +628,11 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrievePlatformInsightsWithMultipleCryptos() {
-        var platformEntity = getBinancePlatformEntity();
         var bitcoinUserCrypto = getUserCrypto();
         var polkadotUserCrypto = new UserCrypto("1ad5b2fe-6060-48b5-aa02-3557e1d6e40b", new BigDecimal("100"), getBinancePlatformEntity(), getPolkadotCrypto());
 
-        when(platformServiceMock.retrievePlatformById("123e4567-e89b-12d3-a456-426614174111")).thenReturn(platformEntity);
-        when(userCryptoServiceMock.findAllByPlatformId("123e4567-e89b-12d3-a456-426614174111"))
-            .thenReturn(List.of(bitcoinUserCrypto, polkadotUserCrypto));
+        when(userCryptoServiceMock.findAllHoldingsByPlatformId("123e4567-e89b-12d3-a456-426614174111"))
+            .thenReturn(holdings(List.of(bitcoinUserCrypto, polkadotUserCrypto)));
         when(cryptoServiceMock.findAllByIds(List.of("bitcoin", "polkadot")))
             .thenReturn(List.of(getBitcoinCryptoEntity(), getPolkadotCrypto()));
 
@@ -508,7 +667,7 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveEmptyIfNoCryptosAreFoundForRetrievePlatformInsights() {
-        when(userCryptoServiceMock.findAllByPlatformId("123e4567-e89b-12d3-a456-426614174111")).thenReturn(emptyList());
+        when(userCryptoServiceMock.findAllHoldingsByPlatformId("123e4567-e89b-12d3-a456-426614174111")).thenReturn(holdings(emptyList()));
 
         var platformInsights = insightsService.retrievePlatformInsights("123e4567-e89b-12d3-a456-426614174111");
 
@@ -593,6 +752,44 @@ class InsightsServiceTest {
             .isEqualTo(expected);
     }
 
+    @Test
+    void shouldRetrieveCoingeckoCryptoIdInsightsWithRollingStatistics() {
+        var bitcoinUserCrypto = getUserCrypto();
+        var binancePlatform = new Platform("4f663841-7c82-4d0f-a756-cf7d4e2d3bc6", "BINANCE");
+        var bitcoinCryptoEntity = getBitcoinCryptoEntity();
+        var statistics = List.of(
+            new RollingStatistics("1d", 24, new BigDecimal("0.0125"), new BigDecimal("0.4310"), new BigDecimal("2.1500"))
+        );
+
+        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(bitcoinUserCrypto));
+        when(platformServiceMock.findAllByIds(List.of("4f663841-7c82-4d0f-a756-cf7d4e2d3bc6"))).thenReturn(List.of(binancePlatform));
+        when(cryptoServiceMock.retrieveCryptoInfoById("bitcoin")).thenReturn(bitcoinCryptoEntity);
+        when(rollingStatisticsServiceMock.retrieveStatistics("bitcoin")).thenReturn(statistics);
+
+        var cryptoInsightsResponse = insightsService.retrieveCryptoInsights("bitcoin");
+
+        assertThat(cryptoInsightsResponse.statistics())
+            .usingRecursiveComparison()
+            .isEqualTo(statistics);
+    }
+
+    @Test
+    void shouldRetrieveCoingeckoCryptoIdInsightsWithProfitAndLoss() {
+        var bitcoinUserCrypto = getUserCrypto();
+        var binancePlatform = new Platform("4f663841-7c82-4d0f-a756-cf7d4e2d3bc6", "BINANCE");
+        var bitcoinCryptoEntity = getBitcoinCryptoEntity();
+        var profitAndLoss = new ProfitAndLoss("6250.00", "1250.00", "-120.50");
+
+        when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(List.of(bitcoinUserCrypto));
+        when(platformServiceMock.findAllByIds(List.of("4f663841-7c82-4d0f-a756-cf7d4e2d3bc6"))).thenReturn(List.of(binancePlatform));
+        when(cryptoServiceMock.retrieveCryptoInfoById("bitcoin")).thenReturn(bitcoinCryptoEntity);
+        when(costBasisServiceMock.retrieveProfitAndLossByCrypto(List.of(bitcoinCryptoEntity))).thenReturn(Map.of("bitcoin", profitAndLoss));
+
+        var cryptoInsightsResponse = insightsService.retrieveCryptoInsights("bitcoin");
+
+        assertThat(cryptoInsightsResponse.profitAndLoss()).isEqualTo(profitAndLoss);
+    }
+
     @Test
     void shouldRetrieveEmptyIfNoCryptosAreFoundForRetrieveCryptoInsights() {
         when(userCryptoServiceMock.findAllByCoingeckoCryptoId("bitcoin")).thenReturn(emptyList());
@@ -608,14 +805,9 @@ class InsightsServiceTest {
     void shouldRetrievePlatformsBalancesInsights() {
         var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
-        var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum", "litecoin"))).thenReturn(cryptosEntities);
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(PortfolioSummary.summarizeByCrypto(userCryptos));
+        when(portfolioSummaryServiceMock.retrievePlatformsSummaries()).thenReturn(PortfolioSummary.summarizeByPlatform(userCryptos));
 
         var platformBalancesInsightsResponse = insightsService.retrievePlatformsBalancesInsights();
 
@@ -639,9 +831,54 @@ class InsightsServiceTest {
             .isEqualTo(expected);
     }
 
+    @Test
+    void shouldRetrievePlatformsBalancesInsightsInAdditionalCurrencies() {
+        var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
+        var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
+        var gbpInsightsService = new InsightsService(12, platformServiceMock, userCryptoServiceMock, cryptoServiceMock,
+            dateBalanceRepositoryMock, balanceSnapshotServiceMock, rollingStatisticsServiceMock, portfolioValuationServiceMock,
+            costBasisServiceMock, new CurrencyValuationService(List.of("gbp"), coingeckoServiceMock), portfolioSummaryServiceMock, bulkheadService, transactionManagerMock, clockMock);
+
+        when(coingeckoServiceMock.retrieveExchangeRates()).thenReturn(new CoingeckoExchangeRates(Map.of(
+            "usd", new ExchangeRate("US Dollar", "$", new BigDecimal("60000"), "fiat"),
+            "gbp", new ExchangeRate("British Pound Sterling", "£", new BigDecimal("48000"), "fiat")
+        )));
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(PortfolioSummary.summarizeByCrypto(userCryptos));
+        when(portfolioSummaryServiceMock.retrievePlatformsSummaries()).thenReturn(PortfolioSummary.summarizeByPlatform(userCryptos));
+
+        var platformBalancesInsightsResponse = gbpInsightsService.retrievePlatformsBalancesInsights();
+
+        assertThat(platformBalancesInsightsResponse.platforms())
+            .extracting(PlatformsInsights::platformName, platformInsights -> platformInsights.balances().otherBalances())
+            .containsExactly(
+                tuple("BINANCE", Map.of("gbp", "4096.36")),
+                tuple("COINBASE", Map.of("gbp", "1590.34"))
+            );
+        verify(coingeckoServiceMock, times(1)).retrieveExchangeRates();
+    }
+
+    @Test
+    void shouldRetrievePlatformsBalancesInsightsAtDate() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 30);
+        var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
+        var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
+
+        when(portfolioValuationServiceMock.retrieveUserCryptosAt(at)).thenReturn(userCryptos);
+
+        var platformBalancesInsightsResponse = insightsService.retrievePlatformsBalancesInsights(at);
+
+        verify(platformServiceMock, never()).findAllByIds(any());
+        assertThat(platformBalancesInsightsResponse.balances())
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("7108.39", "6484.23", "0.2512793593"));
+        assertThat(platformBalancesInsightsResponse.platforms())
+            .extracting(PlatformsInsights::platformName, PlatformsInsights::percentage)
+            .containsExactly(tuple("BINANCE", 72.03f), tuple("COINBASE", 27.97f));
+    }
+
     @Test
     void shouldRetrieveEmptyIfNoCryptosAreFoundForRetrievePlatformBalancesInsights() {
-        when(userCryptoServiceMock.findAll()).thenReturn(emptyList());
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(emptyList());
 
         var platformBalancesInsightsResponse = insightsService.retrievePlatformsBalancesInsights();
 
@@ -650,14 +887,39 @@ class InsightsServiceTest {
             .isEqualTo(PlatformsBalancesInsightsResponse.empty());
     }
 
+    @Test
+    void shouldRecomputeCryptosBalancesInsightsInReadOnlyTransaction() {
+        var captor = ArgumentCaptor.forClass(TransactionDefinition.class);
+
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(emptyList());
+
+        insightsService.retrieveCryptosBalancesInsights();
+
+        verify(transactionManagerMock, times(1)).getTransaction(captor.capture());
+        assertThat(captor.getValue().isReadOnly()).isTrue();
+    }
+
+    @Test
+    void shouldNotStartTransactionIfBulkheadIsFull() {
+        var fullBulkheadService = new BulkheadService(0, 0, Duration.ofMillis(1), Duration.ofSeconds(5), new SimpleMeterRegistry());
+        var guardedInsightsService = new InsightsService(12, platformServiceMock, userCryptoServiceMock, cryptoServiceMock,
+            dateBalanceRepositoryMock, balanceSnapshotServiceMock, rollingStatisticsServiceMock, portfolioValuationServiceMock,
+            costBasisServiceMock, new CurrencyValuationService(List.of(), coingeckoServiceMock), portfolioSummaryServiceMock,
+            fullBulkheadService, transactionManagerMock, clockMock);
+
+        assertThatThrownBy(guardedInsightsService::retrieveCryptosBalancesInsights)
+            .isInstanceOf(RuntimeException.class);
+
+        verify(transactionManagerMock, never()).getTransaction(any());
+        verify(portfolioSummaryServiceMock, never()).retrieveCryptosSummaries();
+    }
+
     @Test
     void shouldRetrieveCryptosBalancesInsights() {
         var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
-        var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
 
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
-        when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum", "litecoin"))).thenReturn(cryptosEntities);
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(PortfolioSummary.summarizeByCrypto(userCryptos));
 
         var cryptosBalancesInsightsResponse = insightsService.retrieveCryptosBalancesInsights();
 
@@ -703,27 +965,27 @@ class InsightsServiceTest {
             .isEqualTo(expected);
     }
 
+    @Test
+    void shouldRetrieveCryptosBalancesInsightsAtDate() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 30);
+        var cryptos = List.of("bitcoin", "tether", "ethereum", "litecoin");
+        var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
+
+        when(portfolioValuationServiceMock.retrieveUserCryptosAt(at)).thenReturn(userCryptos);
+
+        var cryptosBalancesInsightsResponse = insightsService.retrieveCryptosBalancesInsights(at);
+
+        assertThat(cryptosBalancesInsightsResponse.balances())
+            .usingRecursiveComparison()
+            .isEqualTo(new BalancesResponse("7108.39", "6484.23", "0.2512793593"));
+        assertThat(cryptosBalancesInsightsResponse.cryptos())
+            .extracting(CryptoInsights::cryptoId, CryptoInsights::percentage)
+            .containsExactly(tuple("bitcoin", 63.31f), tuple("ethereum", 31.22f), tuple("tether", 2.81f), tuple("litecoin", 2.66f));
+    }
+
     @Test
     void shouldRetrieveCryptosBalancesInsightsWithOthers() {
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos());
-        when(cryptoServiceMock.findAllByIds(
-            Set.of(
-                "bitcoin",
-                "tether",
-                "ethereum",
-                "litecoin",
-                "binancecoin",
-                "ripple",
-                "cardano",
-                "polkadot",
-                "solana",
-                "matic-network",
-                "chainlink",
-                "dogecoin",
-                "avalanche-2",
-                "uniswap"
-            )
-        )).thenReturn(cryptos());
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(PortfolioSummary.summarizeByCrypto(userCryptos()));
 
         var cryptosBalancesInsightsResponse = insightsService.retrieveCryptosBalancesInsights();
 
@@ -841,7 +1103,7 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveEmptyIfNoCryptosAreFoundForRetrieveCryptosBalancesInsights() {
-        when(userCryptoServiceMock.findAll()).thenReturn(emptyList());
+        when(portfolioSummaryServiceMock.retrieveCryptosSummaries()).thenReturn(emptyList());
 
         var cryptosBalancesInsightsResponse = insightsService.retrieveCryptosBalancesInsights();
 
@@ -855,13 +1117,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "litecoin");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("litecoin", "bitcoin"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("a76b400e-8ffc-42d6-bf47-db866eb20153", "163b1731-7a24-4e23-ac90-dc95ad8cb9e8")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosInsights = insightsService.retrieveUserCryptosInsights(0, sortParams);
 
@@ -933,7 +1191,7 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveEmptyIfNoUserCryptosAreFoundForRetrieveUserCryptosInsights() {
-        when(userCryptoServiceMock.findAll()).thenReturn(emptyList());
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(emptyList()));
 
         var userCryptosInsights = insightsService.retrieveUserCryptosInsights(0, sortParams);
 
@@ -945,13 +1203,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosInsights(1, sortParams);
 
@@ -960,8 +1214,6 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveUserCryptosInsightsWithNextPage() {
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
         var ethereumMarketData = new MarketData(
             new CirculatingSupply("120220572", 0),
             "0",
@@ -993,9 +1245,7 @@ class InsightsServiceTest {
             )
         )).thenReturn(cryptos());
 
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos());
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos()));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosInsights(0, sortParams);
 
@@ -1252,13 +1502,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, sortParams);
 
@@ -1355,13 +1601,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, new SortParams(SortBy.CURRENT_PRICE, SortType.ASC));
 
@@ -1458,13 +1700,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, new SortParams(SortBy.MAX_SUPPLY, SortType.ASC));
 
@@ -1561,13 +1799,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, new SortParams(SortBy.CHANGE_PRICE_IN_24H, SortType.DESC));
 
@@ -1664,13 +1898,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, new SortParams(SortBy.CHANGE_PRICE_IN_7D, SortType.DESC));
 
@@ -1767,13 +1997,9 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, new SortParams(SortBy.CHANGE_PRICE_IN_30D, SortType.ASC));
 
@@ -1867,8 +2093,6 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveUserCryptosPlatformsInsightsWithNextPage() {
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(
             Set.of(
@@ -1889,9 +2113,7 @@ class InsightsServiceTest {
             )
         )).thenReturn(cryptos());
 
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos());
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos()));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, sortParams);
 
@@ -2155,8 +2377,6 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveUserCryptosPlatformsInsightsForSecondPage() {
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(
             Set.of(
@@ -2176,9 +2396,7 @@ class InsightsServiceTest {
                 "uniswap"
             )
         )).thenReturn(cryptos());
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos());
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos()));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(1, sortParams);
 
@@ -2296,7 +2514,7 @@ class InsightsServiceTest {
 
     @Test
     void shouldRetrieveEmptyIfNoUserCryptosAreFoundForRetrieveUserCryptosPlatformsInsights() {
-        when(userCryptoServiceMock.findAll()).thenReturn(emptyList());
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(emptyList()));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(0, sortParams);
 
@@ -2308,19 +2526,19 @@ class InsightsServiceTest {
         var cryptos = List.of("bitcoin", "ethereum", "tether");
         var userCryptos = userCryptos().stream().filter(userCrypto -> cryptos.contains(userCrypto.getCrypto().getId())).toList();
         var cryptosEntities = cryptos().stream().filter(crypto -> cryptos.contains(crypto.getId())).toList();
-        var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
-        var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
 
         when(cryptoServiceMock.findAllByIds(Set.of("bitcoin", "tether", "ethereum"))).thenReturn(cryptosEntities);
-        when(platformServiceMock.findAllByIds(Set.of("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "a76b400e-8ffc-42d6-bf47-db866eb20153")))
-            .thenReturn(List.of(binancePlatform, coinbasePlatform));
-        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(userCryptoServiceMock.findAllHoldings()).thenReturn(holdings(userCryptos));
 
         var userCryptosPlatformsInsights = insightsService.retrieveUserCryptosPlatformsInsights(1, sortParams);
 
         assertTrue(userCryptosPlatformsInsights.isEmpty());
     }
 
+    private List<UserCryptoHolding> holdings(List<UserCrypto> userCryptos) {
+        return userCryptos.stream().map(UserCryptoHolding::new).toList();
+    }
+
     private List<UserCrypto> userCryptos() {
         var binancePlatform = new Platform("163b1731-7a24-4e23-ac90-dc95ad8cb9e8", "BINANCE");
         var coinbasePlatform = new Platform("a76b400e-8ffc-42d6-bf47-db866eb20153", "COINBASE");
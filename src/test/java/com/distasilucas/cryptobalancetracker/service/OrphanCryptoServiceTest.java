@@ -0,0 +1,92 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.OrphanCryptoCandidate;
+import com.distasilucas.cryptobalancetracker.repository.CryptoRepository;
+import com.distasilucas.cryptobalancetracker.repository.OrphanCryptoCandidateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.model.CacheType.CRYPTOS_CACHES;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class OrphanCryptoServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+
+    @Mock
+    private OrphanCryptoCandidateRepository orphanCryptoCandidateRepositoryMock;
+
+    @Mock
+    private CryptoRepository cryptoRepositoryMock;
+
+    @Mock
+    private CacheService cacheServiceMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private OrphanCryptoService orphanCryptoService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        orphanCryptoService = new OrphanCryptoService(2, orphanCryptoCandidateRepositoryMock, cryptoRepositoryMock,
+            cacheServiceMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldDeleteOrphanCryptosInBatches() {
+        when(orphanCryptoCandidateRepositoryMock.findOldestCandidates(NOW, 2))
+            .thenReturn(List.of(candidate("bitcoin"), candidate("ethereum")))
+            .thenReturn(List.of(candidate("tether")));
+        when(cryptoRepositoryMock.deleteOrphanCryptos(List.of("bitcoin", "ethereum"))).thenReturn(1);
+        when(cryptoRepositoryMock.deleteOrphanCryptos(List.of("tether"))).thenReturn(1);
+
+        orphanCryptoService.deleteOrphanCryptos();
+
+        verify(orphanCryptoCandidateRepositoryMock, times(2)).findOldestCandidates(NOW, 2);
+        verify(orphanCryptoCandidateRepositoryMock, times(1)).deleteSweptCandidates(List.of("bitcoin", "ethereum"), NOW);
+        verify(orphanCryptoCandidateRepositoryMock, times(1)).deleteSweptCandidates(List.of("tether"), NOW);
+        verify(cacheServiceMock, times(1)).invalidate(CRYPTOS_CACHES);
+    }
+
+    @Test
+    void shouldNotInvalidateCachesIfCandidatesAreStillUsed() {
+        when(orphanCryptoCandidateRepositoryMock.findOldestCandidates(NOW, 2)).thenReturn(List.of(candidate("bitcoin")));
+        when(cryptoRepositoryMock.deleteOrphanCryptos(List.of("bitcoin"))).thenReturn(0);
+
+        orphanCryptoService.deleteOrphanCryptos();
+
+        verify(orphanCryptoCandidateRepositoryMock, times(1)).deleteSweptCandidates(List.of("bitcoin"), NOW);
+        verify(cacheServiceMock, never()).invalidate(any());
+    }
+
+    @Test
+    void shouldDoNothingIfThereAreNoCandidates() {
+        when(orphanCryptoCandidateRepositoryMock.findOldestCandidates(NOW, 2)).thenReturn(List.of());
+
+        orphanCryptoService.deleteOrphanCryptos();
+
+        verify(cryptoRepositoryMock, never()).deleteOrphanCryptos(any());
+        verify(orphanCryptoCandidateRepositoryMock, never()).deleteSweptCandidates(any(), any());
+        verify(cacheServiceMock, never()).invalidate(any());
+    }
+
+    private OrphanCryptoCandidate candidate(String cryptoId) {
+        return new OrphanCryptoCandidate(cryptoId, NOW.minusMinutes(5));
+    }
+}
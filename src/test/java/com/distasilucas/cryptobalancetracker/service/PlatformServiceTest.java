@@ -42,6 +42,9 @@ class PlatformServiceTest {
     @Mock
     private CacheService cacheServiceMock;
 
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
     @Mock
     private PlatformService platformServiceMock;
 
@@ -50,7 +53,8 @@ class PlatformServiceTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        platformService = new PlatformService(platformRepositoryMock, userCryptoServiceMock, cacheServiceMock, platformServiceMock);
+        platformService = new PlatformService(platformRepositoryMock, userCryptoServiceMock, cacheServiceMock, portfolioSummaryServiceMock,
+            platformServiceMock);
     }
 
     @Test
@@ -147,6 +151,7 @@ class PlatformServiceTest {
 
         verify(platformRepositoryMock, times(1)).save(platformArgumentCaptor.getValue());
         verify(cacheServiceMock, times(1)).invalidate(PLATFORMS_CACHES, USER_CRYPTOS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
         assertThat(platform)
             .usingRecursiveComparison()
             .isEqualTo(platformEntity);
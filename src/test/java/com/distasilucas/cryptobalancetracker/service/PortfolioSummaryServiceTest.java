@@ -0,0 +1,233 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.model.PortfolioSummary;
+import com.distasilucas.cryptobalancetracker.repository.view.PortfolioSummaryViewRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.model.CacheType.INSIGHTS_CACHES;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PortfolioSummaryServiceTest {
+
+    @Mock
+    private PortfolioSummaryViewRepository portfolioSummaryViewRepositoryMock;
+
+    @Mock
+    private CacheService cacheServiceMock;
+
+    private PortfolioSummaryService portfolioSummaryService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        portfolioSummaryService = new PortfolioSummaryService(portfolioSummaryViewRepositoryMock, cacheServiceMock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void shouldRetrieveCryptosSummaries() {
+        var cryptosSummaries = List.of(summary("bitcoin", "Bitcoin"));
+
+        when(portfolioSummaryViewRepositoryMock.findCryptosSummaries()).thenReturn(cryptosSummaries);
+
+        assertThat(portfolioSummaryService.retrieveCryptosSummaries()).isEqualTo(cryptosSummaries);
+    }
+
+    @Test
+    void shouldRetrievePlatformsSummaries() {
+        var platformsSummaries = List.of(summary("BINANCE", "BINANCE"));
+
+        when(portfolioSummaryViewRepositoryMock.findPlatformsSummaries()).thenReturn(platformsSummaries);
+
+        assertThat(portfolioSummaryService.retrievePlatformsSummaries()).isEqualTo(platformsSummaries);
+    }
+
+    @Test
+    void shouldInvalidateInsightsCachesAfterRefreshingView() {
+        portfolioSummaryService.requestRefresh();
+        portfolioSummaryService.refreshIfRequested();
+
+        InOrder inOrder = inOrder(portfolioSummaryViewRepositoryMock, cacheServiceMock);
+        inOrder.verify(portfolioSummaryViewRepositoryMock, times(1)).refresh();
+        inOrder.verify(cacheServiceMock, times(1)).invalidate(INSIGHTS_CACHES);
+    }
+
+    @Test
+    void shouldNotRefreshIfNotRequested() {
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, never()).refresh();
+        verify(cacheServiceMock, never()).invalidate(INSIGHTS_CACHES);
+    }
+
+    @Test
+    void shouldRefreshOnceForManyRequests() {
+        portfolioSummaryService.requestRefresh();
+        portfolioSummaryService.refreshAfterCommit();
+        portfolioSummaryService.requestRefresh();
+
+        verify(portfolioSummaryViewRepositoryMock, never()).refresh();
+
+        portfolioSummaryService.refreshIfRequested();
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, times(1)).refresh();
+        verify(cacheServiceMock, times(1)).invalidate(INSIGHTS_CACHES);
+    }
+
+    @Test
+    void shouldRefreshOnceMoreForRequestsMadeWhileRefreshing() {
+        doAnswer(invocation -> {
+            portfolioSummaryService.requestRefresh();
+            portfolioSummaryService.requestRefresh();
+            return null;
+        }).doNothing().when(portfolioSummaryViewRepositoryMock).refresh();
+
+        portfolioSummaryService.requestRefresh();
+        portfolioSummaryService.refreshIfRequested();
+        portfolioSummaryService.refreshIfRequested();
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, times(2)).refresh();
+        verify(cacheServiceMock, times(2)).invalidate(INSIGHTS_CACHES);
+    }
+
+    @Test
+    void shouldRetryRefreshThatFailed() {
+        doThrow(new IllegalStateException("Database unavailable"))
+            .doNothing()
+            .when(portfolioSummaryViewRepositoryMock).refresh();
+
+        portfolioSummaryService.requestRefresh();
+
+        assertThatThrownBy(() -> portfolioSummaryService.refreshIfRequested())
+            .isInstanceOf(IllegalStateException.class);
+        verify(cacheServiceMock, never()).invalidate(INSIGHTS_CACHES);
+
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, times(2)).refresh();
+        verify(cacheServiceMock, times(1)).invalidate(INSIGHTS_CACHES);
+    }
+
+    @Test
+    void shouldInvalidateInsightsCachesOfTenantsThatRequestedRefresh() {
+        List<String> invalidatedTenants = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            invalidatedTenants.add(TenantContext.getTenantId());
+            return null;
+        }).when(cacheServiceMock).invalidate(INSIGHTS_CACHES);
+
+        TenantContext.runAs("tenant-a", portfolioSummaryService::requestRefresh);
+        TenantContext.runAs("tenant-b", portfolioSummaryService::requestRefresh);
+        TenantContext.runAs("tenant-a", portfolioSummaryService::requestRefresh);
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, times(1)).refresh();
+        assertThat(invalidatedTenants).containsExactlyInAnyOrder("tenant-a", "tenant-b");
+        assertThat(TenantContext.isBound()).isFalse();
+    }
+
+    @Test
+    void shouldReportRefreshPendingUntilTenantCachesAreInvalidated() {
+        List<Boolean> pendingWhileRefreshing = new ArrayList<>();
+
+        doAnswer(invocation -> {
+            pendingWhileRefreshing.add(portfolioSummaryService.isRefreshPending());
+            return null;
+        }).when(cacheServiceMock).invalidate(INSIGHTS_CACHES);
+
+        TenantContext.runAs("tenant-a", portfolioSummaryService::requestRefresh);
+
+        TenantContext.runAs("tenant-a", () -> assertThat(portfolioSummaryService.isRefreshPending()).isTrue());
+        TenantContext.runAs("tenant-b", () -> assertThat(portfolioSummaryService.isRefreshPending()).isFalse());
+        assertThat(portfolioSummaryService.isRefreshPending()).isTrue();
+
+        portfolioSummaryService.refreshIfRequested();
+
+        assertThat(pendingWhileRefreshing).containsExactly(true);
+        TenantContext.runAs("tenant-a", () -> assertThat(portfolioSummaryService.isRefreshPending()).isFalse());
+        assertThat(portfolioSummaryService.isRefreshPending()).isFalse();
+    }
+
+    @Test
+    void shouldReportRefreshRequestedByRootPendingForEveryTenant() {
+        portfolioSummaryService.requestRefresh();
+
+        TenantContext.runAs("tenant-a", () -> assertThat(portfolioSummaryService.isRefreshPending()).isTrue());
+    }
+
+    @Test
+    void shouldRequestRefreshRightAwayWithoutTransaction() {
+        portfolioSummaryService.refreshAfterCommit();
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, times(1)).refresh();
+    }
+
+    @Test
+    void shouldRequestRefreshOnceAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        portfolioSummaryService.refreshAfterCommit();
+        portfolioSummaryService.refreshAfterCommit();
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, never()).refresh();
+
+        var synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        portfolioSummaryService.refreshIfRequested();
+
+        assertThat(synchronizations).hasSize(1);
+        verify(portfolioSummaryViewRepositoryMock, times(1)).refresh();
+        verify(cacheServiceMock, times(1)).invalidate(INSIGHTS_CACHES);
+    }
+
+    @Test
+    void shouldNotRequestRefreshAfterRollback() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        portfolioSummaryService.refreshAfterCommit();
+        TransactionSynchronizationManager.getSynchronizations()
+            .forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        portfolioSummaryService.refreshIfRequested();
+
+        verify(portfolioSummaryViewRepositoryMock, never()).refresh();
+        verify(cacheServiceMock, never()).invalidate(INSIGHTS_CACHES);
+    }
+
+    private PortfolioSummary summary(String id, String name) {
+        return new PortfolioSummary(id, name, new BigDecimal("0.25"), new BigDecimal("7500"), new BigDecimal("6750"),
+            new BigDecimal("0.25"));
+    }
+}
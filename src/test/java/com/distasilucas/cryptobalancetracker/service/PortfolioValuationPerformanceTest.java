@@ -0,0 +1,127 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.RepositoryTest;
+import com.distasilucas.cryptobalancetracker.entity.HoldingEvent;
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.repository.HoldingEventRepository;
+import com.distasilucas.cryptobalancetracker.repository.HoldingsSnapshotRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBinancePlatformEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Latency of the worst time-travel request: one year of holding events without any snapshot, read from
+ * the database and replayed. Runs with {@code ./gradlew perfTest}, outside the unit suite, as wall-clock
+ * timings depend on the machine. Latest prices are read with a PostgreSQL query, so they are stubbed.
+ */
+@Tag("perf")
+@RepositoryTest
+class PortfolioValuationPerformanceTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 2, 8, 12, 30);
+    private static final String BINANCE_ID = "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6";
+    private static final Duration ONE_YEAR_LOOKBACK_BUDGET = Duration.ofSeconds(1);
+    private static final int WARM_UP_RUNS = 3;
+    private static final int MEASURED_RUNS = 9;
+
+    @Autowired
+    private TestEntityManager testEntityManager;
+
+    @Autowired
+    private HoldingEventRepository holdingEventRepository;
+
+    @Autowired
+    private HoldingsSnapshotRepository holdingsSnapshotRepository;
+
+    private final PriceHistoryService priceHistoryServiceMock = mock(PriceHistoryService.class);
+    private final CryptoService cryptoServiceMock = mock(CryptoService.class);
+    private final PlatformService platformServiceMock = mock(PlatformService.class);
+
+    private PortfolioValuationService portfolioValuationService;
+
+    @BeforeEach
+    void setUp() {
+        var holdingsLedgerService = new HoldingsLedgerService(Duration.ofMinutes(5), holdingEventRepository,
+            holdingsSnapshotRepository, Clock.systemUTC());
+        portfolioValuationService = new PortfolioValuationService(holdingsLedgerService, priceHistoryServiceMock,
+            cryptoServiceMock, platformServiceMock);
+    }
+
+    @Test
+    void shouldValueOneYearLookbackWithinLatencyBudget() {
+        var cryptosIds = IntStream.range(0, 250).mapToObj("crypto-%03d"::formatted).toList();
+        persistOneYearOfEvents(cryptosIds);
+
+        when(priceHistoryServiceMock.retrieveLatestPricesBefore(eq(cryptosIds), eq(AT)))
+            .thenReturn(cryptosIds.stream().map(cryptoId -> price(cryptoId, "1.5")).toList());
+        when(platformServiceMock.findAllByIds(anyCollection())).thenReturn(List.of(getBinancePlatformEntity()));
+
+        for (int i = 0; i < WARM_UP_RUNS; i++) {
+            assertThat(retrieveUserCryptosAt()).hasSize(cryptosIds.size());
+        }
+
+        var timings = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            var start = System.nanoTime();
+            retrieveUserCryptosAt();
+            timings[i] = System.nanoTime() - start;
+        }
+
+        Arrays.sort(timings);
+        assertThat(Duration.ofNanos(timings[MEASURED_RUNS / 2])).isLessThan(ONE_YEAR_LOOKBACK_BUDGET);
+    }
+
+    private List<?> retrieveUserCryptosAt() {
+        testEntityManager.clear();
+
+        return portfolioValuationService.retrieveUserCryptosAt(AT);
+    }
+
+    private void persistOneYearOfEvents(List<String> cryptosIds) {
+        var from = AT.minusYears(1);
+        var minutes = Duration.between(from, AT).toMinutes();
+        List<HoldingEvent> events = new ArrayList<>();
+        var count = 0L;
+
+        for (long minute = 0; minute < minutes; minute += 5) {
+            count++;
+            var cryptoId = cryptosIds.get((int) (count % cryptosIds.size()));
+            var type = count <= cryptosIds.size() ? HoldingEventType.ADD : HoldingEventType.UPDATE;
+
+            events.add(new HoldingEvent(null, from.plusMinutes(minute), type, "uc-".concat(cryptoId), cryptoId, BINANCE_ID,
+                BigDecimal.valueOf(count), null));
+
+            if (events.size() == 1000) {
+                holdingEventRepository.saveAllAndFlush(events);
+                testEntityManager.clear();
+                events.clear();
+            }
+        }
+
+        holdingEventRepository.saveAllAndFlush(events);
+        testEntityManager.clear();
+    }
+
+    private PriceHistory price(String cryptoId, String usd) {
+        return new PriceHistory(cryptoId, AT.minusMinutes(3), new BigDecimal(usd), new BigDecimal(usd), new BigDecimal("0.0001"));
+    }
+}
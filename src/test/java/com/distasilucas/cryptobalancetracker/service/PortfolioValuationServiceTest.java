@@ -0,0 +1,96 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Holding;
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBinancePlatformEntity;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PortfolioValuationServiceTest {
+
+    private static final LocalDateTime AT = LocalDateTime.of(2024, 2, 8, 12, 30);
+    private static final String BINANCE_ID = "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6";
+
+    @Mock
+    private HoldingsLedgerService holdingsLedgerServiceMock;
+
+    @Mock
+    private PriceHistoryService priceHistoryServiceMock;
+
+    @Mock
+    private CryptoService cryptoServiceMock;
+
+    @Mock
+    private PlatformService platformServiceMock;
+
+    private PortfolioValuationService portfolioValuationService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        portfolioValuationService = new PortfolioValuationService(holdingsLedgerServiceMock, priceHistoryServiceMock,
+            cryptoServiceMock, platformServiceMock);
+    }
+
+    @Test
+    void shouldRetrieveUserCryptosAtDateWithPricesOfThatDate() {
+        when(holdingsLedgerServiceMock.retrieveHoldingsAt(AT)).thenReturn(List.of(
+            new Holding("uc-2", "ethereum", BINANCE_ID, new BigDecimal("2")),
+            new Holding("uc-1", "bitcoin", BINANCE_ID, new BigDecimal("0.5")),
+            new Holding("uc-3", "dogecoin", BINANCE_ID, new BigDecimal("100")),
+            new Holding("uc-4", "bitcoin", "a76b400e-8ffc-42d6-bf47-db866eb20153", new BigDecimal("0.25"))
+        ));
+        when(priceHistoryServiceMock.retrieveLatestPricesBefore(List.of("bitcoin", "dogecoin", "ethereum"), AT)).thenReturn(List.of(
+            price("bitcoin", "40000"),
+            price("ethereum", "2500")
+        ));
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin", "dogecoin", "ethereum"))).thenReturn(List.of(getBitcoinCryptoEntity()));
+        when(platformServiceMock.findAllByIds(anyCollection())).thenReturn(List.of(getBinancePlatformEntity()));
+
+        var userCryptos = portfolioValuationService.retrieveUserCryptosAt(AT);
+
+        assertThat(userCryptos)
+            .extracting(
+                UserCrypto::getId,
+                userCrypto -> userCrypto.getCrypto().getCryptoInfo().getName(),
+                userCrypto -> userCrypto.getCrypto().getLastKnownPrices().getLastKnownPrice(),
+                userCrypto -> userCrypto.getPlatform().getName()
+            )
+            .containsExactly(
+                tuple("uc-1", "Bitcoin", new BigDecimal("40000"), "BINANCE"),
+                tuple("uc-4", "Bitcoin", new BigDecimal("40000"), "a76b400e-8ffc-42d6-bf47-db866eb20153"),
+                tuple("uc-2", "ethereum", new BigDecimal("2500"), "BINANCE")
+            );
+    }
+
+    @Test
+    void shouldRetrieveEmptyUserCryptosIfThereAreNoHoldingsAtDate() {
+        when(holdingsLedgerServiceMock.retrieveHoldingsAt(AT)).thenReturn(List.of());
+
+        var userCryptos = portfolioValuationService.retrieveUserCryptosAt(AT);
+
+        verify(priceHistoryServiceMock, never()).retrieveLatestPricesBefore(anyList(), any());
+        assertThat(userCryptos).isEmpty();
+    }
+
+    private PriceHistory price(String cryptoId, String usd) {
+        return new PriceHistory(cryptoId, AT.minusMinutes(3), new BigDecimal(usd), new BigDecimal(usd), new BigDecimal("0.0001"));
+    }
+}
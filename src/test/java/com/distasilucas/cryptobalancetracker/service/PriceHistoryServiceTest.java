@@ -0,0 +1,243 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.journal.PriceJournal;
+import com.distasilucas.cryptobalancetracker.journal.PriceTick;
+import com.distasilucas.cryptobalancetracker.journal.PriceTickRange;
+import com.distasilucas.cryptobalancetracker.model.CandleInterval;
+import com.distasilucas.cryptobalancetracker.model.response.crypto.CandleResponse;
+import com.distasilucas.cryptobalancetracker.repository.PriceHistoryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PriceHistoryServiceTest {
+
+    @Mock
+    private PriceHistoryRepository priceHistoryRepositoryMock;
+
+    @Mock
+    private PriceJournal priceJournalMock;
+
+    @TempDir
+    private Path journalDirectory;
+
+    private PriceJournal priceJournal;
+    private PriceHistoryService priceHistoryService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        priceHistoryService = new PriceHistoryService(priceHistoryRepositoryMock, Optional.empty());
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (priceJournal != null) {
+            priceJournal.close();
+        }
+    }
+
+    @Test
+    void shouldRecordPrices() {
+        Class<List<PriceHistory>> listClass = (Class<List<PriceHistory>>) (Class) List.class;
+        ArgumentCaptor<List<PriceHistory>> captor = ArgumentCaptor.forClass(listClass);
+        var crypto = getBitcoinCryptoEntity();
+
+        priceHistoryService.recordPrices(List.of(crypto));
+
+        verify(priceHistoryRepositoryMock, times(1)).insertAll(captor.capture());
+        assertThat(captor.getValue())
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                new PriceHistory("bitcoin", crypto.getLastUpdatedAt(), new BigDecimal("30000"), new BigDecimal("27000"), new BigDecimal("1"))
+            ));
+    }
+
+    @Test
+    void shouldAppendPricesToJournalIfEnabled() {
+        var crypto = getBitcoinCryptoEntity();
+        var timestamp = crypto.getLastUpdatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        priceHistoryService = new PriceHistoryService(priceHistoryRepositoryMock, Optional.of(priceJournalMock));
+
+        priceHistoryService.recordPrices(List.of(crypto));
+
+        verify(priceHistoryRepositoryMock, times(1)).insertAll(any());
+        verify(priceJournalMock, times(1)).append("bitcoin", new PriceTick(timestamp, 30000, 27000, 1));
+    }
+
+    @Test
+    void shouldRetrievePriceTicksFromJournalIfItCoversRange() throws IOException {
+        var from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        var to = LocalDateTime.of(2024, 2, 8, 0, 0);
+        priceJournal = new PriceJournal(journalDirectory, 16);
+        priceJournal.append("bitcoin", tick(from.minusMinutes(5), 41000));
+        priceJournal.append("bitcoin", tick(from.plusDays(1), 42000));
+        priceJournal.append("bitcoin", tick(to.plusMinutes(5), 43000));
+        priceHistoryService = new PriceHistoryService(priceHistoryRepositoryMock, Optional.of(priceJournal));
+
+        var priceTicks = priceHistoryService.retrievePriceTicks("bitcoin", from, to);
+
+        assertThat(priceTicks).map(PriceTickRange::toList).contains(List.of(tick(from.plusDays(1), 42000)));
+    }
+
+    @Test
+    void shouldRetrieveEmptyPriceTicksIfJournalDoesNotCoverRange() throws IOException {
+        var from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        priceJournal = new PriceJournal(journalDirectory, 16);
+        priceJournal.append("bitcoin", tick(from.plusDays(1), 42000));
+        priceHistoryService = new PriceHistoryService(priceHistoryRepositoryMock, Optional.of(priceJournal));
+
+        var priceTicks = priceHistoryService.retrievePriceTicks("bitcoin", from, from.plusDays(7));
+
+        assertThat(priceTicks).isEmpty();
+    }
+
+    @Test
+    void shouldRetrieveEmptyPriceTicksIfJournalIsDisabled() {
+        var priceTicks = priceHistoryService.retrievePriceTicks("bitcoin", LocalDateTime.now(), LocalDateTime.now());
+
+        assertThat(priceTicks).isEmpty();
+    }
+
+    @Test
+    void shouldNotRecordPricesForCryptosWithoutUpdateDate() {
+        var crypto = getBitcoinCryptoEntity();
+        var cryptoWithoutDate = new Crypto(crypto.getId(), crypto.getCryptoInfo(), crypto.getLastKnownPrices(), crypto.getChangePercentages(), null);
+
+        priceHistoryService.recordPrices(List.of(cryptoWithoutDate));
+
+        verify(priceHistoryRepositoryMock, never()).insertAll(any());
+    }
+
+    @Test
+    void shouldRetrievePriceHistory() {
+        var from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        var to = LocalDateTime.of(2024, 2, 8, 0, 0);
+        var prices = List.of(
+            new PriceHistory("bitcoin", from, new BigDecimal("42000"), new BigDecimal("39000"), BigDecimal.ONE),
+            new PriceHistory("bitcoin", to, new BigDecimal("44000"), new BigDecimal("40800"), BigDecimal.ONE)
+        );
+
+        when(priceHistoryRepositoryMock.findAllByCryptoIdInRange("bitcoin", from, to)).thenReturn(prices);
+
+        var priceHistory = priceHistoryService.retrievePriceHistory("bitcoin", from, to);
+
+        assertThat(priceHistory).containsExactlyElementsOf(prices);
+    }
+
+    @Test
+    void shouldRetrieveCandles() {
+        var from = LocalDateTime.of(2024, 2, 1, 0, 0);
+        var candles = List.of(
+            new CandleResponse(from, new BigDecimal("42000"), new BigDecimal("44000"), new BigDecimal("41500"), new BigDecimal("43000"))
+        );
+
+        when(priceHistoryRepositoryMock.findCandles("bitcoin", CandleInterval.ONE_DAY, from)).thenReturn(candles);
+
+        var candlesResponse = priceHistoryService.retrieveCandles("bitcoin", CandleInterval.ONE_DAY, from);
+
+        assertThat(candlesResponse).containsExactlyElementsOf(candles);
+    }
+
+    @Test
+    void shouldRetrieveLatestPriceBefore() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 0);
+        var price = new PriceHistory("bitcoin", at.minusMinutes(3), new BigDecimal("44000"), new BigDecimal("40800"), BigDecimal.ONE);
+
+        when(priceHistoryRepositoryMock.findFirstByCryptoIdAndRecordedAtLessThanEqualOrderByRecordedAtDesc("bitcoin", at))
+            .thenReturn(Optional.of(price));
+
+        var latestPrice = priceHistoryService.retrieveLatestPriceBefore("bitcoin", at);
+
+        assertThat(latestPrice).contains(price);
+    }
+
+    @Test
+    void shouldRetrieveLatestPricesBefore() {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 0);
+        var prices = List.of(
+            new PriceHistory("bitcoin", at.minusMinutes(3), new BigDecimal("44000"), new BigDecimal("40800"), BigDecimal.ONE),
+            new PriceHistory("ethereum", at.minusMinutes(3), new BigDecimal("2400"), new BigDecimal("2225"), new BigDecimal("0.0545"))
+        );
+
+        when(priceHistoryRepositoryMock.findLatestPrices(List.of("bitcoin", "ethereum"), at)).thenReturn(prices);
+
+        var latestPrices = priceHistoryService.retrieveLatestPricesBefore(List.of("bitcoin", "ethereum"), at);
+
+        assertThat(latestPrices).containsExactlyElementsOf(prices);
+    }
+
+    @Test
+    void shouldRetrieveLatestPricesBeforeFromJournalAndPriceHistoryForCryptosNotInJournal() throws IOException {
+        var at = LocalDateTime.of(2024, 2, 8, 12, 0);
+        var ethereumPrice = new PriceHistory("ethereum", at.minusMinutes(3), new BigDecimal("2400"), new BigDecimal("2225"), new BigDecimal("0.0545"));
+        priceJournal = new PriceJournal(journalDirectory, 16);
+        priceJournal.append("bitcoin", tick(at.minusMinutes(10), 43000));
+        priceJournal.append("bitcoin", tick(at.minusMinutes(5), 44000));
+        priceJournal.append("bitcoin", tick(at.plusMinutes(5), 45000));
+        priceHistoryService = new PriceHistoryService(priceHistoryRepositoryMock, Optional.of(priceJournal));
+
+        when(priceHistoryRepositoryMock.findLatestPrices(List.of("ethereum"), at)).thenReturn(List.of(ethereumPrice));
+
+        var latestPrices = priceHistoryService.retrieveLatestPricesBefore(List.of("ethereum", "bitcoin"), at);
+
+        assertThat(latestPrices)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                new PriceHistory("bitcoin", at.minusMinutes(5), new BigDecimal("44000.0"), new BigDecimal("44000.0"), new BigDecimal("1.0")),
+                ethereumPrice
+            ));
+    }
+
+    @Test
+    void shouldCreatePartitionsForCurrentAndUpcomingMonths() {
+        priceHistoryService.createPartitions(YearMonth.of(2024, 12), 2);
+
+        verify(priceHistoryRepositoryMock, times(1)).createMonthlyPartition(YearMonth.of(2024, 12));
+        verify(priceHistoryRepositoryMock, times(1)).createMonthlyPartition(YearMonth.of(2025, 1));
+        verify(priceHistoryRepositoryMock, times(1)).createMonthlyPartition(YearMonth.of(2025, 2));
+    }
+
+    @Test
+    void shouldFailAfterCreatingRemainingPartitionsIfOneCannotBeCreated() {
+        var failure = new DataAccessResourceFailureException("Connection refused");
+        doThrow(failure).when(priceHistoryRepositoryMock).createMonthlyPartition(YearMonth.of(2025, 1));
+
+        assertThatThrownBy(() -> priceHistoryService.createPartitions(YearMonth.of(2024, 12), 2))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Could not create price history partitions for [2025-01]")
+            .hasCause(failure);
+
+        verify(priceHistoryRepositoryMock, times(1)).createMonthlyPartition(YearMonth.of(2025, 2));
+    }
+
+    private PriceTick tick(LocalDateTime recordedAt, double usd) {
+        return new PriceTick(recordedAt.toInstant(ZoneOffset.UTC).toEpochMilli(), usd, usd, 1);
+    }
+}
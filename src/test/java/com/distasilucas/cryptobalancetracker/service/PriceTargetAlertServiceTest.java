@@ -0,0 +1,203 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
+import com.distasilucas.cryptobalancetracker.entity.PriceTarget;
+import com.distasilucas.cryptobalancetracker.entity.PriceTargetAlert;
+import com.distasilucas.cryptobalancetracker.model.CrossingDirection;
+import com.distasilucas.cryptobalancetracker.repository.PriceTargetAlertRepository;
+import com.distasilucas.cryptobalancetracker.repository.PriceTargetRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class PriceTargetAlertServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+
+    @Mock
+    private PriceTargetRepository priceTargetRepositoryMock;
+
+    @Mock
+    private PriceTargetAlertRepository priceTargetAlertRepositoryMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private PriceTargetAlertService priceTargetAlertService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        priceTargetAlertService = new PriceTargetAlertService(priceTargetRepositoryMock, priceTargetAlertRepositoryMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TenantContext.clear();
+    }
+
+    @Test
+    void shouldOnlySetBaselineOnFirstTick() {
+        when(priceTargetRepositoryMock.findAllByCryptoId("bitcoin")).thenReturn(List.of(priceTarget("target-1", "30000")));
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("30000")));
+
+        verify(priceTargetRepositoryMock, times(1)).findAllByCryptoId("bitcoin");
+        verify(priceTargetAlertRepositoryMock, never()).saveAll(any());
+    }
+
+    @Test
+    void shouldAlertTargetsCrossedUpwards() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+
+        when(priceTargetRepositoryMock.findAllByCryptoId("bitcoin")).thenReturn(List.of(
+            priceTarget("target-1", "29000"),
+            priceTarget("target-2", "30000"),
+            priceTarget("target-3", "31000"),
+            priceTarget("target-4", "32000"),
+            priceTarget("target-5", "33000")
+        ));
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("30000")));
+        priceTargetAlertService.checkTargets(List.of(bitcoin("32000")));
+
+        verify(priceTargetRepositoryMock, times(1)).findAllByCryptoId("bitcoin");
+        verify(priceTargetAlertRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(PriceTargetAlert::getPriceTargetId, PriceTargetAlert::getTarget, PriceTargetAlert::getPreviousPrice,
+                PriceTargetAlert::getPrice, PriceTargetAlert::getDirection, PriceTargetAlert::getTriggeredAt)
+            .containsExactly(
+                tuple("target-3", new BigDecimal("31000"), new BigDecimal("30000"), new BigDecimal("32000"), CrossingDirection.UP, NOW),
+                tuple("target-4", new BigDecimal("32000"), new BigDecimal("30000"), new BigDecimal("32000"), CrossingDirection.UP, NOW)
+            );
+    }
+
+    @Test
+    void shouldAlertTargetsCrossedDownwards() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+
+        when(priceTargetRepositoryMock.findAllByCryptoId("bitcoin")).thenReturn(List.of(
+            priceTarget("target-1", "25000"),
+            priceTarget("target-2", "28000"),
+            priceTarget("target-3", "30000")
+        ));
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("30000")));
+        priceTargetAlertService.checkTargets(List.of(bitcoin("27500.5")));
+
+        verify(priceTargetAlertRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(PriceTargetAlert::getPriceTargetId, PriceTargetAlert::getDirection)
+            .containsExactly(tuple("target-2", CrossingDirection.DOWN));
+    }
+
+    @Test
+    void shouldKeepIndexUpdatedWithAddedUpdatedAndRemovedTargets() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+        var removedTarget = priceTarget("target-1", "31000");
+        var updatedTarget = priceTarget("target-2", "35000");
+
+        when(priceTargetRepositoryMock.findAllByCryptoId("bitcoin")).thenReturn(List.of(removedTarget, priceTarget("target-2", "31500")));
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("30000")));
+        priceTargetAlertService.removeTarget(removedTarget);
+        priceTargetAlertService.updateTarget(updatedTarget, new BigDecimal("31500"));
+        priceTargetAlertService.addTarget(priceTarget("target-3", "31750"));
+        priceTargetAlertService.checkTargets(List.of(bitcoin("32000")));
+
+        verify(priceTargetAlertRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(PriceTargetAlert::getPriceTargetId)
+            .containsExactly("target-3");
+    }
+
+    @Test
+    void shouldOnlyVisitCrossedTargetsAmongThousands() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+        var priceTargets = IntStream.range(0, 10000)
+            .mapToObj(index -> priceTarget("target-" + index, String.valueOf(20000 + index)))
+            .toList();
+
+        when(priceTargetRepositoryMock.findAllByCryptoId("bitcoin")).thenReturn(priceTargets);
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("25000")));
+        priceTargetAlertService.checkTargets(List.of(bitcoin("25003")));
+        priceTargetAlertService.checkTargets(List.of(bitcoin("25003")));
+
+        verify(priceTargetAlertRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(PriceTargetAlert::getPriceTargetId)
+            .containsExactly("target-5001", "target-5002", "target-5003");
+    }
+
+    @Test
+    void shouldAlertEveryTenantWithTargetAtCrossedPrice() {
+        var captor = ArgumentCaptor.forClass(iterableClass());
+
+        when(priceTargetRepositoryMock.findAllByCryptoId("bitcoin")).thenReturn(List.of());
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("30000")));
+        TenantContext.bind("tenant-a");
+        priceTargetAlertService.addTarget(priceTarget("target-a", "31000"));
+        TenantContext.bind("tenant-b");
+        priceTargetAlertService.addTarget(priceTarget("target-b", "31000"));
+        TenantContext.clear();
+        priceTargetAlertService.checkTargets(List.of(bitcoin("32000")));
+
+        verify(priceTargetAlertRepositoryMock, times(1)).saveAll(captor.capture());
+        assertThat(captor.getValue())
+            .extracting(PriceTargetAlert::getPriceTargetId, PriceTargetAlert::getTenantId, PriceTargetAlert::getTarget)
+            .containsExactlyInAnyOrder(
+                tuple("target-a", "tenant-a", new BigDecimal("31000")),
+                tuple("target-b", "tenant-b", new BigDecimal("31000"))
+            );
+    }
+
+    @Test
+    void shouldNotSeedIndexFromTenantRequests() {
+        TenantContext.bind("tenant-a");
+
+        priceTargetAlertService.checkTargets(List.of(bitcoin("30000")));
+
+        verify(priceTargetRepositoryMock, never()).findAllByCryptoId("bitcoin");
+        verify(priceTargetAlertRepositoryMock, never()).saveAll(any());
+    }
+
+    private Crypto bitcoin(String price) {
+        var lastKnownPrices = new LastKnownPrices(new BigDecimal(price), new BigDecimal(price), BigDecimal.ONE);
+
+        return new Crypto("bitcoin", null, lastKnownPrices, null, NOW);
+    }
+
+    private PriceTarget priceTarget(String id, String target) {
+        return new PriceTarget(id, new BigDecimal(target), getBitcoinCryptoEntity());
+    }
+
+    private Class<Iterable<PriceTargetAlert>> iterableClass() {
+        return (Class<Iterable<PriceTargetAlert>>)(Class) Iterable.class;
+    }
+}
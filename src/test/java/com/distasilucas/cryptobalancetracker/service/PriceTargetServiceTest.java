@@ -48,6 +48,9 @@ class PriceTargetServiceTest {
     @Mock
     private CacheService cacheServiceMock;
 
+    @Mock
+    private PriceTargetAlertService priceTargetAlertServiceMock;
+
     @Mock
     private PriceTargetService priceTargetServiceMock;
 
@@ -56,7 +59,8 @@ class PriceTargetServiceTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        priceTargetService = new PriceTargetService(priceTargetRepositoryMock, cryptoServiceMock, cacheServiceMock, priceTargetServiceMock);
+        priceTargetService = new PriceTargetService(priceTargetRepositoryMock, cryptoServiceMock, cacheServiceMock, priceTargetAlertServiceMock,
+            priceTargetServiceMock);
     }
 
     @AfterEach
@@ -147,6 +151,7 @@ class PriceTargetServiceTest {
                 )
             );
         verify(priceTargetRepositoryMock, times(1)).save(captor.getValue());
+        verify(priceTargetAlertServiceMock, times(1)).addTarget(captor.getValue());
         verify(cacheServiceMock, times(1)).invalidate(PRICE_TARGETS_CACHES);
     }
 
@@ -192,6 +197,7 @@ class PriceTargetServiceTest {
                 )
             );
         verify(priceTargetRepositoryMock, times(1)).save(captor.getValue());
+        verify(priceTargetAlertServiceMock, times(1)).updateTarget(captor.getValue(), new BigDecimal("120000"));
         verify(cacheServiceMock, times(1)).invalidate(PRICE_TARGETS_CACHES);
     }
 
@@ -241,6 +247,7 @@ class PriceTargetServiceTest {
         priceTargetService.deletePriceTarget("f9c8cb17-73a4-4b7e-96f6-7943e3ddcd08");
 
         verify(priceTargetRepositoryMock, times(1)).delete(priceTargetEntity);
+        verify(priceTargetAlertServiceMock, times(1)).removeTarget(priceTargetEntity);
         verify(cryptoServiceMock, times(1)).deleteCryptoIfNotUsed("bitcoin");
         verify(cacheServiceMock, times(1)).invalidate(PRICE_TARGETS_CACHES);
     }
@@ -0,0 +1,191 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.entity.CashFlow;
+import com.distasilucas.cryptobalancetracker.entity.DateBalance;
+import com.distasilucas.cryptobalancetracker.model.DateRange;
+import com.distasilucas.cryptobalancetracker.model.response.insights.BalancesResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.ReturnsResponse;
+import com.distasilucas.cryptobalancetracker.repository.CashFlowRepository;
+import com.distasilucas.cryptobalancetracker.repository.DateBalanceRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class ReturnsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+    private static final LocalDate TODAY = NOW.toLocalDate();
+
+    @Mock
+    private DateBalanceRepository dateBalanceRepositoryMock;
+
+    @Mock
+    private CashFlowRepository cashFlowRepositoryMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private ReturnsService returnsService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        returnsService = new ReturnsService(dateBalanceRepositoryMock, cashFlowRepositoryMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldRetrieveReturnsExcludingCashFlows() {
+        seedOneWeek();
+
+        var returns = returnsService.retrieveReturns(DateRange.ONE_WEEK);
+
+        assertThat(returns)
+            .usingRecursiveComparison()
+            .isEqualTo(new ReturnsResponse(15.24F, 13.48F, "1000.00"));
+    }
+
+    @Test
+    void shouldUpdateReturnsIncrementally() {
+        seedOneWeek();
+        var captor = ArgumentCaptor.forClass(CashFlow.class);
+
+        returnsService.retrieveReturns(DateRange.ONE_WEEK);
+        returnsService.recordCashFlow(getBitcoinCryptoEntity(), new BigDecimal("0.05"));
+        returnsService.updateReturns(TODAY.plusDays(1), new BalancesResponse("3900", "3510", "0.13"));
+
+        var returns = returnsService.retrieveReturns(DateRange.ONE_WEEK);
+
+        verify(cashFlowRepositoryMock, times(1)).save(captor.capture());
+        verify(dateBalanceRepositoryMock, times(1)).findDateBalancesByDateBetween(any(), any());
+        assertThat(captor.getValue().getUsdValue()).isEqualTo(new BigDecimal("1500.00"));
+        assertThat(returns)
+            .usingRecursiveComparison()
+            .isEqualTo(new ReturnsResponse(25.71F, 24.36F, "2500.00"));
+    }
+
+    @Test
+    void shouldReplaceBalanceOfSameDate() {
+        seedOneDay();
+
+        returnsService.retrieveReturns(DateRange.ONE_DAY);
+        returnsService.updateReturns(TODAY, new BalancesResponse("1200", "1080", "0.04"));
+
+        var returns = returnsService.retrieveReturns(DateRange.ONE_DAY);
+
+        assertThat(returns)
+            .usingRecursiveComparison()
+            .isEqualTo(new ReturnsResponse(20F, 20F, "0.00"));
+    }
+
+    @Test
+    void shouldEvictBalancesOutsideTheRange() {
+        seedOneDay();
+
+        returnsService.retrieveReturns(DateRange.ONE_DAY);
+        returnsService.updateReturns(TODAY.plusDays(1), new BalancesResponse("1320", "1188", "0.044"));
+
+        var returns = returnsService.retrieveReturns(DateRange.ONE_DAY);
+
+        assertThat(returns)
+            .usingRecursiveComparison()
+            .isEqualTo(new ReturnsResponse(20F, 20F, "0.00"));
+    }
+
+    @Test
+    void shouldRetrieveEmptyReturnsIfNotEnoughBalances() {
+        when(dateBalanceRepositoryMock.findDateBalancesByDateBetween(TODAY.minusMonths(1), TODAY))
+            .thenReturn(List.of(dateBalance(TODAY, "1000")));
+
+        var returns = returnsService.retrieveReturns(DateRange.ONE_MONTH);
+
+        assertThat(returns)
+            .usingRecursiveComparison()
+            .isEqualTo(ReturnsResponse.empty());
+    }
+
+    @Test
+    void shouldKeepSeriesOfEachTenant() {
+        seedOneWeek();
+
+        TenantContext.runAs("tenant-a", () -> returnsService.retrieveReturns(DateRange.ONE_WEEK));
+        TenantContext.runAs("tenant-b", () -> {
+            returnsService.retrieveReturns(DateRange.ONE_WEEK);
+            returnsService.recordCashFlow(getBitcoinCryptoEntity(), new BigDecimal("0.05"));
+            returnsService.updateReturns(TODAY.plusDays(1), new BalancesResponse("3900", "3510", "0.13"));
+        });
+
+        TenantContext.runAs("tenant-a", () -> assertThat(returnsService.retrieveReturns(DateRange.ONE_WEEK))
+            .usingRecursiveComparison()
+            .isEqualTo(new ReturnsResponse(15.24F, 13.48F, "1000.00")));
+        TenantContext.runAs("tenant-b", () -> assertThat(returnsService.retrieveReturns(DateRange.ONE_WEEK))
+            .usingRecursiveComparison()
+            .isEqualTo(new ReturnsResponse(25.71F, 24.36F, "2500.00")));
+        verify(dateBalanceRepositoryMock, times(2)).findDateBalancesByDateBetween(any(), any());
+    }
+
+    @Test
+    void shouldSeedRootSeriesAgainAfterTenantWrites() {
+        seedOneWeek();
+
+        returnsService.retrieveReturns(DateRange.ONE_WEEK);
+        TenantContext.runAs("tenant-a", () -> returnsService.recordCashFlow(getBitcoinCryptoEntity(), new BigDecimal("0.05")));
+        returnsService.retrieveReturns(DateRange.ONE_WEEK);
+
+        verify(dateBalanceRepositoryMock, times(2)).findDateBalancesByDateBetween(any(), any());
+    }
+
+    @Test
+    void shouldNotRecordEmptyCashFlow() {
+        returnsService.recordCashFlow(getBitcoinCryptoEntity(), BigDecimal.ZERO);
+
+        verify(cashFlowRepositoryMock, never()).save(any());
+    }
+
+    private void seedOneWeek() {
+        when(dateBalanceRepositoryMock.findDateBalancesByDateBetween(TODAY.minusWeeks(1), TODAY)).thenReturn(List.of(
+            dateBalance(TODAY, "2200"),
+            dateBalance(TODAY.minusDays(2), "1000"),
+            dateBalance(TODAY.minusDays(1), "2100")
+        ));
+        when(cashFlowRepositoryMock.findAllByOccurredAtGreaterThanEqualOrderByOccurredAtAsc(TODAY.minusDays(6).atStartOfDay()))
+            .thenReturn(List.of(cashFlow(NOW.minusDays(1), "1000")));
+    }
+
+    private void seedOneDay() {
+        when(dateBalanceRepositoryMock.findDateBalancesByDateBetween(TODAY.minusDays(1), TODAY)).thenReturn(List.of(
+            dateBalance(TODAY.minusDays(1), "1000"),
+            dateBalance(TODAY, "1100")
+        ));
+        when(cashFlowRepositoryMock.findAllByOccurredAtGreaterThanEqualOrderByOccurredAtAsc(TODAY.atStartOfDay()))
+            .thenReturn(List.of());
+    }
+
+    private DateBalance dateBalance(LocalDate date, String usdBalance) {
+        return new DateBalance(date, new BalancesResponse(usdBalance, usdBalance, "0.1"));
+    }
+
+    private CashFlow cashFlow(LocalDateTime occurredAt, String usdValue) {
+        return new CashFlow("ad1a8d47-9b4a-4b35-9d5f-9c4c2f5f0b1a", "bitcoin", occurredAt, BigDecimal.ONE, new BigDecimal(usdValue));
+    }
+}
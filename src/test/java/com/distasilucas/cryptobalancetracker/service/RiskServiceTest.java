@@ -0,0 +1,268 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.ChangePercentages;
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.CryptoInfo;
+import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
+import com.distasilucas.cryptobalancetracker.entity.Platform;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.request.insights.StressScenarioRequest;
+import com.distasilucas.cryptobalancetracker.model.response.insights.RollingStatistics;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsight;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.RiskInsightsResponse;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressImpact;
+import com.distasilucas.cryptobalancetracker.model.response.insights.risk.StressScenarioResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCache;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBinancePlatformEntity;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getUserCrypto;
+import static com.distasilucas.cryptobalancetracker.constants.Constants.RISK_INSIGHTS_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.assertj.core.api.Assertions.within;
+import static org.assertj.core.api.Assertions.withinPercentage;
+import static org.junit.jupiter.api.Assertions.assertTimeout;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class RiskServiceTest {
+
+    private static final BigDecimal CONFIDENCE = new BigDecimal("0.95");
+    private static final Platform COINBASE_PLATFORM = new Platform("fa3db02d-4d43-416a-951b-e7ea3a4fe386", "COINBASE");
+
+    /**
+     * Budget to simulate the default number of paths for a portfolio far larger than a usual one.
+     */
+    private static final Duration ONE_HUNDRED_CRYPTOS_BUDGET = Duration.ofSeconds(2);
+
+    @Mock
+    private UserCryptoService userCryptoServiceMock;
+
+    @Mock
+    private CryptoService cryptoServiceMock;
+
+    @Mock
+    private PlatformService platformServiceMock;
+
+    @Mock
+    private RollingStatisticsService rollingStatisticsServiceMock;
+
+    @Mock
+    private CacheManager cacheManagerMock;
+
+    private final ConcurrentMapCache riskInsightsCache = new ConcurrentMapCache(RISK_INSIGHTS_CACHE);
+
+    private RiskService riskService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        riskService = getRiskService(Duration.ofSeconds(10));
+
+        when(cacheManagerMock.getCache(RISK_INSIGHTS_CACHE)).thenReturn(riskInsightsCache);
+        when(platformServiceMock.findAllByIds(anyCollection())).thenReturn(List.of(getBinancePlatformEntity(), COINBASE_PLATFORM));
+    }
+
+    @Test
+    void shouldRetrieveValueAtRiskCloseToLognormalQuantile() {
+        var userCrypto = getUserCrypto();
+
+        when(userCryptoServiceMock.findAll()).thenReturn(List.of(userCrypto));
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin"))).thenReturn(List.of(getBitcoinCryptoEntity()));
+        when(rollingStatisticsServiceMock.retrieveStatistics("bitcoin")).thenReturn(List.of(
+            new RollingStatistics("1d", 101, new BigDecimal("0.0010"), new BigDecimal("1.0000"), new BigDecimal("8.0000"))
+        ));
+
+        var riskInsights = riskService.retrieveRiskInsights(CONFIDENCE);
+
+        assertThat(riskInsights.horizon()).isEqualTo("1d");
+        assertThat(riskInsights.confidence()).isEqualTo(0.95F);
+        assertThat(riskInsights.simulations()).isEqualTo(10000);
+        assertThat(riskInsights.totalValue()).isEqualTo("7500.00");
+        assertThat(new BigDecimal(riskInsights.valueAtRisk())).isCloseTo(new BigDecimal("1169.30"), withinPercentage(5));
+        assertThat(new BigDecimal(riskInsights.conditionalValueAtRisk())).isCloseTo(new BigDecimal("1425.00"), withinPercentage(5));
+        assertThat(riskInsights.platforms())
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(new RiskInsight("BINANCE", "7500.00", riskInsights.valueAtRisk(), riskInsights.conditionalValueAtRisk())));
+        assertThat(riskInsights.cryptos())
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(new RiskInsight("Bitcoin", "7500.00", riskInsights.valueAtRisk(), riskInsights.conditionalValueAtRisk())));
+    }
+
+    @Test
+    void shouldSplitValueAtRiskOfSameCryptoByPlatformValue() {
+        var userCryptos = List.of(
+            getUserCrypto(),
+            new UserCrypto("ed34425b-d9f7-4244-bd16-0212621848c6", new BigDecimal("0.75"), COINBASE_PLATFORM, getBitcoinCryptoEntity())
+        );
+
+        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin"))).thenReturn(List.of(getBitcoinCryptoEntity()));
+
+        var riskInsights = riskService.retrieveRiskInsights(CONFIDENCE);
+
+        var coinbaseInsight = riskInsights.platforms().get(0);
+        var binanceInsight = riskInsights.platforms().get(1);
+
+        assertThat(riskInsights.totalValue()).isEqualTo("30000.00");
+        assertThat(riskInsights.platforms()).extracting(RiskInsight::name, RiskInsight::value)
+            .containsExactly(
+                tuple("COINBASE", "22500.00"),
+                tuple("BINANCE", "7500.00")
+            );
+        assertThat(new BigDecimal(coinbaseInsight.valueAtRisk()))
+            .isCloseTo(new BigDecimal(binanceInsight.valueAtRisk()).multiply(new BigDecimal("3")), within(new BigDecimal("0.05")));
+        assertThat(new BigDecimal(riskInsights.valueAtRisk()))
+            .isCloseTo(new BigDecimal(binanceInsight.valueAtRisk()).multiply(new BigDecimal("4")), within(new BigDecimal("0.05")));
+    }
+
+    @Test
+    void shouldRetrieveCachedRiskInsightsWhileHoldingsAndPricesDoNotChange() {
+        var userCrypto = getUserCrypto();
+
+        when(userCryptoServiceMock.findAll()).thenReturn(List.of(userCrypto));
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin"))).thenReturn(List.of(getBitcoinCryptoEntity()));
+
+        var riskInsights = riskService.retrieveRiskInsights(CONFIDENCE);
+        var cachedRiskInsights = riskService.retrieveRiskInsights(CONFIDENCE);
+
+        when(userCryptoServiceMock.findAll()).thenReturn(List.of(userCrypto.withQuantity(new BigDecimal("0.5"))));
+
+        var updatedRiskInsights = riskService.retrieveRiskInsights(CONFIDENCE);
+
+        assertThat(cachedRiskInsights).isSameAs(riskInsights);
+        assertThat(updatedRiskInsights.totalValue()).isEqualTo("15000.00");
+        assertThat(riskInsightsCache.getNativeCache()).hasSize(2);
+    }
+
+    @Test
+    void shouldStopSimulatingWhenTimeBudgetRunsOut() {
+        var exhaustedRiskService = getRiskService(Duration.ZERO);
+
+        when(userCryptoServiceMock.findAll()).thenReturn(List.of(getUserCrypto()));
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin"))).thenReturn(List.of(getBitcoinCryptoEntity()));
+
+        var riskInsights = exhaustedRiskService.retrieveRiskInsights(CONFIDENCE);
+
+        assertThat(riskInsights.simulations()).isEqualTo(1000);
+        assertThat(new BigDecimal(riskInsights.valueAtRisk())).isPositive();
+        assertThat(riskInsightsCache.getNativeCache()).isEmpty();
+    }
+
+    @Test
+    void shouldNotShareCachedRiskInsightsBetweenPortfoliosWithSameHashCode() {
+        var bitcoin = getBitcoinCryptoEntity();
+
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin"))).thenReturn(List.of(bitcoin));
+        when(userCryptoServiceMock.findAll())
+            .thenReturn(List.of(new UserCrypto("Aa", new BigDecimal("0.25"), getBinancePlatformEntity(), bitcoin)))
+            .thenReturn(List.of(new UserCrypto("BB", new BigDecimal("0.25"), getBinancePlatformEntity(), bitcoin)));
+
+        riskService.retrieveRiskInsights(CONFIDENCE);
+        riskService.retrieveRiskInsights(CONFIDENCE);
+
+        assertThat("Aa".hashCode()).isEqualTo("BB".hashCode());
+        assertThat(riskInsightsCache.getNativeCache()).hasSize(2);
+    }
+
+    @Test
+    void shouldSimulateOneHundredCryptosWithinLatencyBudget() {
+        var cryptos = IntStream.range(0, 100).mapToObj(index -> getCrypto("crypto-%03d".formatted(index), "10")).toList();
+        var userCryptos = cryptos.stream()
+            .map(crypto -> new UserCrypto("uc-".concat(crypto.getId()), new BigDecimal("5"), getBinancePlatformEntity(), crypto))
+            .toList();
+
+        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(cryptoServiceMock.findAllByIds(anyCollection())).thenReturn(cryptos);
+
+        var riskInsights = assertTimeout(ONE_HUNDRED_CRYPTOS_BUDGET, () -> riskService.retrieveRiskInsights(CONFIDENCE));
+
+        assertThat(riskInsights.simulations()).isEqualTo(10000);
+        assertThat(riskInsights.totalValue()).isEqualTo("5000.00");
+        assertThat(riskInsights.cryptos()).hasSize(100);
+    }
+
+    @Test
+    void shouldRetrieveEmptyRiskInsightsIfThereAreNoUserCryptos() {
+        when(userCryptoServiceMock.findAll()).thenReturn(List.of());
+
+        var riskInsights = riskService.retrieveRiskInsights(CONFIDENCE);
+
+        verify(cacheManagerMock, never()).getCache(RISK_INSIGHTS_CACHE);
+        assertThat(riskInsights)
+            .usingRecursiveComparison()
+            .isEqualTo(RiskInsightsResponse.empty("1d", 0.95F));
+    }
+
+    @Test
+    void shouldRetrieveStressScenario() {
+        var ethereum = getCrypto("ethereum", "2000");
+        var userCryptos = List.of(
+            getUserCrypto(),
+            new UserCrypto("ed34425b-d9f7-4244-bd16-0212621848c6", new BigDecimal("2"), COINBASE_PLATFORM, ethereum)
+        );
+        var stressScenarioRequest = new StressScenarioRequest(Map.of("bitcoin", new BigDecimal("-30")), new BigDecimal("-10"));
+
+        when(userCryptoServiceMock.findAll()).thenReturn(userCryptos);
+        when(cryptoServiceMock.findAllByIds(List.of("bitcoin", "ethereum"))).thenReturn(List.of(getBitcoinCryptoEntity(), ethereum));
+
+        var stressScenario = riskService.retrieveStressScenario(stressScenarioRequest);
+
+        assertThat(stressScenario)
+            .usingRecursiveComparison()
+            .isEqualTo(new StressScenarioResponse(
+                "11500.00",
+                "8850.00",
+                "-2650.00",
+                List.of(
+                    new StressImpact("BINANCE", "7500.00", "5250.00", "-2250.00"),
+                    new StressImpact("COINBASE", "4000.00", "3600.00", "-400.00")
+                ),
+                List.of(
+                    new StressImpact("Bitcoin", "7500.00", "5250.00", "-2250.00"),
+                    new StressImpact("ethereum", "4000.00", "3600.00", "-400.00")
+                )
+            ));
+    }
+
+    @Test
+    void shouldRetrieveEmptyStressScenarioIfThereAreNoUserCryptos() {
+        when(userCryptoServiceMock.findAll()).thenReturn(List.of());
+
+        var stressScenario = riskService.retrieveStressScenario(new StressScenarioRequest(Map.of(), new BigDecimal("-50")));
+
+        assertThat(stressScenario)
+            .usingRecursiveComparison()
+            .isEqualTo(StressScenarioResponse.empty());
+    }
+
+    private RiskService getRiskService(Duration timeBudget) {
+        return new RiskService("1d", 10000, 0.6, 0.05, timeBudget, userCryptoServiceMock, cryptoServiceMock,
+            platformServiceMock, rollingStatisticsServiceMock, cacheManagerMock);
+    }
+
+    private Crypto getCrypto(String coingeckoCryptoId, String price) {
+        return new Crypto(
+            coingeckoCryptoId,
+            new CryptoInfo(coingeckoCryptoId, coingeckoCryptoId, null, 10, BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO),
+            new LastKnownPrices(new BigDecimal(price), new BigDecimal(price), new BigDecimal("0.0001")),
+            new ChangePercentages(BigDecimal.ZERO, BigDecimal.ZERO, BigDecimal.ZERO),
+            LocalDateTime.of(2023, 1, 1, 0, 0, 0)
+        );
+    }
+}
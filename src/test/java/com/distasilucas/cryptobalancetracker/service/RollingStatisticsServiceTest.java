@@ -0,0 +1,183 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.LastKnownPrices;
+import com.distasilucas.cryptobalancetracker.entity.PriceHistory;
+import com.distasilucas.cryptobalancetracker.model.response.insights.RollingStatistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class RollingStatisticsServiceTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 2, 8, 12, 30);
+
+    @Mock
+    private PriceHistoryService priceHistoryServiceMock;
+
+    @Mock
+    private Clock clockMock;
+
+    private RollingStatisticsService rollingStatisticsService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        rollingStatisticsService = new RollingStatisticsService(List.of(Duration.ofDays(1), Duration.ofHours(1)), 100,
+            priceHistoryServiceMock, clockMock);
+
+        when(clockMock.instant()).thenReturn(NOW.toInstant(ZoneOffset.UTC));
+        when(clockMock.getZone()).thenReturn(ZoneOffset.UTC);
+    }
+
+    @Test
+    void shouldSeedStatisticsFromPriceHistoryAndUpdateThemWithNewPrices() {
+        var priceHistory = List.of(
+            new PriceHistory("bitcoin", NOW.minusHours(3), new BigDecimal("100"), BigDecimal.ONE, BigDecimal.ONE),
+            new PriceHistory("bitcoin", NOW.minusHours(2), new BigDecimal("110"), BigDecimal.ONE, BigDecimal.ONE),
+            new PriceHistory("bitcoin", NOW.minusMinutes(50), new BigDecimal("99"), BigDecimal.ONE, BigDecimal.ONE)
+        );
+
+        when(priceHistoryServiceMock.retrievePriceHistory("bitcoin", NOW.minusDays(1), NOW)).thenReturn(priceHistory);
+
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("105", NOW)));
+
+        var statistics = rollingStatisticsService.retrieveStatistics("bitcoin");
+
+        verify(priceHistoryServiceMock, times(1)).retrievePriceHistory("bitcoin", NOW.minusDays(1), NOW);
+        assertThat(statistics)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                new RollingStatistics("1d", 4, new BigDecimal("1.6263"), new BigDecimal("10.6896"), new BigDecimal("10.0000")),
+                new RollingStatistics("1h", 2, new BigDecimal("-2.3260"), new BigDecimal("11.6108"), new BigDecimal("0.0000"))
+            ));
+    }
+
+    @Test
+    void shouldIgnoreRepeatedPrices() {
+        when(priceHistoryServiceMock.retrievePriceHistory("bitcoin", NOW.minusDays(1), NOW)).thenReturn(List.of());
+
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("100", NOW.minusMinutes(10))));
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("110", NOW)));
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("110", NOW)));
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("90", NOW.minusMinutes(5))));
+
+        var statistics = rollingStatisticsService.retrieveStatistics("bitcoin");
+
+        verify(priceHistoryServiceMock, times(1)).retrievePriceHistory(anyString(), any(), any());
+        assertThat(statistics)
+            .usingRecursiveComparison()
+            .isEqualTo(List.of(
+                new RollingStatistics("1d", 2, new BigDecimal("9.5310"), new BigDecimal("0.0000"), new BigDecimal("0.0000")),
+                new RollingStatistics("1h", 2, new BigDecimal("9.5310"), new BigDecimal("0.0000"), new BigDecimal("0.0000"))
+            ));
+    }
+
+    @Test
+    void shouldEvictPricesOutsideTheWindow() {
+        when(priceHistoryServiceMock.retrievePriceHistory("bitcoin", NOW.minusDays(1), NOW)).thenReturn(List.of());
+
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("100", NOW.minusHours(2))));
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("80", NOW.minusMinutes(90))));
+        rollingStatisticsService.updateStatistics(List.of(bitcoin("88", NOW)));
+
+        var statistics = rollingStatisticsService.retrieveStatistics("bitcoin");
+
+        assertThat(statistics.get(0).samples()).isEqualTo(3);
+        assertThat(statistics.get(0).maxDrawdown()).isEqualTo(new BigDecimal("20.0000"));
+        assertThat(statistics.get(1).samples()).isEqualTo(1);
+        assertThat(statistics.get(1).meanReturn()).isEqualTo(new BigDecimal("9.5310"));
+        assertThat(statistics.get(1).maxDrawdown()).isEqualTo(new BigDecimal("0.0000"));
+    }
+
+    @Test
+    void shouldRetrieveEmptyStatisticsForUnknownCrypto() {
+        var statistics = rollingStatisticsService.retrieveStatistics("unknown");
+
+        verify(priceHistoryServiceMock, never()).retrievePriceHistory(anyString(), any(), any());
+        assertThat(statistics).isEmpty();
+    }
+
+    @Test
+    void shouldKeepRollingWindowStatisticsEqualToRecomputingThem() {
+        var random = new Random(42);
+        var window = new RollingStatisticsService.RollingWindow(Duration.ofMinutes(30), 16);
+        var timestamps = new ArrayList<Long>();
+        var prices = new ArrayList<Double>();
+        var returns = new ArrayList<Double>();
+        var timestamp = 0L;
+        var price = 100D;
+
+        for (int i = 0; i < 500; i++) {
+            timestamp += Duration.ofMinutes(1 + random.nextInt(4)).toMillis();
+            var nextPrice = price * (1 + (random.nextDouble() - 0.5) / 10);
+            var logReturn = i == 0 ? Double.NaN : Math.log(nextPrice / price);
+            price = nextPrice;
+
+            window.add(timestamp, price, logReturn);
+            timestamps.add(timestamp);
+            prices.add(price);
+            returns.add(logReturn);
+
+            while (timestamps.get(0) <= timestamp - Duration.ofMinutes(30).toMillis() || timestamps.size() > 16) {
+                timestamps.remove(0);
+                prices.remove(0);
+                returns.remove(0);
+            }
+
+            var retainedReturns = returns.stream().filter(value -> !Double.isNaN(value)).toList();
+            var mean = retainedReturns.stream().mapToDouble(Double::doubleValue).average().orElse(0);
+            var variance = retainedReturns.stream().mapToDouble(value -> (value - mean) * (value - mean)).sum()
+                / Math.max(1, retainedReturns.size() - 1);
+            var peak = 0D;
+            var maxDrawdown = 0D;
+
+            for (var retainedPrice : prices) {
+                peak = Math.max(peak, retainedPrice);
+                maxDrawdown = Math.max(maxDrawdown, (peak - retainedPrice) / peak);
+            }
+
+            assertThat(window.mean()).isCloseTo(mean, within(1e-12));
+            assertThat(window.standardDeviation()).isCloseTo(retainedReturns.size() < 2 ? 0 : Math.sqrt(variance), within(1e-12));
+            assertThat(window.maxDrawdown()).isCloseTo(maxDrawdown, within(1e-12));
+        }
+    }
+
+    @Test
+    void shouldKeepStandardDeviationOfTinyReturnsAccurate() {
+        var window = new RollingStatisticsService.RollingWindow(Duration.ofDays(1), 1000);
+
+        for (int i = 0; i < 1000; i++) {
+            window.add(i, 100, i % 2 == 0 ? 0.01 + 1e-9 : 0.01 - 1e-9);
+        }
+
+        assertThat(window.standardDeviation()).isCloseTo(Math.sqrt(1000 * 1e-18 / 999), within(1e-13));
+    }
+
+    private Crypto bitcoin(String price, LocalDateTime lastUpdatedAt) {
+        var bitcoin = getBitcoinCryptoEntity();
+        var lastKnownPrices = new LastKnownPrices(new BigDecimal(price), new BigDecimal(price), BigDecimal.ONE);
+
+        return new Crypto(bitcoin.getId(), bitcoin.getCryptoInfo(), lastKnownPrices, bitcoin.getChangePercentages(), lastUpdatedAt);
+    }
+}
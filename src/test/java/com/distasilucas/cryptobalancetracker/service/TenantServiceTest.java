@@ -0,0 +1,69 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantContext;
+import com.distasilucas.cryptobalancetracker.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class TenantServiceTest {
+
+    @Mock
+    private UserRepository userRepositoryMock;
+
+    private TenantService tenantService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        tenantService = new TenantService(userRepositoryMock);
+    }
+
+    @Test
+    void shouldRunTaskBoundToEveryTenant() {
+        List<String> tenantsIds = new ArrayList<>();
+
+        when(userRepositoryMock.findAllTenantIds()).thenReturn(List.of("tenant-b", "default", "tenant-a"));
+
+        tenantService.forEachTenant(() -> tenantsIds.add(TenantContext.getTenantId()));
+
+        assertThat(tenantsIds).containsExactly("default", "tenant-a", "tenant-b");
+        assertThat(TenantContext.isBound()).isFalse();
+    }
+
+    @Test
+    void shouldRunTaskForDefaultTenantWithoutUsers() {
+        List<String> tenantsIds = new ArrayList<>();
+
+        when(userRepositoryMock.findAllTenantIds()).thenReturn(List.of());
+
+        tenantService.forEachTenant(() -> tenantsIds.add(TenantContext.getTenantId()));
+
+        assertThat(tenantsIds).containsExactly("default");
+    }
+
+    @Test
+    void shouldKeepRunningTaskForRemainingTenantsIfOneFails() {
+        List<String> tenantsIds = new ArrayList<>();
+
+        when(userRepositoryMock.findAllTenantIds()).thenReturn(List.of("tenant-a", "tenant-b"));
+
+        tenantService.forEachTenant(() -> {
+            if ("tenant-a".equals(TenantContext.getTenantId())) {
+                throw new IllegalStateException("Boom");
+            }
+
+            tenantsIds.add(TenantContext.getTenantId());
+        });
+
+        assertThat(tenantsIds).containsExactly("default", "tenant-b");
+        assertThat(TenantContext.isBound()).isFalse();
+    }
+}
@@ -0,0 +1,128 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.configuration.TenantIdentifierResolver;
+import com.distasilucas.cryptobalancetracker.entity.Platform;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
+import com.distasilucas.cryptobalancetracker.repository.CryptoRepository;
+import com.distasilucas.cryptobalancetracker.repository.PlatformRepository;
+import com.distasilucas.cryptobalancetracker.repository.UserCryptoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+@DataJpaTest(properties = {
+    "spring.liquibase.enabled=false",
+    "spring.jpa.hibernate.ddl-auto=create-drop",
+    "spring.datasource.url=jdbc:h2:mem:transfers;LOCK_TIMEOUT=10000"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import(TenantIdentifierResolver.class)
+class TransferCryptoServiceConcurrencyTest {
+
+    private static final int TRANSFERS = 10;
+
+    @Autowired
+    private UserCryptoRepository userCryptoRepository;
+
+    @Autowired
+    private PlatformRepository platformRepository;
+
+    @Autowired
+    private CryptoRepository cryptoRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private PlatformService platformServiceMock;
+
+    @Mock
+    private CryptoService cryptoServiceMock;
+
+    @Mock
+    private ReturnsService returnsServiceMock;
+
+    @Mock
+    private HoldingsLedgerService holdingsLedgerServiceMock;
+
+    @Mock
+    private CostBasisService costBasisServiceMock;
+
+    @Mock
+    private CacheService cacheServiceMock;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
+    private TransactionTemplate transactionTemplate;
+    private TransferCryptoService transferCryptoService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        var userCryptoService = new UserCryptoService(userCryptoRepository, platformServiceMock, cryptoServiceMock, returnsServiceMock,
+            holdingsLedgerServiceMock, costBasisServiceMock, cacheServiceMock, portfolioSummaryServiceMock, null);
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        transferCryptoService = new TransferCryptoService(userCryptoService, platformServiceMock, holdingsLedgerServiceMock,
+            costBasisServiceMock);
+    }
+
+    @Test
+    void shouldApplyParallelTransfersOfSameUserCryptoOneAfterTheOther() throws Exception {
+        var bitcoin = cryptoRepository.save(getBitcoinCryptoEntity());
+        var fromPlatform = platformRepository.save(new Platform("from-platform", "BINANCE"));
+        var toPlatform = platformRepository.save(new Platform("to-platform", "BYBIT"));
+        var userCrypto = userCryptoRepository.save(new UserCrypto(BigDecimal.ONE, fromPlatform, bitcoin));
+        var start = new CountDownLatch(1);
+        List<Future<?>> transfers = new ArrayList<>();
+
+        when(platformServiceMock.retrievePlatformById("to-platform")).thenReturn(toPlatform);
+
+        try (var executor = Executors.newFixedThreadPool(TRANSFERS)) {
+            for (int i = 0; i < TRANSFERS; i++) {
+                transfers.add(executor.submit(() -> {
+                    start.await();
+                    return transactionTemplate.execute(status -> transferCryptoService.transferCrypto(
+                        new TransferCryptoRequest(userCrypto.getId(), new BigDecimal("0.1"), BigDecimal.ZERO, false, "to-platform")
+                    ));
+                }));
+            }
+
+            start.countDown();
+
+            for (var transfer : transfers) {
+                transfer.get(30, TimeUnit.SECONDS);
+            }
+        }
+
+        assertThat(userCryptoRepository.findAll())
+            .singleElement()
+            .satisfies(transferredUserCrypto -> {
+                assertThat(transferredUserCrypto.getPlatform().getId()).isEqualTo("to-platform");
+                assertThat(transferredUserCrypto.getQuantity()).isEqualByComparingTo("1");
+            });
+    }
+}
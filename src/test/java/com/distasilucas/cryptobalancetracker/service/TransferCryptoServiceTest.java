@@ -4,6 +4,9 @@ import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.exception.ApiValidationException;
 import com.distasilucas.cryptobalancetracker.exception.InsufficientBalanceException;
+import com.distasilucas.cryptobalancetracker.exception.PlatformNotFoundException;
+import com.distasilucas.cryptobalancetracker.exception.UserCryptoNotFoundException;
+import com.distasilucas.cryptobalancetracker.model.UserCryptosToTransfer;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.TransferCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.FromPlatform;
 import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ToPlatform;
@@ -19,17 +22,20 @@ import org.springframework.http.HttpStatus;
 import java.math.BigDecimal;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.NOT_ENOUGH_BALANCE;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.PLATFORM_ID_NOT_FOUND;
 import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.SAME_FROM_TO_PLATFORM;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.USER_CRYPTO_ID_NOT_FOUND;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.Mockito.doAnswer;
-import static org.mockito.Mockito.doNothing;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mockStatic;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -52,12 +58,19 @@ class TransferCryptoServiceTest {
     @Mock
     private PlatformService platformServiceMock;
 
+    @Mock
+    private HoldingsLedgerService holdingsLedgerServiceMock;
+
+    @Mock
+    private CostBasisService costBasisServiceMock;
+
     private TransferCryptoService transferCryptoService;
 
     @BeforeEach
     void setUp() {
         openMocks(this);
-        transferCryptoService = new TransferCryptoService(userCryptoServiceMock, platformServiceMock);
+        transferCryptoService = new TransferCryptoService(userCryptoServiceMock, platformServiceMock, holdingsLedgerServiceMock,
+            costBasisServiceMock);
     }
 
     @AfterEach
@@ -89,21 +102,17 @@ class TransferCryptoServiceTest {
         var userCryptoToTransfer = getUserCryptoToTransfer();
         var toPlatformUserCrypto = getToPlatformUserCrypto();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
-
-        when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9"))
-            .thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479"))
-            .thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.of(toPlatformUserCrypto));
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
+
+        when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.of(toPlatformUserCrypto)));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
+        verify(holdingsLedgerServiceMock, times(1))
+            .recordTransfer(captor.getValue().get(0), captor.getValue().get(1), new BigDecimal("0.0005"));
+        verifyTransferredLots(userCryptoToTransfer, "a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d", "0.5095", "0.0005");
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -129,19 +138,15 @@ class TransferCryptoServiceTest {
         var transferCryptoRequest = getTransferCryptoRequest(false);
         var userCryptoToTransfer = getUserCryptoToTransfer();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.empty());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
         UUID_MOCK.when(UUID::randomUUID).thenReturn(RANDOM_UUID);
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -168,18 +173,14 @@ class TransferCryptoServiceTest {
         var userCryptoToTransfer = getUserCryptoToTransfer();
         var toPlatformUserCrypto = getToPlatformUserCrypto();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.of(toPlatformUserCrypto));
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.of(toPlatformUserCrypto)));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -205,19 +206,15 @@ class TransferCryptoServiceTest {
         var transferCryptoRequest = getTransferCryptoRequest(true);
         var userCryptoToTransfer = getUserCryptoToTransfer();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.empty());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
         UUID_MOCK.when(UUID::randomUUID).thenReturn(RANDOM_UUID);
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -254,19 +251,15 @@ class TransferCryptoServiceTest {
             getBitcoinCryptoEntity()
         );
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
-        when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(fromPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(toPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.empty());
+        when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
         UUID_MOCK.when(UUID::randomUUID).thenReturn(RANDOM_UUID);
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -297,6 +290,7 @@ class TransferCryptoServiceTest {
     void shouldTransferFromPlatformWithoutRemainingToPlatformWithExistingCryptoAndFullQuantityEnabled() {
         Class<List<UserCrypto>> listClass = (Class<List<UserCrypto>>)(Class)List.class;
         ArgumentCaptor<List<UserCrypto>> captor = ArgumentCaptor.forClass(listClass);
+        var fromCaptor = ArgumentCaptor.forClass(UserCrypto.class);
         var transferCryptoRequest = new TransferCryptoRequest(
             "f47ac10b-58cc-4372-a567-0e02b2c3d479",
             new BigDecimal("1.105734142"),
@@ -317,19 +311,19 @@ class TransferCryptoServiceTest {
             getBitcoinCryptoEntity()
         );
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.of(toPlatformUserCrypto));
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.of(toPlatformUserCrypto)));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).deleteUserCrypto("f47ac10b-58cc-4372-a567-0e02b2c3d479");
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of(userCryptoToTransfer)));
+        verify(holdingsLedgerServiceMock, times(1))
+            .recordTransfer(fromCaptor.capture(), eq(captor.getValue().getFirst()), eq(new BigDecimal("0.0005")));
+        assertThat(fromCaptor.getValue().getId()).isEqualTo("f47ac10b-58cc-4372-a567-0e02b2c3d479");
+        assertThat(fromCaptor.getValue().getQuantity()).isZero();
+        verifyTransferredLots(userCryptoToTransfer, "a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d", "1.105234142", "0.0005");
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -366,18 +360,14 @@ class TransferCryptoServiceTest {
             getBitcoinCryptoEntity()
         );
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.empty());
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -415,20 +405,14 @@ class TransferCryptoServiceTest {
         );
         var toPlatformUserCrypto = getToPlatformUserCrypto();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.of(toPlatformUserCrypto));
-        doNothing().when(userCryptoServiceMock).deleteUserCrypto("f47ac10b-58cc-4372-a567-0e02b2c3d479");
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.of(toPlatformUserCrypto)));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).deleteUserCrypto("f47ac10b-58cc-4372-a567-0e02b2c3d479");
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of(userCryptoToTransfer)));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -460,18 +444,14 @@ class TransferCryptoServiceTest {
         );
         var userCryptoToTransfer = getUserCryptoToTransfer();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.empty());
-        doAnswer(answer -> captor.getValue()).when(userCryptoServiceMock).saveOrUpdateAll(captor.capture());
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, times(1)).saveOrUpdateAll(captor.getValue());
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -501,19 +481,14 @@ class TransferCryptoServiceTest {
         );
         var userCryptoToTransfer = getUserCryptoToTransfer();
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
-        when(userCryptoServiceMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
-            .thenReturn(Optional.empty());
-        doNothing().when(userCryptoServiceMock).deleteUserCrypto("f47ac10b-58cc-4372-a567-0e02b2c3d479");
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
 
         var transferCryptoResponse = transferCryptoService.transferCrypto(transferCryptoRequest);
 
-        verify(userCryptoServiceMock, never()).saveOrUpdateAll(anyList());
-        verify(userCryptoServiceMock, times(1)).deleteUserCrypto("f47ac10b-58cc-4372-a567-0e02b2c3d479");
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(List.of(), List.of(userCryptoToTransfer));
         assertThat(transferCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(
@@ -539,13 +514,17 @@ class TransferCryptoServiceTest {
     @Test
     void shouldThrowApiValidationExceptionIfFromPlatformAndToPlatformAreTheSame() {
         var transferCryptoRequest = getTransferCryptoRequest(true);
-        var userCryptoToTransfer = getUserCryptoToTransfer();
-        var toPlatformResponse = getToPlatform();
-        var fromPlatformResponse = getToPlatform();
+        var userCryptoToTransfer = new UserCrypto(
+            "f47ac10b-58cc-4372-a567-0e02b2c3d479",
+            new BigDecimal("2.375321283"),
+            BINANCE_PLATFORM,
+            getBitcoinCryptoEntity()
+        );
+        var toPlatform = getToPlatform();
 
-        when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatformResponse);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatformResponse);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
+        when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
 
         var exception = assertThrows(
             ApiValidationException.class,
@@ -573,11 +552,10 @@ class TransferCryptoServiceTest {
             getBitcoinCryptoEntity()
         );
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
 
         var exception = assertThrows(
             InsufficientBalanceException.class,
@@ -603,11 +581,10 @@ class TransferCryptoServiceTest {
             getBitcoinCryptoEntity()
         );
         var toPlatform = getToPlatform();
-        var fromPlatform = getFromPlatform();
 
         when(platformServiceMock.retrievePlatformById("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")).thenReturn(toPlatform);
-        when(platformServiceMock.retrievePlatformById("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9")).thenReturn(fromPlatform);
-        when(userCryptoServiceMock.findUserCryptoById("f47ac10b-58cc-4372-a567-0e02b2c3d479")).thenReturn(userCryptoToTransfer);
+        when(userCryptoServiceMock.lockUserCryptosToTransfer("f47ac10b-58cc-4372-a567-0e02b2c3d479", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(new UserCryptosToTransfer(userCryptoToTransfer, Optional.empty()));
 
         var exception = assertThrows(
             InsufficientBalanceException.class,
@@ -617,6 +594,123 @@ class TransferCryptoServiceTest {
         assertEquals(NOT_ENOUGH_BALANCE, exception.getMessage());
     }
 
+    /*
+        Batch transfers
+     */
+
+    @Test
+    void shouldApplyBatchTransfersOverQuantitiesLeftByPreviousOnes() {
+        Class<List<UserCrypto>> listClass = (Class<List<UserCrypto>>)(Class)List.class;
+        ArgumentCaptor<List<UserCrypto>> captor = ArgumentCaptor.forClass(listClass);
+        var userCryptoToTransfer = getUserCryptoToTransfer();
+        var toPlatformUserCrypto = getToPlatformUserCrypto();
+        var transferCryptoRequests = List.of(
+            getTransferCryptoRequest(false),
+            new TransferCryptoRequest(
+                "a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d",
+                new BigDecimal("0.261938292"),
+                BigDecimal.ZERO,
+                false,
+                "d5f63c4d-98e7-4d26-b380-e7d0f5c423e9"
+            )
+        );
+        var platformIds = Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "d5f63c4d-98e7-4d26-b380-e7d0f5c423e9");
+
+        when(platformServiceMock.findAllByIds(platformIds)).thenReturn(List.of(BINANCE_PLATFORM, BYBIT_PLATFORM));
+        when(userCryptoServiceMock.lockAllToTransfer(Set.of("f47ac10b-58cc-4372-a567-0e02b2c3d479", "a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d"), platformIds))
+            .thenReturn(List.of(toPlatformUserCrypto, userCryptoToTransfer));
+
+        var transferCryptoResponses = transferCryptoService.transferCryptos(transferCryptoRequests);
+
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of()));
+        assertThat(captor.getValue())
+            .extracting(UserCrypto::getId, userCrypto -> userCrypto.getQuantity().toPlainString())
+            .containsExactly(
+                tuple("f47ac10b-58cc-4372-a567-0e02b2c3d479", "2.127259575"),
+                tuple("a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d", "2")
+            );
+        assertThat(transferCryptoResponses)
+            .extracting(TransferCryptoResponse::toPlatform)
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactly(
+                new ToPlatform("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "2.261938292"),
+                new ToPlatform("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9", "2.127259575")
+            );
+    }
+
+    @Test
+    void shouldDeleteUserCryptoLeftEmptyByBatchTransfers() {
+        Class<List<UserCrypto>> listClass = (Class<List<UserCrypto>>)(Class)List.class;
+        ArgumentCaptor<List<UserCrypto>> captor = ArgumentCaptor.forClass(listClass);
+        var userCryptoToTransfer = getUserCryptoToTransfer();
+        var toPlatformUserCrypto = getToPlatformUserCrypto();
+        var transferCryptoRequests = List.of(
+            getTransferCryptoRequest(false),
+            new TransferCryptoRequest(
+                "f47ac10b-58cc-4372-a567-0e02b2c3d479",
+                new BigDecimal("1.865321283"),
+                BigDecimal.ZERO,
+                false,
+                "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"
+            )
+        );
+
+        when(platformServiceMock.findAllByIds(Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))).thenReturn(List.of(BINANCE_PLATFORM));
+        when(userCryptoServiceMock.lockAllToTransfer(Set.of("f47ac10b-58cc-4372-a567-0e02b2c3d479"), Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")))
+            .thenReturn(List.of(toPlatformUserCrypto, userCryptoToTransfer));
+
+        transferCryptoService.transferCryptos(transferCryptoRequests);
+
+        verify(userCryptoServiceMock, times(1)).saveTransferredUserCryptos(captor.capture(), eq(List.of(userCryptoToTransfer)));
+        assertThat(captor.getValue())
+            .extracting(UserCrypto::getId, userCrypto -> userCrypto.getQuantity().toPlainString())
+            .containsExactly(tuple("a6b9f1e8-c1d5-4a8b-bf52-836e6a2e4c3d", "4.127259575"));
+    }
+
+    @Test
+    void shouldThrowUserCryptoNotFoundExceptionIfUserCryptoOfBatchTransferDoesNotExist() {
+        var transferCryptoRequests = List.of(getTransferCryptoRequest(false));
+
+        when(platformServiceMock.findAllByIds(Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))).thenReturn(List.of(BINANCE_PLATFORM));
+        when(userCryptoServiceMock.lockAllToTransfer(Set.of("f47ac10b-58cc-4372-a567-0e02b2c3d479"), Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")))
+            .thenReturn(List.of());
+
+        var exception = assertThrows(
+            UserCryptoNotFoundException.class,
+            () -> transferCryptoService.transferCryptos(transferCryptoRequests)
+        );
+
+        assertEquals(USER_CRYPTO_ID_NOT_FOUND.formatted("f47ac10b-58cc-4372-a567-0e02b2c3d479"), exception.getMessage());
+        verify(userCryptoServiceMock, never()).saveTransferredUserCryptos(anyList(), anyList());
+    }
+
+    @Test
+    void shouldThrowPlatformNotFoundExceptionIfPlatformOfBatchTransferDoesNotExist() {
+        var transferCryptoRequests = List.of(getTransferCryptoRequest(false));
+
+        when(platformServiceMock.findAllByIds(Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))).thenReturn(List.of());
+        when(userCryptoServiceMock.lockAllToTransfer(Set.of("f47ac10b-58cc-4372-a567-0e02b2c3d479"), Set.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")))
+            .thenReturn(List.of(getUserCryptoToTransfer()));
+
+        var exception = assertThrows(
+            PlatformNotFoundException.class,
+            () -> transferCryptoService.transferCryptos(transferCryptoRequests)
+        );
+
+        assertEquals(PLATFORM_ID_NOT_FOUND.formatted("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"), exception.getMessage());
+        verify(userCryptoServiceMock, never()).saveTransferredUserCryptos(anyList(), anyList());
+    }
+
+    private void verifyTransferredLots(UserCrypto from, String toUserCryptoId, String movedQuantity, String spentQuantity) {
+        var movedCaptor = ArgumentCaptor.forClass(BigDecimal.class);
+        var spentCaptor = ArgumentCaptor.forClass(BigDecimal.class);
+
+        verify(costBasisServiceMock, times(1))
+            .transferLots(eq(from), eq(toUserCryptoId), movedCaptor.capture(), spentCaptor.capture());
+        assertThat(movedCaptor.getValue()).isEqualByComparingTo(movedQuantity);
+        assertThat(spentCaptor.getValue()).isEqualByComparingTo(spentQuantity);
+    }
+
     private TransferCryptoRequest getTransferCryptoRequest(Boolean sendFullQuantity) {
         return new TransferCryptoRequest(
             "f47ac10b-58cc-4372-a567-0e02b2c3d479",
@@ -649,8 +743,4 @@ class TransferCryptoServiceTest {
         return new Platform("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "BINANCE");
     }
 
-    private Platform getFromPlatform() {
-        return new Platform("d5f63c4d-98e7-4d26-b380-e7d0f5c423e9", "BYBIT");
-    }
-
 }
@@ -0,0 +1,311 @@
+package com.distasilucas.cryptobalancetracker.service;
+
+import com.distasilucas.cryptobalancetracker.entity.Crypto;
+import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
+import com.distasilucas.cryptobalancetracker.exception.ApiValidationException;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.model.ImportFormat;
+import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptoError;
+import com.distasilucas.cryptobalancetracker.model.response.usercrypto.ImportUserCryptosResponse;
+import com.distasilucas.cryptobalancetracker.repository.UserCryptoRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.ByteArrayInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBinancePlatformEntity;
+import static com.distasilucas.cryptobalancetracker.TestDataSource.getBitcoinCryptoEntity;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.COINGECKO_CRYPTO_NOT_FOUND;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.CRYPTO_INFO_UNAVAILABLE;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.DUPLICATED_CRYPTO_PLATFORM;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.IMPORT_ROW_NOT_SAVED;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.INVALID_IMPORT_QUANTITY;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.INVALID_IMPORT_ROW_JSON;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.INVALID_IMPORT_ROW_VALUES;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.MISSING_IMPORT_COLUMNS;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.PLATFORM_ID_NOT_FOUND;
+import static com.distasilucas.cryptobalancetracker.constants.ExceptionConstants.TOO_MANY_IMPORT_ROWS;
+import static com.distasilucas.cryptobalancetracker.constants.ValidationConstants.CRYPTO_QUANTITY_POSITIVE;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.GOALS_CACHES;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.INSIGHTS_CACHES;
+import static com.distasilucas.cryptobalancetracker.model.CacheType.USER_CRYPTOS_CACHES;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mockito.MockitoAnnotations.openMocks;
+
+class UserCryptoImportServiceTest {
+
+    private static final String PLATFORM_ID = "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6";
+    private static final String UNKNOWN_PLATFORM_ID = "9b6c58a2-3f0e-4a38-9e51-1d8c1b7e0f42";
+    private static final CoingeckoCrypto BITCOIN = new CoingeckoCrypto("bitcoin", "btc", "Bitcoin");
+    private static final CoingeckoCrypto ETHEREUM = new CoingeckoCrypto("ethereum", "eth", "Ethereum");
+
+    @Mock
+    private UserCryptoRepository userCryptoRepositoryMock;
+
+    @Mock
+    private CoinCatalogService coinCatalogServiceMock;
+
+    @Mock
+    private CryptoService cryptoServiceMock;
+
+    @Mock
+    private PlatformService platformServiceMock;
+
+    @Mock
+    private HoldingsLedgerService holdingsLedgerServiceMock;
+
+    @Mock
+    private ReturnsService returnsServiceMock;
+
+    @Mock
+    private CostBasisService costBasisServiceMock;
+
+    @Mock
+    private CacheService cacheServiceMock;
+
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
+    @Mock
+    private PlatformTransactionManager transactionManagerMock;
+
+    private UserCryptoImportService userCryptoImportService;
+
+    @BeforeEach
+    void setUp() {
+        openMocks(this);
+        userCryptoImportService = userCryptoImportService(10, 500);
+
+        when(coinCatalogServiceMock.findAllByNamesOrIds(any())).thenReturn(Map.of("bitcoin", BITCOIN, "ethereum", ETHEREUM));
+        when(platformServiceMock.findAllByIds(any())).thenReturn(List.of(getBinancePlatformEntity()));
+        when(cryptoServiceMock.retrieveCryptosInfoByIds(any())).thenReturn(List.of(getBitcoinCryptoEntity(), ethereum()));
+        when(userCryptoRepositoryMock.insertAll(anyList())).thenAnswer(answer -> answer.getArgument(0));
+        when(transactionManagerMock.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void shouldImportCsvRowsAndReportTheOnesThatCanNotBeImported() {
+        var csv = """
+            quantity,platformId,cryptoName
+            0.15,%1$s,Bitcoin
+            1.5,%1$s,ethereum
+            -3,%1$s,Bitcoin
+
+            1,%1$s,dogecoin
+            1,%2$s,Bitcoin
+            abc,%1$s,Bitcoin
+            2,%1$s,BITCOIN
+            1,%1$s
+            """.formatted(PLATFORM_ID, UNKNOWN_PLATFORM_ID);
+        var captor = ArgumentCaptor.forClass(List.class);
+
+        when(userCryptoRepositoryMock.findAllByCoingeckoCryptoIdsAndPlatformIds(any(), any()))
+            .thenReturn(List.of(new UserCrypto(BigDecimal.ONE, getBinancePlatformEntity(), ethereum())));
+
+        var importUserCryptosResponse = userCryptoImportService.importUserCryptos(stream(csv), ImportFormat.CSV);
+
+        assertThat(importUserCryptosResponse)
+            .isEqualTo(new ImportUserCryptosResponse(1, List.of(
+                new ImportUserCryptoError(3, DUPLICATED_CRYPTO_PLATFORM.formatted("Ethereum", "BINANCE")),
+                new ImportUserCryptoError(4, CRYPTO_QUANTITY_POSITIVE),
+                new ImportUserCryptoError(6, COINGECKO_CRYPTO_NOT_FOUND.formatted("dogecoin")),
+                new ImportUserCryptoError(7, PLATFORM_ID_NOT_FOUND.formatted(UNKNOWN_PLATFORM_ID)),
+                new ImportUserCryptoError(8, INVALID_IMPORT_QUANTITY.formatted("abc")),
+                new ImportUserCryptoError(9, DUPLICATED_CRYPTO_PLATFORM.formatted("Bitcoin", "BINANCE")),
+                new ImportUserCryptoError(10, INVALID_IMPORT_ROW_VALUES.formatted(3))
+            )));
+        verify(userCryptoRepositoryMock, times(1)).insertAll(captor.capture());
+        assertThat((List<UserCrypto>) captor.getValue())
+            .singleElement()
+            .satisfies(userCrypto -> {
+                assertThat(userCrypto.getQuantity()).isEqualTo(new BigDecimal("0.15"));
+                assertThat(userCrypto.getCrypto().getId()).isEqualTo("bitcoin");
+                assertThat(userCrypto.getPlatform().getId()).isEqualTo(PLATFORM_ID);
+            });
+        verify(holdingsLedgerServiceMock, times(1)).recordEvents(eq(HoldingEventType.ADD), eq(captor.getValue()));
+        verify(returnsServiceMock, times(1)).recordCashFlow(any(Crypto.class), eq(new BigDecimal("0.15")));
+        verify(costBasisServiceMock, times(1)).recordChange(any(UserCrypto.class), eq(new BigDecimal("0.15")));
+        InOrder inOrder = inOrder(cryptoServiceMock, transactionManagerMock, userCryptoRepositoryMock);
+        inOrder.verify(cryptoServiceMock).retrieveCryptosInfoByIds(any());
+        inOrder.verify(transactionManagerMock).getTransaction(any());
+        inOrder.verify(userCryptoRepositoryMock).insertAll(anyList());
+        inOrder.verify(transactionManagerMock).commit(any());
+        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).requestRefresh();
+    }
+
+    @Test
+    void shouldImportNdjsonRowsInChunksAndInvalidateCachesOnce() {
+        userCryptoImportService = userCryptoImportService(10, 1);
+        var ndjson = """
+            {"cryptoName": "bitcoin", "quantity": 0.15, "platformId": "%1$s"}
+            {"cryptoName": "ethereum", "quantity": 1.5, "platformId": "%1$s"}
+            {"cryptoName": "bitcoin", "quantity":
+            """.formatted(PLATFORM_ID);
+
+        var importUserCryptosResponse = userCryptoImportService.importUserCryptos(stream(ndjson), ImportFormat.NDJSON);
+
+        assertThat(importUserCryptosResponse)
+            .isEqualTo(new ImportUserCryptosResponse(2, List.of(new ImportUserCryptoError(3, INVALID_IMPORT_ROW_JSON))));
+        verify(coinCatalogServiceMock, times(2)).findAllByNamesOrIds(any());
+        verify(userCryptoRepositoryMock, times(2)).insertAll(anyList());
+        verify(transactionManagerMock, times(2)).commit(any());
+        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).requestRefresh();
+    }
+
+    @Test
+    void shouldKeepChunksSavedBeforeOneThatCouldNotBeSaved() {
+        userCryptoImportService = userCryptoImportService(10, 1);
+        var csv = """
+            cryptoName,quantity,platformId
+            bitcoin,0.15,%1$s
+            ethereum,1.5,%1$s
+            """.formatted(PLATFORM_ID);
+
+        when(userCryptoRepositoryMock.insertAll(anyList()))
+            .thenAnswer(answer -> answer.getArgument(0))
+            .thenThrow(new DataIntegrityViolationException("Connection lost"));
+
+        var importUserCryptosResponse = userCryptoImportService.importUserCryptos(stream(csv), ImportFormat.CSV);
+
+        assertThat(importUserCryptosResponse)
+            .isEqualTo(new ImportUserCryptosResponse(1, List.of(
+                new ImportUserCryptoError(3, IMPORT_ROW_NOT_SAVED.formatted("Ethereum", "BINANCE"))
+            )));
+        verify(transactionManagerMock, times(1)).commit(any());
+        verify(transactionManagerMock, times(1)).rollback(any());
+        verify(holdingsLedgerServiceMock, times(1)).recordEvents(eq(HoldingEventType.ADD), anyList());
+        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).requestRefresh();
+    }
+
+    @Test
+    void shouldReportUserCryptosHeldSinceTheyWereCheckedAsDuplicated() {
+        var csv = """
+            cryptoName,quantity,platformId
+            bitcoin,0.15,%s
+            """.formatted(PLATFORM_ID);
+
+        when(userCryptoRepositoryMock.insertAll(anyList())).thenReturn(emptyList());
+
+        var importUserCryptosResponse = userCryptoImportService.importUserCryptos(stream(csv), ImportFormat.CSV);
+
+        assertThat(importUserCryptosResponse)
+            .isEqualTo(new ImportUserCryptosResponse(0, List.of(
+                new ImportUserCryptoError(2, DUPLICATED_CRYPTO_PLATFORM.formatted("Bitcoin", "BINANCE"))
+            )));
+        verify(holdingsLedgerServiceMock, never()).recordEvents(any(), any());
+        verify(cacheServiceMock, never()).invalidate(any());
+        verify(portfolioSummaryServiceMock, never()).requestRefresh();
+    }
+
+    @Test
+    void shouldReportRowsOfCryptosCoingeckoCouldNotBeReachedFor() {
+        var csv = """
+            cryptoName,quantity,platformId
+            bitcoin,0.15,%1$s
+            ethereum,1.5,%1$s
+            """.formatted(PLATFORM_ID);
+
+        when(cryptoServiceMock.retrieveCryptosInfoByIds(any())).thenReturn(List.of(getBitcoinCryptoEntity()));
+
+        var importUserCryptosResponse = userCryptoImportService.importUserCryptos(stream(csv), ImportFormat.CSV);
+
+        assertThat(importUserCryptosResponse)
+            .isEqualTo(new ImportUserCryptosResponse(1, List.of(
+                new ImportUserCryptoError(3, CRYPTO_INFO_UNAVAILABLE.formatted("Ethereum"))
+            )));
+    }
+
+    @Test
+    void shouldThrowApiValidationExceptionIfCsvHeaderIsMissingColumns() {
+        var csv = """
+            \uFEFFcryptoName,quantity
+            bitcoin,0.15
+            """;
+        var inputStream = stream(csv);
+
+        var exception = assertThrows(
+            ApiValidationException.class,
+            () -> userCryptoImportService.importUserCryptos(inputStream, ImportFormat.CSV)
+        );
+
+        assertEquals(MISSING_IMPORT_COLUMNS.formatted("cryptoName, quantity, platformId"), exception.getMessage());
+        verify(userCryptoRepositoryMock, never()).insertAll(anyList());
+    }
+
+    @Test
+    void shouldThrowApiValidationExceptionIfCsvIsEmpty() {
+        var inputStream = stream("");
+
+        var exception = assertThrows(
+            ApiValidationException.class,
+            () -> userCryptoImportService.importUserCryptos(inputStream, ImportFormat.CSV)
+        );
+
+        assertEquals(MISSING_IMPORT_COLUMNS.formatted("cryptoName, quantity, platformId"), exception.getMessage());
+    }
+
+    @Test
+    void shouldThrowApiValidationExceptionIfThereAreTooManyRows() {
+        userCryptoImportService = userCryptoImportService(1, 1);
+        var csv = """
+            cryptoName,quantity,platformId
+            bitcoin,0.15,%1$s
+            ethereum,1.5,%1$s
+            """.formatted(PLATFORM_ID);
+        var inputStream = stream(csv);
+
+        var exception = assertThrows(
+            ApiValidationException.class,
+            () -> userCryptoImportService.importUserCryptos(inputStream, ImportFormat.CSV)
+        );
+
+        assertEquals(TOO_MANY_IMPORT_ROWS.formatted(1), exception.getMessage());
+        verify(userCryptoRepositoryMock, never()).insertAll(anyList());
+        verify(cacheServiceMock, never()).invalidate(any());
+    }
+
+    private UserCryptoImportService userCryptoImportService(int maxRows, int chunkSize) {
+        return new UserCryptoImportService(maxRows, chunkSize, userCryptoRepositoryMock, coinCatalogServiceMock,
+            cryptoServiceMock, platformServiceMock, holdingsLedgerServiceMock, returnsServiceMock, costBasisServiceMock,
+            cacheServiceMock, portfolioSummaryServiceMock, transactionManagerMock, new ObjectMapper(),
+            Validation.buildDefaultValidatorFactory().getValidator());
+    }
+
+    private ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private Crypto ethereum() {
+        var bitcoin = getBitcoinCryptoEntity();
+
+        return new Crypto("ethereum", bitcoin.getCryptoInfo(), bitcoin.getLastKnownPrices(), bitcoin.getChangePercentages(),
+            bitcoin.getLastUpdatedAt());
+    }
+}
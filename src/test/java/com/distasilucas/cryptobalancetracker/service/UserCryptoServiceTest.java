@@ -4,6 +4,9 @@ import com.distasilucas.cryptobalancetracker.entity.Platform;
 import com.distasilucas.cryptobalancetracker.entity.UserCrypto;
 import com.distasilucas.cryptobalancetracker.exception.DuplicatedCryptoPlatFormException;
 import com.distasilucas.cryptobalancetracker.exception.UserCryptoNotFoundException;
+import com.distasilucas.cryptobalancetracker.model.HoldingEventType;
+import com.distasilucas.cryptobalancetracker.model.UserCryptoHolding;
+import com.distasilucas.cryptobalancetracker.model.UserCryptosToTransfer;
 import com.distasilucas.cryptobalancetracker.model.request.usercrypto.UserCryptoRequest;
 import com.distasilucas.cryptobalancetracker.model.response.coingecko.CoingeckoCrypto;
 import com.distasilucas.cryptobalancetracker.repository.UserCryptoRepository;
@@ -31,7 +34,6 @@ import static com.distasilucas.cryptobalancetracker.model.CacheType.USER_CRYPTOS
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
-import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
@@ -51,9 +53,21 @@ class UserCryptoServiceTest {
     @Mock
     private CryptoService cryptoServiceMock;
 
+    @Mock
+    private ReturnsService returnsServiceMock;
+
+    @Mock
+    private HoldingsLedgerService holdingsLedgerServiceMock;
+
+    @Mock
+    private CostBasisService costBasisServiceMock;
+
     @Mock
     private CacheService cacheServiceMock;
 
+    @Mock
+    private PortfolioSummaryService portfolioSummaryServiceMock;
+
     @Mock
     private UserCryptoService userCryptoServiceMock;
 
@@ -62,7 +76,8 @@ class UserCryptoServiceTest {
     @BeforeEach
     void setUp() {
         openMocks(this);
-        userCryptoService = new UserCryptoService(userCryptoRepositoryMock, platformServiceMock, cryptoServiceMock, cacheServiceMock, userCryptoServiceMock);
+        userCryptoService = new UserCryptoService(userCryptoRepositoryMock, platformServiceMock, cryptoServiceMock, returnsServiceMock,
+            holdingsLedgerServiceMock, costBasisServiceMock, cacheServiceMock, portfolioSummaryServiceMock, userCryptoServiceMock);
     }
 
     @Test
@@ -143,6 +158,7 @@ class UserCryptoServiceTest {
         var userCryptoRequest = getUserCryptoRequest();
         var coingeckoCrypto = getCoingeckoCrypto();
         var platformEntity = getBinancePlatformEntity();
+        var bitcoinCryptoEntity = getBitcoinCryptoEntity();
 
         var captor = ArgumentCaptor.forClass(UserCrypto.class);
         when(cryptoServiceMock.retrieveCoingeckoCryptoInfoByNameOrId("bitcoin")).thenReturn(coingeckoCrypto);
@@ -151,13 +167,13 @@ class UserCryptoServiceTest {
             "bitcoin",
             "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6"
         )).thenReturn(Optional.empty());
-        when(userCryptoRepositoryMock.save(captor.capture())).thenAnswer(answer -> captor.getValue());
-        when(cryptoServiceMock.retrieveCryptoInfoById("bitcoin")).thenReturn(getBitcoinCryptoEntity());
+        when(cryptoServiceMock.retrieveCryptoInfoById("bitcoin")).thenReturn(bitcoinCryptoEntity);
+        when(userCryptoServiceMock.insertUserCrypto(captor.capture())).thenAnswer(answer -> captor.getValue());
 
         var userCryptoResponse = userCryptoService.saveUserCrypto(userCryptoRequest);
 
-        verify(userCryptoRepositoryMock, times(1)).save(captor.getValue());
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(userCryptoServiceMock, times(1)).insertUserCrypto(captor.getValue());
+        verify(userCryptoRepositoryMock, never()).save(any());
         assertThat(userCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(new UserCrypto(
@@ -168,6 +184,21 @@ class UserCryptoServiceTest {
             ));
     }
 
+    @Test
+    void shouldInsertUserCrypto() {
+        var userCrypto = new UserCrypto(new BigDecimal("1"), getBinancePlatformEntity(), getBitcoinCryptoEntity());
+
+        var userCryptoResponse = userCryptoService.insertUserCrypto(userCrypto);
+
+        verify(userCryptoRepositoryMock, times(1)).save(userCrypto);
+        verify(returnsServiceMock, times(1)).recordCashFlow(getBitcoinCryptoEntity(), new BigDecimal("1"));
+        verify(holdingsLedgerServiceMock, times(1)).recordEvents(HoldingEventType.ADD, List.of(userCrypto));
+        verify(costBasisServiceMock, times(1)).recordChange(userCrypto, new BigDecimal("1"));
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
+        assertThat(userCryptoResponse).isSameAs(userCrypto);
+    }
+
     @Test
     void shouldThrowDuplicatedCryptoPlatFormExceptionWHenSavingUserCrypto() {
         var userCryptoRequest = getUserCryptoRequest();
@@ -187,8 +218,8 @@ class UserCryptoServiceTest {
             () -> userCryptoService.saveUserCrypto(userCryptoRequest)
         );
 
-        verify(userCryptoRepositoryMock, never()).save(any());
-        verify(cacheServiceMock, never()).invalidate(any());
+        verify(cryptoServiceMock, never()).retrieveCryptoInfoById(any());
+        verify(userCryptoServiceMock, never()).insertUserCrypto(any());
 
         assertEquals(DUPLICATED_CRYPTO_PLATFORM.formatted("Bitcoin", "BINANCE"), exception.getMessage());
     }
@@ -215,7 +246,11 @@ class UserCryptoServiceTest {
             userCryptoService.updateUserCrypto("af827ac7-d642-4461-a73c-b31ca6f6d13d", userCryptoRequest);
 
         verify(userCryptoRepositoryMock, times(1)).save(captor.getValue());
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(returnsServiceMock, times(1)).recordCashFlow(userCrypto.getCrypto(), new BigDecimal("1.00"));
+        verify(holdingsLedgerServiceMock, times(1)).recordEvents(HoldingEventType.UPDATE, List.of(captor.getValue()));
+        verify(costBasisServiceMock, times(1)).recordChange(captor.getValue(), new BigDecimal("1.00"));
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
         assertThat(userCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(expected);
@@ -248,7 +283,8 @@ class UserCryptoServiceTest {
             userCryptoService.updateUserCrypto("af827ac7-d642-4461-a73c-b31ca6f6d13d", userCryptoRequest);
 
         verify(userCryptoRepositoryMock, times(1)).save(captor.getValue());
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
         assertThat(userCryptoResponse)
             .usingRecursiveComparison()
             .isEqualTo(expected);
@@ -276,7 +312,8 @@ class UserCryptoServiceTest {
             userCryptoService.updateUserCrypto("af827ac7-d642-4461-a73c-b31ca6f6d13d", userCryptoRequest);
 
         verify(userCryptoRepositoryMock, times(1)).save(captor.getValue());
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
 
         assertThat(userCryptoResponse)
             .usingRecursiveComparison()
@@ -310,7 +347,8 @@ class UserCryptoServiceTest {
         );
 
         verify(userCryptoRepositoryMock, never()).save(any());
-        verify(cacheServiceMock, never()).invalidate(any());
+        verify(cacheServiceMock, never()).invalidateAfterCommit(any());
+        verify(portfolioSummaryServiceMock, never()).refreshAfterCommit();
 
         assertEquals(DUPLICATED_CRYPTO_PLATFORM.formatted("Bitcoin", "COINBASE"), exception.getMessage());
     }
@@ -327,7 +365,11 @@ class UserCryptoServiceTest {
 
         verify(userCryptoRepositoryMock, times(1)).deleteById("af827ac7-d642-4461-a73c-b31ca6f6d13d");
         verify(cryptoServiceMock, times(1)).deleteCryptoIfNotUsed("bitcoin");
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
+        verify(returnsServiceMock, times(1)).recordCashFlow(userCrypto.getCrypto(), new BigDecimal("-0.25"));
+        verify(holdingsLedgerServiceMock, times(1)).recordEvents(HoldingEventType.DELETE, List.of(userCrypto));
+        verify(costBasisServiceMock, times(1)).recordChange(userCrypto, new BigDecimal("-0.25"));
     }
 
     @Test
@@ -353,13 +395,17 @@ class UserCryptoServiceTest {
 
         doNothing().when(userCryptoRepositoryMock).deleteAll(List.of(userCrypto));
         doNothing().when(cryptoServiceMock).deleteCryptosIfNotUsed(List.of("bitcoin"));
-        doNothing().when(cacheServiceMock).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        doNothing().when(cacheServiceMock).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
 
         userCryptoService.deleteUserCryptos(List.of(userCrypto));
 
         verify(userCryptoRepositoryMock, times(1)).deleteAll(List.of(userCrypto));
         verify(cryptoServiceMock, times(1)).deleteCryptosIfNotUsed(List.of("bitcoin"));
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
+        verify(holdingsLedgerServiceMock, times(1)).recordEvents(HoldingEventType.DELETE, List.of(userCrypto));
+        verify(returnsServiceMock, times(1)).recordCashFlow(userCrypto.getCrypto(), new BigDecimal("-0.25"));
+        verify(costBasisServiceMock, times(1)).recordChange(userCrypto, new BigDecimal("-0.25"));
     }
 
     @Test
@@ -368,7 +414,8 @@ class UserCryptoServiceTest {
 
         verify(userCryptoRepositoryMock, never()).deleteAll(any());
         verify(cryptoServiceMock, never()).deleteCryptosIfNotUsed(any());
-        verify(cacheServiceMock, never()).invalidate(any());
+        verify(cacheServiceMock, never()).invalidateAfterCommit(any());
+        verify(portfolioSummaryServiceMock, never()).refreshAfterCommit();
     }
 
     @Test
@@ -393,32 +440,113 @@ class UserCryptoServiceTest {
     }
 
     @Test
-    void shouldFindByCoingeckoCryptoIdAndPlatformId() {
+    void shouldLockUserCryptoToTransferAndUserCryptoInPlatformItIsTransferredTo() {
         var userCrypto = getUserCrypto();
+        var toPlatformUserCrypto = new UserCrypto(
+            "f47ac10b-58cc-4372-a567-0e02b2c3d479",
+            new BigDecimal("1.5"),
+            new Platform("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "BYBIT"),
+            getBitcoinCryptoEntity()
+        );
 
-        when(userCryptoRepositoryMock.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "123e4567-e89b-12d3-a456-426614174111"))
-            .thenReturn(Optional.of(userCrypto));
+        when(userCryptoRepositoryMock.findAllToTransferForUpdate(List.of("af827ac7-d642-4461-a73c-b31ca6f6d13d"), List.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")))
+            .thenReturn(List.of(userCrypto, toPlatformUserCrypto));
 
-        var response =
-            userCryptoService.findByCoingeckoCryptoIdAndPlatformId("bitcoin", "123e4567-e89b-12d3-a456-426614174111");
+        var userCryptosToTransfer = userCryptoService.lockUserCryptosToTransfer(
+            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
+            "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"
+        );
 
-        assertTrue(response.isPresent());
-        assertThat(response.get())
+        assertThat(userCryptosToTransfer)
             .usingRecursiveComparison()
-            .isEqualTo(userCrypto);
+            .isEqualTo(new UserCryptosToTransfer(userCrypto, Optional.of(toPlatformUserCrypto)));
+        verify(userCryptoRepositoryMock, never()).findByCoingeckoCryptoIdAndPlatformIdForUpdate(any(), any());
     }
 
+    @Test
+    void shouldLookUpUserCryptoInPlatformItIsTransferredToAgainIfItWasNotLocked() {
+        var userCrypto = getUserCrypto();
+        var toPlatformUserCrypto = new UserCrypto(
+            "f47ac10b-58cc-4372-a567-0e02b2c3d479",
+            new BigDecimal("1.5"),
+            new Platform("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "BYBIT"),
+            getBitcoinCryptoEntity()
+        );
+
+        when(userCryptoRepositoryMock.findAllToTransferForUpdate(List.of("af827ac7-d642-4461-a73c-b31ca6f6d13d"), List.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")))
+            .thenReturn(List.of(userCrypto));
+        when(userCryptoRepositoryMock.findByCoingeckoCryptoIdAndPlatformIdForUpdate("bitcoin", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"))
+            .thenReturn(Optional.of(toPlatformUserCrypto));
+
+        var userCryptosToTransfer = userCryptoService.lockUserCryptosToTransfer(
+            "af827ac7-d642-4461-a73c-b31ca6f6d13d",
+            "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b"
+        );
+
+        assertThat(userCryptosToTransfer)
+            .usingRecursiveComparison()
+            .isEqualTo(new UserCryptosToTransfer(userCrypto, Optional.of(toPlatformUserCrypto)));
+    }
 
     @Test
-    void shouldSaveOrUpdateAll() {
-        var userCryptos = List.of(getUserCrypto());
+    void shouldThrowUserCryptoNotFoundExceptionIfUserCryptoToTransferDoesNotExist() {
+        when(userCryptoRepositoryMock.findAllToTransferForUpdate(List.of("af827ac7-d642-4461-a73c-b31ca6f6d13d"), List.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")))
+            .thenReturn(List.of());
 
-        when(userCryptoRepositoryMock.saveAll(userCryptos)).thenReturn(userCryptos);
+        var exception = assertThrows(
+            UserCryptoNotFoundException.class,
+            () -> userCryptoService.lockUserCryptosToTransfer("af827ac7-d642-4461-a73c-b31ca6f6d13d", "b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b")
+        );
 
-        userCryptoService.saveOrUpdateAll(userCryptos);
+        assertEquals(USER_CRYPTO_ID_NOT_FOUND.formatted("af827ac7-d642-4461-a73c-b31ca6f6d13d"), exception.getMessage());
+    }
 
+    @Test
+    void shouldLockAllUserCryptosToTransfer() {
+        var userCrypto = getUserCrypto();
+        var userCryptoIds = List.of("af827ac7-d642-4461-a73c-b31ca6f6d13d");
+        var toPlatformIds = List.of("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "d5f63c4d-98e7-4d26-b380-e7d0f5c423e9");
+
+        when(userCryptoRepositoryMock.findAllToTransferForUpdate(userCryptoIds, toPlatformIds)).thenReturn(List.of(userCrypto));
+
+        var userCryptos = userCryptoService.lockAllToTransfer(userCryptoIds, toPlatformIds);
+
+        assertThat(userCryptos).containsExactly(userCrypto);
+    }
+
+    @Test
+    void shouldSaveTransferredUserCryptosInvalidatingCachesOnce() {
+        var userCrypto = getUserCrypto();
+        var toPlatformUserCrypto = new UserCrypto(
+            "f47ac10b-58cc-4372-a567-0e02b2c3d479",
+            new BigDecimal("1.5"),
+            new Platform("b8e8c277-e4b4-4b7e-9c5d-7885ef04b71b", "BYBIT"),
+            getBitcoinCryptoEntity()
+        );
+
+        userCryptoService.saveTransferredUserCryptos(List.of(toPlatformUserCrypto), List.of(userCrypto));
+
+        verify(userCryptoRepositoryMock, times(1)).deleteAll(List.of(userCrypto));
+        verify(cryptoServiceMock, times(1)).deleteCryptosIfNotUsed(List.of("bitcoin"));
+        verify(userCryptoRepositoryMock, times(1)).saveAll(List.of(toPlatformUserCrypto));
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
+        verify(returnsServiceMock, never()).recordCashFlow(any(), any());
+        verify(holdingsLedgerServiceMock, never()).recordEvents(any(), any());
+        verify(costBasisServiceMock, never()).recordChange(any(), any());
+    }
+
+    @Test
+    void shouldSaveTransferredUserCryptosWithoutDeletingAny() {
+        var userCryptos = List.of(getUserCrypto());
+
+        userCryptoService.saveTransferredUserCryptos(userCryptos, List.of());
+
+        verify(userCryptoRepositoryMock, never()).deleteAll(any());
+        verify(cryptoServiceMock, never()).deleteCryptosIfNotUsed(any());
         verify(userCryptoRepositoryMock, times(1)).saveAll(userCryptos);
-        verify(cacheServiceMock, times(1)).invalidate(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(cacheServiceMock, times(1)).invalidateAfterCommit(USER_CRYPTOS_CACHES, GOALS_CACHES, INSIGHTS_CACHES);
+        verify(portfolioSummaryServiceMock, times(1)).refreshAfterCommit();
     }
 
     @Test
@@ -461,6 +589,28 @@ class UserCryptoServiceTest {
             ));
     }
 
+    @Test
+    void shouldFindAllHoldings() {
+        var holding = new UserCryptoHolding(getUserCrypto());
+
+        when(userCryptoRepositoryMock.findAllHoldings()).thenReturn(List.of(holding));
+
+        var holdings = userCryptoService.findAllHoldings();
+
+        assertThat(holdings).containsExactly(holding);
+    }
+
+    @Test
+    void shouldFindAllHoldingsByPlatformId() {
+        var holding = new UserCryptoHolding(getUserCrypto());
+
+        when(userCryptoRepositoryMock.findAllHoldingsByPlatformId("4f663841-7c82-4d0f-a756-cf7d4e2d3bc6")).thenReturn(List.of(holding));
+
+        var holdings = userCryptoService.findAllHoldingsByPlatformId("4f663841-7c82-4d0f-a756-cf7d4e2d3bc6");
+
+        assertThat(holdings).containsExactly(holding);
+    }
+
     private UserCryptoRequest getUserCryptoRequest() {
         return new UserCryptoRequest("bitcoin", new BigDecimal("1"), "4f663841-7c82-4d0f-a756-cf7d4e2d3bc6");
     }